@@ -1,10 +1,12 @@
 import LatestOrders from './LatestOrders';
 import LatestProducts from './LatestProducts';
 import LatestRatings from './LatestRatings';
+import OrderDashboardPanel from './OrderDashboardPanel';
 
 const LatestItemPanel = () => {
   return (
     <>
+      <OrderDashboardPanel></OrderDashboardPanel>
       <LatestProducts></LatestProducts>
       <LatestOrders></LatestOrders>
       <LatestRatings></LatestRatings>
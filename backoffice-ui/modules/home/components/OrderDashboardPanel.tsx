@@ -0,0 +1,103 @@
+import { OrderDashboard } from 'modules/order/models/OrderDashboard';
+import { getOrderDashboard } from 'modules/order/services/OrderService';
+import { useEffect, useState } from 'react';
+import { Table } from 'react-bootstrap';
+
+const OrderDashboardPanel = () => {
+  const [dashboard, setDashboard] = useState<OrderDashboard>();
+  const [loading, setLoading] = useState<boolean>(true);
+
+  useEffect(() => {
+    const fetchDashboard = async () => {
+      try {
+        setDashboard(await getOrderDashboard('HOUR', 5));
+      } catch (error) {
+        console.log(error);
+        setDashboard(undefined);
+      } finally {
+        setLoading(false);
+      }
+    };
+
+    fetchDashboard();
+  }, []);
+
+  const buckets = dashboard?.buckets ?? [];
+  const orderCount = buckets.reduce((total, bucket) => total + bucket.orderCount, 0);
+  const revenue = buckets.reduce((total, bucket) => total + bucket.revenue, 0);
+  const itemCount = buckets.reduce((total, bucket) => total + bucket.itemCount, 0);
+  const statusMix: Record<string, number> = {};
+  buckets.forEach((bucket) =>
+    Object.entries(bucket.statusMix).forEach(([status, count]) => {
+      statusMix[status] = (statusMix[status] ?? 0) + count;
+    })
+  );
+
+  let content;
+
+  if (loading) {
+    content = <p>Loading...</p>;
+  } else if (!dashboard) {
+    content = <p>Order statistics are not available</p>;
+  } else {
+    content = (
+      <>
+        <Table bordered>
+          <thead>
+            <tr>
+              <th>Orders</th>
+              <th>Revenue</th>
+              <th>Items</th>
+              {Object.keys(statusMix).map((status) => (
+                <th key={status}>{status}</th>
+              ))}
+            </tr>
+          </thead>
+          <tbody>
+            <tr>
+              <td>{orderCount}</td>
+              <td>{revenue.toFixed(2)}</td>
+              <td>{itemCount}</td>
+              {Object.entries(statusMix).map(([status, count]) => (
+                <td key={status}>{count}</td>
+              ))}
+            </tr>
+          </tbody>
+        </Table>
+        <Table striped bordered hover>
+          <thead>
+            <tr>
+              <th>Top products</th>
+              <th>Quantity</th>
+              <th>Revenue</th>
+            </tr>
+          </thead>
+          <tbody>
+            {dashboard.topProducts.length === 0 ? (
+              <tr>
+                <td colSpan={3}>No products ordered</td>
+              </tr>
+            ) : (
+              dashboard.topProducts.map((product) => (
+                <tr key={product.productId}>
+                  <td>{product.productName}</td>
+                  <td>{product.quantity}</td>
+                  <td>{product.revenue.toFixed(2)}</td>
+                </tr>
+              ))
+            )}
+          </tbody>
+        </Table>
+      </>
+    );
+  }
+
+  return (
+    <>
+      <h2 className="text-danger font-weight-bold mb-3">Orders of the last 24 hours</h2>
+      {content}
+    </>
+  );
+};
+
+export default OrderDashboardPanel;
@@ -0,0 +1,22 @@
+export type OrderRollup = {
+  bucketStart: string;
+  orderCount: number;
+  revenue: number;
+  itemCount: number;
+  statusMix: Record<string, number>;
+};
+
+export type OrderRollupProduct = {
+  productId: number;
+  productName: string;
+  quantity: number;
+  revenue: number;
+};
+
+export type OrderDashboard = {
+  granularity: 'HOUR' | 'DAY';
+  from: string;
+  to: string;
+  buckets: OrderRollup[];
+  topProducts: OrderRollupProduct[];
+};
@@ -1,4 +1,5 @@
 import { Order } from '../models/Order';
+import { OrderDashboard } from '../models/OrderDashboard';
 import apiClientService from '@commonServices/ApiClientService';
 
 const baseUrl = '/api/order/backoffice/orders';
@@ -17,6 +18,16 @@ export async function getLatestOrders(count: number): Promise<Order[]> {
   return Promise.reject(new Error(response.statusText));
 }
 
+export async function getOrderDashboard(
+  granularity: 'HOUR' | 'DAY',
+  topProducts: number
+): Promise<OrderDashboard> {
+  const url = `${baseUrl}/dashboard?granularity=${granularity}&topProducts=${topProducts}`;
+  const response = await apiClientService.get(url);
+  if (response.status >= 200 && response.status < 300) return await response.json();
+  return Promise.reject(new Error(response.statusText));
+}
+
 export async function getOrderById(id: number) {
   const url = `${baseUrl}/${id}`;
   return (await apiClientService.get(url)).json();
@@ -266,6 +266,12 @@ const PromotionGeneralInformation = ({
         defaultChecked={promotion?.isActive}
         register={register}
       />
+      <Switch
+        labelText="Apply automatically"
+        field="isAutomatic"
+        defaultChecked={promotion?.isAutomatic}
+        register={register}
+      />
       <DatePicker
         labelText="Start date"
         field="startDate"
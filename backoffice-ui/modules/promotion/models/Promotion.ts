@@ -17,6 +17,7 @@ export type PromotionDetail = {
   discountAmount: number;
   minimumOrderPurchaseAmount: number;
   isActive: boolean;
+  isAutomatic: boolean;
   startDate: string;
   endDate: string;
   brands: BrandVm[];
@@ -53,6 +54,7 @@ export type PromotionDto = {
   discountAmount?: number;
   minimumOrderPurchaseAmount: number;
   isActive: boolean;
+  isAutomatic: boolean;
   startDate: string;
   endDate: string;
   brandIds: number[];
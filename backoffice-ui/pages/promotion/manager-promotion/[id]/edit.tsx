@@ -54,6 +54,7 @@ const PromotionUpdate: NextPage = () => {
     setValue('categoryIds', promotion.categories?.map((category) => category.id) ?? []);
     setValue('productIds', promotion.products?.map((product) => product.id) ?? []);
     setValue('isActive', promotion.isActive);
+    setValue('isAutomatic', promotion.isAutomatic);
   };
 
   const removeTime = (date: string) => {
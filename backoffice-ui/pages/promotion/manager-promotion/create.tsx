@@ -38,6 +38,7 @@ const PromotionCreate: NextPage = () => {
       categoryIds: event.categoryIds,
       productIds: event.productIds,
       isActive: event.isActive,
+      isAutomatic: event.isAutomatic,
     };
 
     createPromotion(promotion).then((response) => {
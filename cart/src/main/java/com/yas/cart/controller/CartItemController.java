@@ -1,11 +1,14 @@
 package com.yas.cart.controller;
 
+import com.yas.cart.service.CartItemDetailService;
 import com.yas.cart.service.CartItemService;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
+import com.yas.cart.viewmodel.CartItemDetailVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +23,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequiredArgsConstructor
 public class CartItemController {
+    private static final int MAX_BULK_ITEMS = 100;
+
     private final CartItemService cartItemService;
+    private final CartItemDetailService cartItemDetailService;
 
     @PostMapping("/storefront/cart/items")
     public ResponseEntity<CartItemGetVm> addCartItem(@Valid @RequestBody CartItemPostVm cartItemPostVm) {
@@ -28,6 +34,13 @@ public class CartItemController {
         return ResponseEntity.ok(cartItemGetVm);
     }
 
+    @PostMapping("/storefront/cart/items/bulk")
+    public ResponseEntity<List<CartItemGetVm>> addCartItems(
+        @RequestBody @Size(max = MAX_BULK_ITEMS) List<@Valid CartItemPostVm> cartItemPostVms) {
+        List<CartItemGetVm> cartItemGetVms = cartItemService.addCartItems(cartItemPostVms);
+        return ResponseEntity.ok(cartItemGetVms);
+    }
+
     @PutMapping("/storefront/cart/items/{productId}")
     public ResponseEntity<CartItemGetVm> updateCartItem(@PathVariable Long productId,
                                                         @Valid @RequestBody CartItemPutVm cartItemPutVm) {
@@ -41,6 +54,12 @@ public class CartItemController {
         return ResponseEntity.ok(cartItemGetVms);
     }
 
+    @GetMapping("/storefront/cart/items/detail")
+    public ResponseEntity<List<CartItemDetailVm>> getCartItemDetails() {
+        List<CartItemDetailVm> cartItemDetailVms = cartItemDetailService.getCartItemDetails();
+        return ResponseEntity.ok(cartItemDetailVms);
+    }
+
     @PostMapping("/storefront/cart/items/remove")
     public ResponseEntity<List<CartItemGetVm>> removeCartItems(
         @RequestBody List<@Valid CartItemDeleteVm> cartItemDeleteVms) {
@@ -0,0 +1,72 @@
+package com.yas.cart.kafka.consumer;
+
+import static com.yas.cart.kafka.config.consumer.ProductCdcKafkaListenerConfig.PRODUCT_CDC_LISTENER_CONTAINER_FACTORY;
+import static com.yas.commonlibrary.kafka.cdc.message.Operation.DELETE;
+
+import com.yas.cart.model.ProductSnapshot;
+import com.yas.cart.service.ProductSnapshotService;
+import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import jakarta.validation.Valid;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Product CDC consumer maintaining the cart's local {@link ProductSnapshotService}.
+ *
+ * <p>The snapshot lives in memory, so every instance uses its own consumer group and replays the topic from the
+ * beginning whenever partitions are assigned.
+ */
+@Slf4j
+@Component
+public class ProductSnapshotConsumer extends BaseCdcConsumer<ProductMsgKey, ProductCdcMessage>
+    implements ConsumerSeekAware {
+
+    private final ProductSnapshotService productSnapshotService;
+
+    public ProductSnapshotConsumer(ProductSnapshotService productSnapshotService) {
+        this.productSnapshotService = productSnapshotService;
+    }
+
+    @KafkaListener(
+        id = "product-snapshot-cart",
+        groupId = "product-snapshot-cart-${random.uuid}",
+        topics = "${product.topic.name}",
+        containerFactory = PRODUCT_CDC_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.cart.product-snapshot.enabled:true}"
+    )
+    public void processMessage(
+        @Header(KafkaHeaders.RECEIVED_KEY) ProductMsgKey key,
+        @Payload(required = false) @Valid ProductCdcMessage productCdcMessage,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(key, productCdcMessage, headers, this::sync);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    public void sync(ProductMsgKey key, ProductCdcMessage productCdcMessage) {
+        boolean isHardDeleteEvent = productCdcMessage == null || DELETE.equals(productCdcMessage.getOp());
+        if (isHardDeleteEvent) {
+            productSnapshotService.markDeleted(key.getId());
+        } else if (productCdcMessage.getAfter() != null) {
+            Product product = productCdcMessage.getAfter();
+            productSnapshotService.put(new ProductSnapshot(product.getId(), product.isPublished(),
+                product.isAllowedToOrder(), product.getPrice(), product.getThumbnailMediaId()));
+        }
+    }
+}
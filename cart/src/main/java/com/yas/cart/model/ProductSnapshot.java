@@ -0,0 +1,12 @@
+package com.yas.cart.model;
+
+/**
+ * Cart-relevant state of a product, kept locally from the product CDC topic.
+ */
+public record ProductSnapshot(long id, boolean published, boolean allowedToOrder, Double price,
+                              Long thumbnailMediaId) {
+
+    public boolean isValidForCart() {
+        return published && allowedToOrder;
+    }
+}
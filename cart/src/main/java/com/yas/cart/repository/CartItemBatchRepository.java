@@ -0,0 +1,112 @@
+package com.yas.cart.repository;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.CartItemId;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch writes on the {@code cart_item} table. Each method sends all of its rows in a single batch and relies
+ * on {@code ON CONFLICT} upserts, so rows inserted concurrently by another request are merged rather than rejected.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartItemBatchRepository {
+
+    private static final String UPSERT_SQL_TEMPLATE = """
+        INSERT INTO cart_item (customer_id, product_id, quantity, created_by, created_on, last_modified_by,
+            last_modified_on)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (customer_id, product_id) DO UPDATE
+        SET quantity = %s,
+            last_modified_by = EXCLUDED.last_modified_by,
+            last_modified_on = EXCLUDED.last_modified_on
+        """;
+    private static final String ADD_QUANTITY_SQL = UPSERT_SQL_TEMPLATE.formatted(
+        "cart_item.quantity + EXCLUDED.quantity");
+    private static final String SET_QUANTITY_SQL = UPSERT_SQL_TEMPLATE.formatted("EXCLUDED.quantity");
+    private static final String DELETE_SQL = "DELETE FROM cart_item WHERE customer_id = ? AND product_id = ?";
+    private static final String FIND_QUANTITIES_SQL =
+        "SELECT product_id, quantity FROM cart_item WHERE customer_id = ? AND product_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds quantities to the cart items of a customer, inserting the items that do not exist yet.
+     *
+     * @param customerId          the ID of the customer owning the cart
+     * @param quantityByProductId the quantity to add for each product ID
+     */
+    public void addQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        if (quantityByProductId.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = quantityByProductId.entrySet().stream()
+            .map(entry -> toRow(customerId, entry.getKey(), entry.getValue(), now))
+            .toList();
+        jdbcTemplate.batchUpdate(ADD_QUANTITY_SQL, rows);
+    }
+
+    /**
+     * Overwrites the quantities of the given cart items, inserting the items that do not exist yet.
+     *
+     * @param cartItems the cart items to write
+     */
+    public void upsertQuantities(Collection<CartItem> cartItems) {
+        if (cartItems.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = cartItems.stream()
+            .map(cartItem -> toRow(cartItem.getCustomerId(), cartItem.getProductId(), cartItem.getQuantity(), now))
+            .toList();
+        jdbcTemplate.batchUpdate(SET_QUANTITY_SQL, rows);
+    }
+
+    /**
+     * Reads the current quantities of the cart items of a customer, bypassing the persistence context so the result
+     * reflects the batch writes of this transaction.
+     *
+     * @param customerId the ID of the customer owning the cart
+     * @param productIds the product IDs to read
+     * @return the quantity of each existing cart item by product ID
+     */
+    public Map<Long, Integer> findQuantities(String customerId, Collection<Long> productIds) {
+        Map<Long, Integer> quantityByProductId = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return quantityByProductId;
+        }
+        List<Object> args = new ArrayList<>(productIds.size() + 1);
+        args.add(customerId);
+        args.addAll(productIds);
+        String sql = FIND_QUANTITIES_SQL.formatted(String.join(",", Collections.nCopies(productIds.size(), "?")));
+        jdbcTemplate.query(sql, rs -> {
+            quantityByProductId.put(rs.getLong("product_id"), rs.getInt("quantity"));
+        }, args.toArray());
+        return quantityByProductId;
+    }
+
+    public void deleteAllById(Collection<CartItemId> cartItemIds) {
+        if (cartItemIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = cartItemIds.stream()
+            .map(id -> new Object[] {id.getCustomerId(), id.getProductId()})
+            .toList();
+        jdbcTemplate.batchUpdate(DELETE_SQL, rows);
+    }
+
+    private static Object[] toRow(String customerId, Long productId, int quantity, Timestamp now) {
+        return new Object[] {customerId, productId, quantity, customerId, now, customerId, now};
+    }
+}
@@ -4,6 +4,7 @@ import com.yas.cart.model.CartItem;
 import com.yas.cart.model.CartItemId;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -40,5 +41,18 @@ public interface CartItemRepository extends JpaRepository<CartItem, CartItemId>
     @Query("SELECT c FROM CartItem c WHERE c.customerId = :customerId AND c.productId IN :productIds")
     List<CartItem> findByCustomerIdAndProductIdIn(String customerId, List<Long> productIds);
 
+    /**
+     * Locks the cart items of a customer for the given products. Rows are locked in product ID order, so concurrent
+     * bulk operations on the same cart wait for each other instead of deadlocking.
+     *
+     * @param customerId the ID of the customer whose cart items are being locked
+     * @param productIds the product IDs of the cart items to lock
+     * @return the existing cart items, ordered by product ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CartItem c WHERE c.customerId = :customerId AND c.productId IN :productIds"
+        + " ORDER BY c.productId")
+    List<CartItem> lockByCustomerIdAndProductIdIn(String customerId, Collection<Long> productIds);
+
     void deleteByCustomerIdAndProductId(String customerId, Long productId);
 }
\ No newline at end of file
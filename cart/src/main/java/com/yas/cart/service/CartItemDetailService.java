@@ -0,0 +1,132 @@
+package com.yas.cart.service;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.ProductSnapshot;
+import com.yas.cart.store.CartStore;
+import com.yas.cart.viewmodel.CartItemDetailVm;
+import com.yas.cart.viewmodel.ProductThumbnailVm;
+import com.yas.commonlibrary.utils.AuthenticationUtils;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds the cart page in one round trip: product data and thumbnail URLs are fetched with one batched call each,
+ * concurrently on virtual threads. Each dependency has its own timeout; when one is slow or failing the cart is
+ * still returned with the fields that dependency would have filled left empty, falling back to the local product
+ * snapshot for the price. Lines whose product could not be resolved are kept and marked unavailable.
+ */
+@Slf4j
+@Service
+public class CartItemDetailService {
+    private final CartStore cartStore;
+    private final ProductService productService;
+    private final MediaService mediaService;
+    private final ProductSnapshotService productSnapshotService;
+    private final long productTimeoutMillis;
+    private final long mediaTimeoutMillis;
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CartItemDetailService(CartStore cartStore,
+                                 ProductService productService,
+                                 MediaService mediaService,
+                                 ProductSnapshotService productSnapshotService,
+                                 @Value("${yas.cart.detail.product-timeout-ms:1000}") long productTimeoutMillis,
+                                 @Value("${yas.cart.detail.media-timeout-ms:500}") long mediaTimeoutMillis) {
+        this.cartStore = cartStore;
+        this.productService = productService;
+        this.mediaService = mediaService;
+        this.productSnapshotService = productSnapshotService;
+        this.productTimeoutMillis = productTimeoutMillis;
+        this.mediaTimeoutMillis = mediaTimeoutMillis;
+    }
+
+    public List<CartItemDetailVm> getCartItemDetails() {
+        String currentUserId = AuthenticationUtils.extractUserId();
+        List<CartItem> cartItems = cartStore.findByCustomerId(currentUserId);
+        if (cartItems.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> productIds = cartItems.stream().map(CartItem::getProductId).toList();
+        Map<Long, ProductSnapshot> snapshotByProductId = productIds.stream()
+            .map(productSnapshotService::find)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toMap(ProductSnapshot::id, Function.identity()));
+        List<Long> mediaIds = snapshotByProductId.values().stream()
+            .map(ProductSnapshot::thumbnailMediaId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+        CompletableFuture<Map<Long, ProductThumbnailVm>> productsFuture = fetch("product",
+            () -> getProductsById(productIds), productTimeoutMillis);
+        CompletableFuture<Map<Long, String>> mediaUrlsFuture = mediaIds.isEmpty()
+            ? CompletableFuture.completedFuture(Map.of())
+            : fetch("media", () -> mediaService.getMediaUrls(mediaIds), mediaTimeoutMillis);
+
+        Map<Long, ProductThumbnailVm> productById = productsFuture.join();
+        Map<Long, String> mediaUrlById = mediaUrlsFuture.join();
+
+        return cartItems.stream()
+            .map(cartItem -> toDetailVm(cartItem, productById.get(cartItem.getProductId()),
+                snapshotByProductId.get(cartItem.getProductId()), mediaUrlById))
+            .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdown();
+    }
+
+    private Map<Long, ProductThumbnailVm> getProductsById(Collection<Long> productIds) {
+        return CollectionUtils.emptyIfNull(productService.getProducts(List.copyOf(productIds))).stream()
+            .collect(Collectors.toMap(ProductThumbnailVm::id, Function.identity(), (first, second) -> first));
+    }
+
+    private <T> CompletableFuture<Map<Long, T>> fetch(String dependency, Supplier<Map<Long, T>> supplier,
+                                                      long timeoutMillis) {
+        return CompletableFuture.supplyAsync(supplier, executorService)
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+            .exceptionally(throwable -> {
+                log.warn("Cart details degraded, {} lookup failed: {}", dependency, throwable.toString());
+                return Map.of();
+            });
+    }
+
+    private static CartItemDetailVm toDetailVm(CartItem cartItem, ProductThumbnailVm product,
+                                               ProductSnapshot snapshot, Map<Long, String> mediaUrlById) {
+        String thumbnailUrl = Optional.ofNullable(snapshot)
+            .map(ProductSnapshot::thumbnailMediaId)
+            .map(mediaUrlById::get)
+            .orElse(product != null ? product.thumbnailUrl() : null);
+        Double price = product != null && product.price() != null
+            ? product.price()
+            : Optional.ofNullable(snapshot).map(ProductSnapshot::price).orElse(null);
+
+        return CartItemDetailVm.builder()
+            .customerId(cartItem.getCustomerId())
+            .productId(cartItem.getProductId())
+            .quantity(cartItem.getQuantity())
+            .productName(product != null ? product.name() : null)
+            .slug(product != null ? product.slug() : null)
+            .thumbnailUrl(thumbnailUrl)
+            .price(price)
+            .available(product != null)
+            .build();
+    }
+}
@@ -2,27 +2,24 @@ package com.yas.cart.service;
 
 import com.yas.cart.mapper.CartItemMapper;
 import com.yas.cart.model.CartItem;
-import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.store.CartStore;
 import com.yas.cart.utils.Constants;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
 import com.yas.commonlibrary.exception.BadRequestException;
-import com.yas.commonlibrary.exception.InternalServerErrorException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.utils.AuthenticationUtils;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Slf4j
 public class CartItemService {
-    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
     private final ProductService productService;
     private final CartItemMapper cartItemMapper;
 
@@ -39,51 +36,55 @@ public class CartItemService {
         validateProduct(cartItemPostVm.productId());
 
         String currentUserId = AuthenticationUtils.extractUserId();
-        CartItem cartItem = performAddCartItem(cartItemPostVm, currentUserId);
+        CartItem cartItem = cartStore.addQuantity(currentUserId, cartItemPostVm.productId(),
+            cartItemPostVm.quantity());
 
         return cartItemMapper.toGetVm(cartItem);
     }
 
+    /**
+     * Adds several products to the current user's cart in one operation, e.g. when merging a guest cart or
+     * re-ordering. Quantities of duplicated product IDs are summed.
+     *
+     * @param cartItemPostVms the products and quantities to add
+     * @return the resulting cart items, ordered by product ID
+     */
+    @Transactional
+    public List<CartItemGetVm> addCartItems(List<CartItemPostVm> cartItemPostVms) {
+        Map<Long, Integer> quantityByProductId = cartItemPostVms.stream()
+            .collect(Collectors.toMap(CartItemPostVm::productId, CartItemPostVm::quantity, Integer::sum));
+        if (quantityByProductId.isEmpty()) {
+            return List.of();
+        }
+        validateProducts(quantityByProductId.keySet());
+
+        String currentUserId = AuthenticationUtils.extractUserId();
+        List<CartItem> cartItems = cartStore.addQuantities(currentUserId, quantityByProductId);
+
+        return cartItemMapper.toGetVms(cartItems);
+    }
+
     @Transactional
     public CartItemGetVm updateCartItem(Long productId, CartItemPutVm cartItemPutVm) {
         validateProduct(productId);
 
         String currentUserId = AuthenticationUtils.extractUserId();
-        CartItem cartItem = cartItemMapper.toCartItem(currentUserId, productId, cartItemPutVm.quantity());
-
-        CartItem savedCartItem = cartItemRepository.save(cartItem);
+        CartItem savedCartItem = cartStore.setQuantity(currentUserId, productId, cartItemPutVm.quantity());
         return cartItemMapper.toGetVm(savedCartItem);
     }
 
     public List<CartItemGetVm> getCartItems() {
         String currentUserId = AuthenticationUtils.extractUserId();
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(currentUserId);
+        List<CartItem> cartItems = cartStore.findByCustomerId(currentUserId);
         return cartItemMapper.toGetVms(cartItems);
     }
 
     @Transactional
     public List<CartItemGetVm> deleteOrAdjustCartItem(List<CartItemDeleteVm> cartItemDeleteVms) {
-        validateCartItemDeleteVms(cartItemDeleteVms);
-
-        Map<Long, CartItem> cartItemById = getCartItemsByProductIds(cartItemDeleteVms);
-
-        List<CartItem> cartItemsToDelete = new ArrayList<>();
-        List<CartItem> cartItemsToAdjust = new ArrayList<>();
+        Map<Long, Integer> quantityByProductId = validateCartItemDeleteVms(cartItemDeleteVms);
 
-        for (CartItemDeleteVm cartItemDeleteVm : cartItemDeleteVms) {
-            Optional<CartItem> optionalCartItem = Optional.ofNullable(cartItemById.get(cartItemDeleteVm.productId()));
-            optionalCartItem.ifPresent(cartItem -> {
-                if (cartItem.getQuantity() <= cartItemDeleteVm.quantity()) {
-                    cartItemsToDelete.add(cartItem);
-                } else {
-                    cartItem.setQuantity(cartItem.getQuantity() - cartItemDeleteVm.quantity());
-                    cartItemsToAdjust.add(cartItem);
-                }
-            });
-        }
-
-        cartItemRepository.deleteAll(cartItemsToDelete);
-        List<CartItem> updatedCartItems = cartItemRepository.saveAll(cartItemsToAdjust);
+        String currentUserId = AuthenticationUtils.extractUserId();
+        List<CartItem> updatedCartItems = cartStore.removeQuantities(currentUserId, quantityByProductId);
 
         return cartItemMapper.toGetVms(updatedCartItems);
     }
@@ -91,7 +92,7 @@ public class CartItemService {
     @Transactional
     public void deleteCartItem(Long productId) {
         String currentUserId = AuthenticationUtils.extractUserId();
-        cartItemRepository.deleteByCustomerIdAndProductId(currentUserId, productId);
+        cartStore.delete(currentUserId, productId);
     }
 
     private void validateProduct(Long productId) {
@@ -100,28 +101,14 @@ public class CartItemService {
         }
     }
 
-    private CartItem performAddCartItem(CartItemPostVm cartItemPostVm, String currentUserId) {
-        try {
-            return cartItemRepository.findByCustomerIdAndProductId(currentUserId, cartItemPostVm.productId())
-                .map(existingCartItem -> updateExistingCartItem(cartItemPostVm, existingCartItem))
-                .orElseGet(() -> createNewCartItem(cartItemPostVm, currentUserId));
-        } catch (PessimisticLockingFailureException e) {
-            log.error("Failed to acquire lock for adding cart item", e);
-            throw new InternalServerErrorException(Constants.ErrorCode.ADD_CART_ITEM_FAILED);
+    private void validateProducts(Collection<Long> productIds) {
+        Set<Long> invalidProductIds = productService.findInvalidProductIds(productIds);
+        if (!invalidProductIds.isEmpty()) {
+            throw new NotFoundException(Constants.ErrorCode.NOT_FOUND_PRODUCT, invalidProductIds);
         }
     }
 
-    private CartItem createNewCartItem(CartItemPostVm cartItemPostVm, String currentUserId) {
-        CartItem cartItem = cartItemMapper.toCartItem(cartItemPostVm, currentUserId);
-        return cartItemRepository.save(cartItem);
-    }
-
-    private CartItem updateExistingCartItem(CartItemPostVm cartItemPostVm, CartItem existingCartItem) {
-        existingCartItem.setQuantity(existingCartItem.getQuantity() + cartItemPostVm.quantity());
-        return cartItemRepository.save(existingCartItem);
-    }
-
-    private void validateCartItemDeleteVms(List<CartItemDeleteVm> cartItemDeleteVms) {
+    private Map<Long, Integer> validateCartItemDeleteVms(List<CartItemDeleteVm> cartItemDeleteVms) {
         Map<Long, Integer> quantityByProductId = new HashMap<>();
 
         for (CartItemDeleteVm cartItemDeleteVm : cartItemDeleteVms) {
@@ -133,17 +120,6 @@ public class CartItemService {
 
             quantityByProductId.put(cartItemDeleteVm.productId(), cartItemDeleteVm.quantity());
         }
-    }
-
-    private Map<Long, CartItem> getCartItemsByProductIds(List<CartItemDeleteVm> cartItemDeleteVms) {
-        String currentUserId = AuthenticationUtils.extractUserId();
-        List<Long> productIds = cartItemDeleteVms
-            .stream()
-            .map(CartItemDeleteVm::productId)
-            .toList();
-        List<CartItem> cartItems = cartItemRepository.findByCustomerIdAndProductIdIn(currentUserId, productIds);
-        return cartItems
-            .stream()
-            .collect(Collectors.toMap(CartItem::getProductId, Function.identity()));
+        return quantityByProductId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.yas.cart.service;
+
+import com.yas.cart.viewmodel.MediaVm;
+import com.yas.commonlibrary.config.ServiceUrlConfig;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@Service
+@RequiredArgsConstructor
+public class MediaService extends AbstractCircuitBreakFallbackHandler {
+    private final RestClient restClient;
+    private final ServiceUrlConfig serviceUrlConfig;
+
+    /**
+     * Resolves the URLs of several media with a single call to the media service.
+     *
+     * @param ids the media IDs to resolve
+     * @return the media URL by media ID, media that do not exist are left out
+     */
+    @Retry(name = "restApi")
+    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleMediaUrlFallback")
+    public Map<Long, String> getMediaUrls(Collection<Long> ids) {
+        final URI url = UriComponentsBuilder
+            .fromHttpUrl(serviceUrlConfig.media())
+            .path("/medias")
+            .queryParam("ids", ids)
+            .build()
+            .toUri();
+        List<MediaVm> medias = restClient.get()
+            .uri(url)
+            .retrieve()
+            .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(), (request, response) -> {
+                // The media service answers 404 without a body when none of the IDs exist
+            })
+            .body(new ParameterizedTypeReference<List<MediaVm>>() {
+            });
+        return CollectionUtils.emptyIfNull(medias).stream()
+            .filter(media -> Objects.nonNull(media.url()))
+            .collect(Collectors.toMap(MediaVm::id, MediaVm::url));
+    }
+
+    protected Map<Long, String> handleMediaUrlFallback(Throwable throwable) throws Throwable {
+        return handleTypedFallback(throwable);
+    }
+}
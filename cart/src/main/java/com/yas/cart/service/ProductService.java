@@ -1,11 +1,17 @@
 package com.yas.cart.service;
 
+import com.yas.cart.model.ProductSnapshot;
 import com.yas.cart.viewmodel.ProductThumbnailVm;
 import com.yas.commonlibrary.config.ServiceUrlConfig;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.core.ParameterizedTypeReference;
@@ -18,6 +24,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class ProductService extends AbstractCircuitBreakFallbackHandler {
     private final RestClient restClient;
     private final ServiceUrlConfig serviceUrlConfig;
+    private final ProductSnapshotService productSnapshotService;
 
     @Retry(name = "restApi")
     @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleProductThumbnailFallback")
@@ -44,8 +51,44 @@ public class ProductService extends AbstractCircuitBreakFallbackHandler {
         return products.getFirst();
     }
 
+    /**
+     * Checks whether a product can be put in a cart. The local product snapshot answers without a remote call; the
+     * product service is only asked for products the snapshot has not seen yet.
+     */
     public boolean existsById(Long id) {
-        return getProductById(id) != null;
+        return productSnapshotService.find(id)
+            .map(ProductSnapshot::isValidForCart)
+            .orElseGet(() -> getProductById(id) != null);
+    }
+
+    /**
+     * Finds the product IDs that cannot be put in a cart. Products known to the local snapshot are checked locally,
+     * the remaining ones are looked up with a single batched call to the product service.
+     *
+     * @param ids the product IDs to check
+     * @return the IDs that are unknown, deleted, not published or not allowed to order
+     */
+    public Set<Long> findInvalidProductIds(Collection<Long> ids) {
+        Set<Long> invalidIds = new HashSet<>();
+        List<Long> unknownIds = new ArrayList<>();
+        for (Long id : ids) {
+            productSnapshotService.find(id).ifPresentOrElse(snapshot -> {
+                if (!snapshot.isValidForCart()) {
+                    invalidIds.add(id);
+                }
+            }, () -> unknownIds.add(id));
+        }
+
+        if (!unknownIds.isEmpty()) {
+            List<ProductThumbnailVm> products = getProducts(unknownIds);
+            Set<Long> foundIds = CollectionUtils.emptyIfNull(products).stream()
+                .map(ProductThumbnailVm::id)
+                .collect(Collectors.toSet());
+            unknownIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .forEach(invalidIds::add);
+        }
+        return invalidIds;
     }
 
     protected List<ProductThumbnailVm> handleProductThumbnailFallback(Throwable throwable) throws Throwable {
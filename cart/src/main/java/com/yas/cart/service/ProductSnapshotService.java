@@ -0,0 +1,50 @@
+package com.yas.cart.service;
+
+import com.yas.cart.model.ProductSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local snapshot of product validity (published, orderable, price) used to validate cart mutations without a remote
+ * call. The snapshot is fed by the product CDC topic, so a product that has not been seen since startup is a miss
+ * and callers fall back to the product service.
+ */
+@Service
+public class ProductSnapshotService {
+
+    private final Map<Long, ProductSnapshot> snapshotById = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ProductSnapshotService(MeterRegistry meterRegistry) {
+        this.hitCounter = meterRegistry.counter("cart.product.snapshot.lookups", "result", "hit");
+        this.missCounter = meterRegistry.counter("cart.product.snapshot.lookups", "result", "miss");
+        meterRegistry.gaugeMapSize("cart.product.snapshot.size", List.of(), snapshotById);
+    }
+
+    public Optional<ProductSnapshot> find(Long productId) {
+        ProductSnapshot snapshot = snapshotById.get(productId);
+        if (snapshot == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(snapshot);
+    }
+
+    public void put(ProductSnapshot snapshot) {
+        snapshotById.put(snapshot.id(), snapshot);
+    }
+
+    /**
+     * Records a hard-deleted product so that validation keeps rejecting it without asking the product service.
+     */
+    public void markDeleted(Long productId) {
+        snapshotById.put(productId, new ProductSnapshot(productId, false, false, null, null));
+    }
+}
@@ -0,0 +1,63 @@
+package com.yas.cart.store;
+
+import com.yas.cart.model.CartItem;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage abstraction for customer carts.
+ *
+ * <p>The implementation is selected with the {@code yas.cart.store} property: {@code database} (default) keeps
+ * the cart in the {@code cart_item} table, {@code redis} keeps it in Redis hashes and writes behind to Postgres.
+ */
+public interface CartStore {
+
+    /**
+     * Adds the given quantity to a cart item, creating the item if it does not exist yet.
+     *
+     * @param customerId the ID of the customer owning the cart
+     * @param productId  the ID of the product to add
+     * @param quantity   the quantity to add
+     * @return the cart item with its resulting quantity
+     */
+    CartItem addQuantity(String customerId, Long productId, int quantity);
+
+    /**
+     * Adds quantities to several cart items at once, creating the items that do not exist yet.
+     *
+     * @param customerId          the ID of the customer owning the cart
+     * @param quantityByProductId the quantity to add for each product ID
+     * @return the cart items with their resulting quantities, ordered by product ID
+     */
+    List<CartItem> addQuantities(String customerId, Map<Long, Integer> quantityByProductId);
+
+    /**
+     * Overwrites the quantity of a cart item, creating the item if it does not exist yet.
+     *
+     * @param customerId the ID of the customer owning the cart
+     * @param productId  the ID of the product to update
+     * @param quantity   the new quantity
+     * @return the cart item with its new quantity
+     */
+    CartItem setQuantity(String customerId, Long productId, int quantity);
+
+    /**
+     * Retrieves the cart items of a customer, most recently added first.
+     *
+     * @param customerId the ID of the customer owning the cart
+     * @return the cart items of the customer
+     */
+    List<CartItem> findByCustomerId(String customerId);
+
+    /**
+     * Removes quantities from cart items. Items whose quantity would drop to zero or below are deleted,
+     * products that are not in the cart are ignored.
+     *
+     * @param customerId            the ID of the customer owning the cart
+     * @param quantityByProductId   the quantity to remove for each product ID
+     * @return the cart items that were adjusted but not deleted
+     */
+    List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId);
+
+    void delete(String customerId, Long productId);
+}
@@ -0,0 +1,110 @@
+package com.yas.cart.store;
+
+import com.yas.cart.mapper.CartItemMapper;
+import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemBatchRepository;
+import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.utils.Constants;
+import com.yas.commonlibrary.exception.InternalServerErrorException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CartStore} backed by the {@code cart_item} table. Mutations lock the affected rows, so callers are expected
+ * to run inside a transaction. Bulk additions lock the existing rows with one ordered query and write all rows in a
+ * single JDBC batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "yas.cart", name = "store", havingValue = "database", matchIfMissing = true)
+public class DatabaseCartStore implements CartStore {
+    private final CartItemRepository cartItemRepository;
+    private final CartItemBatchRepository cartItemBatchRepository;
+    private final CartItemMapper cartItemMapper;
+
+    @Override
+    public CartItem addQuantity(String customerId, Long productId, int quantity) {
+        try {
+            return cartItemRepository.findByCustomerIdAndProductId(customerId, productId)
+                .map(existingCartItem -> updateExistingCartItem(existingCartItem, quantity))
+                .orElseGet(() -> cartItemRepository.save(cartItemMapper.toCartItem(customerId, productId, quantity)));
+        } catch (PessimisticLockingFailureException e) {
+            log.error("Failed to acquire lock for adding cart item", e);
+            throw new InternalServerErrorException(Constants.ErrorCode.ADD_CART_ITEM_FAILED);
+        }
+    }
+
+    @Override
+    public List<CartItem> addQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        // Lock and write in product ID order, so concurrent bulk additions to the same cart cannot deadlock
+        SortedMap<Long, Integer> sortedQuantityByProductId = new TreeMap<>(quantityByProductId);
+        try {
+            cartItemRepository.lockByCustomerIdAndProductIdIn(customerId, sortedQuantityByProductId.keySet());
+        } catch (PessimisticLockingFailureException e) {
+            log.error("Failed to acquire lock for adding cart items", e);
+            throw new InternalServerErrorException(Constants.ErrorCode.ADD_CART_ITEM_FAILED);
+        }
+
+        cartItemBatchRepository.addQuantities(customerId, sortedQuantityByProductId);
+
+        Map<Long, Integer> updatedQuantityByProductId =
+            cartItemBatchRepository.findQuantities(customerId, sortedQuantityByProductId.keySet());
+        return sortedQuantityByProductId.keySet().stream()
+            .filter(updatedQuantityByProductId::containsKey)
+            .map(productId -> cartItemMapper.toCartItem(customerId, productId,
+                updatedQuantityByProductId.get(productId)))
+            .toList();
+    }
+
+    @Override
+    public CartItem setQuantity(String customerId, Long productId, int quantity) {
+        CartItem cartItem = cartItemMapper.toCartItem(customerId, productId, quantity);
+        return cartItemRepository.save(cartItem);
+    }
+
+    @Override
+    public List<CartItem> findByCustomerId(String customerId) {
+        return cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(customerId);
+    }
+
+    @Override
+    public List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        List<CartItem> cartItems = cartItemRepository.findByCustomerIdAndProductIdIn(customerId,
+            new ArrayList<>(quantityByProductId.keySet()));
+
+        List<CartItem> cartItemsToDelete = new ArrayList<>();
+        List<CartItem> cartItemsToAdjust = new ArrayList<>();
+
+        for (CartItem cartItem : cartItems) {
+            int quantityToRemove = quantityByProductId.get(cartItem.getProductId());
+            if (cartItem.getQuantity() <= quantityToRemove) {
+                cartItemsToDelete.add(cartItem);
+            } else {
+                cartItem.setQuantity(cartItem.getQuantity() - quantityToRemove);
+                cartItemsToAdjust.add(cartItem);
+            }
+        }
+
+        cartItemRepository.deleteAll(cartItemsToDelete);
+        return cartItemRepository.saveAll(cartItemsToAdjust);
+    }
+
+    @Override
+    public void delete(String customerId, Long productId) {
+        cartItemRepository.deleteByCustomerIdAndProductId(customerId, productId);
+    }
+
+    private CartItem updateExistingCartItem(CartItem existingCartItem, int quantity) {
+        existingCartItem.setQuantity(existingCartItem.getQuantity() + quantity);
+        return cartItemRepository.save(existingCartItem);
+    }
+}
@@ -0,0 +1,352 @@
+package com.yas.cart.store;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.CartItemId;
+import com.yas.cart.repository.CartItemBatchRepository;
+import com.yas.cart.repository.CartItemRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CartStore} keeping each cart in Redis hashes, so concurrent mutations of the same cart never wait on a row
+ * lock. Quantities are changed with atomic {@code HINCRBY} and every touched item is written behind to the
+ * {@code cart_item} table on a fixed delay, which keeps Postgres as the durable copy used for analytics and for
+ * warming a cart that is not in Redis yet.
+ *
+ * <p>Keys per customer (the hash tag keeps them in one cluster slot for the scripts):
+ * <ul>
+ *     <li>{@code cart:{customerId}:items} - product ID to quantity</li>
+ *     <li>{@code cart:{customerId}:added} - product ID to the epoch millis the product was first added</li>
+ *     <li>{@code cart:{customerId}:loaded} - marker set once the cart has been warmed from Postgres</li>
+ *     <li>{@code cart:{customerId}:dirty} - product IDs changed since they were last written behind, marked by
+ *     the same script that changes them</li>
+ *     <li>{@code cart:{customerId}:flushing} - product IDs taken by a flush that has not committed yet</li>
+ * </ul>
+ *
+ * <p>The pending writes live in Redis, so they survive the instance that accepted them and any instance flushes
+ * them. The carts with pending writes are listed in {@code cart:dirty-carts}, added after each mutation. A cart left
+ * out of that list by a crash between the two commands is listed again by a periodic scan of the dirty keys.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "yas.cart", name = "store", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+        if redis.call('SETNX', KEYS[3], '1') == 0 then return 0 end
+        for i = 1, #ARGV, 3 do
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+        end
+        return 1
+        """, Long.class);
+
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[3])
+        redis.call('SADD', KEYS[3], ARGV[1])
+        return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+        """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BULK_ADD_SCRIPT = new DefaultRedisScript<>("""
+        local quantities = {}
+        for i = 1, #ARGV - 1, 2 do
+            redis.call('HSETNX', KEYS[2], ARGV[i], ARGV[#ARGV])
+            redis.call('SADD', KEYS[3], ARGV[i])
+            quantities[#quantities + 1] = redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+        return quantities
+        """, List.class);
+
+    private static final RedisScript<Long> SET_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[3])
+        redis.call('SADD', KEYS[3], ARGV[1])
+        redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+        return tonumber(ARGV[2])
+        """, Long.class);
+
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+        local current = redis.call('HGET', KEYS[1], ARGV[1])
+        if not current then return -1 end
+        redis.call('SADD', KEYS[3], ARGV[1])
+        if tonumber(current) <= tonumber(ARGV[2]) then
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('HDEL', KEYS[2], ARGV[1])
+            return 0
+        end
+        return redis.call('HINCRBY', KEYS[1], ARGV[1], -tonumber(ARGV[2]))
+        """, Long.class);
+
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('HDEL', KEYS[1], ARGV[1])
+        redis.call('HDEL', KEYS[2], ARGV[1])
+        return redis.call('SADD', KEYS[3], ARGV[1])
+        """, Long.class);
+
+    /**
+     * Moves the dirty product IDs of a cart to its flushing set and returns that set, including the IDs a flush
+     * that never committed left there.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_DIRTY_SCRIPT = new DefaultRedisScript<>("""
+        redis.call('SUNIONSTORE', KEYS[2], KEYS[1], KEYS[2])
+        redis.call('DEL', KEYS[1])
+        return redis.call('SMEMBERS', KEYS[2])
+        """, List.class);
+
+    private static final String DIRTY_CARTS_KEY = "cart:dirty-carts";
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartItemRepository cartItemRepository;
+    private final CartItemBatchRepository cartItemBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public CartItem addQuantity(String customerId, Long productId, int quantity) {
+        ensureLoaded(customerId);
+        Long newQuantity = redisTemplate.execute(ADD_SCRIPT, cartKeys(customerId),
+            productId.toString(), Integer.toString(quantity), Long.toString(System.currentTimeMillis()));
+        markDirty(customerId);
+        return toCartItem(customerId, productId, newQuantity);
+    }
+
+    @Override
+    public List<CartItem> addQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        ensureLoaded(customerId);
+        List<Long> productIds = quantityByProductId.keySet().stream().sorted().toList();
+        List<String> args = new ArrayList<>();
+        for (Long productId : productIds) {
+            args.add(productId.toString());
+            args.add(quantityByProductId.get(productId).toString());
+        }
+        args.add(Long.toString(System.currentTimeMillis()));
+
+        List<?> newQuantities = redisTemplate.execute(BULK_ADD_SCRIPT, cartKeys(customerId), args.toArray());
+        markDirty(customerId);
+        List<CartItem> cartItems = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            cartItems.add(toCartItem(customerId, productIds.get(i), ((Number) newQuantities.get(i)).longValue()));
+        }
+        return cartItems;
+    }
+
+    @Override
+    public CartItem setQuantity(String customerId, Long productId, int quantity) {
+        ensureLoaded(customerId);
+        Long newQuantity = redisTemplate.execute(SET_SCRIPT, cartKeys(customerId),
+            productId.toString(), Integer.toString(quantity), Long.toString(System.currentTimeMillis()));
+        markDirty(customerId);
+        return toCartItem(customerId, productId, newQuantity);
+    }
+
+    @Override
+    public List<CartItem> findByCustomerId(String customerId) {
+        ensureLoaded(customerId);
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        Map<String, String> quantityByProductId = hashOperations.entries(itemsKey(customerId));
+        Map<String, String> addedOnByProductId = hashOperations.entries(addedKey(customerId));
+
+        Comparator<Map.Entry<String, String>> latestAddedFirst = Comparator.comparingLong(
+            (Map.Entry<String, String> entry) -> Long.parseLong(addedOnByProductId.getOrDefault(entry.getKey(), "0")))
+            .reversed();
+        return quantityByProductId.entrySet()
+            .stream()
+            .sorted(latestAddedFirst)
+            .map(entry -> toCartItem(customerId, Long.valueOf(entry.getKey()), Long.valueOf(entry.getValue())))
+            .toList();
+    }
+
+    @Override
+    public List<CartItem> removeQuantities(String customerId, Map<Long, Integer> quantityByProductId) {
+        ensureLoaded(customerId);
+        List<CartItem> adjustedCartItems = new ArrayList<>();
+        quantityByProductId.forEach((productId, quantity) -> {
+            Long remainingQuantity = redisTemplate.execute(REMOVE_SCRIPT, cartKeys(customerId),
+                productId.toString(), quantity.toString());
+            if (remainingQuantity == null || remainingQuantity < 0) {
+                return;
+            }
+            markDirty(customerId);
+            if (remainingQuantity > 0) {
+                adjustedCartItems.add(toCartItem(customerId, productId, remainingQuantity));
+            }
+        });
+        return adjustedCartItems;
+    }
+
+    @Override
+    public void delete(String customerId, Long productId) {
+        ensureLoaded(customerId);
+        redisTemplate.execute(DELETE_SCRIPT, cartKeys(customerId), productId.toString());
+        markDirty(customerId);
+    }
+
+    /**
+     * Writes the cart items touched since they were last written to the {@code cart_item} table. The current Redis
+     * value is read at flush time, so several mutations of the same item collapse into a single row write, and all
+     * rows go out in one JDBC batch. A cart is taken off the dirty list before its items are taken, so a mutation
+     * racing the flush lists it again. Items that could not be written are marked dirty again for the next run, and
+     * items of a flush that died before committing stay in the flushing set until a later flush of their cart.
+     */
+    @Scheduled(fixedDelayString = "${yas.cart.write-behind.flush-interval-ms:1000}")
+    public void flushDirtyCartItems() {
+        List<String> customerIds = redisTemplate.opsForSet().pop(DIRTY_CARTS_KEY, FLUSH_BATCH_SIZE);
+        if (customerIds == null || customerIds.isEmpty()) {
+            return;
+        }
+        List<CartItemId> cartItemIds = new ArrayList<>();
+        for (String customerId : customerIds) {
+            List<?> productIds = redisTemplate.execute(TAKE_DIRTY_SCRIPT,
+                List.of(dirtyKey(customerId), flushingKey(customerId)));
+            if (productIds != null) {
+                productIds.forEach(productId -> cartItemIds.add(
+                    new CartItemId(customerId, Long.valueOf(productId.toString()))));
+            }
+        }
+        if (cartItemIds.isEmpty()) {
+            return;
+        }
+        Map<String, String[]> productIdsByCustomer = productIdsByCustomer(cartItemIds);
+
+        try {
+            Map<CartItemId, Integer> quantityById = readQuantities(cartItemIds);
+            transactionTemplate.executeWithoutResult(status -> writeToDatabase(cartItemIds, quantityById));
+        } catch (RuntimeException e) {
+            log.error("Failed to write behind {} cart items, retrying on next flush", cartItemIds.size(), e);
+            productIdsByCustomer.forEach((customerId, productIds) -> {
+                redisTemplate.opsForSet().add(dirtyKey(customerId), productIds);
+                redisTemplate.opsForSet().remove(flushingKey(customerId), (Object[]) productIds);
+                markDirty(customerId);
+            });
+            return;
+        }
+        productIdsByCustomer.forEach((customerId, productIds) ->
+            redisTemplate.opsForSet().remove(flushingKey(customerId), (Object[]) productIds));
+    }
+
+    /**
+     * Lists again the carts whose pending writes are not on the dirty list, because the instance that accepted or
+     * flushed them stopped between two commands.
+     */
+    @Scheduled(fixedDelayString = "${yas.cart.write-behind.recovery-interval-ms:300000}")
+    public void recoverDirtyCarts() {
+        for (String pattern : List.of("cart:*:dirty", "cart:*:flushing")) {
+            try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000)
+                .build())) {
+                keys.forEachRemaining(key -> markDirty(key.substring(key.indexOf('{') + 1, key.lastIndexOf('}'))));
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushDirtyCartItems();
+    }
+
+    private static Map<String, String[]> productIdsByCustomer(List<CartItemId> cartItemIds) {
+        return cartItemIds.stream().collect(Collectors.groupingBy(CartItemId::getCustomerId,
+            Collectors.collectingAndThen(Collectors.toList(),
+                ids -> ids.stream().map(id -> id.getProductId().toString()).toArray(String[]::new))));
+    }
+
+    private Map<CartItemId, Integer> readQuantities(List<CartItemId> cartItemIds) {
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        Map<CartItemId, Integer> quantityById = new HashMap<>();
+        Map<String, List<CartItemId>> idsByCustomer = cartItemIds.stream()
+            .collect(Collectors.groupingBy(CartItemId::getCustomerId));
+
+        idsByCustomer.forEach((customerId, ids) -> {
+            List<String> fields = ids.stream().map(id -> id.getProductId().toString()).toList();
+            List<String> quantities = hashOperations.multiGet(itemsKey(customerId), fields);
+            for (int i = 0; i < ids.size(); i++) {
+                if (quantities.get(i) != null) {
+                    quantityById.put(ids.get(i), Integer.valueOf(quantities.get(i)));
+                }
+            }
+        });
+        return quantityById;
+    }
+
+    private void writeToDatabase(List<CartItemId> cartItemIds, Map<CartItemId, Integer> quantityById) {
+        List<CartItemId> idsToDelete = cartItemIds.stream()
+            .filter(id -> !quantityById.containsKey(id))
+            .toList();
+        List<CartItem> cartItemsToSave = quantityById.entrySet().stream()
+            .map(entry -> toCartItem(entry.getKey().getCustomerId(), entry.getKey().getProductId(),
+                entry.getValue().longValue()))
+            .toList();
+
+        cartItemBatchRepository.upsertQuantities(cartItemsToSave);
+        cartItemBatchRepository.deleteAllById(idsToDelete);
+    }
+
+    private void ensureLoaded(String customerId) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(loadedKey(customerId)))) {
+            return;
+        }
+        List<String> args = new ArrayList<>();
+        for (CartItem cartItem : cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(customerId)) {
+            args.add(cartItem.getProductId().toString());
+            args.add(Integer.toString(cartItem.getQuantity()));
+            args.add(Long.toString(cartItem.getCreatedOn() != null
+                ? cartItem.getCreatedOn().toInstant().toEpochMilli() : 0L));
+        }
+        redisTemplate.execute(LOAD_SCRIPT, List.of(itemsKey(customerId), addedKey(customerId),
+            loadedKey(customerId)), args.toArray());
+    }
+
+    private void markDirty(String customerId) {
+        redisTemplate.opsForSet().add(DIRTY_CARTS_KEY, customerId);
+    }
+
+    private static CartItem toCartItem(String customerId, Long productId, Long quantity) {
+        return CartItem.builder()
+            .customerId(customerId)
+            .productId(productId)
+            .quantity(quantity == null ? 0 : quantity.intValue())
+            .build();
+    }
+
+    private static List<String> cartKeys(String customerId) {
+        return List.of(itemsKey(customerId), addedKey(customerId), dirtyKey(customerId));
+    }
+
+    private static String itemsKey(String customerId) {
+        return "cart:{" + customerId + "}:items";
+    }
+
+    private static String addedKey(String customerId) {
+        return "cart:{" + customerId + "}:added";
+    }
+
+    private static String loadedKey(String customerId) {
+        return "cart:{" + customerId + "}:loaded";
+    }
+
+    private static String dirtyKey(String customerId) {
+        return "cart:{" + customerId + "}:dirty";
+    }
+
+    private static String flushingKey(String customerId) {
+        return "cart:{" + customerId + "}:flushing";
+    }
+}
@@ -0,0 +1,19 @@
+package com.yas.cart.viewmodel;
+
+import lombok.Builder;
+
+/**
+ * A cart line with its product details. {@code available} is false when the product could not be resolved, because
+ * it no longer exists or the product lookup failed; the line is still returned so the cart page can show it.
+ */
+@Builder
+public record CartItemDetailVm(
+    String customerId,
+    Long productId,
+    Integer quantity,
+    String productName,
+    String slug,
+    String thumbnailUrl,
+    Double price,
+    boolean available
+) {}
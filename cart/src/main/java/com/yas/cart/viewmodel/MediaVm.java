@@ -0,0 +1,4 @@
+package com.yas.cart.viewmodel;
+
+public record MediaVm(Long id, String url) {
+}
@@ -1,8 +1,10 @@
 package com.yas.cart.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.cart.service.CartItemDetailService;
 import com.yas.cart.service.CartItemService;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
+import com.yas.cart.viewmodel.CartItemDetailVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
 import com.yas.cart.viewmodel.CartItemPutVm;
@@ -22,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -47,6 +50,9 @@ class CartItemControllerTest {
     @MockBean
     private CartItemService cartItemService;
 
+    @MockBean
+    private CartItemDetailService cartItemDetailService;
+
     @Nested
     class AddToCartTest {
 
@@ -109,6 +115,56 @@ class CartItemControllerTest {
         }
     }
 
+    @Nested
+    class AddCartItemsTest {
+
+        @Test
+        void testAddCartItems_whenQuantityIsLessThanOne_shouldReturnBadRequest() throws Exception {
+            CartItemPostVm cartItemPostVm = new CartItemPostVm(PRODUCT_ID_SAMPLE, 0);
+
+            mockMvc.perform(buildAddCartItemsRequest(List.of(cartItemPostVm)))
+                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void testAddCartItems_whenTooManyItems_shouldReturnBadRequest() throws Exception {
+            List<CartItemPostVm> cartItemPostVms = LongStream.rangeClosed(1, 101)
+                .mapToObj(productId -> new CartItemPostVm(productId, 1))
+                .toList();
+
+            mockMvc.perform(buildAddCartItemsRequest(cartItemPostVms))
+                .andExpect(status().isBadRequest());
+
+            verify(cartItemService, never()).addCartItems(anyList());
+        }
+
+        @Test
+        void testAddCartItems_whenRequestIsValid_shouldReturnCartItems() throws Exception {
+            CartItemPostVm cartItemPostVm = new CartItemPostVm(PRODUCT_ID_SAMPLE, 2);
+            CartItemGetVm expectedCartItem = CartItemGetVm.builder()
+                .customerId(CUSTOMER_ID_SAMPLE)
+                .productId(PRODUCT_ID_SAMPLE)
+                .quantity(2)
+                .build();
+
+            when(cartItemService.addCartItems(anyList())).thenReturn(List.of(expectedCartItem));
+
+            mockMvc.perform(buildAddCartItemsRequest(List.of(cartItemPostVm)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(expectedCartItem.productId()))
+                .andExpect(jsonPath("$[0].quantity").value(expectedCartItem.quantity()));
+
+            verify(cartItemService).addCartItems(List.of(cartItemPostVm));
+        }
+
+        private MockHttpServletRequestBuilder buildAddCartItemsRequest(List<CartItemPostVm> cartItemPostVms)
+            throws Exception {
+            return post("/storefront/cart/items/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(cartItemPostVms));
+        }
+    }
+
     @Nested
     class UpdateCartItemTest {
 
@@ -182,6 +238,28 @@ class CartItemControllerTest {
         }
     }
 
+    @Nested
+    class GetCartItemDetailsTest {
+
+        @Test
+        void testGetCartItemDetails_whenRequestIsValid_shouldReturnCartItemDetails() throws Exception {
+            CartItemDetailVm expectedCartItem = CartItemDetailVm.builder()
+                .productId(PRODUCT_ID_SAMPLE)
+                .quantity(2)
+                .productName("Product")
+                .price(10.0)
+                .build();
+
+            when(cartItemDetailService.getCartItemDetails()).thenReturn(List.of(expectedCartItem));
+
+            mockMvc.perform(get("/storefront/cart/items/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(expectedCartItem.productId()))
+                .andExpect(jsonPath("$[0].productName").value(expectedCartItem.productName()))
+                .andExpect(jsonPath("$[0].price").value(expectedCartItem.price()));
+        }
+    }
+
     @Nested
     class DeleteOrAdjustCartItemTest {
 
@@ -0,0 +1,47 @@
+package com.yas.cart.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.cart.model.ProductSnapshot;
+import com.yas.cart.service.ProductSnapshotService;
+import com.yas.commonlibrary.kafka.cdc.message.Operation;
+import com.yas.commonlibrary.kafka.cdc.message.Product;
+import com.yas.commonlibrary.kafka.cdc.message.ProductCdcMessage;
+import com.yas.commonlibrary.kafka.cdc.message.ProductMsgKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSnapshotConsumerTest {
+
+    private ProductSnapshotService productSnapshotService;
+
+    private ProductSnapshotConsumer productSnapshotConsumer;
+
+    @BeforeEach
+    void setUp() {
+        productSnapshotService = new ProductSnapshotService(new SimpleMeterRegistry());
+        productSnapshotConsumer = new ProductSnapshotConsumer(productSnapshotService);
+    }
+
+    @Test
+    void sync_whenProductUpdated_shouldStoreSnapshot() {
+        ProductCdcMessage message = ProductCdcMessage.builder()
+            .op(Operation.UPDATE)
+            .after(Product.builder().id(1L).isPublished(true).isAllowedToOrder(true).price(9.5).thumbnailMediaId(7L)
+                .build())
+            .build();
+
+        productSnapshotConsumer.sync(new ProductMsgKey(1L), message);
+
+        assertThat(productSnapshotService.find(1L)).contains(new ProductSnapshot(1L, true, true, 9.5, 7L));
+    }
+
+    @Test
+    void sync_whenTombstone_shouldMarkProductDeleted() {
+        productSnapshotConsumer.sync(new ProductMsgKey(1L), null);
+
+        assertThat(productSnapshotService.find(1L))
+            .hasValueSatisfying(snapshot -> assertThat(snapshot.isValidForCart()).isFalse());
+    }
+}
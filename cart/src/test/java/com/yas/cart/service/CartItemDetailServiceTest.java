@@ -0,0 +1,136 @@
+package com.yas.cart.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.ProductSnapshot;
+import com.yas.cart.store.CartStore;
+import com.yas.cart.viewmodel.CartItemDetailVm;
+import com.yas.cart.viewmodel.ProductThumbnailVm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+class CartItemDetailServiceTest {
+
+    private static final String CURRENT_USER_ID_SAMPLE = "userId";
+
+    private CartStore cartStore;
+    private ProductService productService;
+    private MediaService mediaService;
+    private ProductSnapshotService productSnapshotService;
+    private CartItemDetailService cartItemDetailService;
+
+    @BeforeEach
+    void setUp() {
+        cartStore = mock(CartStore.class);
+        productService = mock(ProductService.class);
+        mediaService = mock(MediaService.class);
+        productSnapshotService = new ProductSnapshotService(new SimpleMeterRegistry());
+        cartItemDetailService = new CartItemDetailService(cartStore, productService, mediaService,
+            productSnapshotService, 1000, 1000);
+        mockCurrentUserId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemDetailService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetCartItemDetails_whenAllDependenciesAnswer_shouldEnrichCartItems() {
+        productSnapshotService.put(new ProductSnapshot(1L, true, true, 9.0, 11L));
+        when(cartStore.findByCustomerId(CURRENT_USER_ID_SAMPLE)).thenReturn(List.of(cartItem(1L, 2)));
+        when(productService.getProducts(List.of(1L)))
+            .thenReturn(List.of(new ProductThumbnailVm(1L, "Product 1", "product-1", "product-url", 10.0)));
+        when(mediaService.getMediaUrls(List.of(11L))).thenReturn(Map.of(11L, "media-url"));
+
+        List<CartItemDetailVm> details = cartItemDetailService.getCartItemDetails();
+
+        assertEquals(1, details.size());
+        assertEquals("Product 1", details.getFirst().productName());
+        assertEquals("media-url", details.getFirst().thumbnailUrl());
+        assertEquals(10.0, details.getFirst().price());
+        assertEquals(2, details.getFirst().quantity());
+        assertTrue(details.getFirst().available());
+    }
+
+    @Test
+    void testGetCartItemDetails_whenProductServiceFails_shouldDegradeToSnapshot() {
+        productSnapshotService.put(new ProductSnapshot(1L, true, true, 9.0, null));
+        when(cartStore.findByCustomerId(CURRENT_USER_ID_SAMPLE)).thenReturn(List.of(cartItem(1L, 1)));
+        when(productService.getProducts(any())).thenThrow(new IllegalStateException("product service down"));
+
+        List<CartItemDetailVm> details = cartItemDetailService.getCartItemDetails();
+
+        assertEquals(1, details.size());
+        assertNull(details.getFirst().productName());
+        assertFalse(details.getFirst().available());
+        assertEquals(9.0, details.getFirst().price());
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    void testGetCartItemDetails_whenProductServiceTimesOut_shouldKeepLinesAsUnavailable() {
+        cartItemDetailService.shutdown();
+        cartItemDetailService = new CartItemDetailService(cartStore, productService, mediaService,
+            productSnapshotService, 50, 1000);
+        productSnapshotService.put(new ProductSnapshot(1L, true, true, 9.0, null));
+        when(cartStore.findByCustomerId(CURRENT_USER_ID_SAMPLE))
+            .thenReturn(List.of(cartItem(1L, 1), cartItem(2L, 3)));
+        when(productService.getProducts(any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+
+        List<CartItemDetailVm> details = cartItemDetailService.getCartItemDetails();
+
+        assertEquals(List.of(1L, 2L), details.stream().map(CartItemDetailVm::productId).toList());
+        assertTrue(details.stream().noneMatch(CartItemDetailVm::available));
+        assertEquals(9.0, details.getFirst().price());
+        assertNull(details.get(1).price());
+        assertEquals(3, details.get(1).quantity());
+    }
+
+    @Test
+    void testGetCartItemDetails_whenCartEmpty_shouldNotCallDependencies() {
+        when(cartStore.findByCustomerId(CURRENT_USER_ID_SAMPLE)).thenReturn(List.of());
+
+        assertTrue(cartItemDetailService.getCartItemDetails().isEmpty());
+        verifyNoInteractions(productService, mediaService);
+    }
+
+    private static CartItem cartItem(Long productId, int quantity) {
+        return CartItem.builder()
+            .customerId(CURRENT_USER_ID_SAMPLE)
+            .productId(productId)
+            .quantity(quantity)
+            .build();
+    }
+
+    private void mockCurrentUserId() {
+        Jwt jwt = mock(Jwt.class);
+        JwtAuthenticationToken jwtToken = new JwtAuthenticationToken(jwt);
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(jwtToken);
+
+        when(jwt.getSubject()).thenReturn(CURRENT_USER_ID_SAMPLE);
+        SecurityContextHolder.setContext(securityContext);
+    }
+}
@@ -5,13 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.yas.cart.mapper.CartItemMapper;
 import com.yas.cart.model.CartItem;
+import com.yas.cart.repository.CartItemBatchRepository;
 import com.yas.cart.repository.CartItemRepository;
+import com.yas.cart.store.DatabaseCartStore;
 import com.yas.cart.viewmodel.CartItemDeleteVm;
 import com.yas.cart.viewmodel.CartItemGetVm;
 import com.yas.cart.viewmodel.CartItemPostVm;
@@ -20,12 +25,13 @@ import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.InternalServerErrorException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
@@ -41,18 +47,23 @@ class CartItemServiceTest {
     @Mock
     private CartItemRepository cartItemRepository;
 
+    @Mock
+    private CartItemBatchRepository cartItemBatchRepository;
+
     @Mock
     private ProductService productService;
 
     @Spy
     private CartItemMapper cartItemMapper = new CartItemMapper();
 
-    @InjectMocks
     private CartItemService cartItemService;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(cartItemRepository, productService);
+        Mockito.reset(cartItemRepository, cartItemBatchRepository, productService);
+        DatabaseCartStore cartStore = new DatabaseCartStore(cartItemRepository, cartItemBatchRepository,
+            cartItemMapper);
+        cartItemService = new CartItemService(cartStore, productService, cartItemMapper);
     }
 
     private static final String CURRENT_USER_ID_SAMPLE = "userId";
@@ -135,6 +146,49 @@ class CartItemServiceTest {
         }
     }
 
+    @Nested
+    class AddCartItemsTest {
+
+        @Test
+        void testAddCartItems_whenSomeProductsNotFound_shouldThrowNotFoundException() {
+            List<CartItemPostVm> cartItemPostVms = List.of(new CartItemPostVm(1L, 1), new CartItemPostVm(2L, 1));
+
+            when(productService.findInvalidProductIds(any())).thenReturn(Set.of(2L));
+
+            assertThrows(NotFoundException.class, () -> cartItemService.addCartItems(cartItemPostVms));
+            verify(cartItemBatchRepository, never()).addQuantities(anyString(), any());
+        }
+
+        @Test
+        void testAddCartItems_whenRequestIsValid_shouldMergeDuplicatesAndWriteOneBatch() {
+            CartItem existingCartItem = CartItem.builder()
+                .customerId(CURRENT_USER_ID_SAMPLE)
+                .productId(1L)
+                .quantity(3)
+                .build();
+            List<CartItemPostVm> cartItemPostVms = List.of(
+                new CartItemPostVm(2L, 1), new CartItemPostVm(1L, 1), new CartItemPostVm(2L, 2));
+
+            mockCurrentUserId(CURRENT_USER_ID_SAMPLE);
+            when(productService.findInvalidProductIds(any())).thenReturn(Set.of());
+            when(cartItemRepository.lockByCustomerIdAndProductIdIn(anyString(), any()))
+                .thenReturn(List.of(existingCartItem));
+            // A concurrent single-item add landed on product 1 before the lock was taken
+            when(cartItemBatchRepository.findQuantities(anyString(), any())).thenReturn(Map.of(1L, 5, 2L, 3));
+
+            List<CartItemGetVm> cartItemGetVms = cartItemService.addCartItems(cartItemPostVms);
+
+            verify(cartItemBatchRepository).addQuantities(CURRENT_USER_ID_SAMPLE, Map.of(1L, 1, 2L, 3));
+            verify(cartItemRepository).lockByCustomerIdAndProductIdIn(eq(CURRENT_USER_ID_SAMPLE),
+                argThat(productIds -> List.copyOf(productIds).equals(List.of(1L, 2L))));
+            assertEquals(2, cartItemGetVms.size());
+            assertEquals(1L, cartItemGetVms.get(0).productId());
+            assertEquals(5, cartItemGetVms.get(0).quantity());
+            assertEquals(2L, cartItemGetVms.get(1).productId());
+            assertEquals(3, cartItemGetVms.get(1).quantity());
+        }
+    }
+
     @Nested
     class UpdateCartItemTest {
         private CartItemPutVm cartItemPutVm;
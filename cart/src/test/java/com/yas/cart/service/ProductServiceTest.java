@@ -2,10 +2,13 @@ package com.yas.cart.service;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import com.yas.commonlibrary.config.ServiceUrlConfig;
+import com.yas.cart.model.ProductSnapshot;
 import com.yas.cart.viewmodel.ProductThumbnailVm;
+import com.yas.commonlibrary.config.ServiceUrlConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.URI;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +27,8 @@ class ProductServiceTest {
 
     ProductService productService;
 
+    ProductSnapshotService productSnapshotService;
+
     RestClient.RequestHeadersUriSpec requestHeadersUriSpec;
 
     RestClient.ResponseSpec responseSpec;
@@ -32,7 +37,8 @@ class ProductServiceTest {
     void setUp() {
         restClient = Mockito.mock(RestClient.class);
         serviceUrlConfig = Mockito.mock(ServiceUrlConfig.class);
-        productService = new ProductService(restClient, serviceUrlConfig);
+        productSnapshotService = new ProductSnapshotService(new SimpleMeterRegistry());
+        productService = new ProductService(restClient, serviceUrlConfig, productSnapshotService);
         requestHeadersUriSpec = Mockito.mock(RestClient.RequestHeadersUriSpec.class);
         responseSpec = Mockito.mock(RestClient.ResponseSpec.class);
     }
@@ -64,25 +70,48 @@ class ProductServiceTest {
         assertThat(result.get(2).id()).isEqualTo(3);
     }
 
+    @Test
+    void existsById_whenProductInSnapshot_shouldNotCallProductService() {
+        productSnapshotService.put(new ProductSnapshot(1L, true, true, 10.0, null));
+        productSnapshotService.put(new ProductSnapshot(2L, false, true, 10.0, null));
+        productSnapshotService.put(new ProductSnapshot(3L, true, false, 10.0, null));
+
+        assertThat(productService.existsById(1L)).isTrue();
+        assertThat(productService.existsById(2L)).isFalse();
+        assertThat(productService.existsById(3L)).isFalse();
+        verifyNoInteractions(restClient);
+    }
+
+    @Test
+    void existsById_whenProductDeletedInSnapshot_shouldReturnFalse() {
+        productSnapshotService.markDeleted(1L);
+
+        assertThat(productService.existsById(1L)).isFalse();
+        verifyNoInteractions(restClient);
+    }
+
     private List<ProductThumbnailVm> getProductThumbnailVms() {
 
         ProductThumbnailVm product1 = new ProductThumbnailVm(
             1L,
             "Product 1",
             "product-1",
-            "http://example.com/product1.jpg"
+            "http://example.com/product1.jpg",
+            10.0
         );
         ProductThumbnailVm product2 = new ProductThumbnailVm(
             2L,
             "Product 2",
             "product-2",
-            "http://example.com/product2.jpg"
+            "http://example.com/product2.jpg",
+            20.0
         );
         ProductThumbnailVm product3 = new ProductThumbnailVm(
             3L,
             "Product 3",
             "product-3",
-            "http://example.com/product3.jpg"
+            "http://example.com/product3.jpg",
+            30.0
         );
 
         return List.of(product1, product2, product3);
@@ -0,0 +1,209 @@
+package com.yas.cart.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.cart.model.CartItem;
+import com.yas.cart.model.CartItemId;
+import com.yas.cart.repository.CartItemBatchRepository;
+import com.yas.cart.repository.CartItemRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCartStoreTest {
+
+    private static final String CUSTOMER_ID = "userId";
+    private static final Long PRODUCT_ID = 1L;
+    private static final String DIRTY_CARTS_KEY = "cart:dirty-carts";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private CartItemBatchRepository cartItemBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private HashOperations<String, String, String> hashOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private RedisCartStore redisCartStore;
+
+    @BeforeEach
+    void setUp() {
+        redisCartStore = new RedisCartStore(redisTemplate, cartItemRepository, cartItemBatchRepository,
+            transactionTemplate);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+    }
+
+    @Test
+    void testAddQuantity_whenCartLoaded_shouldIncrementQuantityWithoutReadingDatabase() {
+        when(redisTemplate.hasKey("cart:{userId}:loaded")).thenReturn(true);
+        mockScriptResult("2", 3L);
+
+        CartItem cartItem = redisCartStore.addQuantity(CUSTOMER_ID, PRODUCT_ID, 2);
+
+        assertEquals(3, cartItem.getQuantity());
+        assertEquals(CUSTOMER_ID, cartItem.getCustomerId());
+        assertEquals(PRODUCT_ID, cartItem.getProductId());
+        verify(cartItemRepository, never()).findByCustomerIdOrderByCreatedOnDesc(anyString());
+        verify(setOperations).add(DIRTY_CARTS_KEY, CUSTOMER_ID);
+    }
+
+    @Test
+    void testAddQuantity_whenCartNotLoaded_shouldWarmCartFromDatabase() {
+        when(redisTemplate.hasKey("cart:{userId}:loaded")).thenReturn(false);
+        when(cartItemRepository.findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID)).thenReturn(List.of());
+        mockScriptResult("1", 1L);
+
+        redisCartStore.addQuantity(CUSTOMER_ID, PRODUCT_ID, 1);
+
+        verify(cartItemRepository).findByCustomerIdOrderByCreatedOnDesc(CUSTOMER_ID);
+    }
+
+    @Test
+    void testFlushDirtyCartItems_whenItemStillInCart_shouldSaveCurrentQuantity() {
+        mockDirtyCart("1");
+        mockTransaction();
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet("cart:{userId}:items", List.of("1"))).thenReturn(List.of("5"));
+
+        redisCartStore.flushDirtyCartItems();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CartItem>> savedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(cartItemBatchRepository).upsertQuantities(savedCaptor.capture());
+        assertEquals(1, savedCaptor.getValue().size());
+        assertEquals(5, savedCaptor.getValue().getFirst().getQuantity());
+        verify(cartItemBatchRepository).deleteAllById(List.of());
+        verify(setOperations).remove("cart:{userId}:flushing", "1");
+    }
+
+    @Test
+    void testFlushDirtyCartItems_whenItemRemovedFromCart_shouldDeleteRow() {
+        mockDirtyCart("1");
+        mockTransaction();
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet("cart:{userId}:items", List.of("1")))
+            .thenReturn(new ArrayList<>(Collections.singletonList(null)));
+
+        redisCartStore.flushDirtyCartItems();
+
+        verify(cartItemBatchRepository).deleteAllById(List.of(new CartItemId(CUSTOMER_ID, PRODUCT_ID)));
+        verify(cartItemBatchRepository).upsertQuantities(List.of());
+    }
+
+    @Test
+    void testFlushDirtyCartItems_whenWriteFails_shouldKeepItemsDirtyInRedis() {
+        mockDirtyCart("1");
+        when(redisTemplate.<String, String>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet("cart:{userId}:items", List.of("1"))).thenReturn(List.of("5"));
+        doThrow(new IllegalStateException("Database unavailable")).when(transactionTemplate)
+            .executeWithoutResult(any());
+
+        redisCartStore.flushDirtyCartItems();
+
+        verify(setOperations).add("cart:{userId}:dirty", "1");
+        verify(setOperations).remove("cart:{userId}:flushing", "1");
+        verify(setOperations).add(DIRTY_CARTS_KEY, CUSTOMER_ID);
+    }
+
+    @Test
+    void testFlushDirtyCartItems_whenNoCartIsDirty_shouldNotTouchDatabase() {
+        when(setOperations.pop(DIRTY_CARTS_KEY, 1000)).thenReturn(List.of());
+
+        redisCartStore.flushDirtyCartItems();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    void testDelete_shouldRemoveItemAndMarkItDirtyInOneScriptCall() {
+        when(redisTemplate.hasKey("cart:{userId}:loaded")).thenReturn(true);
+
+        redisCartStore.delete(CUSTOMER_ID, PRODUCT_ID);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+            eq(List.of("cart:{userId}:items", "cart:{userId}:added", "cart:{userId}:dirty")), eq("1"));
+        verify(setOperations).add(DIRTY_CARTS_KEY, CUSTOMER_ID);
+    }
+
+    @Test
+    void testAddQuantities_shouldIncrementAllItemsInOneScriptCall() {
+        when(redisTemplate.hasKey("cart:{userId}:loaded")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("1"), eq("2"), eq("3"), eq("4"),
+            anyString())).thenReturn(List.of(2L, 4L));
+
+        List<CartItem> cartItems = redisCartStore.addQuantities(CUSTOMER_ID, Map.of(3L, 4, PRODUCT_ID, 2));
+
+        assertEquals(2, cartItems.size());
+        assertEquals(PRODUCT_ID, cartItems.get(0).getProductId());
+        assertEquals(2, cartItems.get(0).getQuantity());
+        assertEquals(3L, cartItems.get(1).getProductId());
+        assertEquals(4, cartItems.get(1).getQuantity());
+    }
+
+    @Test
+    void testRemoveQuantities_whenItemNotInCart_shouldIgnoreItem() {
+        when(redisTemplate.hasKey("cart:{userId}:loaded")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("1"), eq("1"))).thenReturn(-1L);
+
+        List<CartItem> adjusted = redisCartStore.removeQuantities(CUSTOMER_ID, Map.of(PRODUCT_ID, 1));
+
+        assertTrue(adjusted.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockScriptResult(String quantityArg, Long result) {
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("1"), eq(quantityArg), anyString()))
+            .thenReturn(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockDirtyCart(String... productIds) {
+        when(setOperations.pop(DIRTY_CARTS_KEY, 1000)).thenReturn(List.of(CUSTOMER_ID));
+        when(redisTemplate.execute(any(RedisScript.class),
+            eq(List.of("cart:{userId}:dirty", "cart:{userId}:flushing")))).thenReturn(List.of(productIds));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTransaction() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
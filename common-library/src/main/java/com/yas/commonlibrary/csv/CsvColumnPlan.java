@@ -0,0 +1,131 @@
+package com.yas.commonlibrary.csv;
+
+import com.yas.commonlibrary.csv.anotation.CsvColumn;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The columns of a {@code @CsvName} class, resolved once per class: the header names in declaration order
+ * ({@link BaseCsv} columns first) and one compiled getter per column. Getters are turned into {@link Function}
+ * instances with {@link LambdaMetafactory}, so reading a cell is a plain interface call instead of a reflective
+ * lookup and invocation.
+ */
+@Slf4j
+final class CsvColumnPlan {
+
+    private static final String GET_PREFIX = "get";
+
+    private static final ClassValue<CsvColumnPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected CsvColumnPlan computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private final String[] headers;
+    private final List<Function<Object, Object>> accessors;
+
+    private CsvColumnPlan(String[] headers, List<Function<Object, Object>> accessors) {
+        this.headers = headers;
+        this.accessors = accessors;
+    }
+
+    static CsvColumnPlan of(Class<?> clazz) {
+        return PLANS.get(clazz);
+    }
+
+    String[] headers() {
+        return headers;
+    }
+
+    int size() {
+        return headers.length;
+    }
+
+    Object valueAt(int column, Object data) {
+        try {
+            return accessors.get(column).apply(data);
+        } catch (RuntimeException e) {
+            log.warn("Get value err {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static CsvColumnPlan compile(Class<?> clazz) {
+        Field[] fields = Stream.concat(Stream.of(BaseCsv.class.getDeclaredFields()),
+                Stream.of(clazz.getDeclaredFields()))
+            .filter(field -> field.getAnnotation(CsvColumn.class) != null)
+            .toArray(Field[]::new);
+
+        String[] headers = new String[fields.length];
+        List<Function<Object, Object>> accessors = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            headers[i] = fields[i].getAnnotation(CsvColumn.class).columnName();
+            accessors.add(compileAccessor(clazz, fields[i]));
+        }
+        return new CsvColumnPlan(headers, List.copyOf(accessors));
+    }
+
+    private static Function<Object, Object> compileAccessor(Class<?> clazz, Field field) {
+        String getterName = GET_PREFIX + StringUtils.capitalize(field.getName());
+        Method getter;
+        try {
+            getter = clazz.getMethod(getterName);
+        } catch (NoSuchMethodException e) {
+            log.warn("No getter {} on {}, column will be empty", getterName, clazz.getName());
+            return data -> null;
+        }
+
+        MethodHandle handle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(), MethodHandles.lookup());
+            handle = lookup.unreflect(getter);
+        } catch (IllegalAccessException e) {
+            log.warn("Cannot access getter {} on {}, column will be empty", getterName, clazz.getName());
+            return data -> null;
+        }
+
+        try {
+            return toFunction(lookup, handle);
+        } catch (Throwable e) {
+            log.debug("Falling back to a method handle for getter {} on {}", getterName, clazz.getName(), e);
+            MethodHandle genericHandle = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return data -> invoke(genericHandle, data);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> toFunction(MethodHandles.Lookup lookup, MethodHandle handle)
+        throws Throwable {
+        CallSite callSite = LambdaMetafactory.metafactory(
+            lookup,
+            "apply",
+            MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class),
+            handle,
+            handle.type().wrap());
+        return (Function<Object, Object>) callSite.getTarget().invokeExact();
+    }
+
+    private static Object invoke(MethodHandle handle, Object data) {
+        try {
+            return handle.invokeExact(data);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
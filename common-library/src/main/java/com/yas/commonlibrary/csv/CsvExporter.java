@@ -1,104 +1,63 @@
 package com.yas.commonlibrary.csv;
 
-import com.opencsv.CSVWriter;
-import com.opencsv.ICSVWriter;
-import com.yas.commonlibrary.csv.anotation.CsvColumn;
 import com.yas.commonlibrary.csv.anotation.CsvName;
 import com.yas.commonlibrary.utils.DateTimeUtils;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 
-
-@Slf4j
 public class CsvExporter {
 
     private CsvExporter() {
     }
 
-    private static final String GET_PREFIX = "get";
-
     public static <T> byte[] exportToCsv(List<BaseCsv> dataList, Class<T> clazz) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             OutputStreamWriter outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream,
-                 StandardCharsets.UTF_8);
-             CSVWriter csvWriter = new CSVWriter(outputStreamWriter, ICSVWriter.DEFAULT_SEPARATOR,
-                 ICSVWriter.NO_QUOTE_CHARACTER,
-                 ICSVWriter.DEFAULT_ESCAPE_CHARACTER, ICSVWriter.DEFAULT_LINE_END)) {
-
-            // Write CSV header
-            writeCsvHeader(csvWriter, clazz);
-
-            // Write CSV data
-            writeCsvData(csvWriter, dataList, clazz);
-
-            csvWriter.flush();
-            return byteArrayOutputStream.toByteArray();
-        }
-    }
-
-    private static <T> void writeCsvHeader(CSVWriter csvWriter, Class<T> clazz) {
-        Field[] baseFields = BaseCsv.class.getDeclaredFields();
-        Field[] fields = clazz.getDeclaredFields();
-
-        String[] header = Stream.concat(Stream.of(baseFields), Stream.of(fields))
-            .filter(field -> field.getAnnotation(CsvColumn.class) != null)
-            .map(field -> field.getAnnotation(CsvColumn.class).columnName())
-            .toArray(String[]::new);
-
-        csvWriter.writeNext(header);
-    }
-
-    private static <T> void writeCsvData(CSVWriter csvWriter, List<BaseCsv> dataList,
-                                         Class<T> clazz) {
-        Field[] baseFields = BaseCsv.class.getDeclaredFields();
-        Field[] fields = clazz.getDeclaredFields();
-
-        Field[] allFields = Stream.concat(Stream.of(baseFields), Stream.of(fields))
-            .filter(field -> field.getAnnotation(CsvColumn.class) != null)
-            .toArray(Field[]::new);
-
-        for (BaseCsv data : dataList) {
-            String[] row = getFieldValues(allFields, data);
-            csvWriter.writeNext(row);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(byteArrayOutputStream, StandardCharsets.UTF_8)) {
+            CsvRowWriter<T> rowWriter = CsvRowWriter.of(clazz, writer);
+            rowWriter.writeHeader();
+            for (BaseCsv data : dataList) {
+                rowWriter.writeRow(clazz.cast(data));
+            }
         }
+        return byteArrayOutputStream.toByteArray();
     }
 
-    private static String[] getFieldValues(Field[] fields, Object data) {
-        return Stream.of(fields)
-            .filter(field -> field.getAnnotation(CsvColumn.class) != null)
-            .map(field -> getFieldValueAsString(field, data))
-            .toArray(String[]::new);
-    }
-
-    private static String getFieldValueAsString(Field field, Object data) {
+    /**
+     * Writes the header and one row per element straight to the given stream. Rows are consumed as the stream
+     * produces them, so the memory used does not grow with the number of rows. The output stream is flushed but
+     * left open.
+     *
+     * @param dataStream   the rows to write
+     * @param clazz        the {@code BaseCsv} subclass describing the columns
+     * @param outputStream the stream to write the CSV to
+     * @throws IOException if writing to the output stream fails
+     */
+    public static <T> void exportToCsv(Stream<? extends BaseCsv> dataStream, Class<T> clazz,
+                                       OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CsvRowWriter<T> rowWriter = CsvRowWriter.of(clazz, writer);
+        rowWriter.writeHeader();
         try {
-            String getterName = GET_PREFIX + StringUtils.capitalize(field.getName());
-            Method getter = data.getClass().getMethod(getterName);
-            Object value = getter.invoke(data);
-
-            if (!Objects.isNull(value) && value instanceof List) {
-                return ("[" + String.join("|", (List<String>) value) + "]");
-            }
-
-            return value != null ? value.toString() : StringUtils.EMPTY;
-        } catch (IllegalAccessException e) {
-            log.warn("Get value field err {}", e.getMessage());
-            return StringUtils.EMPTY;
-        } catch (InvocationTargetException | NoSuchMethodException e) {
-            log.warn("Get value err {}", e.getMessage());
-            return StringUtils.EMPTY;
+            dataStream.forEachOrdered(data -> {
+                try {
+                    rowWriter.writeRow(clazz.cast(data));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        rowWriter.flush();
     }
 
     public static <T> String createFileName(Class<T> clazz) {
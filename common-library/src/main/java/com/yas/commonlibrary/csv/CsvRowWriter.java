@@ -0,0 +1,107 @@
+package com.yas.commonlibrary.csv;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes rows of a {@code @CsvName} class straight to a {@link Writer}, without building a {@code String[]} per row.
+ * Columns come from the cached {@link CsvColumnPlan} of the class, so creating a writer is cheap.
+ *
+ * <p>The output matches the previous OpenCSV based exporter: comma separated, no quoting, {@code "} as the escape
+ * character in front of {@code "}, {@code ,} and line feeds, and lists rendered as {@code [a|b]}.
+ *
+ * @param <T> the {@code BaseCsv} subclass describing the columns
+ */
+public final class CsvRowWriter<T> implements Flushable {
+
+    private static final char SEPARATOR = ',';
+    private static final char ESCAPE_CHARACTER = '"';
+    private static final char NO_QUOTE_CHARACTER = '\u0000';
+    private static final String LINE_END = "\n";
+
+    private final CsvColumnPlan plan;
+    private final Writer writer;
+
+    private CsvRowWriter(CsvColumnPlan plan, Writer writer) {
+        this.plan = plan;
+        this.writer = writer;
+    }
+
+    public static <T> CsvRowWriter<T> of(Class<T> clazz, Writer writer) {
+        return new CsvRowWriter<>(CsvColumnPlan.of(clazz), writer);
+    }
+
+    public void writeHeader() throws IOException {
+        String[] headers = plan.headers();
+        for (int i = 0; i < headers.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writeEscaped(headers[i]);
+        }
+        writer.write(LINE_END);
+    }
+
+    public void writeRow(T data) throws IOException {
+        for (int i = 0; i < plan.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writeValue(plan.valueAt(i, data));
+        }
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof List<?> values) {
+            writer.write('[');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write('|');
+                }
+                writeEscaped(String.valueOf(values.get(i)));
+            }
+            writer.write(']');
+            return;
+        }
+        writeEscaped(value.toString());
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        if (!needsEscaping(value)) {
+            writer.write(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (isEscaped(character)) {
+                writer.write(ESCAPE_CHARACTER);
+            }
+            writer.write(character);
+        }
+    }
+
+    private static boolean needsEscaping(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isEscaped(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEscaped(char character) {
+        return character == ESCAPE_CHARACTER || character == SEPARATOR || character == '\n'
+            || character == NO_QUOTE_CHARACTER;
+    }
+}
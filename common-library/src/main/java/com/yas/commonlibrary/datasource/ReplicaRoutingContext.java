@@ -0,0 +1,52 @@
+package com.yas.commonlibrary.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers, for the current thread, whether a read-write transaction already ran. Once it has, later read-only
+ * transactions stay on the primary so they see their own writes.
+ *
+ * <p>Inside an HTTP request opened by {@link ReplicaStickinessFilter} the flag lasts until the request ends. Anywhere
+ * else, such as message listeners or scheduled jobs on pooled threads, it is cleared when the transaction that set it
+ * completes, so it never leaks into unrelated work picked up by the same thread.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> WROTE_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REQUEST_SCOPED = new ThreadLocal<>();
+
+    private static final TransactionSynchronization CLEAR_AFTER_COMPLETION = new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+            WROTE_TO_PRIMARY.remove();
+        }
+    };
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void markWroteToPrimary() {
+        if (!hasWrittenToPrimary() && !Boolean.TRUE.equals(REQUEST_SCOPED.get())
+            && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(CLEAR_AFTER_COMPLETION);
+        }
+        WROTE_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean hasWrittenToPrimary() {
+        return Boolean.TRUE.equals(WROTE_TO_PRIMARY.get());
+    }
+
+    /**
+     * Keeps the flag until {@link #clear()} instead of clearing it when each transaction completes.
+     */
+    public static void beginRequest() {
+        REQUEST_SCOPED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        WROTE_TO_PRIMARY.remove();
+        REQUEST_SCOPED.remove();
+    }
+}
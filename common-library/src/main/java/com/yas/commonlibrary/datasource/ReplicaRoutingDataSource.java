@@ -0,0 +1,154 @@
+package com.yas.commonlibrary.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to a pool of replicas and everything else to the primary.
+ *
+ * <p>A replica only receives traffic while its replication lag, checked every {@code lagCheckInterval}, stays under
+ * {@code maxLag}; when no replica qualifies the primary serves the reads. Once a read-write transaction ran on the
+ * current request thread, later reads of that request also go to the primary (see {@link ReplicaRoutingContext}).
+ * Outside a request the stickiness ends with the read-write transaction.
+ *
+ * <p>The routing key is resolved when the connection is obtained, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} for the read-only flag of the transaction
+ * to be known at that point.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Duration lagCheckInterval;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    Duration lagCheckInterval, String lagQuery) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targetDataSources = new HashMap<>(this.replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+        if (!replicas.isEmpty()) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkReplicaLag, lagCheckInterval.toMillis(),
+                lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReplicaRoutingContext.markWroteToPrimary();
+            }
+            return PRIMARY;
+        }
+        if (ReplicaRoutingContext.hasWrittenToPrimary()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measures the lag of every replica and keeps the ones within {@code maxLag}. A replica that cannot be queried
+     * counts as lagging.
+     */
+    void checkReplicaLag() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((key, replica) -> {
+            Duration lag = measureLag(key, replica);
+            if (lag != null && lag.compareTo(maxLag) <= 0) {
+                healthy.add(key);
+            }
+        });
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Replicas serving reads changed from {} to {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    private Duration measureLag(String key, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            double lagSeconds = resultSet.getDouble(1);
+            return resultSet.wasNull() ? Duration.ZERO : Duration.ofMillis((long) (lagSeconds * 1000));
+        } catch (SQLException e) {
+            log.warn("Cannot measure the replication lag of {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            closeIfPossible(replica);
+        }
+        closeIfPossible(primary);
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
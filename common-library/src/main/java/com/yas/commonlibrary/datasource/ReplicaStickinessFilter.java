@@ -0,0 +1,26 @@
+package com.yas.commonlibrary.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Scopes the read-your-writes stickiness of {@link ReplicaRoutingContext} to one HTTP request.
+ */
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ReplicaRoutingContext.clear();
+        ReplicaRoutingContext.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
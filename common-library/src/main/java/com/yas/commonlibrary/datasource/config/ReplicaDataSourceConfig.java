@@ -0,0 +1,69 @@
+package com.yas.commonlibrary.datasource.config;
+
+import com.yas.commonlibrary.datasource.ReplicaRoutingDataSource;
+import com.yas.commonlibrary.datasource.ReplicaStickinessFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas. Services adopt it by importing this class
+ * from their {@code DatabaseAutoConfig} and setting {@code yas.datasource.replica.enabled=true} and
+ * {@code yas.datasource.replica.urls}; without them the single Spring Boot data source is left untouched.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "yas.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProperties replicaProperties,
+                                                             Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.urls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaProperties.urls().get(i));
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setUsername(StringUtils.hasText(replicaProperties.username())
+                ? replicaProperties.username() : dataSourceProperties.determineUsername());
+            replica.setPassword(StringUtils.hasText(replicaProperties.password())
+                ? replicaProperties.password() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.maxLag(),
+            replicaProperties.lagCheckInterval(), replicaProperties.lagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaStickinessFilter replicaStickinessFilter() {
+        return new ReplicaStickinessFilter();
+    }
+}
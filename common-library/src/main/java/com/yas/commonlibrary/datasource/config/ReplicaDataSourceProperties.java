@@ -0,0 +1,34 @@
+package com.yas.commonlibrary.datasource.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replicas of the service database. Username and password default to the primary's.
+ *
+ * @param enabled          whether read-only transactions are routed to the replicas
+ * @param urls             the JDBC URLs of the replicas
+ * @param username         the replica username
+ * @param password         the replica password
+ * @param maximumPoolSize  the connection pool size of each replica
+ * @param maxLag           the replication lag above which a replica stops serving reads
+ * @param lagCheckInterval how often the replication lag is measured
+ * @param lagQuery         the query returning the replication lag in seconds
+ */
+@ConfigurationProperties(prefix = "yas.datasource.replica")
+public record ReplicaDataSourceProperties(
+    boolean enabled,
+    @DefaultValue List<String> urls,
+    String username,
+    String password,
+    @DefaultValue("10") int maximumPoolSize,
+    @DefaultValue("5s") Duration maxLag,
+    @DefaultValue("2s") Duration lagCheckInterval,
+    @DefaultValue(DEFAULT_LAG_QUERY) String lagQuery
+) {
+
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()"
+        + " THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
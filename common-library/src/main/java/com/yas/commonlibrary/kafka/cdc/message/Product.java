@@ -17,4 +17,12 @@ public class Product {
     @JsonProperty("is_published")
     private boolean isPublished;
 
+    @JsonProperty("is_allowed_to_order")
+    private boolean isAllowedToOrder;
+
+    private Double price;
+
+    @JsonProperty("thumbnail_media_id")
+    private Long thumbnailMediaId;
+
 }
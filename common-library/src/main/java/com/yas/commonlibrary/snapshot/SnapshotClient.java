@@ -0,0 +1,77 @@
+package com.yas.commonlibrary.snapshot;
+
+import java.net.URI;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Keeps a local copy of reference data that another service serves as a versioned snapshot, such as the location
+ * snapshot. {@link #refresh()} revalidates the copy with a conditional GET on its ETag, so it only downloads the
+ * snapshot again when its version changed; call it on a schedule to follow changes.
+ *
+ * @param <T> the type of the snapshot
+ */
+@Slf4j
+public class SnapshotClient<T> {
+
+    private final RestClient restClient;
+    private final URI uri;
+    private final Class<T> type;
+
+    private volatile VersionedSnapshot<T> current;
+
+    public SnapshotClient(RestClient restClient, URI uri, Class<T> type) {
+        this.restClient = restClient;
+        this.uri = uri;
+        this.type = type;
+    }
+
+    /**
+     * Gets the local copy, downloading the snapshot if there is none yet.
+     *
+     * @return the snapshot, or null if the service returned no snapshot
+     */
+    public T get() {
+        VersionedSnapshot<T> snapshot = current;
+        if (snapshot == null) {
+            refresh();
+            snapshot = current;
+        }
+        return snapshot != null ? snapshot.data() : null;
+    }
+
+    public Optional<String> getVersion() {
+        VersionedSnapshot<T> snapshot = current;
+        return snapshot != null ? Optional.ofNullable(snapshot.version()) : Optional.empty();
+    }
+
+    /**
+     * Downloads the snapshot if its version changed since the local copy was taken.
+     *
+     * @return whether the local copy was replaced
+     */
+    public synchronized boolean refresh() {
+        VersionedSnapshot<T> snapshot = current;
+        ResponseEntity<T> response = restClient.get()
+            .uri(uri)
+            .headers(headers -> {
+                if (snapshot != null && snapshot.version() != null) {
+                    headers.setIfNoneMatch(snapshot.version());
+                }
+            })
+            .retrieve()
+            .toEntity(type);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) || response.getBody() == null) {
+            return false;
+        }
+        current = new VersionedSnapshot<>(response.getHeaders().getETag(), response.getBody());
+        log.debug("Loaded snapshot {} from {}", current.version(), uri);
+        return true;
+    }
+
+    private record VersionedSnapshot<T>(String version, T data) {
+    }
+}
@@ -7,10 +7,13 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +75,27 @@ class CsvExporterTest {
         assertEquals(expectedCsv, csvContent);
     }
 
+    @Test
+    void testExportToCsv_withDataStream_shouldWriteCsvToOutputStream() throws IOException {
+        // Given
+        Stream<TestData> dataStream = Stream.of(
+            TestData.builder().id(1L).name("Alice").tags(List.of("tag1")).build(),
+            TestData.builder().id(2L).name("Bob").build()
+        );
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        CsvExporter.exportToCsv(dataStream, TestData.class, outputStream);
+
+        // Then
+        String expectedCsv = """
+            Id,Name,Tags
+            1,Alice,[tag1]
+            2,Bob,
+            """;
+        assertEquals(expectedCsv, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
     @Test
     void testCreateFileName_withValidClass_shouldReturnCorrectFileName() {
         // Given
@@ -0,0 +1,53 @@
+package com.yas.commonlibrary.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.yas.commonlibrary.csv.anotation.CsvColumn;
+import com.yas.commonlibrary.csv.anotation.CsvName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.junit.jupiter.api.Test;
+
+class CsvRowWriterTest {
+
+    @SuperBuilder
+    @CsvName(fileName = "RowWriter")
+    @Getter
+    @Setter
+    static class TestRow extends BaseCsv {
+
+        @CsvColumn(columnName = "Name")
+        private String name;
+
+        @CsvColumn(columnName = "Quantity")
+        private int quantity;
+
+        @CsvColumn(columnName = "Tags")
+        private List<String> tags;
+    }
+
+    @Test
+    void testWriteRow_withSpecialCharacters_shouldEscapeLikeOpenCsv() throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvRowWriter<TestRow> rowWriter = CsvRowWriter.of(TestRow.class, writer);
+
+        rowWriter.writeHeader();
+        rowWriter.writeRow(TestRow.builder().id(1L).name("a,\"b\"").quantity(3).tags(List.of("x", "y")).build());
+
+        assertEquals("Id,Name,Quantity,Tags\n1,a\",\"\"b\"\",3,[x|y]\n", writer.toString());
+    }
+
+    @Test
+    void testWriteRow_withNullValues_shouldWriteEmptyCells() throws IOException {
+        StringWriter writer = new StringWriter();
+        CsvRowWriter<TestRow> rowWriter = CsvRowWriter.of(TestRow.class, writer);
+
+        rowWriter.writeRow(TestRow.builder().build());
+
+        assertEquals(",,0,\n", writer.toString());
+    }
+}
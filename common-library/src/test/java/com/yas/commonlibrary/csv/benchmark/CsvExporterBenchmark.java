@@ -0,0 +1,113 @@
+package com.yas.commonlibrary.csv.benchmark;
+
+import com.yas.commonlibrary.csv.BaseCsv;
+import com.yas.commonlibrary.csv.CsvExporter;
+import com.yas.commonlibrary.csv.anotation.CsvColumn;
+import com.yas.commonlibrary.csv.anotation.CsvName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the reflective exporter with the compiled {@link CsvExporter}. Run from the IDE or with
+ * {@code java -cp <test classpath> com.yas.commonlibrary.csv.benchmark.CsvExporterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class CsvExporterBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private List<BaseCsv> dataList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZonedDateTime createdOn = ZonedDateTime.now();
+        dataList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            dataList.add(BenchmarkRow.builder()
+                .id((long) i)
+                .email("customer" + i + "@example.com")
+                .phone("0900" + i)
+                .status(i % 2 == 0 ? "PENDING" : "COMPLETED")
+                .totalPrice(BigDecimal.valueOf(i, 2))
+                .tags(List.of("tag" + (i % 10), "tag" + (i % 7)))
+                .createdOn(createdOn)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] reflectiveExporter() throws IOException {
+        return ReflectiveCsvExporter.exportToCsv(dataList, BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public byte[] compiledExporter() throws IOException {
+        return CsvExporter.exportToCsv(dataList, BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public void compiledStreamingExporter() throws IOException {
+        CsvExporter.exportToCsv(dataList.stream(), BenchmarkRow.class, OutputStream.nullOutputStream());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CsvExporterBenchmark.class.getSimpleName())
+            .build())
+            .run();
+    }
+
+    @CsvName(fileName = "Benchmark")
+    @SuperBuilder
+    @Getter
+    @Setter
+    public static class BenchmarkRow extends BaseCsv {
+
+        @CsvColumn(columnName = "Email")
+        private String email;
+
+        @CsvColumn(columnName = "Phone")
+        private String phone;
+
+        @CsvColumn(columnName = "Status")
+        private String status;
+
+        @CsvColumn(columnName = "Total")
+        private BigDecimal totalPrice;
+
+        @CsvColumn(columnName = "Tags")
+        private List<String> tags;
+
+        @CsvColumn(columnName = "Created on")
+        private ZonedDateTime createdOn;
+    }
+}
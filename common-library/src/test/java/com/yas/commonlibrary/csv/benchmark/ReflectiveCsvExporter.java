@@ -0,0 +1,66 @@
+package com.yas.commonlibrary.csv.benchmark;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
+import com.yas.commonlibrary.csv.BaseCsv;
+import com.yas.commonlibrary.csv.anotation.CsvColumn;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The reflective, OpenCSV based exporter that {@code CsvExporter} replaced, kept as the baseline for
+ * {@link CsvExporterBenchmark}. Fields are rescanned per call and every getter is looked up per cell.
+ */
+final class ReflectiveCsvExporter {
+
+    private ReflectiveCsvExporter() {
+    }
+
+    static <T> byte[] exportToCsv(List<BaseCsv> dataList, Class<T> clazz) throws IOException {
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             OutputStreamWriter outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream,
+                 StandardCharsets.UTF_8);
+             CSVWriter csvWriter = new CSVWriter(outputStreamWriter, ICSVWriter.DEFAULT_SEPARATOR,
+                 ICSVWriter.NO_QUOTE_CHARACTER,
+                 ICSVWriter.DEFAULT_ESCAPE_CHARACTER, ICSVWriter.DEFAULT_LINE_END)) {
+
+            Field[] allFields = Stream.concat(Stream.of(BaseCsv.class.getDeclaredFields()),
+                    Stream.of(clazz.getDeclaredFields()))
+                .filter(field -> field.getAnnotation(CsvColumn.class) != null)
+                .toArray(Field[]::new);
+
+            csvWriter.writeNext(Stream.of(allFields)
+                .map(field -> field.getAnnotation(CsvColumn.class).columnName())
+                .toArray(String[]::new));
+
+            for (BaseCsv data : dataList) {
+                csvWriter.writeNext(Stream.of(allFields)
+                    .map(field -> getFieldValueAsString(field, data))
+                    .toArray(String[]::new));
+            }
+
+            csvWriter.flush();
+            return byteArrayOutputStream.toByteArray();
+        }
+    }
+
+    private static String getFieldValueAsString(Field field, Object data) {
+        try {
+            Method getter = data.getClass().getMethod("get" + StringUtils.capitalize(field.getName()));
+            Object value = getter.invoke(data);
+            if (value instanceof List<?> values) {
+                return "[" + String.join("|", values.stream().map(String::valueOf).toList()) + "]";
+            }
+            return value != null ? value.toString() : StringUtils.EMPTY;
+        } catch (ReflectiveOperationException e) {
+            return StringUtils.EMPTY;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.yas.commonlibrary.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag";
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_whenReadOnlyTransaction_thenRoundRobinOverReplicas() throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicaWithLag(0.5), replicaWithLag(1));
+        beginTransaction(true);
+
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_whenReadWriteTransaction_thenPrimaryAndStickyForTheRequest()
+        throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicaWithLag(0));
+        ReplicaRoutingContext.beginRequest();
+        TransactionSynchronizationManager.initSynchronization();
+
+        beginTransaction(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        completeTransaction();
+        beginTransaction(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        ReplicaRoutingContext.clear();
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_whenReadWriteTransactionOutsideRequest_thenStickyUntilItCompletes()
+        throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicaWithLag(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        beginTransaction(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        assertTrue(ReplicaRoutingContext.hasWrittenToPrimary());
+        completeTransaction();
+
+        assertFalse(ReplicaRoutingContext.hasWrittenToPrimary());
+        beginTransaction(true);
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_whenNoTransaction_thenPrimaryWithoutStickiness() throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicaWithLag(0));
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        beginTransaction(true);
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testCheckReplicaLag_whenReplicaLagsOrFails_thenExcludeIt() throws SQLException {
+        DataSource failingReplica = mock(DataSource.class);
+        when(failingReplica.getConnection()).thenThrow(new SQLException("down"));
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(
+            replicaWithLag(30), failingReplica, replicaWithLag(2));
+
+        assertEquals(List.of("replica-2"), routingDataSource.getHealthyReplicas());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_whenEveryReplicaLags_thenPrimary() throws SQLException {
+        ReplicaRoutingDataSource routingDataSource = routingDataSource(replicaWithLag(30));
+        beginTransaction(true);
+
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private static ReplicaRoutingDataSource routingDataSource(DataSource... replicas) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+            List.of(replicas), Duration.ofSeconds(5), Duration.ofHours(1), LAG_QUERY);
+        routingDataSource.checkReplicaLag();
+        return routingDataSource;
+    }
+
+    private static DataSource replicaWithLag(double lagSeconds) throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+        return replica;
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,77 @@
+package com.yas.commonlibrary.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestClient;
+
+class SnapshotClientTest {
+
+    private static final URI SNAPSHOT_URI = URI.create("http://location/storefront/location-snapshot");
+
+    private MockRestServiceServer server;
+    private SnapshotClient<Snapshot> snapshotClient;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        snapshotClient = new SnapshotClient<>(builder.build(), SNAPSHOT_URI, Snapshot.class);
+    }
+
+    @Test
+    void testRefresh_whenVersionIsUnchanged_thenKeepLocalCopy() {
+        server.expect(requestTo(SNAPSHOT_URI))
+            .andRespond(snapshot("\"v1\"", "{\"version\":\"v1\",\"names\":[\"Texas\"]}"));
+        server.expect(requestTo(SNAPSHOT_URI))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+            .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        Snapshot snapshot = snapshotClient.get();
+        boolean refreshed = snapshotClient.refresh();
+
+        assertThat(refreshed).isFalse();
+        assertThat(snapshotClient.get()).isSameAs(snapshot);
+        assertThat(snapshot.names()).containsExactly("Texas");
+        assertThat(snapshotClient.getVersion()).contains("\"v1\"");
+        server.verify();
+    }
+
+    @Test
+    void testRefresh_whenVersionChanged_thenReplaceLocalCopy() {
+        server.expect(requestTo(SNAPSHOT_URI))
+            .andRespond(snapshot("\"v1\"", "{\"version\":\"v1\",\"names\":[\"Texas\"]}"));
+        server.expect(requestTo(SNAPSHOT_URI))
+            .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+            .andRespond(snapshot("\"v2\"", "{\"version\":\"v2\",\"names\":[\"Texas\",\"Ohio\"]}"));
+
+        snapshotClient.refresh();
+        boolean refreshed = snapshotClient.refresh();
+
+        assertThat(refreshed).isTrue();
+        assertThat(snapshotClient.get().names()).containsExactly("Texas", "Ohio");
+        assertThat(snapshotClient.getVersion()).contains("\"v2\"");
+        server.verify();
+    }
+
+    private static ResponseCreator snapshot(String etag, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return withSuccess(body, MediaType.APPLICATION_JSON).headers(headers);
+    }
+
+    record Snapshot(String version, List<String> names) {
+    }
+}
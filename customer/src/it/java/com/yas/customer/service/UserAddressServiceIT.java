@@ -143,6 +143,44 @@ class UserAddressServiceIT {
         AddressDetailVm result = userAddressService.getAddressDefault();
 
         assertThat(result.id()).isEqualTo(103L);
+        assertThat(result.countryName()).isEqualTo("Country B");
+    }
+
+    @Test
+    void testGetUserAddressList_whenAddressEditedInLocation_returnEditedAddress() {
+
+        List<AddressDetailVm> addressVmList = getAddressDetailVms();
+        AddressDetailVm editedAddress = AddressDetailVm.builder()
+            .id(103L)
+            .contactName("Jane Doe")
+            .countryName("Country B")
+            .build();
+        SecurityContextUtils.setUpSecurityContext(USER_ID_2);
+        // The storefront edits the address itself through the location service, the customer service is not told
+        when(locationService.getAddressesByIdList(any(List.class)))
+            .thenReturn(addressVmList)
+            .thenReturn(List.of(addressVmList.getFirst(), editedAddress));
+
+        assertThat(userAddressService.getUserAddressList().getFirst().contactName()).isEqualTo("Jane Smith");
+        assertThat(userAddressService.getUserAddressList().getFirst().contactName()).isEqualTo("Jane Doe");
+    }
+
+    @Test
+    void testGetAddressDefault_whenDefaultChosenElsewhere_returnNewDefaultAddress() {
+
+        List<AddressDetailVm> addressVmList = getAddressDetailVms();
+        SecurityContextUtils.setUpSecurityContext(USER_ID_2);
+        when(locationService.getAddressById(102L)).thenReturn(addressVmList.getFirst());
+        when(locationService.getAddressById(103L)).thenReturn(addressVmList.getLast());
+
+        assertThat(userAddressService.getAddressDefault().id()).isEqualTo(103L);
+
+        // Another instance of the service changes the default address
+        List<UserAddress> userAddressList = userAddressRepository.findAllByUserId(USER_ID_2);
+        userAddressList.forEach(userAddress -> userAddress.setIsActive(userAddress.getAddressId() == 102L));
+        userAddressRepository.saveAll(userAddressList);
+
+        assertThat(userAddressService.getAddressDefault().id()).isEqualTo(102L);
     }
 
     @Test
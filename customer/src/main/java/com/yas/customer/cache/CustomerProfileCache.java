@@ -0,0 +1,33 @@
+package com.yas.customer.cache;
+
+import com.yas.customer.viewmodel.customer.CustomerAdminVm;
+import java.util.function.Supplier;
+
+/**
+ * Keeps customer profiles read from Keycloak, so profile reads do not call the Keycloak Admin API every time. A
+ * profile is found by the ID of the user or by the email it was looked up with.
+ */
+public interface CustomerProfileCache {
+
+    /**
+     * Gets the profile of a user, loading it if it is not cached or has expired.
+     *
+     * @param id     the ID of the user
+     * @param loader loads the profile, exceptions it throws are passed on and nothing is cached
+     * @return the profile
+     */
+    CustomerAdminVm getById(String id, Supplier<CustomerAdminVm> loader);
+
+    /**
+     * Gets the profile of a user by email, loading it if it is not cached or has expired.
+     *
+     * @param email  the email the user is looked up with
+     * @param loader loads the profile, exceptions it throws are passed on and nothing is cached
+     * @return the profile
+     */
+    CustomerAdminVm getByEmail(String email, Supplier<CustomerAdminVm> loader);
+
+    void evict(String id);
+
+    void evictAll();
+}
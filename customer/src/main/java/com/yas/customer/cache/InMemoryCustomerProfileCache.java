@@ -0,0 +1,118 @@
+package com.yas.customer.cache;
+
+import com.yas.customer.viewmodel.customer.CustomerAdminVm;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CustomerProfileCache} kept in the memory of this instance. It holds at most a fixed number of profiles,
+ * dropping the least recently used first, and every profile expires after a time to live. The email index only points
+ * to the ID of the user, so a profile dropped by ID is never served by email either.
+ */
+@Component
+@ConditionalOnProperty(prefix = "yas.customer.profile-cache", name = "store", havingValue = "memory",
+    matchIfMissing = true)
+public class InMemoryCustomerProfileCache implements CustomerProfileCache {
+
+    private final long timeToLiveMillis;
+    private final Map<String, CachedProfile> profilesById;
+    private final Map<String, String> idsByEmail;
+
+    /**
+     * Incremented on every eviction, so a profile read before a change is not kept after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public InMemoryCustomerProfileCache(
+        @Value("${yas.customer.profile-cache.time-to-live:PT10M}") Duration timeToLive,
+        @Value("${yas.customer.profile-cache.max-size:10000}") int maxSize) {
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.profilesById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProfile> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.idsByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public CustomerAdminVm getById(String id, Supplier<CustomerAdminVm> loader) {
+        synchronized (this) {
+            CustomerAdminVm profile = get(id);
+            if (profile != null) {
+                return profile;
+            }
+        }
+        return load(null, loader);
+    }
+
+    @Override
+    public CustomerAdminVm getByEmail(String email, Supplier<CustomerAdminVm> loader) {
+        String emailKey = email.toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            String id = idsByEmail.get(emailKey);
+            CustomerAdminVm profile = id != null ? get(id) : null;
+            if (profile != null && isFoundBy(profile, emailKey)) {
+                return profile;
+            }
+        }
+        return load(emailKey, loader);
+    }
+
+    @Override
+    public synchronized void evict(String id) {
+        generation.incrementAndGet();
+        profilesById.remove(id);
+    }
+
+    @Override
+    public synchronized void evictAll() {
+        generation.incrementAndGet();
+        profilesById.clear();
+        idsByEmail.clear();
+    }
+
+    private CustomerAdminVm get(String id) {
+        CachedProfile cachedProfile = profilesById.get(id);
+        return cachedProfile != null && cachedProfile.expiresAt() > System.currentTimeMillis()
+            ? cachedProfile.profile() : null;
+    }
+
+    private CustomerAdminVm load(String emailKey, Supplier<CustomerAdminVm> loader) {
+        long readGeneration = generation.get();
+        CustomerAdminVm profile = loader.get();
+        synchronized (this) {
+            if (profile != null && profile.id() != null && generation.get() == readGeneration) {
+                profilesById.put(profile.id(),
+                    new CachedProfile(profile, System.currentTimeMillis() + timeToLiveMillis));
+                if (emailKey != null) {
+                    idsByEmail.put(emailKey, profile.id());
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Whether the profile is still the one found by this email, which is no longer the case once the email changed.
+     */
+    static boolean isFoundBy(CustomerAdminVm profile, String emailKey) {
+        return emailKey.equalsIgnoreCase(profile.email()) || emailKey.equalsIgnoreCase(profile.username());
+    }
+
+    private record CachedProfile(CustomerAdminVm profile, long expiresAt) {
+    }
+}
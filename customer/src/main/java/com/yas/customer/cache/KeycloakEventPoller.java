@@ -0,0 +1,115 @@
+package com.yas.customer.cache;
+
+import com.yas.customer.config.KeycloakPropsConfig;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.AdminEventRepresentation;
+import org.keycloak.representations.idm.EventRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts the cached profiles of users changed outside this service, by polling the admin events (changes made in the
+ * admin console or through the Admin API) and the profile events of users (changes made in the account console) of
+ * the realm. Both event kinds have to be enabled in the realm, and the client needs the {@code view-events} role.
+ * When more events arrived since the last poll than one poll reads, the whole cache is evicted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "yas.customer.profile-cache", name = "event-polling-enabled", havingValue = "true",
+    matchIfMissing = true)
+public class KeycloakEventPoller {
+
+    static final List<String> PROFILE_EVENT_TYPES = List.of("UPDATE_PROFILE", "UPDATE_EMAIL", "DELETE_ACCOUNT");
+    private static final String USERS_RESOURCE_PATH = "users/";
+
+    private final Keycloak keycloak;
+    private final KeycloakPropsConfig keycloakPropsConfig;
+    private final CustomerProfileCache customerProfileCache;
+    private final int pageSize;
+    private final int maxPages;
+
+    /**
+     * The time of the newest event seen, in epoch milliseconds. Events at this time are read again by the next poll,
+     * since evicting twice does no harm while missing an event would.
+     */
+    private long lastEventTime = System.currentTimeMillis();
+
+    public KeycloakEventPoller(Keycloak keycloak, KeycloakPropsConfig keycloakPropsConfig,
+                               CustomerProfileCache customerProfileCache,
+                               @Value("${yas.customer.profile-cache.event-page-size:100}") int pageSize,
+                               @Value("${yas.customer.profile-cache.event-max-pages:10}") int maxPages) {
+        this.keycloak = keycloak;
+        this.keycloakPropsConfig = keycloakPropsConfig;
+        this.customerProfileCache = customerProfileCache;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+    }
+
+    @Scheduled(fixedDelayString = "${yas.customer.profile-cache.event-poll-interval-ms:10000}")
+    public synchronized void poll() {
+        try {
+            RealmResource realm = keycloak.realm(keycloakPropsConfig.getRealm());
+            String dateFrom = String.valueOf(lastEventTime);
+            long adminEventTime = evictChangedUsers(
+                (first, max) -> realm.getAdminEvents(null, null, null, null, null, null, dateFrom, null, first, max),
+                AdminEventRepresentation::getTime, KeycloakEventPoller::userIdOf);
+            long userEventTime = evictChangedUsers(
+                (first, max) -> realm.getEvents(PROFILE_EVENT_TYPES, null, null, dateFrom, null, null, first, max),
+                EventRepresentation::getTime, EventRepresentation::getUserId);
+            lastEventTime = Math.max(lastEventTime, Math.max(adminEventTime, userEventTime));
+        } catch (RuntimeException e) {
+            log.warn("Cannot poll the Keycloak events of realm {}", keycloakPropsConfig.getRealm(), e);
+        }
+    }
+
+    /**
+     * Evicts the users of the events since the last poll, newest first as Keycloak returns them.
+     *
+     * @return the time of the newest event
+     */
+    private <E> long evictChangedUsers(BiFunction<Integer, Integer, List<E>> pageLoader, Function<E, Long> timeOf,
+                                       Function<E, String> userIdOf) {
+        long newestEventTime = lastEventTime;
+        for (int page = 0; page < maxPages; page++) {
+            List<E> events = pageLoader.apply(page * pageSize, pageSize);
+            for (E event : events) {
+                long time = timeOf.apply(event);
+                if (time < lastEventTime) {
+                    return newestEventTime;
+                }
+                newestEventTime = Math.max(newestEventTime, time);
+                String userId = userIdOf.apply(event);
+                if (userId != null) {
+                    customerProfileCache.evict(userId);
+                }
+            }
+            if (events.size() < pageSize) {
+                return newestEventTime;
+            }
+        }
+        log.info("More than {} Keycloak events since the last poll, evicting all customer profiles",
+            maxPages * pageSize);
+        customerProfileCache.evictAll();
+        return newestEventTime;
+    }
+
+    /**
+     * Gets the ID of the user an admin event changed, from resource paths such as {@code users/{id}} or
+     * {@code users/{id}/role-mappings/realm}.
+     */
+    static String userIdOf(AdminEventRepresentation event) {
+        String resourcePath = event.getResourcePath();
+        if (resourcePath == null || !resourcePath.startsWith(USERS_RESOURCE_PATH)) {
+            return null;
+        }
+        int end = resourcePath.indexOf('/', USERS_RESOURCE_PATH.length());
+        return resourcePath.substring(USERS_RESOURCE_PATH.length(), end < 0 ? resourcePath.length() : end);
+    }
+}
@@ -0,0 +1,122 @@
+package com.yas.customer.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.customer.viewmodel.customer.CustomerAdminVm;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link CustomerProfileCache} shared by all instances through Redis. Keys:
+ * <ul>
+ *     <li>{@code customer:profile:id:{id}} - the profile as JSON</li>
+ *     <li>{@code customer:profile:email:{email}} - the ID of the user found by this email</li>
+ * </ul>
+ * Both expire after the time to live. Redis errors are logged and the profile is loaded from Keycloak instead, so an
+ * unavailable Redis slows profile reads down without failing them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "yas.customer.profile-cache", name = "store", havingValue = "redis")
+public class RedisCustomerProfileCache implements CustomerProfileCache {
+
+    private static final String KEY_PREFIX = "customer:profile:";
+    private static final String ID_KEY_PREFIX = KEY_PREFIX + "id:";
+    private static final String EMAIL_KEY_PREFIX = KEY_PREFIX + "email:";
+    private static final int SCAN_COUNT = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+
+    /**
+     * Incremented on every eviction through this instance, so a profile read before a change is not kept after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public RedisCustomerProfileCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                     @Value("${yas.customer.profile-cache.time-to-live:PT10M}") Duration timeToLive) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public CustomerAdminVm getById(String id, Supplier<CustomerAdminVm> loader) {
+        CustomerAdminVm profile = get(id);
+        return profile != null ? profile : load(null, loader);
+    }
+
+    @Override
+    public CustomerAdminVm getByEmail(String email, Supplier<CustomerAdminVm> loader) {
+        String emailKey = email.toLowerCase(Locale.ROOT);
+        try {
+            String id = redisTemplate.opsForValue().get(EMAIL_KEY_PREFIX + emailKey);
+            CustomerAdminVm profile = id != null ? get(id) : null;
+            if (profile != null && InMemoryCustomerProfileCache.isFoundBy(profile, emailKey)) {
+                return profile;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot read the profile of {} from Redis", emailKey, e);
+        }
+        return load(emailKey, loader);
+    }
+
+    @Override
+    public void evict(String id) {
+        generation.incrementAndGet();
+        redisTemplate.delete(ID_KEY_PREFIX + id);
+    }
+
+    @Override
+    public void evictAll() {
+        generation.incrementAndGet();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(
+            ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_COUNT).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    private CustomerAdminVm get(String id) {
+        try {
+            String json = redisTemplate.opsForValue().get(ID_KEY_PREFIX + id);
+            return json != null ? objectMapper.readValue(json, CustomerAdminVm.class) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Cannot read the profile of {} from Redis", id, e);
+            return null;
+        }
+    }
+
+    private CustomerAdminVm load(String emailKey, Supplier<CustomerAdminVm> loader) {
+        long readGeneration = generation.get();
+        CustomerAdminVm profile = loader.get();
+        if (profile == null || profile.id() == null || generation.get() != readGeneration) {
+            return profile;
+        }
+        try {
+            redisTemplate.opsForValue().set(ID_KEY_PREFIX + profile.id(), objectMapper.writeValueAsString(profile),
+                timeToLive);
+            if (emailKey != null) {
+                redisTemplate.opsForValue().set(EMAIL_KEY_PREFIX + emailKey, profile.id(), timeToLive);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Cannot write the profile of {} to Redis", profile.id(), e);
+        }
+        return profile;
+    }
+}
@@ -1,5 +1,10 @@
 package com.yas.customer.controller;
 
+import com.yas.commonlibrary.csv.CsvExporter;
+import com.yas.customer.model.csv.CustomerCsv;
+import com.yas.customer.service.CustomerExportService;
+import com.yas.customer.service.CustomerExportService.ExportCursor;
+import com.yas.customer.service.CustomerExportService.ExportFormat;
 import com.yas.customer.service.CustomerService;
 import com.yas.customer.viewmodel.ErrorVm;
 import com.yas.customer.viewmodel.customer.CustomerAdminVm;
@@ -13,6 +18,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,15 +31,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
 public class CustomerController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final CustomerService customerService;
+    private final CustomerExportService customerExportService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerExportService customerExportService) {
         this.customerService = customerService;
+        this.customerExportService = customerExportService;
     }
 
     @GetMapping("/backoffice/customers")
@@ -43,6 +56,30 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getCustomers(pageNo));
     }
 
+    @GetMapping("/backoffice/customers/export")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ok"),
+        @ApiResponse(responseCode = "400", description = "Bad request",
+            content = @Content(schema = @Schema(implementation = ErrorVm.class)))})
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+        @RequestParam(value = "format", defaultValue = "ndjson", required = false) String format,
+        @RequestParam(value = "resumeToken", required = false) String resumeToken) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        ExportCursor cursor = customerExportService.parseResumeToken(resumeToken);
+        HttpHeaders headers = new HttpHeaders();
+        StreamingResponseBody body;
+        if (exportFormat == ExportFormat.CSV) {
+            headers.add(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=" + CsvExporter.createFileName(CustomerCsv.class));
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            body = outputStream -> customerExportService.exportCsv(cursor, outputStream);
+        } else {
+            headers.setContentType(NDJSON);
+            body = outputStream -> customerExportService.exportNdjson(cursor, outputStream);
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
     @GetMapping("/backoffice/customers/{email}")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ok",
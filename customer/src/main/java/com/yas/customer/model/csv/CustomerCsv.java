@@ -0,0 +1,41 @@
+package com.yas.customer.model.csv;
+
+import com.yas.commonlibrary.csv.BaseCsv;
+import com.yas.commonlibrary.csv.anotation.CsvColumn;
+import com.yas.commonlibrary.csv.anotation.CsvName;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A row of the customer export. The inherited ID is the position of the user in the Keycloak user list, since
+ * Keycloak user IDs are not numeric.
+ */
+@CsvName(fileName = "Customers")
+@SuperBuilder
+@Getter
+@Setter
+public class CustomerCsv extends BaseCsv {
+
+    @CsvColumn(columnName = "User ID")
+    private String userId;
+
+    @CsvColumn(columnName = "Username")
+    private String username;
+
+    @CsvColumn(columnName = "Email")
+    private String email;
+
+    @CsvColumn(columnName = "First name")
+    private String firstName;
+
+    @CsvColumn(columnName = "Last name")
+    private String lastName;
+
+    @CsvColumn(columnName = "Created on")
+    private LocalDateTime createdTimestamp;
+
+    @CsvColumn(columnName = "Resume token")
+    private String resumeToken;
+}
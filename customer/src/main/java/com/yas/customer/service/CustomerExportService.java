@@ -0,0 +1,305 @@
+package com.yas.customer.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yas.commonlibrary.csv.CsvRowWriter;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.customer.config.KeycloakPropsConfig;
+import com.yas.customer.model.csv.CustomerCsv;
+import com.yas.customer.utils.Constants;
+import com.yas.customer.viewmodel.customer.CustomerAdminVm;
+import com.yas.customer.viewmodel.customer.CustomerExportRowVm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams all enabled customers of the realm as NDJSON or CSV. Keycloak user pages are fetched ahead on virtual
+ * threads, at most {@code parallelism} pages at a time, and written in order as they arrive, so the memory used does
+ * not grow with the number of users.
+ *
+ * <p>Every row carries a resume token made of the position of the user in the Keycloak user list and its username.
+ * An export resumed with a token starts a page before that position and skips users up to the one with that
+ * username, so users created or deleted before it in the meantime neither repeat nor drop rows. If that user is gone,
+ * the export resumes at the position alone.
+ */
+@Slf4j
+@Service
+public class CustomerExportService {
+
+    private static final String TOKEN_SEPARATOR = ":";
+
+    private final Keycloak keycloak;
+    private final KeycloakPropsConfig keycloakPropsConfig;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer pageTimer;
+    private final int pageSize;
+    private final int parallelism;
+
+    public CustomerExportService(Keycloak keycloak, KeycloakPropsConfig keycloakPropsConfig,
+                                 ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${yas.customer.export.page-size:100}") int pageSize,
+                                 @Value("${yas.customer.export.parallelism:4}") int parallelism) {
+        this.keycloak = keycloak;
+        this.keycloakPropsConfig = keycloakPropsConfig;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.pageTimer = meterRegistry.timer("customer.export.page.fetch");
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads the position to start an export from.
+     *
+     * @param resumeToken the resume token of the last row received, or null to start from the first customer
+     * @return the position to start from
+     * @throws BadRequestException if the token is not one this service produced
+     */
+    public ExportCursor parseResumeToken(String resumeToken) {
+        if (resumeToken == null || resumeToken.isBlank()) {
+            return ExportCursor.START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(resumeToken), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(TOKEN_SEPARATOR);
+            int position = Integer.parseInt(decoded.substring(0, separator));
+            String username = decoded.substring(separator + 1);
+            if (position <= 0 || username.isEmpty()) {
+                throw new BadRequestException(Constants.ErrorCode.INVALID_RESUME_TOKEN, resumeToken);
+            }
+            return new ExportCursor(position, username);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException(Constants.ErrorCode.INVALID_RESUME_TOKEN, resumeToken);
+        }
+    }
+
+    public void exportNdjson(ExportCursor cursor, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        ObjectWriter rowJsonWriter = objectMapper.writerFor(CustomerExportRowVm.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        export(cursor, ExportFormat.NDJSON, new RowWriter() {
+            @Override
+            public void write(CustomerAdminVm customer, int position, String resumeToken) throws IOException {
+                rowJsonWriter.writeValue(generator, new CustomerExportRowVm(customer, resumeToken));
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+        });
+    }
+
+    public void exportCsv(ExportCursor cursor, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CsvRowWriter<CustomerCsv> rowWriter = CsvRowWriter.of(CustomerCsv.class, writer);
+        rowWriter.writeHeader();
+        export(cursor, ExportFormat.CSV, new RowWriter() {
+            @Override
+            public void write(CustomerAdminVm customer, int position, String resumeToken) throws IOException {
+                rowWriter.writeRow(CustomerCsv.builder()
+                    .id((long) position)
+                    .userId(customer.id())
+                    .username(customer.username())
+                    .email(customer.email())
+                    .firstName(customer.firstName())
+                    .lastName(customer.lastName())
+                    .createdTimestamp(customer.createdTimestamp())
+                    .resumeToken(resumeToken)
+                    .build());
+            }
+
+            @Override
+            public void flush() throws IOException {
+                rowWriter.flush();
+            }
+        });
+    }
+
+    private void export(ExportCursor cursor, ExportFormat format, RowWriter rowWriter) throws IOException {
+        final long startNanos = System.nanoTime();
+        final UsersResource usersResource = keycloak.realm(keycloakPropsConfig.getRealm()).users();
+        final Deque<Future<List<UserRepresentation>>> pages = new ArrayDeque<>(parallelism);
+        final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+        final ResumeFilter resumeFilter = new ResumeFilter(cursor, pageSize);
+        int position = Math.max(0, cursor.position() - pageSize);
+        int nextFirst = position;
+        int rows = 0;
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                pages.add(fetchPage(executorService, usersResource, nextFirst));
+                nextFirst += pageSize;
+            }
+            while (!pages.isEmpty()) {
+                List<UserRepresentation> page = await(pages.poll());
+                if (page.size() < pageSize) {
+                    pages.forEach(pending -> pending.cancel(true));
+                    pages.clear();
+                } else {
+                    pages.add(fetchPage(executorService, usersResource, nextFirst));
+                    nextFirst += pageSize;
+                }
+                for (UserRepresentation user : page) {
+                    position++;
+                    for (PositionedUser positionedUser : resumeFilter.accept(user, position)) {
+                        rows += writeIfEnabled(positionedUser, rowWriter);
+                    }
+                }
+                rowWriter.flush();
+            }
+            for (PositionedUser positionedUser : resumeFilter.remaining()) {
+                rows += writeIfEnabled(positionedUser, rowWriter);
+            }
+            rowWriter.flush();
+        } finally {
+            pages.forEach(pending -> pending.cancel(true));
+            executorService.shutdownNow();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            meterRegistry.counter("customer.export.rows", "format", format.name().toLowerCase(Locale.ROOT))
+                .increment(rows);
+            meterRegistry.timer("customer.export.duration", "format", format.name().toLowerCase(Locale.ROOT))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            log.info("Exported {} customers as {} in {} ms ({} rows/s)", rows, format, elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows);
+        }
+    }
+
+    private Future<List<UserRepresentation>> fetchPage(ExecutorService executorService, UsersResource usersResource,
+                                                       int first) {
+        return executorService.submit(() -> pageTimer.record(() -> usersResource.search(null, first, pageSize)));
+    }
+
+    private static List<UserRepresentation> await(Future<List<UserRepresentation>> page) throws IOException {
+        try {
+            List<UserRepresentation> users = page.get();
+            return users != null ? users : List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Customer export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int writeIfEnabled(PositionedUser positionedUser, RowWriter rowWriter) throws IOException {
+        UserRepresentation user = positionedUser.user();
+        if (!Boolean.TRUE.equals(user.isEnabled())) {
+            return 0;
+        }
+        rowWriter.write(CustomerAdminVm.fromUserRepresentation(user), positionedUser.position(),
+            resumeToken(positionedUser.position(), user.getUsername()));
+        return 1;
+    }
+
+    static String resumeToken(int position, String username) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((position + TOKEN_SEPARATOR + username).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public enum ExportFormat {
+        NDJSON, CSV;
+
+        public static ExportFormat of(String format) {
+            for (ExportFormat exportFormat : values()) {
+                if (exportFormat.name().equalsIgnoreCase(format)) {
+                    return exportFormat;
+                }
+            }
+            throw new BadRequestException(Constants.ErrorCode.INVALID_EXPORT_FORMAT, format);
+        }
+    }
+
+    /**
+     * Where an export starts.
+     *
+     * @param position the number of users in the Keycloak user list before the first one to export
+     * @param username the username of the last user exported, or null to start at the position
+     */
+    public record ExportCursor(int position, String username) {
+        static final ExportCursor START = new ExportCursor(0, null);
+    }
+
+    private interface RowWriter {
+        void write(CustomerAdminVm customer, int position, String resumeToken) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private record PositionedUser(UserRepresentation user, int position) {
+    }
+
+    /**
+     * Skips the users a resumed export already wrote. Users after the resume position are held back until the last
+     * exported user is found, or until a page past the position shows that user is gone.
+     */
+    private static final class ResumeFilter {
+        private final ExportCursor cursor;
+        private final int lookAhead;
+        private final List<PositionedUser> heldBack = new ArrayList<>();
+        private boolean resumed;
+
+        private ResumeFilter(ExportCursor cursor, int lookAhead) {
+            this.cursor = cursor;
+            this.lookAhead = lookAhead;
+            this.resumed = cursor.username() == null;
+        }
+
+        List<PositionedUser> accept(UserRepresentation user, int position) {
+            if (resumed) {
+                return List.of(new PositionedUser(user, position));
+            }
+            if (cursor.username().equals(user.getUsername())) {
+                resumed = true;
+                heldBack.clear();
+                return List.of();
+            }
+            if (position > cursor.position()) {
+                heldBack.add(new PositionedUser(user, position));
+            }
+            if (position < cursor.position() + lookAhead) {
+                return List.of();
+            }
+            return remaining();
+        }
+
+        List<PositionedUser> remaining() {
+            resumed = true;
+            List<PositionedUser> users = List.copyOf(heldBack);
+            heldBack.clear();
+            return users;
+        }
+    }
+}
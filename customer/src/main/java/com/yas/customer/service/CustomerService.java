@@ -5,6 +5,7 @@ import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.ForbiddenException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.exception.WrongEmailFormatException;
+import com.yas.customer.cache.CustomerProfileCache;
 import com.yas.customer.config.KeycloakPropsConfig;
 import com.yas.customer.utils.Constants;
 import com.yas.customer.viewmodel.customer.CustomerAdminVm;
@@ -36,10 +37,13 @@ public class CustomerService {
     private static final String GUEST = "GUEST";
     private final Keycloak keycloak;
     private final KeycloakPropsConfig keycloakPropsConfig;
+    private final CustomerProfileCache customerProfileCache;
 
-    public CustomerService(Keycloak keycloak, KeycloakPropsConfig keycloakPropsConfig) {
+    public CustomerService(Keycloak keycloak, KeycloakPropsConfig keycloakPropsConfig,
+                           CustomerProfileCache customerProfileCache) {
         this.keycloak = keycloak;
         this.keycloakPropsConfig = keycloakPropsConfig;
+        this.customerProfileCache = customerProfileCache;
     }
 
     public static CredentialRepresentation createPasswordCredentials(String password) {
@@ -76,6 +80,7 @@ public class CustomerService {
             RealmResource realmResource = keycloak.realm(keycloakPropsConfig.getRealm());
             UserResource userResource = realmResource.users().get(id);
             userResource.update(userRepresentation);
+            customerProfileCache.evict(id);
         } else {
             throw new NotFoundException(Constants.ErrorCode.USER_NOT_FOUND);
         }
@@ -89,6 +94,7 @@ public class CustomerService {
             UserResource userResource = realmResource.users().get(id);
             userRepresentation.setEnabled(false);
             userResource.update(userRepresentation);
+            customerProfileCache.evict(id);
         } else {
             throw new NotFoundException(Constants.ErrorCode.USER_NOT_FOUND);
         }
@@ -97,12 +103,14 @@ public class CustomerService {
     public CustomerAdminVm getCustomerByEmail(String email) {
         try {
             if (EmailValidator.getInstance().isValid(email)) {
-                List<UserRepresentation> searchResult =
-                    keycloak.realm(keycloakPropsConfig.getRealm()).users().search(email, true);
-                if (searchResult.isEmpty()) {
-                    throw new NotFoundException(Constants.ErrorCode.USER_WITH_EMAIL_NOT_FOUND, email);
-                }
-                return CustomerAdminVm.fromUserRepresentation(searchResult.getFirst());
+                return customerProfileCache.getByEmail(email, () -> {
+                    List<UserRepresentation> searchResult =
+                        keycloak.realm(keycloakPropsConfig.getRealm()).users().search(email, true);
+                    if (searchResult.isEmpty()) {
+                        throw new NotFoundException(Constants.ErrorCode.USER_WITH_EMAIL_NOT_FOUND, email);
+                    }
+                    return CustomerAdminVm.fromUserRepresentation(searchResult.getFirst());
+                });
             } else {
                 throw new WrongEmailFormatException(Constants.ErrorCode.WRONG_EMAIL_FORMAT, email);
             }
@@ -114,8 +122,9 @@ public class CustomerService {
 
     public CustomerVm getCustomerProfile(String userId) {
         try {
-            return CustomerVm.fromUserRepresentation(
-                keycloak.realm(keycloakPropsConfig.getRealm()).users().get(userId).toRepresentation());
+            return CustomerVm.fromCustomerAdminVm(customerProfileCache.getById(userId,
+                () -> CustomerAdminVm.fromUserRepresentation(
+                    keycloak.realm(keycloakPropsConfig.getRealm()).users().get(userId).toRepresentation())));
 
         } catch (ForbiddenException exception) {
             throw new AccessDeniedException(
@@ -10,9 +10,12 @@ import com.yas.customer.viewmodel.address.AddressDetailVm;
 import com.yas.customer.viewmodel.address.AddressPostVm;
 import com.yas.customer.viewmodel.address.AddressVm;
 import com.yas.customer.viewmodel.useraddress.UserAddressVm;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -35,22 +38,7 @@ public class UserAddressService {
             throw new AccessDeniedException(Constants.ErrorCode.UNAUTHENTICATED);
         }
 
-        List<UserAddress> userAddressList = userAddressRepository.findAllByUserId(userId);
-        List<AddressDetailVm> addressVmList = locationService.getAddressesByIdList(
-            userAddressList.stream().map(UserAddress::getAddressId).collect(Collectors.toList()));
-
-        List<ActiveAddressVm> addressActiveVms = userAddressList.stream().flatMap(userAddress -> addressVmList.stream()
-                .filter(addressDetailVm -> userAddress.getAddressId().equals(addressDetailVm.id())).map(
-                    addressDetailVm -> new ActiveAddressVm(addressDetailVm.id(), addressDetailVm.contactName(),
-                        addressDetailVm.phone(), addressDetailVm.addressLine1(), addressDetailVm.city(),
-                        addressDetailVm.zipCode(), addressDetailVm.districtId(), addressDetailVm.districtName(),
-                        addressDetailVm.stateOrProvinceId(), addressDetailVm.stateOrProvinceName(),
-                        addressDetailVm.countryId(), addressDetailVm.countryName(), userAddress.getIsActive())))
-            .toList();
-
-        //sort by isActive
-        Comparator<ActiveAddressVm> comparator = Comparator.comparing(ActiveAddressVm::isActive).reversed();
-        return addressActiveVms.stream().sorted(comparator).collect(Collectors.toList());
+        return loadAddressBook(userId);
     }
 
     public AddressDetailVm getAddressDefault() {
@@ -68,9 +56,7 @@ public class UserAddressService {
     public UserAddressVm createAddress(AddressPostVm addressPostVm) {
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        // Fetch all existing addresses for the user
-        List<UserAddress> userAddressList = userAddressRepository.findAllByUserId(userId);
-        boolean isFirstAddress = userAddressList.isEmpty();
+        boolean isFirstAddress = !userAddressRepository.existsByUserId(userId);
 
         AddressVm addressGetVm = locationService.createAddress(addressPostVm);
         UserAddress userAddress =
@@ -97,4 +83,35 @@ public class UserAddressService {
         }
         userAddressRepository.saveAll(userAddressList);
     }
+
+    /**
+     * Resolves all the addresses of a user with one call to the location service, the active address first.
+     */
+    private List<ActiveAddressVm> loadAddressBook(String userId) {
+        List<UserAddress> userAddressList = userAddressRepository.findAllByUserId(userId);
+        if (userAddressList.isEmpty()) {
+            return List.of();
+        }
+        List<AddressDetailVm> addressVmList = locationService.getAddressesByIdList(
+            userAddressList.stream().map(UserAddress::getAddressId).toList());
+        Map<Long, AddressDetailVm> addressesById = Objects.requireNonNullElse(addressVmList,
+                List.<AddressDetailVm>of()).stream()
+            .collect(Collectors.toMap(AddressDetailVm::id, Function.identity(), (first, second) -> first));
+
+        List<ActiveAddressVm> addressActiveVms = new ArrayList<>(userAddressList.size());
+        for (UserAddress userAddress : userAddressList) {
+            AddressDetailVm addressDetailVm = addressesById.get(userAddress.getAddressId());
+            if (addressDetailVm != null) {
+                addressActiveVms.add(new ActiveAddressVm(addressDetailVm.id(), addressDetailVm.contactName(),
+                    addressDetailVm.phone(), addressDetailVm.addressLine1(), addressDetailVm.city(),
+                    addressDetailVm.zipCode(), addressDetailVm.districtId(), addressDetailVm.districtName(),
+                    addressDetailVm.stateOrProvinceId(), addressDetailVm.stateOrProvinceName(),
+                    addressDetailVm.countryId(), addressDetailVm.countryName(), userAddress.getIsActive()));
+            }
+        }
+
+        //sort by isActive
+        addressActiveVms.sort(Comparator.comparing(ActiveAddressVm::isActive).reversed());
+        return addressActiveVms;
+    }
 }
@@ -11,5 +11,7 @@ public final class Constants {
         public static final String UNAUTHENTICATED = "ACTION FAILED, PLEASE LOGIN";
         public static final String USERNAME_ALREADY_EXITED = "USERNAME_ALREADY_EXITED";
         public static final String USER_WITH_EMAIL_ALREADY_EXITED = "USER_WITH_EMAIL_ALREADY_EXITED";
+        public static final String INVALID_EXPORT_FORMAT = "INVALID_EXPORT_FORMAT";
+        public static final String INVALID_RESUME_TOKEN = "INVALID_RESUME_TOKEN";
     }
 }
@@ -0,0 +1,10 @@
+package com.yas.customer.viewmodel.customer;
+
+/**
+ * A line of the NDJSON customer export.
+ *
+ * @param customer    the customer
+ * @param resumeToken passed back to continue an interrupted export right after this customer
+ */
+public record CustomerExportRowVm(CustomerAdminVm customer, String resumeToken) {
+}
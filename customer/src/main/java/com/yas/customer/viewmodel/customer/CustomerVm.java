@@ -7,4 +7,9 @@ public record CustomerVm(String id, String username, String email, String firstN
         return new CustomerVm(userRepresentation.getId(), userRepresentation.getUsername(),
             userRepresentation.getEmail(), userRepresentation.getFirstName(), userRepresentation.getLastName());
     }
+
+    public static CustomerVm fromCustomerAdminVm(CustomerAdminVm customerAdminVm) {
+        return new CustomerVm(customerAdminVm.id(), customerAdminVm.username(), customerAdminVm.email(),
+            customerAdminVm.firstName(), customerAdminVm.lastName());
+    }
 }
@@ -0,0 +1,66 @@
+package com.yas.customer.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yas.customer.viewmodel.customer.CustomerAdminVm;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InMemoryCustomerProfileCacheTest {
+
+    private InMemoryCustomerProfileCache customerProfileCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        customerProfileCache = new InMemoryCustomerProfileCache(Duration.ofMinutes(10), 2);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGetByEmail_whenLoadedById_thenServeEmailFromSameProfileAfterFirstLookup() {
+        customerProfileCache.getByEmail("Alice@Example.com", loader("1", "alice@example.com"));
+        CustomerAdminVm byId = customerProfileCache.getById("1", loader("1", "other@example.com"));
+        CustomerAdminVm byEmail =
+            customerProfileCache.getByEmail("alice@example.com", loader("1", "other@example.com"));
+
+        assertThat(byId.email()).isEqualTo("alice@example.com");
+        assertThat(byEmail).isSameAs(byId);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testGetByEmail_whenProfileWasEvicted_thenLoadAgain() {
+        customerProfileCache.getByEmail("alice@example.com", loader("1", "alice@example.com"));
+        customerProfileCache.evict("1");
+
+        CustomerAdminVm profile =
+            customerProfileCache.getByEmail("alice@example.com", loader("1", "alice@example.com"));
+
+        assertThat(profile.id()).isEqualTo("1");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testGetById_whenMoreProfilesThanMaxSize_thenDropLeastRecentlyUsed() {
+        customerProfileCache.getById("1", loader("1", "a@example.com"));
+        customerProfileCache.getById("2", loader("2", "b@example.com"));
+        customerProfileCache.getById("1", loader("1", "a@example.com"));
+        customerProfileCache.getById("3", loader("3", "c@example.com"));
+
+        customerProfileCache.getById("1", loader("1", "a@example.com"));
+        assertThat(loads).hasValue(3);
+        customerProfileCache.getById("2", loader("2", "b@example.com"));
+        assertThat(loads).hasValue(4);
+    }
+
+    private Supplier<CustomerAdminVm> loader(String id, String email) {
+        return () -> {
+            loads.incrementAndGet();
+            return new CustomerAdminVm(id, "user" + id, email, "First", "Last", null);
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.yas.customer.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.customer.config.KeycloakPropsConfig;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.AdminEventRepresentation;
+import org.keycloak.representations.idm.EventRepresentation;
+
+class KeycloakEventPollerTest {
+
+    private RealmResource realmResource;
+    private CustomerProfileCache customerProfileCache;
+    private KeycloakEventPoller keycloakEventPoller;
+
+    @BeforeEach
+    void setUp() {
+        Keycloak keycloak = mock(Keycloak.class);
+        KeycloakPropsConfig keycloakPropsConfig = mock(KeycloakPropsConfig.class);
+        realmResource = mock(RealmResource.class);
+        customerProfileCache = mock(CustomerProfileCache.class);
+        when(keycloakPropsConfig.getRealm()).thenReturn("test-realm");
+        when(keycloak.realm("test-realm")).thenReturn(realmResource);
+        keycloakEventPoller = new KeycloakEventPoller(keycloak, keycloakPropsConfig, customerProfileCache, 2, 2);
+    }
+
+    @Test
+    void testPoll_whenUsersChanged_thenEvictTheirProfiles() {
+        long now = System.currentTimeMillis() + 1000;
+        stubAdminEvents(0, List.of(adminEvent("users/1/role-mappings/realm", now), adminEvent("clients/2", now)));
+        stubAdminEvents(2, List.of());
+        stubUserEvents(0, List.of(userEvent("3", now)));
+
+        keycloakEventPoller.poll();
+
+        verify(customerProfileCache).evict("1");
+        verify(customerProfileCache).evict("3");
+        verify(customerProfileCache, never()).evict("2");
+        verify(customerProfileCache, never()).evictAll();
+    }
+
+    @Test
+    void testPoll_whenMoreEventsThanOnePollReads_thenEvictAllProfiles() {
+        long now = System.currentTimeMillis() + 1000;
+        stubAdminEvents(0, List.of(adminEvent("users/1", now), adminEvent("users/2", now)));
+        stubAdminEvents(2, List.of(adminEvent("users/3", now), adminEvent("users/4", now)));
+        stubUserEvents(0, List.of());
+
+        keycloakEventPoller.poll();
+
+        verify(customerProfileCache).evictAll();
+    }
+
+    @Test
+    void testUserIdOf_whenResourceIsNotUser_thenReturnNull() {
+        assertThat(KeycloakEventPoller.userIdOf(adminEvent("users/42", 0))).isEqualTo("42");
+        assertThat(KeycloakEventPoller.userIdOf(adminEvent("roles/42", 0))).isNull();
+    }
+
+    private void stubAdminEvents(int first, List<AdminEventRepresentation> events) {
+        when(realmResource.getAdminEvents(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), anyString(),
+            isNull(), eq(first), eq(2))).thenReturn(events);
+    }
+
+    private void stubUserEvents(int first, List<EventRepresentation> events) {
+        when(realmResource.getEvents(eq(KeycloakEventPoller.PROFILE_EVENT_TYPES), isNull(), isNull(), anyString(),
+            isNull(), isNull(), eq(first), eq(2))).thenReturn(events);
+    }
+
+    private static AdminEventRepresentation adminEvent(String resourcePath, long time) {
+        AdminEventRepresentation event = new AdminEventRepresentation();
+        event.setResourcePath(resourcePath);
+        event.setTime(time);
+        return event;
+    }
+
+    private static EventRepresentation userEvent(String userId, long time) {
+        EventRepresentation event = new EventRepresentation();
+        event.setUserId(userId);
+        event.setTime(time);
+        return event;
+    }
+}
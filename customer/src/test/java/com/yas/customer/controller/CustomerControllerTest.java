@@ -10,6 +10,7 @@ import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.yas.customer.CustomerApplication;
+import com.yas.customer.service.CustomerExportService;
 import com.yas.customer.service.CustomerService;
 import com.yas.customer.util.SecurityContextUtils;
 import com.yas.customer.viewmodel.customer.CustomerAdminVm;
@@ -44,6 +45,9 @@ class CustomerControllerTest {
     @MockBean
     private CustomerService customerService;
 
+    @MockBean
+    private CustomerExportService customerExportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -0,0 +1,137 @@
+package com.yas.customer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.customer.config.KeycloakPropsConfig;
+import com.yas.customer.service.CustomerExportService.ExportCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.UserRepresentation;
+
+class CustomerExportServiceTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private UsersResource usersResource;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerExportService customerExportService;
+
+    @BeforeEach
+    void setUp() {
+        Keycloak keycloak = mock(Keycloak.class);
+        KeycloakPropsConfig keycloakPropsConfig = mock(KeycloakPropsConfig.class);
+        RealmResource realmResource = mock(RealmResource.class);
+        usersResource = mock(UsersResource.class);
+        when(keycloakPropsConfig.getRealm()).thenReturn("test-realm");
+        when(keycloak.realm("test-realm")).thenReturn(realmResource);
+        when(realmResource.users()).thenReturn(usersResource);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        meterRegistry = new SimpleMeterRegistry();
+        customerExportService = new CustomerExportService(keycloak, keycloakPropsConfig, objectMapper,
+            meterRegistry, PAGE_SIZE, 2);
+    }
+
+    @Test
+    void testExportNdjson_whenSeveralPages_thenWriteEnabledUsersInOrder() throws IOException {
+        stubUsers(user("user1", true), user("user2", true), user("user3", false), user("user4", true),
+            user("user5", true));
+
+        List<JsonNode> rows = exportNdjson(customerExportService.parseResumeToken(null));
+
+        assertThat(rows).extracting(row -> row.get("customer").get("username").asText())
+            .containsExactly("user1", "user2", "user4", "user5");
+        assertThat(meterRegistry.counter("customer.export.rows", "format", "ndjson").count()).isEqualTo(4);
+    }
+
+    @Test
+    void testExportNdjson_whenResumed_thenContinueAfterLastExportedUser() throws IOException {
+        stubUsers(user("user1", true), user("user2", true), user("user3", false), user("user4", true),
+            user("user5", true));
+        String resumeToken = exportNdjson(ExportCursor.START).get(1).get("resumeToken").asText();
+
+        List<JsonNode> rows = exportNdjson(customerExportService.parseResumeToken(resumeToken));
+
+        assertThat(rows).extracting(row -> row.get("customer").get("username").asText())
+            .containsExactly("user4", "user5");
+    }
+
+    @Test
+    void testExportNdjson_whenLastExportedUserWasDeleted_thenContinueAtItsPosition() throws IOException {
+        stubUsers(user("user1", true), user("user3", false), user("user4", true), user("user5", true));
+        String resumeToken = CustomerExportService.resumeToken(2, "user2");
+
+        List<JsonNode> rows = exportNdjson(customerExportService.parseResumeToken(resumeToken));
+
+        assertThat(rows).extracting(row -> row.get("customer").get("username").asText())
+            .containsExactly("user4", "user5");
+    }
+
+    @Test
+    void testExportCsv_whenNormalCase_thenWriteHeaderAndRows() throws IOException {
+        stubUsers(user("user1", true), user("user2", true), user("user3", true));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        customerExportService.exportCsv(ExportCursor.START, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo("Id,User ID,Username,Email,First name,Last name,Created on,Resume token");
+        assertThat(lines[3]).startsWith("3,id-user3,user3,user3@example.com,");
+    }
+
+    @Test
+    void testParseResumeToken_whenTokenIsMalformed_thenThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> customerExportService.parseResumeToken("not a token"));
+        assertThrows(BadRequestException.class, () -> customerExportService.parseResumeToken("bm8tc2VwYXJhdG9y"));
+    }
+
+    private List<JsonNode> exportNdjson(ExportCursor cursor) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        customerExportService.exportNdjson(cursor, outputStream);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private void stubUsers(UserRepresentation... users) {
+        for (int first = 0; first <= users.length + PAGE_SIZE * 2; first += PAGE_SIZE) {
+            List<UserRepresentation> page = List.of(users)
+                .subList(Math.min(first, users.length), Math.min(first + PAGE_SIZE, users.length));
+            when(usersResource.search(isNull(), eq(first), eq(PAGE_SIZE))).thenReturn(page);
+        }
+    }
+
+    private static UserRepresentation user(String username, boolean enabled) {
+        UserRepresentation user = new UserRepresentation();
+        user.setId("id-" + username);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEnabled(enabled);
+        user.setCreatedTimestamp(946684800000L);
+        return user;
+    }
+}
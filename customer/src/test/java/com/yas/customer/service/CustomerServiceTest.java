@@ -4,6 +4,7 @@ import com.yas.commonlibrary.exception.AccessDeniedException;
 import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.exception.WrongEmailFormatException;
+import com.yas.customer.cache.InMemoryCustomerProfileCache;
 import com.yas.customer.config.KeycloakPropsConfig;
 import com.yas.customer.viewmodel.customer.*;
 import jakarta.ws.rs.core.Response;
@@ -16,6 +17,7 @@ import org.keycloak.representations.idm.UserRepresentation;
 import org.mockito.ArgumentCaptor;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -52,7 +54,8 @@ class CustomerServiceTest {
         when(keycloakPropsConfig.getRealm()).thenReturn(REALM_NAME);
         when(keycloak.realm(REALM_NAME)).thenReturn(realmResource);
         usersResource = mock(UsersResource.class);
-        customerService = new CustomerService(keycloak, keycloakPropsConfig);
+        customerService = new CustomerService(keycloak, keycloakPropsConfig,
+            new InMemoryCustomerProfileCache(Duration.ofMinutes(10), 100));
         when(realmResource.users()).thenReturn(usersResource);
     }
 
@@ -229,6 +232,40 @@ class CustomerServiceTest {
         assertThat(customerVm.email()).isEqualTo(userRepresentation.getEmail());
     }
 
+    @Test
+    void testGetCustomerProfile_whenReadTwice_thenCallKeycloakOnce() {
+
+        UserRepresentation userRepresentation = getUserRepresentation();
+        userRepresentation.setId(USER_NAME);
+        UserResource userResource = mock(UserResource.class);
+        when(usersResource.get(USER_NAME)).thenReturn(userResource);
+        when(userResource.toRepresentation()).thenReturn(userRepresentation);
+
+        customerService.getCustomerProfile(USER_NAME);
+        CustomerVm customerVm = customerService.getCustomerProfile(USER_NAME);
+
+        assertThat(customerVm.email()).isEqualTo(userRepresentation.getEmail());
+        verify(userResource, times(1)).toRepresentation();
+    }
+
+    @Test
+    void testGetCustomerProfile_whenCustomerWasUpdated_thenReadUpdatedProfile() {
+
+        UserRepresentation userRepresentation = getUserRepresentation();
+        userRepresentation.setId(USER_NAME);
+        UserResource userResource = mock(UserResource.class);
+        when(usersResource.get(USER_NAME)).thenReturn(userResource);
+        when(userResource.toRepresentation()).thenReturn(userRepresentation);
+
+        customerService.getCustomerProfile(USER_NAME);
+        customerService.updateCustomer(USER_NAME,
+            new CustomerProfileRequestVm("NewFirstName", "NewLastName", VALID_EMAIL));
+        CustomerVm customerVm = customerService.getCustomerProfile(USER_NAME);
+
+        assertThat(customerVm.firstName()).isEqualTo("NewFirstName");
+        assertThat(customerVm.email()).isEqualTo(VALID_EMAIL);
+    }
+
     @Test
     void testGetCustomerProfile_isAbnormalCase_throwForbiddenException() {
 
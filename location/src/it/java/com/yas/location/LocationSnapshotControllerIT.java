@@ -0,0 +1,113 @@
+package com.yas.location;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+import com.yas.commonlibrary.AbstractControllerIT;
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.location.model.Country;
+import com.yas.location.model.District;
+import com.yas.location.model.StateOrProvince;
+import com.yas.location.repository.CountryRepository;
+import com.yas.location.repository.DistrictRepository;
+import com.yas.location.repository.StateOrProvinceRepository;
+import com.yas.location.service.CountryService;
+import com.yas.location.viewmodel.country.CountryPostVm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LocationSnapshotControllerIT extends AbstractControllerIT {
+
+    private static final String SNAPSHOT_URL = "/v1/storefront/location-snapshot";
+
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private StateOrProvinceRepository stateOrProvinceRepository;
+    @Autowired
+    private DistrictRepository districtRepository;
+    @Autowired
+    private CountryService countryService;
+
+    @BeforeEach
+    void insertTestData() {
+        Country country = countryRepository.save(Country.builder()
+            .name("country-1")
+            .code2("C1")
+            .build());
+        StateOrProvince stateOrProvince = stateOrProvinceRepository.save(StateOrProvince.builder()
+            .name("state-or-province")
+            .country(country)
+            .build());
+        districtRepository.save(District.builder()
+            .name("district-1")
+            .stateProvince(stateOrProvince)
+            .build());
+        // The data is saved behind the services, so create a country through them to drop the cached snapshot
+        countryService.create(new CountryPostVm("C2", "country-2", "C2", true, true, true, true, true));
+    }
+
+    @AfterEach
+    void clearTestData() {
+        districtRepository.deleteAll();
+        stateOrProvinceRepository.deleteAll();
+        countryRepository.deleteAll();
+    }
+
+    @Test
+    void test_getLocationSnapshot_shouldReturnAllDataWithETag_andNotModifiedWhenRevalidated() {
+        String etag = given(getRequestSpecification())
+            .when()
+            .get(SNAPSHOT_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("countries", hasSize(2))
+            .body("stateOrProvinces", hasSize(1))
+            .body("districts", hasSize(1))
+            .body("districts[0].name", equalTo("district-1"))
+            .log().ifValidationFails()
+            .extract().header(HttpHeaders.ETAG);
+
+        given(getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .when()
+            .get(SNAPSHOT_URL)
+            .then()
+            .statusCode(HttpStatus.NOT_MODIFIED.value())
+            .log().ifValidationFails();
+    }
+
+    @Test
+    void test_getLocationSnapshot_shouldChangeVersion_whenCountryIsAdded() {
+        String etag = given(getRequestSpecification())
+            .when()
+            .get(SNAPSHOT_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract().header(HttpHeaders.ETAG);
+
+        countryService.create(new CountryPostVm("C3", "country-3", "C3", true, true, true, true, true));
+
+        given(getRequestSpecification())
+            .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .when()
+            .get(SNAPSHOT_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header(HttpHeaders.ETAG, not(equalTo(etag)))
+            .body("countries", hasSize(3))
+            .log().ifValidationFails();
+    }
+}
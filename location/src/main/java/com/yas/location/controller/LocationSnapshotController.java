@@ -0,0 +1,43 @@
+package com.yas.location.controller;
+
+import com.yas.location.service.LocationSnapshotService;
+import com.yas.location.service.LocationSnapshotService.LocationSnapshot;
+import com.yas.location.viewmodel.snapshot.LocationSnapshotVm;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequiredArgsConstructor
+public class LocationSnapshotController {
+    private final LocationSnapshotService locationSnapshotService;
+
+    /**
+     * Returns all the location reference data. Clients keep it and revalidate it with its ETag, which gives a 304
+     * without body while the data has not changed.
+     */
+    @GetMapping({"/storefront/location-snapshot", "/backoffice/location-snapshot"})
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ok",
+            content = @Content(schema = @Schema(implementation = LocationSnapshotVm.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified", content = @Content())})
+    public ResponseEntity<byte[]> getLocationSnapshot(WebRequest webRequest) {
+        LocationSnapshot snapshot = locationSnapshotService.getSnapshot();
+        if (webRequest.checkNotModified(snapshot.version())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(snapshot.version())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.json());
+    }
+}
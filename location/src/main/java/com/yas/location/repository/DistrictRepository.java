@@ -2,9 +2,19 @@ package com.yas.location.repository;
 
 import com.yas.location.model.District;
 import com.yas.location.viewmodel.district.DistrictGetVm;
+import com.yas.location.viewmodel.snapshot.DistrictSnapshotVm;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface DistrictRepository extends JpaRepository<District, Long> {
     List<DistrictGetVm> findAllByStateProvinceIdOrderByNameAsc(Long stateProvinceId);
+
+    @Query("""
+         SELECT new com.yas.location.viewmodel.snapshot.DistrictSnapshotVm(
+             d.id, d.stateProvince.id, d.name, d.type)
+         FROM District d
+         ORDER BY d.id
+        """)
+    List<DistrictSnapshotVm> findAllSnapshots();
 }
@@ -1,6 +1,7 @@
 package com.yas.location.repository;
 
 import com.yas.location.model.StateOrProvince;
+import com.yas.location.viewmodel.snapshot.StateOrProvinceSnapshotVm;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -46,4 +47,12 @@ public interface StateOrProvinceRepository extends JpaRepository<StateOrProvince
     boolean existsByNameIgnoreCaseAndCountryId(final String name, final Long countryId);
 
     boolean existsByNameIgnoreCaseAndCountryIdAndIdNot(final String name, final Long countryId, final Long excludedId);
+
+    @Query("""
+         SELECT new com.yas.location.viewmodel.snapshot.StateOrProvinceSnapshotVm(
+             sop.id, sop.country.id, sop.code, sop.name, sop.type)
+         FROM StateOrProvince sop
+         ORDER BY sop.id
+        """)
+    List<StateOrProvinceSnapshotVm> findAllSnapshots();
 }
@@ -25,9 +25,13 @@ public class CountryService {
 
     private final CountryMapper countryMapper;
 
-    public CountryService(CountryRepository countryRepository, CountryMapper countryMapper) {
+    private final LocationSnapshotService locationSnapshotService;
+
+    public CountryService(CountryRepository countryRepository, CountryMapper countryMapper,
+                          LocationSnapshotService locationSnapshotService) {
         this.countryRepository = countryRepository;
         this.countryMapper = countryMapper;
+        this.locationSnapshotService = locationSnapshotService;
     }
 
     @Transactional(readOnly = true)
@@ -56,7 +60,9 @@ public class CountryService {
         if (countryRepository.existsByNameIgnoreCase(countryPostVm.name())) {
             throw new DuplicatedException(Constants.ErrorCode.NAME_ALREADY_EXITED, countryPostVm.name());
         }
-        return countryRepository.save(countryMapper.toCountryFromCountryPostViewModel(countryPostVm));
+        final Country country = countryRepository.save(countryMapper.toCountryFromCountryPostViewModel(countryPostVm));
+        locationSnapshotService.invalidateAfterCommit();
+        return country;
     }
 
     @Transactional
@@ -74,6 +80,7 @@ public class CountryService {
         }
         countryMapper.toCountryFromCountryPostViewModel(country, countryPostVm);
         countryRepository.save(country);
+        locationSnapshotService.invalidateAfterCommit();
     }
 
     @Transactional
@@ -83,6 +90,7 @@ public class CountryService {
             throw new NotFoundException(Constants.ErrorCode.COUNTRY_NOT_FOUND, id);
         }
         countryRepository.deleteById(id);
+        locationSnapshotService.invalidateAfterCommit();
     }
 
     @Transactional(readOnly = true)
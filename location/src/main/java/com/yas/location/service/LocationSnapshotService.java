@@ -0,0 +1,139 @@
+package com.yas.location.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yas.location.repository.CountryRepository;
+import com.yas.location.repository.DistrictRepository;
+import com.yas.location.repository.StateOrProvinceRepository;
+import com.yas.location.viewmodel.country.CountryVm;
+import com.yas.location.viewmodel.snapshot.DistrictSnapshotVm;
+import com.yas.location.viewmodel.snapshot.LocationSnapshotVm;
+import com.yas.location.viewmodel.snapshot.StateOrProvinceSnapshotVm;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serves all countries, states or provinces and districts as one snapshot, serialized once and kept until the data
+ * changes. The version of the snapshot is a hash of its content, so every instance gives the same data the same
+ * version. Writes through this instance drop the snapshot once they commit; writes through other instances are
+ * picked up when the snapshot expires.
+ */
+@Slf4j
+@Service
+public class LocationSnapshotService {
+
+    private static final int VERSION_BYTES = 16;
+
+    private final CountryRepository countryRepository;
+    private final StateOrProvinceRepository stateOrProvinceRepository;
+    private final DistrictRepository districtRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeToLiveMillis;
+
+    /**
+     * Incremented on every invalidation, so a snapshot read before a write is not kept after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile LocationSnapshot snapshot;
+
+    public LocationSnapshotService(CountryRepository countryRepository,
+                                   StateOrProvinceRepository stateOrProvinceRepository,
+                                   DistrictRepository districtRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${yas.location.snapshot.time-to-live:PT5M}") Duration timeToLive) {
+        this.countryRepository = countryRepository;
+        this.stateOrProvinceRepository = stateOrProvinceRepository;
+        this.districtRepository = districtRepository;
+        this.objectMapper = objectMapper;
+        this.timeToLiveMillis = timeToLive.toMillis();
+    }
+
+    public LocationSnapshot getSnapshot() {
+        LocationSnapshot current = snapshot;
+        if (current != null && current.expiresAt() > System.currentTimeMillis()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.expiresAt() > System.currentTimeMillis()) {
+                return current;
+            }
+            long readGeneration = generation.get();
+            current = build();
+            if (generation.get() == readGeneration) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Drops the snapshot once the current transaction commits, or right away outside a transaction.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private LocationSnapshot build() {
+        List<CountryVm> countries = countryRepository.findAll(Sort.by(Sort.Direction.ASC, "id")).stream()
+            .map(CountryVm::fromModel)
+            .toList();
+        List<StateOrProvinceSnapshotVm> stateOrProvinces = stateOrProvinceRepository.findAllSnapshots();
+        List<DistrictSnapshotVm> districts = districtRepository.findAllSnapshots();
+        try {
+            String version = versionOf(objectMapper.writeValueAsBytes(
+                new LocationSnapshotVm(null, countries, stateOrProvinces, districts)));
+            byte[] json = objectMapper.writeValueAsBytes(
+                new LocationSnapshotVm(version, countries, stateOrProvinces, districts));
+            log.debug("Built location snapshot {} of {} bytes", version, json.length);
+            return new LocationSnapshot(version, json, System.currentTimeMillis() + timeToLiveMillis);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the location snapshot", e);
+        }
+    }
+
+    private static String versionOf(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(Arrays.copyOf(digest, VERSION_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A serialized snapshot.
+     *
+     * @param version   the version of the data
+     * @param json      the {@link LocationSnapshotVm} as JSON
+     * @param expiresAt the time after which the snapshot is built again, in epoch milliseconds
+     */
+    public record LocationSnapshot(String version, byte[] json, long expiresAt) {
+    }
+}
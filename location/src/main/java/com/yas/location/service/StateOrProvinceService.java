@@ -27,11 +27,15 @@ public class StateOrProvinceService {
 
     private final StateOrProvinceMapper stateOrProvinceMapper;
 
+    private final LocationSnapshotService locationSnapshotService;
+
     public StateOrProvinceService(StateOrProvinceRepository stateOrProvinceRepository,
-                                  CountryRepository countryRepository, StateOrProvinceMapper stateOrProvinceMapper) {
+                                  CountryRepository countryRepository, StateOrProvinceMapper stateOrProvinceMapper,
+                                  LocationSnapshotService locationSnapshotService) {
         this.stateOrProvinceRepository = stateOrProvinceRepository;
         this.countryRepository = countryRepository;
         this.stateOrProvinceMapper = stateOrProvinceMapper;
+        this.locationSnapshotService = locationSnapshotService;
     }
 
     /**
@@ -60,7 +64,9 @@ public class StateOrProvinceService {
             .country(countryRepository.getReferenceById(countryId))
             .build();
 
-        return stateOrProvinceRepository.save(stateOrProvince);
+        final StateOrProvince savedStateOrProvince = stateOrProvinceRepository.save(stateOrProvince);
+        locationSnapshotService.invalidateAfterCommit();
+        return savedStateOrProvince;
     }
 
     /**
@@ -89,6 +95,7 @@ public class StateOrProvinceService {
         stateOrProvince.setType(stateOrProvincePostVm.type());
 
         stateOrProvinceRepository.save(stateOrProvince);
+        locationSnapshotService.invalidateAfterCommit();
     }
 
     @Transactional
@@ -98,6 +105,7 @@ public class StateOrProvinceService {
             throw new NotFoundException(Constants.ErrorCode.STATE_OR_PROVINCE_NOT_FOUND, id);
         }
         stateOrProvinceRepository.deleteById(id);
+        locationSnapshotService.invalidateAfterCommit();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,4 @@
+package com.yas.location.viewmodel.snapshot;
+
+public record DistrictSnapshotVm(Long id, Long stateOrProvinceId, String name, String type) {
+}
@@ -0,0 +1,15 @@
+package com.yas.location.viewmodel.snapshot;
+
+import com.yas.location.viewmodel.country.CountryVm;
+import java.util.List;
+
+/**
+ * All the location reference data, as flat lists that refer to their parent by ID.
+ *
+ * @param version the version of the data, which is also the ETag of the snapshot
+ */
+public record LocationSnapshotVm(String version,
+                                 List<CountryVm> countries,
+                                 List<StateOrProvinceSnapshotVm> stateOrProvinces,
+                                 List<DistrictSnapshotVm> districts) {
+}
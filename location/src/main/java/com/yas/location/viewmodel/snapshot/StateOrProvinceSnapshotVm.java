@@ -0,0 +1,4 @@
+package com.yas.location.viewmodel.snapshot;
+
+public record StateOrProvinceSnapshotVm(Long id, Long countryId, String code, String name, String type) {
+}
@@ -0,0 +1,150 @@
+package com.yas.order.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.order.OrderApplication;
+import com.yas.order.model.request.OrderRequest;
+import com.yas.order.service.OrderService;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Measures the backoffice order search filters on a generated dataset, without and with the search indexes of
+ * {@code changelog-0019.sql}. Liquibase has already created them, so they are dropped for the baseline and rebuilt
+ * afterwards. Run it explicitly, it loads a million orders by default:
+ * <pre>
+ * mvn verify -pl order -Dit.test=OrderSearchBenchmarkIT -Dbenchmark.order-search=true \
+ *     -Dbenchmark.order-search.orders=1000000
+ * </pre>
+ */
+@Slf4j
+@SpringBootTest(classes = OrderApplication.class)
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark.order-search", matches = "true")
+class OrderSearchBenchmarkIT {
+
+    private static final int RUNS = 5;
+    private static final long TARGET_MILLIS = 1000;
+
+    /**
+     * The search indexes by name. "order" and order_item are partitioned, which rules out {@code CONCURRENTLY}, so
+     * they are built as {@code changelog-0021.sql} builds them: with a plain {@code CREATE INDEX} on the parent.
+     */
+    private static final Map<String, String> SEARCH_INDEXES = Map.of(
+        "idx_order_email_trgm", "\"order\" USING gin (lower(email) gin_trgm_ops)",
+        "idx_order_address_phone_trgm", "order_address USING gin (lower(phone) gin_trgm_ops)",
+        "idx_order_address_country_name_trgm", "order_address USING gin (lower(country_name) gin_trgm_ops)",
+        "idx_order_item_name_trgm", "order_item USING gin (lower(name) gin_trgm_ops)",
+        "idx_order_item_order_id", "order_item (order_id)",
+        "idx_order_billing_address_id", "\"order\" (billing_address_id)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @BeforeAll
+    void generateDataset() {
+        int orders = Integer.getInteger("benchmark.order-search.orders", 1_000_000);
+        log.info("Generating {} orders", orders);
+
+        jdbcTemplate.execute(
+            "TRUNCATE order_item, \"order\", order_checkout, order_address RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("""
+            INSERT INTO order_address (id, contact_name, phone, address_line1, city, country_name)
+            SELECT g, 'Contact ' || g, '09' || lpad(g::text, 8, '0'), g || ' Main street', 'City ' || (g % 500),
+                'Country ' || (g % 200)
+            FROM generate_series(1, ?) g
+            """, orders);
+        jdbcTemplate.update("""
+            INSERT INTO "order" (id, email, billing_address_id, shipping_address_id, total_tax,
+                total_discount_amount, number_item, total_amount, status, checkout_id, created_by, created_on)
+            SELECT g, 'customer' || g || '@example.com', g, g, 0, 0, 1, (g % 1000) + 0.99,
+                (ARRAY['PENDING', 'ACCEPTED', 'COMPLETED'])[1 + g % 3], 'checkout-' || g, 'user-' || (g % 10000),
+                now() - make_interval(mins => g)
+            FROM generate_series(1, ?) g
+            """, orders);
+        jdbcTemplate.update("""
+            INSERT INTO order_item (order_id, product_id, name, quantity, price, created_on)
+            SELECT g, g % 5000, 'Product ' || md5((g % 5000)::text), 1, 10, now() - make_interval(mins => g)
+            FROM generate_series(1, ?) g
+            """, orders);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void dropDataset() {
+        createSearchIndexes();
+        jdbcTemplate.execute(
+            "TRUNCATE order_item, \"order\", order_checkout, order_address RESTART IDENTITY CASCADE");
+    }
+
+    @Test
+    void benchmarkSearch_beforeAndAfterSearchIndexes() {
+        Map<String, OrderRequest> searches = searches();
+
+        dropSearchIndexes();
+        Map<String, Long> withoutIndexes = measure(searches);
+        createSearchIndexes();
+        Map<String, Long> withIndexes = measure(searches);
+
+        searches.keySet().forEach(name -> log.info("{}: {} ms without indexes, {} ms with indexes",
+            name, withoutIndexes.get(name), withIndexes.get(name)));
+        withIndexes.forEach((name, millis) ->
+            assertTrue(millis < TARGET_MILLIS, name + " took " + millis + " ms"));
+    }
+
+    private void dropSearchIndexes() {
+        SEARCH_INDEXES.keySet().forEach(name -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + name));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void createSearchIndexes() {
+        SEARCH_INDEXES.forEach((name, definition) ->
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + name + " ON " + definition));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private Map<String, OrderRequest> searches() {
+        Map<String, OrderRequest> searches = new LinkedHashMap<>();
+        searches.put("email", OrderRequest.builder().email("customer424242@").pageSize(20).build());
+        searches.put("phone", OrderRequest.builder().billingPhoneNumber("0900424").pageSize(20).build());
+        searches.put("country", OrderRequest.builder().billingCountry("country 17").pageSize(20).build());
+        searches.put("product name", OrderRequest.builder().productName("e4da3b7f").pageSize(20).build());
+        searches.put("email, no match", OrderRequest.builder().email("nobody@nowhere").pageSize(20).build());
+        return searches;
+    }
+
+    private Map<String, Long> measure(Map<String, OrderRequest> searches) {
+        Map<String, Long> medians = new LinkedHashMap<>();
+        searches.forEach((name, orderRequest) -> {
+            orderService.scrollOrders(orderRequest, null, false);
+            long[] runs = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                orderService.scrollOrders(orderRequest, null, false);
+                runs[i] = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            }
+            Arrays.sort(runs);
+            medians.put(name, runs[RUNS / 2]);
+        });
+        return medians;
+    }
+}
@@ -5,23 +5,42 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.commonlibrary.exception.ForbiddenException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.order.OrderApplication;
 import com.yas.order.model.Order;
+import com.yas.order.model.enumeration.OrderEventType;
 import com.yas.order.model.enumeration.OrderStatus;
 import com.yas.order.model.enumeration.PaymentStatus;
+import com.yas.order.model.request.OrderRequest;
+import com.yas.order.repository.OrderEventRepository;
 import com.yas.order.repository.OrderItemRepository;
 import com.yas.order.repository.OrderRepository;
 import com.yas.order.viewmodel.order.OrderBriefVm;
+import com.yas.order.viewmodel.order.OrderEventVm;
+import com.yas.order.viewmodel.order.OrderGetScrollVm;
 import com.yas.order.viewmodel.order.OrderItemPostVm;
 import com.yas.order.viewmodel.order.OrderListVm;
 import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderScrollVm;
 import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressPostVm;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -29,12 +48,17 @@ import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.util.Pair;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 @SpringBootTest(classes = OrderApplication.class)
 @Import(IntegrationTestConfiguration.class)
@@ -59,6 +83,15 @@ class OrderServiceIT {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private OrderEventProjector orderEventProjector;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private OrderItemPostVm orderItemPostVm;
 
     private OrderAddressPostVm orderAddressPostVm;
@@ -93,6 +126,10 @@ class OrderServiceIT {
     void tearDown() {
         orderItemRepository.deleteAll();
         orderRepository.deleteAll();
+        // Checkout claims are inserted by a trigger on "order" and are not removed with the orders
+        jdbcTemplate.update("DELETE FROM order_checkout");
+        orderEventRepository.deleteAll();
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -106,6 +143,66 @@ class OrderServiceIT {
         assertEquals("abc@gmail.com", orderDb.getEmail());
     }
 
+    @Test
+    void testCreateOrder_whenCheckoutAlreadyOrdered_returnExistingOrderWithoutSideEffects() {
+        authenticateAs("user-1");
+
+        OrderVm created = orderService.createOrder(orderPostVm);
+        OrderVm retried = orderService.createOrder(orderPostVm);
+
+        assertEquals(created.id(), retried.id());
+        assertEquals(1, orderRepository.count());
+        verify(productService, times(1)).subtractProductStockQuantity(any());
+        verify(cartService, times(1)).deleteCartItems(any());
+    }
+
+    @Test
+    void testCreateOrder_whenCheckoutOrderedByAnotherUser_throwForbiddenException() {
+        authenticateAs("user-1");
+        orderService.createOrder(orderPostVm);
+
+        authenticateAs("user-2");
+        assertThrows(ForbiddenException.class, () -> orderService.createOrder(orderPostVm));
+        assertEquals(1, orderRepository.count());
+        verify(productService, times(1)).subtractProductStockQuantity(any());
+    }
+
+    @Test
+    void testCreateOrder_whenCouponApplied_recordUsageBeforeStockAndCart() {
+        authenticateAs("user-1");
+
+        orderService.createOrder(couponOrderPostVm());
+
+        InOrder inOrder = inOrder(promotionService, productService, cartService);
+        inOrder.verify(promotionService).updateUsagePromotion(anyList());
+        inOrder.verify(productService).subtractProductStockQuantity(any());
+        inOrder.verify(cartService).deleteCartItems(any());
+        verify(promotionService, never()).releaseUsagePromotion(anyList());
+    }
+
+    @Test
+    void testCreateOrder_whenCouponRejected_leaveStockAndCartUntouched() {
+        authenticateAs("user-1");
+        doThrow(new BadRequestException("Coupon exhausted"))
+            .when(promotionService).updateUsagePromotion(anyList());
+
+        OrderPostVm couponOrderPostVm = couponOrderPostVm();
+        assertThrows(BadRequestException.class, () -> orderService.createOrder(couponOrderPostVm));
+        verify(productService, never()).subtractProductStockQuantity(any());
+        verify(cartService, never()).deleteCartItems(any());
+    }
+
+    @Test
+    void testCreateOrder_whenCartDeletionFails_releaseCouponUsages() {
+        authenticateAs("user-1");
+        doThrow(new IllegalStateException("Cart unavailable")).when(cartService).deleteCartItems(any());
+
+        OrderPostVm couponOrderPostVm = couponOrderPostVm();
+        assertThrows(IllegalStateException.class, () -> orderService.createOrder(couponOrderPostVm));
+        verify(promotionService).releaseUsagePromotion(argThat(usages ->
+            usages.size() == 1 && "SUMMER".equals(usages.getFirst().promotionCode())));
+    }
+
     @Test
     void testGetOrderWithItemsById_whenNormalCase_returnOrderVm() {
         orderService.createOrder(orderPostVm);
@@ -236,6 +333,7 @@ class OrderServiceIT {
         List<Order> orders = orderRepository.findAll();
         Order order = orders.getFirst();
         orderService.rejectOrder(order.getId(), "test reason");
+        orderEventProjector.projectPendingEvents();
 
         Optional<Order> actual = orderRepository.findById(order.getId());
         assertNotNull(actual);
@@ -246,6 +344,28 @@ class OrderServiceIT {
 
     }
 
+    @Test
+    void testGetOrderEvents_whenOrderIsPaidAndRejected_thenReturnTransitionsInVersionOrder() {
+        orderService.createOrder(orderPostVm);
+        Order order = orderRepository.findAll().getFirst();
+        orderService.updateOrderPaymentStatus(new PaymentOrderStatusVm(
+            order.getId(), null, 1L, PaymentStatus.COMPLETED.name()));
+
+        assertThrows(BadRequestException.class, () -> orderService.rejectOrder(order.getId(), "too late"));
+        List<OrderEventVm> events = orderService.getOrderEvents(order.getId());
+
+        assertEquals(List.of(OrderEventType.PLACED, OrderEventType.ACCEPTED, OrderEventType.PAYMENT_UPDATED),
+            events.stream().map(OrderEventVm::eventType).toList());
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(OrderEventVm::version).toList());
+        assertEquals(OrderStatus.PAID, events.getLast().toStatus());
+
+        orderEventProjector.projectPendingEvents();
+        Order projected = orderRepository.findById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.PAID, projected.getOrderStatus());
+        assertEquals(1L, projected.getPaymentId());
+        assertEquals(3L, projected.getEventVersion());
+    }
+
     @Test
     void testRejectOrder_whenNotFound_throwNotFoundException() {
         Exception exception = assertThrows(NotFoundException.class,
@@ -260,6 +380,7 @@ class OrderServiceIT {
         List<Order> orders = orderRepository.findAll();
         Order order = orders.getFirst();
         orderService.acceptOrder(order.getId());
+        orderEventProjector.projectPendingEvents();
 
         Optional<Order> actual = orderRepository.findById(order.getId());
         assertNotNull(actual);
@@ -281,6 +402,58 @@ class OrderServiceIT {
         assertNotNull(orderList);
     }
 
+    @Test
+    void testExportCsv_whenStreaming_writeAllMatchingOrders() throws IOException {
+        orderService.createOrder(orderPostVm);
+        orderService.createOrder(orderPostVmOf("2", "def@gmail.com"));
+        OrderRequest orderRequest = OrderRequest.builder().pageNo(0).pageSize(1).build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderService.exportCsv(orderRequest, outputStream);
+
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals(3, csv.lines().count());
+        assertTrue(csv.contains("abc@gmail.com"));
+        assertTrue(csv.contains("def@gmail.com"));
+    }
+
+    @Test
+    void testScrollOrders_whenMorePagesExist_returnEveryOrderOnce() {
+        orderService.createOrder(orderPostVm);
+        orderService.createOrder(orderPostVmOf("2", "def@gmail.com"));
+        orderService.createOrder(orderPostVmOf("3", "ghi@gmail.com"));
+        OrderRequest orderRequest = OrderRequest.builder().pageSize(2).build();
+
+        OrderScrollVm firstPage = orderService.scrollOrders(orderRequest, null, false);
+        OrderScrollVm secondPage = orderService.scrollOrders(orderRequest, firstPage.nextPageToken(), false);
+
+        assertEquals(2, firstPage.orderList().size());
+        assertNotNull(firstPage.nextPageToken());
+        assertEquals(1, secondPage.orderList().size());
+        assertNull(secondPage.nextPageToken());
+        assertEquals("abc@gmail.com", secondPage.orderList().getFirst().email());
+    }
+
+    @Test
+    void testScrollMyOrders_whenMorePagesExist_returnOwnOrdersWithItems() {
+        authenticateAs("other-user");
+        orderService.createOrder(orderPostVmOf("4", "other@gmail.com"));
+        authenticateAs("user-1");
+        orderService.createOrder(orderPostVm);
+        orderService.createOrder(orderPostVmOf("2", "def@gmail.com"));
+        orderService.createOrder(orderPostVmOf("3", "ghi@gmail.com"));
+
+        OrderGetScrollVm firstPage = orderService.scrollMyOrders("", null, null, 2);
+        OrderGetScrollVm secondPage = orderService.scrollMyOrders("", null, firstPage.nextPageToken(), 2);
+
+        assertEquals(2, firstPage.orderList().size());
+        assertNotNull(firstPage.nextPageToken());
+        assertEquals(1, secondPage.orderList().size());
+        assertNull(secondPage.nextPageToken());
+        assertEquals(1, secondPage.orderList().getFirst().orderItems().size());
+        assertEquals("abc", secondPage.orderList().getFirst().orderItems().getFirst().productName());
+    }
+
     @Test
     void testGetLatestOrders_WhenCountLessThen1_returnEmpty() {
         List<OrderBriefVm>  newResponse = orderService.getLatestOrders(-1);
@@ -299,4 +472,29 @@ class OrderServiceIT {
         assertEquals(0, newResponse.size());
     }
 
+    private void authenticateAs(String userId) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(userId).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    private OrderPostVm couponOrderPostVm() {
+        return OrderPostVm.builder()
+            .checkoutId("coupon-checkout")
+            .email("abc@gmail.com")
+            .couponCode("SUMMER")
+            .orderItemPostVms(List.of(orderItemPostVm))
+            .billingAddressPostVm(orderAddressPostVm)
+            .shippingAddressPostVm(orderAddressPostVm)
+            .build();
+    }
+
+    private OrderPostVm orderPostVmOf(String checkoutId, String email) {
+        return OrderPostVm.builder()
+            .checkoutId(checkoutId)
+            .email(email)
+            .orderItemPostVms(Arrays.asList(orderItemPostVm))
+            .billingAddressPostVm(orderAddressPostVm)
+            .shippingAddressPostVm(orderAddressPostVm)
+            .build();
+    }
 }
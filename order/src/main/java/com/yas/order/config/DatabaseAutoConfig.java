@@ -1,10 +1,12 @@
 package com.yas.order.config;
 
 
+import com.yas.commonlibrary.datasource.config.ReplicaDataSourceConfig;
 import java.util.Optional;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -16,6 +18,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @EnableJpaRepositories("com.yas.order.repository")
 @EntityScan("com.yas.order.model")
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
+@Import(ReplicaDataSourceConfig.class)
 public class DatabaseAutoConfig {
 
     @Bean
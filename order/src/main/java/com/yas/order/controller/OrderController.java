@@ -3,17 +3,26 @@ package com.yas.order.controller;
 import com.yas.commonlibrary.csv.CsvExporter;
 import com.yas.order.model.csv.OrderItemCsv;
 import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
 import com.yas.order.model.request.OrderRequest;
+import com.yas.order.service.OrderIdempotencyService;
+import com.yas.order.service.OrderRollupService;
 import com.yas.order.service.OrderService;
 import com.yas.order.viewmodel.order.OrderBriefVm;
+import com.yas.order.viewmodel.order.OrderDashboardVm;
+import com.yas.order.viewmodel.order.OrderEventVm;
 import com.yas.order.viewmodel.order.OrderExistsByProductAndUserGetVm;
+import com.yas.order.viewmodel.order.OrderGetScrollVm;
 import com.yas.order.viewmodel.order.OrderGetVm;
 import com.yas.order.viewmodel.order.OrderListVm;
 import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderScrollVm;
+import com.yas.order.viewmodel.order.OrderStatusCountVm;
 import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -30,15 +39,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderRollupService orderRollupService;
 
     @PostMapping("/storefront/orders")
     public ResponseEntity<OrderVm> createOrder(@Valid @RequestBody OrderPostVm orderPostVm) {
-        OrderVm orderVm = orderService.createOrder(orderPostVm);
+        OrderVm orderVm = orderIdempotencyService.createOrder(orderPostVm);
         return ResponseEntity.ok(orderVm);
     }
 
@@ -62,11 +74,31 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getMyOrders(productName, orderStatus));
     }
 
+    @GetMapping("/storefront/orders/my-orders/scroll")
+    public ResponseEntity<OrderGetScrollVm> scrollMyOrders(
+            @RequestParam(value = "productName", defaultValue = "", required = false) String productName,
+            @RequestParam(value = "orderStatus", required = false) OrderStatus orderStatus,
+            @RequestParam(value = "pageToken", required = false) String pageToken,
+            @RequestParam(value = "pageSize", defaultValue = "10", required = false) int pageSize
+    ) {
+        return ResponseEntity.ok(orderService.scrollMyOrders(productName, orderStatus, pageToken, pageSize));
+    }
+
+    @GetMapping("/storefront/orders/my-orders/summary")
+    public ResponseEntity<List<OrderStatusCountVm>> getMyOrderSummary() {
+        return ResponseEntity.ok(orderService.getMyOrderSummary());
+    }
+
     @GetMapping("/backoffice/orders/{id}")
     public ResponseEntity<OrderVm> getOrderWithItemsById(@PathVariable long id) {
         return ResponseEntity.ok(orderService.getOrderWithItemsById(id));
     }
 
+    @GetMapping("/backoffice/orders/{id}/events")
+    public ResponseEntity<List<OrderEventVm>> getOrderEvents(@PathVariable long id) {
+        return ResponseEntity.ok(orderService.getOrderEvents(id));
+    }
+
     @GetMapping("/storefront/orders/checkout/{id}")
     public ResponseEntity<OrderGetVm> getOrderWithCheckoutId(@PathVariable String id) {
         return ResponseEntity.ok(orderService.findOrderVmByCheckoutId(id));
@@ -97,6 +129,47 @@ public class OrderController {
         );
     }
 
+    @GetMapping("/backoffice/orders/scroll")
+    public ResponseEntity<OrderScrollVm> scrollOrders(
+            @RequestParam(value = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) ZonedDateTime createdFrom,
+            @RequestParam(value = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) ZonedDateTime createdTo,
+            @RequestParam(value = "productName", defaultValue = "", required = false) String productName,
+            @RequestParam(value = "orderStatus", defaultValue = "", required = false) List<OrderStatus> orderStatus,
+            @RequestParam(value = "billingPhoneNumber", defaultValue = "", required = false) String billingPhoneNumber,
+            @RequestParam(value = "email", defaultValue = "", required = false) String email,
+            @RequestParam(value = "billingCountry", defaultValue = "", required = false) String billingCountry,
+            @RequestParam(value = "pageToken", required = false) String pageToken,
+            @RequestParam(value = "pageSize", defaultValue = "20", required = false) int pageSize,
+            @RequestParam(value = "includeTotal", defaultValue = "false", required = false) boolean includeTotal
+    ) {
+        OrderRequest orderRequest = OrderRequest.builder()
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .productName(productName)
+                .orderStatus(orderStatus)
+                .billingPhoneNumber(billingPhoneNumber)
+                .email(email)
+                .billingCountry(billingCountry)
+                .pageSize(pageSize)
+                .build();
+        return ResponseEntity.ok(orderService.scrollOrders(orderRequest, pageToken, includeTotal));
+    }
+
+    @GetMapping("/backoffice/orders/dashboard")
+    public ResponseEntity<OrderDashboardVm> getDashboard(
+            @RequestParam(value = "granularity", defaultValue = "HOUR", required = false)
+            RollupGranularity granularity,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "topProducts", defaultValue = "5", required = false) int topProducts
+    ) {
+        return ResponseEntity.ok(orderRollupService.getDashboard(granularity, from, to, topProducts));
+    }
+
     @GetMapping("/backoffice/orders/latest/{count}")
     public ResponseEntity<List<OrderBriefVm>> getLatestOrders(@PathVariable int count) {
         return ResponseEntity.ok(orderService.getLatestOrders(count));
@@ -111,4 +184,14 @@ public class OrderController {
         var csvBytes = orderService.exportCsv(orderRequest);
         return new ResponseEntity<>(csvBytes, headers, HttpStatus.OK);
     }
+
+    @PostMapping("/backoffice/orders/csv/stream")
+    public ResponseEntity<StreamingResponseBody> exportCsvStream(@RequestBody OrderRequest orderRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=" + CsvExporter.createFileName(OrderItemCsv.class));
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        StreamingResponseBody csvBody = outputStream -> orderService.exportCsv(orderRequest, outputStream);
+        return new ResponseEntity<>(csvBody, headers, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,32 @@
+package com.yas.order.kafka.config.consumer;
+
+import com.yas.commonlibrary.kafka.cdc.config.BaseKafkaListenerConfig;
+import com.yas.order.kafka.message.OrderEventCdcMessage;
+import com.yas.order.kafka.message.OrderEventMsgKey;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+
+/**
+ * Order event CDC kafka listener, support convert order event cdc message to java object.
+ */
+@EnableKafka
+@Configuration
+public class OrderEventCdcKafkaListenerConfig
+    extends BaseKafkaListenerConfig<OrderEventMsgKey, OrderEventCdcMessage> {
+
+    public static final String ORDER_EVENT_CDC_LISTENER_CONTAINER_FACTORY = "orderEventCdcListenerContainerFactory";
+
+    public OrderEventCdcKafkaListenerConfig(KafkaProperties kafkaProperties) {
+        super(OrderEventMsgKey.class, OrderEventCdcMessage.class, kafkaProperties);
+    }
+
+    @Bean(name = ORDER_EVENT_CDC_LISTENER_CONTAINER_FACTORY)
+    @Override
+    public ConcurrentKafkaListenerContainerFactory<OrderEventMsgKey, OrderEventCdcMessage> listenerContainerFactory() {
+        return super.kafkaListenerContainerFactory();
+    }
+
+}
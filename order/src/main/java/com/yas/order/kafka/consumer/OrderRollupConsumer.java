@@ -0,0 +1,57 @@
+package com.yas.order.kafka.consumer;
+
+import static com.yas.commonlibrary.kafka.cdc.message.Operation.CREATE;
+import static com.yas.commonlibrary.kafka.cdc.message.Operation.READ;
+import static com.yas.order.kafka.config.consumer.OrderEventCdcKafkaListenerConfig.ORDER_EVENT_CDC_LISTENER_CONTAINER_FACTORY;
+
+import com.yas.commonlibrary.kafka.cdc.BaseCdcConsumer;
+import com.yas.order.kafka.message.OrderEventCdcMessage;
+import com.yas.order.kafka.message.OrderEventMsgKey;
+import com.yas.order.service.OrderRollupService;
+import jakarta.validation.Valid;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Order event CDC consumer feeding the dashboard rollups of {@link OrderRollupService}.
+ *
+ * <p>Order events are only ever inserted; the updates the projection makes to them and deletes carry nothing to
+ * count and are ignored.
+ */
+@Component
+public class OrderRollupConsumer extends BaseCdcConsumer<OrderEventMsgKey, OrderEventCdcMessage> {
+
+    private final OrderRollupService orderRollupService;
+
+    public OrderRollupConsumer(OrderRollupService orderRollupService) {
+        this.orderRollupService = orderRollupService;
+    }
+
+    @KafkaListener(
+        id = "order-rollup",
+        groupId = "order-rollup",
+        topics = "${order-event.topic.name:dborder.public.order_event}",
+        containerFactory = ORDER_EVENT_CDC_LISTENER_CONTAINER_FACTORY,
+        autoStartup = "${yas.order.rollup.enabled:true}"
+    )
+    public void processMessage(
+        @Header(KafkaHeaders.RECEIVED_KEY) OrderEventMsgKey key,
+        @Payload(required = false) @Valid OrderEventCdcMessage orderEventCdcMessage,
+        @Headers MessageHeaders headers
+    ) {
+        processMessage(key, orderEventCdcMessage, headers, this::sync);
+    }
+
+    public void sync(OrderEventMsgKey key, OrderEventCdcMessage orderEventCdcMessage) {
+        boolean isInsertEvent = orderEventCdcMessage != null && orderEventCdcMessage.getAfter() != null
+            && (CREATE.equals(orderEventCdcMessage.getOp()) || READ.equals(orderEventCdcMessage.getOp()));
+        if (isInsertEvent) {
+            orderRollupService.apply(orderEventCdcMessage.getAfter());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.yas.order.kafka.message;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of {@code order_event} as published by Debezium.
+ */
+@lombok.Getter
+@lombok.Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventCdc {
+
+    private long id;
+
+    @JsonProperty("order_id")
+    private Long orderId;
+
+    @JsonProperty("event_type")
+    private OrderEventType eventType;
+
+    @JsonProperty("from_status")
+    private OrderStatus fromStatus;
+
+    @JsonProperty("to_status")
+    private OrderStatus toStatus;
+
+    /**
+     * Debezium sends {@code timestamp} columns as microseconds since the epoch, taking the stored value as UTC.
+     */
+    @JsonProperty("created_on")
+    private Long createdOn;
+
+    public LocalDateTime getCreatedOnDateTime() {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(createdOn, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
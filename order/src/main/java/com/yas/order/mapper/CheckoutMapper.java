@@ -21,6 +21,7 @@ public interface CheckoutMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "checkoutState", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Checkout toModel(CheckoutPostVm checkoutPostVm);
 
     @Mapping(target = "checkoutId", source = "checkout.id")
@@ -13,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -92,6 +93,9 @@ public class Checkout extends AbstractAuditEntity {
     @Builder.Default
     private BigDecimal totalDiscountAmount = BigDecimal.ZERO;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "checkout", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     @Builder.Default
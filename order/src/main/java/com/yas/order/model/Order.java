@@ -112,4 +112,10 @@ public class Order extends AbstractAuditEntity {
     @SuppressWarnings("unused")
     private BigDecimal totalShipmentTax;
 
+    /**
+     * Version of the last {@link OrderEvent} projected onto this row; only the projection writes it.
+     */
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private Long eventVersion;
+
 }
\ No newline at end of file
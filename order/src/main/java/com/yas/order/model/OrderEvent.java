@@ -0,0 +1,63 @@
+package com.yas.order.model;
+
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.PaymentStatus;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.ZonedDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An order status transition. Events are only ever appended, see
+ * {@link com.yas.order.service.OrderStateMachine}.
+ */
+@Entity
+@Table(name = "order_event", uniqueConstraints = @UniqueConstraint(columnNames = {"order_id", "version"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long orderId;
+
+    private long version;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus toStatus;
+
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    private String rejectReason;
+
+    private String createdBy;
+
+    private ZonedDateTime createdOn;
+
+    private ZonedDateTime projectedOn;
+}
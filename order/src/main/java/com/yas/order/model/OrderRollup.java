@@ -0,0 +1,46 @@
+package com.yas.order.model;
+
+import com.yas.order.model.enumeration.RollupGranularity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Orders placed during one hour or day, maintained by {@link com.yas.order.service.OrderRollupService}.
+ */
+@Entity
+@Table(name = "order_rollup", uniqueConstraints = @UniqueConstraint(columnNames = {"granularity", "bucket_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    private long orderCount;
+
+    private BigDecimal revenue;
+
+    private long itemCount;
+}
@@ -0,0 +1,27 @@
+package com.yas.order.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An {@link OrderEvent} already counted in the rollups.
+ */
+@Entity
+@Table(name = "order_rollup_applied_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRollupAppliedEvent {
+
+    @Id
+    private Long eventId;
+
+    private LocalDateTime appliedOn;
+}
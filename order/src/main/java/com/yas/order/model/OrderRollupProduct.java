@@ -0,0 +1,49 @@
+package com.yas.order.model;
+
+import com.yas.order.model.enumeration.RollupGranularity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Quantity and revenue of a product ordered during one hour or day.
+ */
+@Entity
+@Table(name = "order_rollup_product",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"granularity", "bucket_start", "product_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRollupProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    private Long productId;
+
+    private String productName;
+
+    private long quantity;
+
+    private BigDecimal revenue;
+}
@@ -0,0 +1,46 @@
+package com.yas.order.model;
+
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Orders that entered a status during one hour or day.
+ */
+@Entity
+@Table(name = "order_rollup_status",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"granularity", "bucket_start", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderRollupStatus {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private RollupGranularity granularity;
+
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    private long orderCount;
+}
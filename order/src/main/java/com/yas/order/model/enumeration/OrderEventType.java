@@ -0,0 +1,8 @@
+package com.yas.order.model.enumeration;
+
+public enum OrderEventType {
+    PLACED,
+    ACCEPTED,
+    REJECTED,
+    PAYMENT_UPDATED
+}
@@ -0,0 +1,23 @@
+package com.yas.order.model.enumeration;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    public LocalDateTime bucketOf(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,12 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OrderCustomerSummary;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderCustomerSummaryRepository extends JpaRepository<OrderCustomerSummary, Long> {
+
+    List<OrderCustomerSummary> findByCustomerId(String customerId);
+}
@@ -0,0 +1,51 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OrderEvent;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    Optional<OrderEvent> findFirstByOrderIdOrderByVersionDesc(Long orderId);
+
+    List<OrderEvent> findByOrderIdOrderByVersion(Long orderId);
+
+    /**
+     * Appends an event unless the order already has an event of the same version. Skipping the conflicting row
+     * instead of failing keeps the surrounding transaction usable, so the caller can reread and try again.
+     *
+     * @return 1 when the event was appended, 0 when the version was taken
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_event (order_id, version, event_type, from_status, to_status, payment_id, payment_status,
+            reject_reason, created_by, created_on)
+        VALUES (:orderId, :version, :eventType, :fromStatus, :toStatus, :paymentId, :paymentStatus,
+            :rejectReason, :createdBy, now())
+        ON CONFLICT (order_id, version) DO NOTHING
+        """, nativeQuery = true)
+    int appendIfVersionFree(@Param("orderId") Long orderId,
+                            @Param("version") long version,
+                            @Param("eventType") String eventType,
+                            @Param("fromStatus") String fromStatus,
+                            @Param("toStatus") String toStatus,
+                            @Param("paymentId") Long paymentId,
+                            @Param("paymentStatus") String paymentStatus,
+                            @Param("rejectReason") String rejectReason,
+                            @Param("createdBy") String createdBy);
+
+    @Query(value = "SELECT * FROM order_event WHERE projected_on IS NULL ORDER BY id LIMIT :limit",
+        nativeQuery = true)
+    List<OrderEvent> findUnprojected(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE order_event SET projected_on = now() WHERE id IN (:ids)", nativeQuery = true)
+    int markProjected(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,113 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.Order;
+import com.yas.order.model.OrderItem;
+import com.yas.order.model.enumeration.DeliveryMethod;
+import com.yas.order.model.enumeration.DeliveryStatus;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.utils.Constants;
+import com.yas.order.viewmodel.order.OrderGetVm;
+import com.yas.order.viewmodel.order.OrderItemGetVm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Column projections of orders and order items for listings that never need the full entities. Only the selected
+ * columns are read and nothing is attached to the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Selects the summary columns of the orders matching a specification, newest first.
+     *
+     * @param spec  the specification the orders must match
+     * @param limit the maximum number of orders to return
+     * @return the order summaries, without items
+     */
+    public List<OrderGetVm> findOrderSummaries(Specification<Order> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Order> root = query.from(Order.class);
+
+        Path<Long> id = root.get(Constants.Column.ID_COLUMN);
+        Path<OrderStatus> orderStatus = root.get(Constants.Column.ORDER_ORDER_STATUS_COLUMN);
+        Path<BigDecimal> totalPrice = root.get(Constants.Column.ORDER_TOTAL_PRICE_COLUMN);
+        Path<DeliveryStatus> deliveryStatus = root.get(Constants.Column.ORDER_DELIVERY_STATUS_COLUMN);
+        Path<DeliveryMethod> deliveryMethod = root.get(Constants.Column.ORDER_DELIVERY_METHOD_COLUMN);
+        Path<ZonedDateTime> createdOn = root.get(Constants.Column.CREATE_ON_COLUMN);
+
+        query.multiselect(id, orderStatus, totalPrice, deliveryStatus, deliveryMethod, createdOn)
+            .where(spec.toPredicate(root, query, criteriaBuilder))
+            .orderBy(criteriaBuilder.desc(createdOn), criteriaBuilder.desc(id));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultStream()
+            .map(tuple -> new OrderGetVm(
+                tuple.get(id),
+                tuple.get(orderStatus),
+                tuple.get(totalPrice),
+                tuple.get(deliveryStatus),
+                tuple.get(deliveryMethod),
+                List.of(),
+                tuple.get(createdOn)))
+            .toList();
+    }
+
+    /**
+     * Selects the items of several orders in one query.
+     *
+     * @param orderIds the IDs of the orders
+     * @return the items of each order, in insertion order; orders without items are absent
+     */
+    public Map<Long, List<OrderItemGetVm>> findItemsByOrderIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<OrderItem> root = query.from(OrderItem.class);
+
+        Path<Long> orderId = root.get(Constants.Column.ORDER_ORDER_ID_COLUMN);
+        Path<Long> id = root.get(Constants.Column.ID_COLUMN);
+        Path<Long> productId = root.get(Constants.Column.ORDER_ITEM_PRODUCT_ID_COLUMN);
+        Path<String> productName = root.get(Constants.Column.ORDER_ITEM_PRODUCT_NAME_COLUMN);
+        Path<Integer> quantity = root.get(Constants.Column.ORDER_ITEM_QUANTITY_COLUMN);
+        Path<BigDecimal> productPrice = root.get(Constants.Column.ORDER_ITEM_PRODUCT_PRICE_COLUMN);
+        Path<BigDecimal> discountAmount = root.get(Constants.Column.ORDER_ITEM_DISCOUNT_AMOUNT_COLUMN);
+        Path<BigDecimal> taxAmount = root.get(Constants.Column.ORDER_ITEM_TAX_AMOUNT_COLUMN);
+
+        query.multiselect(orderId, id, productId, productName, quantity, productPrice, discountAmount, taxAmount)
+            .where(orderId.in(orderIds))
+            .orderBy(criteriaBuilder.asc(id));
+
+        return entityManager.createQuery(query)
+            .getResultStream()
+            .collect(Collectors.groupingBy(tuple -> tuple.get(orderId),
+                Collectors.mapping(tuple -> new OrderItemGetVm(
+                    tuple.get(id),
+                    tuple.get(productId),
+                    tuple.get(productName),
+                    tuple.get(quantity),
+                    tuple.get(productPrice),
+                    tuple.get(discountAmount),
+                    tuple.get(taxAmount)), Collectors.toList())));
+    }
+}
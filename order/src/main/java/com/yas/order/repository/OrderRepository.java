@@ -16,4 +16,17 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
 
     @Query("SELECT o FROM Order o ORDER BY o.createdOn DESC")
     List<Order> getLatestOrders(Pageable pageable);
+
+    /**
+     * Reads the planner's row estimate for the order table instead of counting. "order" is partitioned and
+     * autovacuum does not analyze the parent, so the estimates of its partitions are summed. Each is refreshed by
+     * (auto)vacuum and analyze, and a partition that was never analyzed counts as empty.
+     */
+    @Query(value = """
+        SELECT CAST(COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) AS BIGINT)
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = CAST('"order"' AS regclass)
+        """, nativeQuery = true)
+    Long estimateCount();
 }
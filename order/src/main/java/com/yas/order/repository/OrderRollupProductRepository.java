@@ -0,0 +1,29 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OrderRollupProduct;
+import com.yas.order.model.enumeration.RollupGranularity;
+import com.yas.order.viewmodel.order.OrderRollupProductVm;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRollupProductRepository extends JpaRepository<OrderRollupProduct, Long> {
+
+    @Query("""
+        SELECT new com.yas.order.viewmodel.order.OrderRollupProductVm(
+            p.productId, max(p.productName), sum(p.quantity), sum(p.revenue))
+        FROM OrderRollupProduct p
+        WHERE p.granularity = :granularity AND p.bucketStart >= :from AND p.bucketStart < :to
+        GROUP BY p.productId
+        ORDER BY sum(p.quantity) DESC, p.productId
+        """)
+    List<OrderRollupProductVm> findTopProducts(@Param("granularity") RollupGranularity granularity,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               Pageable pageable);
+}
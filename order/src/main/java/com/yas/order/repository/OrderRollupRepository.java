@@ -0,0 +1,23 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OrderRollup;
+import com.yas.order.model.enumeration.RollupGranularity;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRollupRepository extends JpaRepository<OrderRollup, Long> {
+
+    @Query("""
+        SELECT r FROM OrderRollup r
+        WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to
+        ORDER BY r.bucketStart
+        """)
+    List<OrderRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+}
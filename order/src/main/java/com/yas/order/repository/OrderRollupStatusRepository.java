@@ -0,0 +1,23 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.OrderRollupStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRollupStatusRepository extends JpaRepository<OrderRollupStatus, Long> {
+
+    @Query("""
+        SELECT s FROM OrderRollupStatus s
+        WHERE s.granularity = :granularity AND s.bucketStart >= :from AND s.bucketStart < :to
+        ORDER BY s.bucketStart
+        """)
+    List<OrderRollupStatus> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+}
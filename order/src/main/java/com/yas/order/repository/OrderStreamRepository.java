@@ -0,0 +1,58 @@
+package com.yas.order.repository;
+
+import com.yas.order.model.Order;
+import com.yas.order.utils.Constants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Forward-only reads of large order result sets. Rows are fetched from a server-side cursor in chunks of
+ * {@code yas.order.export.fetch-size} and every order is detached once it has been mapped, so neither the JDBC
+ * driver nor the persistence context holds more than one chunk at a time.
+ *
+ * <p>The returned stream must be consumed and closed inside a transaction; PostgreSQL only honours the fetch size
+ * when auto-commit is off.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStreamRepository {
+
+    private final EntityManager entityManager;
+
+    @Value("${yas.order.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Streams the orders matching a specification, newest first.
+     *
+     * @param spec   the specification the orders must match
+     * @param mapper maps each order while it is still attached
+     * @return the mapped orders
+     */
+    public <R> Stream<R> streamAll(Specification<Order> spec, Function<Order, R> mapper) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Order> query = criteriaBuilder.createQuery(Order.class);
+        Root<Order> root = query.from(Order.class);
+        query.where(spec.toPredicate(root, query, criteriaBuilder))
+            .orderBy(criteriaBuilder.desc(root.get(Constants.Column.CREATE_ON_COLUMN)));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(order -> {
+                R result = mapper.apply(order);
+                entityManager.detach(order);
+                return result;
+            });
+    }
+}
@@ -1,9 +1,11 @@
 package com.yas.order.service;
 
 import static com.yas.order.utils.Constants.ErrorCode.CHECKOUT_NOT_FOUND;
+import static com.yas.order.utils.Constants.ErrorCode.CHECKOUT_UPDATE_CONFLICT;
 
 import com.yas.commonlibrary.constants.ApiConstant;
 import com.yas.commonlibrary.constants.MessageCode;
+import com.yas.commonlibrary.exception.BadRequestException;
 import com.yas.commonlibrary.exception.ForbiddenException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.utils.AuthenticationUtils;
@@ -20,7 +22,7 @@ import com.yas.order.viewmodel.checkout.CheckoutPaymentMethodPutVm;
 import com.yas.order.viewmodel.checkout.CheckoutPostVm;
 import com.yas.order.viewmodel.checkout.CheckoutStatusPutVm;
 import com.yas.order.viewmodel.checkout.CheckoutVm;
-import com.yas.order.viewmodel.product.ProductCheckoutListVm;
+import com.yas.order.viewmodel.product.ProductPricingVm;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +30,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -40,7 +43,7 @@ public class CheckoutService {
 
     private final CheckoutRepository checkoutRepository;
     private final OrderService orderService;
-    private final ProductService productService;
+    private final ProductPricingService productPricingService;
     private final CheckoutMapper checkoutMapper;
 
     /**
@@ -82,8 +85,8 @@ public class CheckoutService {
                     return item;
                 }).toList();
 
-        Map<Long, ProductCheckoutListVm> products
-                = productService.getProductInfomation(productIds, 0, productIds.size());
+        Map<Long, ProductPricingVm> products
+                = productPricingService.getPricing(checkout.getCustomerId(), productIds);
 
         List<CheckoutItem> enrichedItems = enrichCheckoutItemsWithProductDetails(products, checkoutItems);
         BigDecimal totalAmount = enrichedItems.stream()
@@ -95,16 +98,16 @@ public class CheckoutService {
     }
 
     private List<CheckoutItem> enrichCheckoutItemsWithProductDetails(
-            Map<Long, ProductCheckoutListVm> products,
+            Map<Long, ProductPricingVm> products,
             List<CheckoutItem> checkoutItems) {
         return checkoutItems.stream().map(item -> {
-            ProductCheckoutListVm product = products.get(item.getProductId());
-            if (product == null) {
+            ProductPricingVm product = products.get(item.getProductId());
+            if (product == null || !product.isPublished()) {
                 throw new NotFoundException(MessageCode.PRODUCT_NOT_FOUND, item.getProductId());
             }
             return item.toBuilder()
-                    .productName(product.getName())
-                    .productPrice(BigDecimal.valueOf(product.getPrice()))
+                    .productName(product.name())
+                    .productPrice(BigDecimal.valueOf(product.price()))
                     .build();
         }).toList();
     }
@@ -141,7 +144,11 @@ public class CheckoutService {
         }
 
         checkout.setCheckoutState(CheckoutState.valueOf(checkoutStatusPutVm.checkoutStatus()));
-        checkoutRepository.save(checkout);
+        try {
+            checkoutRepository.saveAndFlush(checkout);
+        } catch (OptimisticLockingFailureException e) {
+            throw new BadRequestException(CHECKOUT_UPDATE_CONFLICT, checkout.getId());
+        }
         log.info(Constants.MessageCode.UPDATE_CHECKOUT_STATUS,
                 checkout.getId(),
                 checkoutStatusPutVm.checkoutStatus(),
@@ -0,0 +1,135 @@
+package com.yas.order.service;
+
+import com.yas.order.model.OrderEvent;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.PaymentStatus;
+import com.yas.order.repository.OrderEventRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies appended {@link OrderEvent}s to their projections in batches: the status and payment columns of the order
+ * row, which Debezium streams to the webhooks, and the per-customer order counts of {@code order_customer_summary}.
+ * Events of one order are folded so the order row is written once per batch, and the order row only moves forward
+ * in versions. One instance projects at a time, the others wait for its batch.
+ */
+@Slf4j
+@Service
+public class OrderEventProjector {
+
+    private static final String UPDATE_ORDER = """
+        UPDATE "order" SET status = ?, payment_id = COALESCE(?, payment_id),
+            payment_status = COALESCE(?, payment_status), reject_reason = COALESCE(?, reject_reason),
+            event_version = ?, last_modified_on = now()
+        WHERE id = ? AND event_version < ?
+        """;
+
+    private static final String UPDATE_CUSTOMER_SUMMARY = """
+        INSERT INTO order_customer_summary (customer_id, status, order_count)
+        SELECT created_by, ?, ? FROM "order" WHERE id = ? AND created_by IS NOT NULL
+        ON CONFLICT (customer_id, status)
+        DO UPDATE SET order_count = order_customer_summary.order_count + EXCLUDED.order_count
+        """;
+
+    private final OrderEventRepository orderEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public OrderEventProjector(OrderEventRepository orderEventRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${yas.order.projection.batch-size:500}") int batchSize) {
+        this.orderEventRepository = orderEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Projects the oldest batch of unprojected events.
+     *
+     * @return the number of events projected
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${yas.order.projection.interval-ms:500}")
+    public int projectPendingEvents() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext('order_event_projection'))");
+        List<OrderEvent> events = orderEventRepository.findUnprojected(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, OrderProjection> projections = new LinkedHashMap<>();
+        events.forEach(event -> projections
+            .computeIfAbsent(event.getOrderId(), orderId -> new OrderProjection(orderId, event.getFromStatus()))
+            .apply(event));
+
+        List<Object[]> orderUpdates = new ArrayList<>();
+        List<Object[]> summaryUpdates = new ArrayList<>();
+        projections.values().forEach(projection -> {
+            orderUpdates.add(projection.toOrderUpdate());
+            if (projection.initialStatus != projection.status) {
+                if (projection.initialStatus != null) {
+                    summaryUpdates.add(new Object[]{projection.initialStatus.name(), -1, projection.orderId});
+                }
+                summaryUpdates.add(new Object[]{projection.status.name(), 1, projection.orderId});
+            }
+        });
+        jdbcTemplate.batchUpdate(UPDATE_ORDER, orderUpdates);
+        if (!summaryUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CUSTOMER_SUMMARY, summaryUpdates);
+        }
+        orderEventRepository.markProjected(events.stream().map(OrderEvent::getId).toList());
+
+        log.debug("Projected {} events of {} orders", events.size(), projections.size());
+        return events.size();
+    }
+
+    private static final class OrderProjection {
+
+        private final Long orderId;
+        private final OrderStatus initialStatus;
+        private OrderStatus status;
+        private Long paymentId;
+        private PaymentStatus paymentStatus;
+        private String rejectReason;
+        private long version;
+
+        private OrderProjection(Long orderId, OrderStatus initialStatus) {
+            this.orderId = orderId;
+            this.initialStatus = initialStatus;
+        }
+
+        private void apply(OrderEvent event) {
+            status = event.getToStatus();
+            version = event.getVersion();
+            if (event.getPaymentId() != null) {
+                paymentId = event.getPaymentId();
+            }
+            if (event.getPaymentStatus() != null) {
+                paymentStatus = event.getPaymentStatus();
+            }
+            if (event.getRejectReason() != null) {
+                rejectReason = event.getRejectReason();
+            }
+        }
+
+        private Object[] toOrderUpdate() {
+            return new Object[]{
+                status.name(),
+                paymentId,
+                paymentStatus != null ? paymentStatus.name() : null,
+                rejectReason,
+                version,
+                orderId,
+                version
+            };
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.yas.order.service;
+
+import com.yas.commonlibrary.utils.AuthenticationUtils;
+import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderVm;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Makes order creation idempotent per checkout ID, so a retried request or a double submit returns the original
+ * {@link OrderVm} instead of creating a second order and subtracting stock again.
+ *
+ * <p>Three layers back each other up:
+ * <ul>
+ *     <li>an in-memory response cache: concurrent and recent requests of a user for the same checkout share one
+ *     creation and receive its result without touching the database</li>
+ *     <li>{@link OrderService#createOrder} returns the stored order when the checkout already has one placed by the
+ *     same user, which covers retries arriving after the cache entry expired or on another instance</li>
+ *     <li>the unique {@code order_checkout.checkout_id} that every inserted order claims: when two instances insert
+ *     at the same time the loser's transaction is rolled back before any side effect and the winner's order is
+ *     returned</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final OrderService orderService;
+    private final long ttlMillis;
+
+    private final Map<String, CachedOrder> cachedOrders = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   @Value("${yas.order.idempotency.ttl-ms:300000}") long ttlMillis) {
+        this.orderService = orderService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Creates the order of a checkout at most once. Requests for a checkout whose order is being created wait for
+     * that creation and return its result; a failed creation is not cached, so the next request tries again.
+     *
+     * @param orderPostVm the order to create
+     * @return the order of the checkout
+     */
+    public OrderVm createOrder(OrderPostVm orderPostVm) {
+        // Keyed by user too, so another user sending the same checkout ID goes through the ownership check
+        String cacheKey = AuthenticationUtils.extractUserId() + KEY_SEPARATOR + orderPostVm.checkoutId();
+        CachedOrder candidate = new CachedOrder(new CompletableFuture<>(), System.currentTimeMillis() + ttlMillis);
+        CachedOrder cachedOrder = cachedOrders.compute(cacheKey, (key, current) ->
+            current == null || current.isExpired(System.currentTimeMillis()) ? candidate : current);
+
+        if (cachedOrder != candidate) {
+            return await(cachedOrder.result());
+        }
+
+        try {
+            OrderVm orderVm = createOrFindExisting(orderPostVm);
+            candidate.result().complete(orderVm);
+            return orderVm;
+        } catch (RuntimeException e) {
+            cachedOrders.remove(cacheKey, candidate);
+            candidate.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${yas.order.idempotency.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        cachedOrders.values().removeIf(cachedOrder -> cachedOrder.isExpired(now));
+    }
+
+    int size() {
+        return cachedOrders.size();
+    }
+
+    private OrderVm createOrFindExisting(OrderPostVm orderPostVm) {
+        try {
+            return orderService.createOrder(orderPostVm);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Order of checkout {} was created concurrently, returning the existing order",
+                orderPostVm.checkoutId());
+            return orderService.getOrderWithItemsByCheckoutId(orderPostVm.checkoutId());
+        }
+    }
+
+    private static OrderVm await(CompletableFuture<OrderVm> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedOrder(CompletableFuture<OrderVm> result, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return result.isDone() && now >= expiresAtMillis;
+        }
+    }
+}
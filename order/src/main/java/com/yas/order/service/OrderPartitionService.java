@@ -0,0 +1,71 @@
+package com.yas.order.service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the monthly partitions of {@code order} and {@code order_item}: the partitions of the coming months are
+ * created ahead of time, and the months older than the retention are moved to {@code order_archive}. The work is
+ * done by the database functions of {@code changelog-0021.sql}; each call runs in its own transaction.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "yas.order.partition.maintenance-enabled", havingValue = "true")
+public class OrderPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ORDER_PARTITION_PREFIX = "order_p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public OrderPartitionService(JdbcTemplate jdbcTemplate,
+                                 @Value("${yas.order.partition.months-ahead:3}") int monthsAhead,
+                                 @Value("${yas.order.partition.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${yas.order.partition.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        createPartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+        archiveBefore(currentMonth.minusMonths(retentionMonths));
+    }
+
+    void createPartitions(YearMonth from, YearMonth to) {
+        jdbcTemplate.queryForList("SELECT order_ensure_partitions(?, ?)", from.atDay(1), to.atDay(1));
+    }
+
+    void archiveBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+            SELECT child.relname
+            FROM pg_inherits inheritance
+            JOIN pg_class child ON child.oid = inheritance.inhrelid
+            WHERE inheritance.inhparent = '"order"'::regclass AND child.relname ~ '^order_p[0-9]{6}$'
+            ORDER BY child.relname
+            """, String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition.substring(ORDER_PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            Integer archived = jdbcTemplate.queryForObject("SELECT order_archive_month(?)", Integer.class,
+                month.atDay(1));
+            log.info("Archived {} orders of {}", archived, month);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.yas.order.service;
+
+import static com.yas.order.utils.Constants.ErrorCode.INVALID_DASHBOARD_RANGE;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.order.kafka.message.OrderEventCdc;
+import com.yas.order.model.OrderRollup;
+import com.yas.order.model.OrderRollupStatus;
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
+import com.yas.order.repository.OrderRollupProductRepository;
+import com.yas.order.repository.OrderRollupRepository;
+import com.yas.order.repository.OrderRollupStatusRepository;
+import com.yas.order.viewmodel.order.OrderDashboardVm;
+import com.yas.order.viewmodel.order.OrderRollupProductVm;
+import com.yas.order.viewmodel.order.OrderRollupVm;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the hourly and daily order rollups from order events and serves the backoffice dashboard from them.
+ * A placed order adds its total, item quantities and products to the bucket of its creation; every status change
+ * counts in the status mix of the bucket it happened in. The dashboard never reads the order tables.
+ */
+@Slf4j
+@Service
+@Transactional
+public class OrderRollupService {
+
+    private static final int DEFAULT_BUCKET_COUNT = 24;
+    private static final int MAX_BUCKET_COUNT = 24 * 31;
+    private static final int MAX_TOP_PRODUCTS = 50;
+
+    private static final String MARK_APPLIED = """
+        INSERT INTO order_rollup_applied_event (event_id, applied_on) VALUES (?, now())
+        ON CONFLICT (event_id) DO NOTHING
+        """;
+
+    private static final String ADD_ORDER = """
+        INSERT INTO order_rollup (granularity, bucket_start, order_count, revenue, item_count)
+        SELECT ?, ?, 1, COALESCE(o.total_amount, 0),
+            (SELECT COALESCE(sum(i.quantity), 0) FROM order_item i WHERE i.order_id = o.id)
+        FROM "order" o WHERE o.id = ?
+        ON CONFLICT (granularity, bucket_start) DO UPDATE SET
+            order_count = order_rollup.order_count + EXCLUDED.order_count,
+            revenue = order_rollup.revenue + EXCLUDED.revenue,
+            item_count = order_rollup.item_count + EXCLUDED.item_count
+        """;
+
+    private static final String ADD_PRODUCTS = """
+        INSERT INTO order_rollup_product (granularity, bucket_start, product_id, product_name, quantity, revenue)
+        SELECT ?, ?, i.product_id, max(i.name), sum(i.quantity), COALESCE(sum(i.price * i.quantity), 0)
+        FROM order_item i WHERE i.order_id = ? AND i.product_id IS NOT NULL
+        GROUP BY i.product_id
+        ON CONFLICT (granularity, bucket_start, product_id) DO UPDATE SET
+            product_name = EXCLUDED.product_name,
+            quantity = order_rollup_product.quantity + EXCLUDED.quantity,
+            revenue = order_rollup_product.revenue + EXCLUDED.revenue
+        """;
+
+    private static final String ADD_STATUS = """
+        INSERT INTO order_rollup_status (granularity, bucket_start, status, order_count) VALUES (?, ?, ?, 1)
+        ON CONFLICT (granularity, bucket_start, status) DO UPDATE SET
+            order_count = order_rollup_status.order_count + 1
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderRollupRepository orderRollupRepository;
+    private final OrderRollupStatusRepository orderRollupStatusRepository;
+    private final OrderRollupProductRepository orderRollupProductRepository;
+    private final int appliedEventRetentionDays;
+
+    public OrderRollupService(JdbcTemplate jdbcTemplate,
+                              OrderRollupRepository orderRollupRepository,
+                              OrderRollupStatusRepository orderRollupStatusRepository,
+                              OrderRollupProductRepository orderRollupProductRepository,
+                              @Value("${yas.order.rollup.applied-event-retention-days:14}")
+                              int appliedEventRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderRollupRepository = orderRollupRepository;
+        this.orderRollupStatusRepository = orderRollupStatusRepository;
+        this.orderRollupProductRepository = orderRollupProductRepository;
+        this.appliedEventRetentionDays = appliedEventRetentionDays;
+    }
+
+    /**
+     * Adds an order event to the rollups. An event that was already applied, for instance when the topic is
+     * redelivered, is skipped.
+     *
+     * @param event the order event read from the CDC topic
+     */
+    public void apply(OrderEventCdc event) {
+        if (jdbcTemplate.update(MARK_APPLIED, event.getId()) == 0) {
+            log.debug("Order event {} is already in the rollups", event.getId());
+            return;
+        }
+
+        LocalDateTime occurredOn = event.getCreatedOnDateTime();
+        boolean statusChanged = event.getToStatus() != null && event.getFromStatus() != event.getToStatus();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Timestamp bucketStart = Timestamp.valueOf(granularity.bucketOf(occurredOn));
+            if (event.getEventType() == OrderEventType.PLACED) {
+                jdbcTemplate.update(ADD_ORDER, granularity.name(), bucketStart, event.getOrderId());
+                jdbcTemplate.update(ADD_PRODUCTS, granularity.name(), bucketStart, event.getOrderId());
+            }
+            if (statusChanged) {
+                jdbcTemplate.update(ADD_STATUS, granularity.name(), bucketStart, event.getToStatus().name());
+            }
+        }
+    }
+
+    /**
+     * Reads the dashboard of a time range from the rollups.
+     *
+     * @param granularity     the size of the buckets
+     * @param from            the start of the range, rounded down to a bucket; defaults to 24 buckets before
+     *                        {@code to}
+     * @param to              the exclusive end of the range; defaults to now
+     * @param topProductCount the number of best-selling products to return
+     * @return the buckets of the range and its best-selling products
+     */
+    @Transactional(readOnly = true)
+    public OrderDashboardVm getDashboard(RollupGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                         int topProductCount) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = granularity.bucketOf(
+            from != null ? from : end.minus(DEFAULT_BUCKET_COUNT - 1L, granularity.getUnit()));
+        if (!start.isBefore(end) || granularity.getUnit().between(start, end) > MAX_BUCKET_COUNT) {
+            throw new BadRequestException(INVALID_DASHBOARD_RANGE, start, end);
+        }
+
+        Map<LocalDateTime, OrderRollupVm.OrderRollupVmBuilder> buckets = new TreeMap<>();
+        for (OrderRollup rollup : orderRollupRepository.findBuckets(granularity, start, end)) {
+            bucket(buckets, rollup.getBucketStart())
+                .orderCount(rollup.getOrderCount())
+                .revenue(rollup.getRevenue())
+                .itemCount(rollup.getItemCount());
+        }
+        Map<LocalDateTime, Map<OrderStatus, Long>> statusMixes = new TreeMap<>();
+        for (OrderRollupStatus status : orderRollupStatusRepository.findBuckets(granularity, start, end)) {
+            Map<OrderStatus, Long> statusMix = statusMixes.computeIfAbsent(status.getBucketStart(),
+                bucketStart -> new EnumMap<>(OrderStatus.class));
+            statusMix.put(status.getStatus(), status.getOrderCount());
+            bucket(buckets, status.getBucketStart()).statusMix(statusMix);
+        }
+
+        int limit = Math.clamp(topProductCount, 0, MAX_TOP_PRODUCTS);
+        List<OrderRollupProductVm> topProducts = limit == 0 ? List.of()
+            : orderRollupProductRepository.findTopProducts(granularity, start, end, PageRequest.of(0, limit));
+        return new OrderDashboardVm(granularity, start, end,
+            buckets.values().stream().map(OrderRollupVm.OrderRollupVmBuilder::build).toList(), topProducts);
+    }
+
+    @Scheduled(cron = "${yas.order.rollup.prune-cron:0 0 3 * * *}")
+    public void pruneAppliedEvents() {
+        int pruned = jdbcTemplate.update("DELETE FROM order_rollup_applied_event WHERE applied_on < ?",
+            Timestamp.valueOf(LocalDateTime.now().minusDays(appliedEventRetentionDays)));
+        log.info("Pruned {} applied order events from the rollup log", pruned);
+    }
+
+    private static OrderRollupVm.OrderRollupVmBuilder bucket(
+            Map<LocalDateTime, OrderRollupVm.OrderRollupVmBuilder> buckets, LocalDateTime bucketStart) {
+        return buckets.computeIfAbsent(bucketStart, start -> OrderRollupVm.builder()
+            .bucketStart(start)
+            .revenue(BigDecimal.ZERO)
+            .statusMix(Map.of()));
+    }
+}
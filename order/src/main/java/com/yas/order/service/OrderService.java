@@ -2,43 +2,60 @@ package com.yas.order.service;
 
 import static com.yas.order.utils.Constants.ErrorCode.ORDER_NOT_FOUND;
 
+import com.yas.commonlibrary.constants.ApiConstant;
 import com.yas.commonlibrary.csv.BaseCsv;
 import com.yas.commonlibrary.csv.CsvExporter;
+import com.yas.commonlibrary.exception.ForbiddenException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.commonlibrary.utils.AuthenticationUtils;
 import com.yas.order.mapper.OrderMapper;
 import com.yas.order.model.Order;
 import com.yas.order.model.OrderAddress;
+import com.yas.order.model.OrderEvent;
 import com.yas.order.model.OrderItem;
 import com.yas.order.model.csv.OrderItemCsv;
 import com.yas.order.model.enumeration.DeliveryStatus;
 import com.yas.order.model.enumeration.OrderStatus;
 import com.yas.order.model.enumeration.PaymentStatus;
 import com.yas.order.model.request.OrderRequest;
+import com.yas.order.repository.OrderCustomerSummaryRepository;
+import com.yas.order.repository.OrderEventRepository;
 import com.yas.order.repository.OrderItemRepository;
+import com.yas.order.repository.OrderProjectionRepository;
 import com.yas.order.repository.OrderRepository;
+import com.yas.order.repository.OrderStreamRepository;
 import com.yas.order.specification.OrderSpecification;
 import com.yas.order.utils.Constants;
+import com.yas.order.utils.OrderPageToken;
 import com.yas.order.viewmodel.order.OrderBriefVm;
+import com.yas.order.viewmodel.order.OrderEventVm;
 import com.yas.order.viewmodel.order.OrderExistsByProductAndUserGetVm;
+import com.yas.order.viewmodel.order.OrderGetScrollVm;
 import com.yas.order.viewmodel.order.OrderGetVm;
+import com.yas.order.viewmodel.order.OrderItemGetVm;
 import com.yas.order.viewmodel.order.OrderListVm;
 import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderScrollVm;
+import com.yas.order.viewmodel.order.OrderStatusCountVm;
 import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressPostVm;
 import com.yas.order.viewmodel.product.ProductVariationVm;
 import com.yas.order.viewmodel.promotion.PromotionUsageVm;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -50,21 +67,43 @@ import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class OrderService {
+    private static final int MAX_SCROLL_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductService productService;
     private final CartService cartService;
     private final OrderMapper orderMapper;
     private final PromotionService promotionService;
-
+    private final OrderStreamRepository orderStreamRepository;
+    private final OrderProjectionRepository orderProjectionRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderCustomerSummaryRepository orderCustomerSummaryRepository;
+    private final OrderStateMachine orderStateMachine;
+
+    /**
+     * Creates an order from a checkout. The checkout ID identifies the order, so when an order already exists for it
+     * that order is returned as is and stock, cart and promotion usage are not touched again.
+     *
+     * @param orderPostVm the order to create
+     * @return the created order, or the existing order of the same checkout
+     * @throws ForbiddenException if the existing order of the checkout was placed by another user
+     */
     public OrderVm createOrder(OrderPostVm orderPostVm) {
 
+        Optional<Order> existingOrder = orderRepository.findByCheckoutId(orderPostVm.checkoutId());
+        if (existingOrder.isPresent()) {
+            log.info("Order of checkout {} already exists, skipping creation", orderPostVm.checkoutId());
+            return toOrderVmWithItems(checkOwnedByCurrentUser(existingOrder.get()));
+        }
+
         OrderAddressPostVm billingAddressPostVm = orderPostVm.billingAddressPostVm();
         OrderAddress billOrderAddress = OrderAddress.builder()
                 .phone(billingAddressPostVm.phone())
@@ -115,6 +154,7 @@ public class OrderService {
                 .checkoutId(orderPostVm.checkoutId())
                 .build();
         orderRepository.save(order);
+        orderStateMachine.place(order);
 
         Set<OrderItem> orderItems = orderPostVm.orderItemPostVms().stream()
                 .map(item -> OrderItem.builder()
@@ -129,33 +169,69 @@ public class OrderService {
         orderItemRepository.saveAll(orderItems);
 
         OrderVm orderVm = OrderVm.fromModel(order, orderItems);
-        productService.subtractProductStockQuantity(orderVm);
-        cartService.deleteCartItems(orderVm);
-        acceptOrder(orderVm.id());
 
-        // update promotion
+        // The coupon is redeemed first: when it is rejected the order fails before stock and cart are touched
         List<PromotionUsageVm> promotionUsageVms = new ArrayList<>();
-        orderItems.forEach(item -> {
-            PromotionUsageVm promotionUsageVm = PromotionUsageVm.builder()
-                    .productId(item.getProductId())
-                    .orderId(order.getId())
-                    .promotionCode(order.getCouponCode())
-                    .build();
-            promotionUsageVms.add(promotionUsageVm);
-        });
-        promotionService.updateUsagePromotion(promotionUsageVms);
+        if (StringUtils.hasText(order.getCouponCode())) {
+            orderItems.forEach(item -> {
+                PromotionUsageVm promotionUsageVm = PromotionUsageVm.builder()
+                        .productId(item.getProductId())
+                        .orderId(order.getId())
+                        .promotionCode(order.getCouponCode())
+                        .build();
+                promotionUsageVms.add(promotionUsageVm);
+            });
+            promotionService.updateUsagePromotion(promotionUsageVms);
+        }
+        try {
+            productService.subtractProductStockQuantity(orderVm);
+            cartService.deleteCartItems(orderVm);
+        } catch (RuntimeException e) {
+            releasePromotionUsages(promotionUsageVms, e);
+            throw e;
+        }
+        acceptOrder(orderVm.id());
         return orderVm;
     }
 
+    private void releasePromotionUsages(List<PromotionUsageVm> promotionUsageVms, RuntimeException cause) {
+        if (promotionUsageVms.isEmpty()) {
+            return;
+        }
+        try {
+            promotionService.releaseUsagePromotion(promotionUsageVms);
+        } catch (RuntimeException e) {
+            log.error("Cannot release the coupon usages of failed order {}",
+                    promotionUsageVms.getFirst().orderId(), e);
+            cause.addSuppressed(e);
+        }
+    }
+
     public OrderVm getOrderWithItemsById(long id) {
 
         Order order = orderRepository.findById(id).orElseThrow(()
                 -> new NotFoundException(Constants.ErrorCode.ORDER_NOT_FOUND, id));
 
+        return toOrderVmWithItems(order);
+    }
+
+    public OrderVm getOrderWithItemsByCheckoutId(String checkoutId) {
+        return toOrderVmWithItems(checkOwnedByCurrentUser(findOrderByCheckoutId(checkoutId)));
+    }
+
+    private static Order checkOwnedByCurrentUser(Order order) {
+        if (!AuthenticationUtils.extractUserId().equals(order.getCreatedBy())) {
+            throw new ForbiddenException(ApiConstant.FORBIDDEN, "You can not view this order");
+        }
+        return order;
+    }
+
+    private OrderVm toOrderVmWithItems(Order order) {
         List<OrderItem> orderItems = orderItemRepository.findAllByOrderId(order.getId());
         return OrderVm.fromModel(order, new HashSet<>(orderItems));
     }
 
+    @Transactional(readOnly = true)
     public OrderListVm getAllOrder(Pair<ZonedDateTime, ZonedDateTime> timePair,
                                    String productName,
                                    List<OrderStatus> orderStatus,
@@ -196,6 +272,41 @@ public class OrderService {
         return new OrderListVm(orderVms, orderPage.getTotalElements(), orderPage.getTotalPages());
     }
 
+    /**
+     * Lists orders with keyset pagination on {@code (created_on DESC, id DESC)}. Unlike {@link #getAllOrder} no
+     * {@code COUNT(*)} runs over the filtered joins and deep pages cost the same as the first one.
+     *
+     * @param orderRequest  the filters and the page size; the page number is ignored
+     * @param pageToken     the token returned with the previous page, or {@code null} for the first page
+     * @param includeTotal  whether to return the planner's estimate of the number of orders on the first page
+     * @return the page of orders and the token of the next page
+     */
+    @Transactional(readOnly = true)
+    public OrderScrollVm scrollOrders(OrderRequest orderRequest, String pageToken, boolean includeTotal) {
+        int pageSize = Math.clamp(orderRequest.getPageSize(), 1, MAX_SCROLL_PAGE_SIZE);
+        OrderPageToken after = StringUtils.hasText(pageToken) ? OrderPageToken.decode(pageToken) : null;
+
+        Specification<Order> spec = buildSpecification(orderRequest);
+        if (after != null) {
+            spec = spec.and(OrderSpecification.createdBefore(after.createdOn(), after.id()));
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, Constants.Column.CREATE_ON_COLUMN, Constants.Column.ID_COLUMN);
+        List<Order> orders = orderRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasNextPage = orders.size() > pageSize;
+        List<Order> page = hasNextPage ? orders.subList(0, pageSize) : orders;
+        String nextPageToken = hasNextPage ? OrderPageToken.of(page.getLast()).encode() : null;
+
+        Long approximateTotal = null;
+        if (includeTotal && after == null) {
+            Long estimate = orderRepository.estimateCount();
+            approximateTotal = estimate != null && estimate >= 0 ? estimate : null;
+        }
+
+        return new OrderScrollVm(page.stream().map(OrderBriefVm::fromModel).toList(), nextPageToken,
+            approximateTotal);
+    }
+
     public List<OrderBriefVm> getLatestOrders(int count) {
 
         if (count <= 0) {
@@ -242,6 +353,47 @@ public class OrderService {
         return orders.stream().map(order -> OrderGetVm.fromModel(order, null)).toList();
     }
 
+    /**
+     * Gets one keyset page of the current user's orders. Only the columns shown in the order history are selected,
+     * and the items of the whole page are loaded in one query.
+     *
+     * @param productName the product name the orders must contain, ignored when blank
+     * @param orderStatus the status the orders must have, ignored when {@code null}
+     * @param pageToken   the token returned with the previous page, {@code null} for the first page
+     * @param pageSize    the maximum number of orders in the page
+     * @return the page of orders and the token of the next page
+     */
+    @Transactional(readOnly = true)
+    public OrderGetScrollVm scrollMyOrders(String productName, OrderStatus orderStatus, String pageToken,
+                                           int pageSize) {
+        String userId = AuthenticationUtils.extractUserId();
+        int size = Math.clamp(pageSize, 1, MAX_SCROLL_PAGE_SIZE);
+
+        Specification<Order> spec = OrderSpecification.findMyOrders(userId, productName, orderStatus);
+        if (StringUtils.hasText(pageToken)) {
+            OrderPageToken after = OrderPageToken.decode(pageToken);
+            spec = spec.and(OrderSpecification.createdBefore(after.createdOn(), after.id()));
+        }
+        List<OrderGetVm> orders = orderProjectionRepository.findOrderSummaries(spec, size + 1);
+
+        boolean hasNextPage = orders.size() > size;
+        List<OrderGetVm> page = hasNextPage ? orders.subList(0, size) : orders;
+        String nextPageToken = null;
+        if (hasNextPage) {
+            OrderGetVm last = page.getLast();
+            nextPageToken = new OrderPageToken(last.createdOn(), last.id()).encode();
+        }
+
+        Map<Long, List<OrderItemGetVm>> itemsByOrderId = orderProjectionRepository.findItemsByOrderIds(
+            page.stream().map(OrderGetVm::id).toList());
+        List<OrderGetVm> orderList = page.stream()
+            .map(order -> new OrderGetVm(order.id(), order.orderStatus(), order.totalPrice(),
+                order.deliveryStatus(), order.deliveryMethod(), itemsByOrderId.getOrDefault(order.id(), List.of()),
+                order.createdOn()))
+            .toList();
+        return new OrderGetScrollVm(orderList, nextPageToken);
+    }
+
     public OrderGetVm findOrderVmByCheckoutId(String checkoutId) {
         Order order = this.findOrderByCheckoutId(checkoutId);
         List<OrderItem> orderItems = orderItemRepository.findAllByOrderId(order.getId());
@@ -254,38 +406,43 @@ public class OrderService {
     }
 
     public PaymentOrderStatusVm updateOrderPaymentStatus(PaymentOrderStatusVm paymentOrderStatusVm) {
-        var order = this.orderRepository
-                .findById(paymentOrderStatusVm.orderId())
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND, paymentOrderStatusVm.orderId()));
-
-        order.setPaymentId(paymentOrderStatusVm.paymentId());
-        String paymentStatus = paymentOrderStatusVm.paymentStatus();
-        order.setPaymentStatus(PaymentStatus.valueOf(paymentStatus));
-        if (PaymentStatus.COMPLETED.name().equals(paymentStatus)) {
-            order.setOrderStatus(OrderStatus.PAID);
-        }
-        Order result = this.orderRepository.save(order);
+        OrderEvent event = orderStateMachine.updatePayment(paymentOrderStatusVm.orderId(),
+                paymentOrderStatusVm.paymentId(), PaymentStatus.valueOf(paymentOrderStatusVm.paymentStatus()));
         return PaymentOrderStatusVm.builder()
-                .orderId(result.getId())
-                .orderStatus(result.getOrderStatus().getName())
+                .orderId(event.getOrderId())
+                .orderStatus(event.getToStatus().getName())
                 .paymentId(paymentOrderStatusVm.paymentId())
                 .paymentStatus(paymentOrderStatusVm.paymentStatus())
                 .build();
     }
 
     public void rejectOrder(Long orderId, String rejectReason) {
-        Order order = this.orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND, orderId));
-        order.setOrderStatus(OrderStatus.REJECT);
-        order.setRejectReason(rejectReason);
-        this.orderRepository.save(order);
+        orderStateMachine.reject(orderId, rejectReason);
     }
 
     public void acceptOrder(Long orderId) {
-        Order order = this.orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND, orderId));
-        order.setOrderStatus(OrderStatus.ACCEPTED);
-        this.orderRepository.save(order);
+        orderStateMachine.accept(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderEventVm> getOrderEvents(Long orderId) {
+        List<OrderEvent> events = orderEventRepository.findByOrderIdOrderByVersion(orderId);
+        if (events.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new NotFoundException(ORDER_NOT_FOUND, orderId);
+        }
+        return events.stream().map(OrderEventVm::fromModel).toList();
+    }
+
+    /**
+     * Counts the orders of the current user per status from the summary projection, which trails the order events
+     * by one projection batch.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderStatusCountVm> getMyOrderSummary() {
+        return orderCustomerSummaryRepository.findByCustomerId(AuthenticationUtils.extractUserId()).stream()
+                .filter(summary -> summary.getOrderCount() > 0)
+                .map(OrderStatusCountVm::fromModel)
+                .toList();
     }
 
     public byte[] exportCsv(OrderRequest orderRequest) throws IOException {
@@ -316,4 +473,35 @@ public class OrderService {
             Collectors.toUnmodifiableList());
         return CsvExporter.exportToCsv(orders, OrderItemCsv.class);
     }
+
+    /**
+     * Writes every order matching the request to the given stream, ignoring the request's page. Orders are read
+     * through a forward-only cursor and written row by row, so the export runs in constant memory whatever the
+     * date range.
+     *
+     * @param orderRequest the export filters
+     * @param outputStream the stream to write the CSV to
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(OrderRequest orderRequest, OutputStream outputStream) throws IOException {
+        Specification<Order> spec = buildSpecification(orderRequest);
+        try (Stream<OrderItemCsv> rows = orderStreamRepository.streamAll(spec,
+            order -> orderMapper.toCsv(OrderBriefVm.fromModel(order)))) {
+            CsvExporter.exportToCsv(rows, OrderItemCsv.class, outputStream);
+        }
+    }
+
+    private static Specification<Order> buildSpecification(OrderRequest orderRequest) {
+        List<OrderStatus> orderStatus = orderRequest.getOrderStatus();
+        return OrderSpecification.findOrderByWithMulCriteria(
+            CollectionUtils.isEmpty(orderStatus) ? Arrays.asList(OrderStatus.values()) : orderStatus,
+            orderRequest.getBillingPhoneNumber(),
+            orderRequest.getBillingCountry(),
+            orderRequest.getEmail(),
+            orderRequest.getProductName(),
+            orderRequest.getCreatedFrom(),
+            orderRequest.getCreatedTo()
+        );
+    }
 }
@@ -0,0 +1,162 @@
+package com.yas.order.service;
+
+import static com.yas.order.utils.Constants.ErrorCode.INVALID_ORDER_STATUS_TRANSITION;
+import static com.yas.order.utils.Constants.ErrorCode.ORDER_NOT_FOUND;
+import static com.yas.order.utils.Constants.ErrorCode.ORDER_UPDATE_CONFLICT;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.commonlibrary.utils.AuthenticationUtils;
+import com.yas.order.model.Order;
+import com.yas.order.model.OrderEvent;
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.PaymentStatus;
+import com.yas.order.repository.OrderEventRepository;
+import com.yas.order.repository.OrderRepository;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves orders between statuses by appending {@link OrderEvent}s instead of saving the order. Each event takes the
+ * next version of its order; when a concurrent transition took that version first, the current status is read
+ * again and the transition is validated and appended on top of it. The order row and the customer summaries follow
+ * the events through {@link OrderEventProjector}.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OrderStateMachine {
+
+    private static final int MAX_APPEND_ATTEMPTS = 5;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.ACCEPTED, OrderStatus.PENDING_PAYMENT,
+            OrderStatus.PAID, OrderStatus.CANCELLED, OrderStatus.REJECT));
+        TRANSITIONS.put(OrderStatus.ACCEPTED, EnumSet.of(OrderStatus.PENDING_PAYMENT, OrderStatus.PAID,
+            OrderStatus.CANCELLED, OrderStatus.REJECT));
+        TRANSITIONS.put(OrderStatus.PENDING_PAYMENT, EnumSet.of(OrderStatus.PAID, OrderStatus.CANCELLED,
+            OrderStatus.REJECT));
+        TRANSITIONS.put(OrderStatus.PAID, EnumSet.of(OrderStatus.SHIPPING, OrderStatus.REFUND,
+            OrderStatus.CANCELLED));
+        TRANSITIONS.put(OrderStatus.SHIPPING, EnumSet.of(OrderStatus.COMPLETED, OrderStatus.REFUND));
+        TRANSITIONS.put(OrderStatus.COMPLETED, EnumSet.of(OrderStatus.REFUND));
+        TRANSITIONS.put(OrderStatus.REFUND, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(OrderStatus.REJECT, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository orderEventRepository;
+
+    /**
+     * Records the creation of an order as its first event, in the transaction that inserted the order.
+     *
+     * @param order the order just saved
+     * @return the appended event
+     */
+    public OrderEvent place(Order order) {
+        OrderEvent event = OrderEvent.builder()
+            .orderId(order.getId())
+            .version(1)
+            .eventType(OrderEventType.PLACED)
+            .toStatus(order.getOrderStatus())
+            .paymentStatus(order.getPaymentStatus())
+            .build();
+        if (!append(event)) {
+            throw new BadRequestException(ORDER_UPDATE_CONFLICT, order.getId());
+        }
+        return event;
+    }
+
+    public OrderEvent accept(Long orderId) {
+        return transition(orderId, OrderEvent.builder().eventType(OrderEventType.ACCEPTED).build(),
+            status -> OrderStatus.ACCEPTED);
+    }
+
+    public OrderEvent reject(Long orderId, String rejectReason) {
+        return transition(orderId,
+            OrderEvent.builder().eventType(OrderEventType.REJECTED).rejectReason(rejectReason).build(),
+            status -> OrderStatus.REJECT);
+    }
+
+    /**
+     * Records a payment update; a completed payment moves the order to {@link OrderStatus#PAID}, any other payment
+     * status keeps the order status.
+     */
+    public OrderEvent updatePayment(Long orderId, Long paymentId, PaymentStatus paymentStatus) {
+        OrderEvent details = OrderEvent.builder()
+            .eventType(OrderEventType.PAYMENT_UPDATED)
+            .paymentId(paymentId)
+            .paymentStatus(paymentStatus)
+            .build();
+        return transition(orderId, details,
+            status -> paymentStatus == PaymentStatus.COMPLETED ? OrderStatus.PAID : status);
+    }
+
+    static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return from == to || TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    private OrderEvent transition(Long orderId, OrderEvent details, UnaryOperator<OrderStatus> nextStatus) {
+        for (int attempt = 1; attempt <= MAX_APPEND_ATTEMPTS; attempt++) {
+            OrderEvent current = currentState(orderId);
+            OrderStatus from = current.getToStatus();
+            OrderStatus to = nextStatus.apply(from);
+            if (!canTransition(from, to)) {
+                throw new BadRequestException(INVALID_ORDER_STATUS_TRANSITION, orderId, from, to);
+            }
+
+            OrderEvent event = details.toBuilder()
+                .orderId(orderId)
+                .version(current.getVersion() + 1)
+                .fromStatus(from)
+                .toStatus(to)
+                .build();
+            if (append(event)) {
+                return event;
+            }
+            log.debug("Version {} of order {} was taken concurrently, retrying {}", event.getVersion(), orderId,
+                details.getEventType());
+        }
+        throw new BadRequestException(ORDER_UPDATE_CONFLICT, orderId);
+    }
+
+    /**
+     * Reads the status of an order from its last event, or from the order row when the order predates the event
+     * log.
+     */
+    private OrderEvent currentState(Long orderId) {
+        return orderEventRepository.findFirstByOrderIdOrderByVersionDesc(orderId)
+            .orElseGet(() -> {
+                Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND, orderId));
+                return OrderEvent.builder().orderId(orderId).version(0).toStatus(order.getOrderStatus()).build();
+            });
+    }
+
+    private boolean append(OrderEvent event) {
+        Authentication authentication = AuthenticationUtils.getAuthentication();
+        return orderEventRepository.appendIfVersionFree(
+            event.getOrderId(),
+            event.getVersion(),
+            event.getEventType().name(),
+            event.getFromStatus() != null ? event.getFromStatus().name() : null,
+            event.getToStatus().name(),
+            event.getPaymentId(),
+            event.getPaymentStatus() != null ? event.getPaymentStatus().name() : null,
+            event.getRejectReason(),
+            authentication != null ? authentication.getName() : null) == 1;
+    }
+}
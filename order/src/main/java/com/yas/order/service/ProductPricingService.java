@@ -0,0 +1,92 @@
+package com.yas.order.service;
+
+import com.yas.order.viewmodel.product.ProductPricingVm;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a short-lived pricing snapshot per customer checkout session. Products already priced in the session are
+ * served from the snapshot, the others are fetched from the product service in one batch and added to it, so
+ * repeated checkout attempts neither call the product service again nor see prices change under them.
+ *
+ * <p>A session is identified by the customer, not by a checkout ID: a checkout gets its ID only when it is saved,
+ * after its items are priced, and every attempt creates a new checkout. Concurrent checkouts of one customer thus
+ * share a snapshot. Products fetched by each are merged into it atomically, and a product already in the snapshot
+ * keeps its price until the snapshot expires.
+ */
+@Service
+public class ProductPricingService {
+
+    private final ProductService productService;
+    private final long ttlMillis;
+
+    private final Map<String, PricingSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public ProductPricingService(ProductService productService,
+                                 @Value("${yas.order.pricing.ttl-ms:60000}") long ttlMillis) {
+        this.productService = productService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Gets the pricing of products for a customer's checkout.
+     *
+     * @param customerId the customer owning the checkout session
+     * @param productIds the IDs of the products to price
+     * @return the pricing of the requested products that exist
+     */
+    public Map<Long, ProductPricingVm> getPricing(String customerId, Set<Long> productIds) {
+        long now = System.currentTimeMillis();
+        PricingSnapshot snapshot = snapshots.get(customerId);
+        if (snapshot == null || snapshot.isExpired(now)) {
+            snapshot = new PricingSnapshot(Map.of(), now + ttlMillis);
+        }
+
+        Map<Long, ProductPricingVm> prices = snapshot.prices();
+        Set<Long> missingIds = productIds.stream()
+            .filter(id -> !prices.containsKey(id))
+            .collect(Collectors.toSet());
+        if (!missingIds.isEmpty()) {
+            PricingSnapshot fetched = snapshot.with(productService.getProductPricing(missingIds));
+            snapshot = snapshots.merge(customerId, fetched, (current, added) ->
+                current.isExpired(now) ? added : current.with(added.prices()));
+        }
+
+        Map<Long, ProductPricingVm> snapshotPrices = snapshot.prices();
+        return productIds.stream()
+            .filter(snapshotPrices::containsKey)
+            .collect(Collectors.toMap(id -> id, snapshotPrices::get));
+    }
+
+    @Scheduled(fixedDelayString = "${yas.order.pricing.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        snapshots.values().removeIf(snapshot -> snapshot.isExpired(now));
+    }
+
+    int size() {
+        return snapshots.size();
+    }
+
+    private record PricingSnapshot(Map<Long, ProductPricingVm> prices, long expiresAtMillis) {
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+
+        /**
+         * Adds prices to the snapshot, keeping the prices it already has.
+         */
+        PricingSnapshot with(Map<Long, ProductPricingVm> addedPrices) {
+            Map<Long, ProductPricingVm> merged = new HashMap<>(addedPrices);
+            merged.putAll(prices);
+            return new PricingSnapshot(Map.copyOf(merged), expiresAtMillis);
+        }
+    }
+}
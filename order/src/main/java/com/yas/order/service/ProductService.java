@@ -5,8 +5,7 @@ import com.yas.commonlibrary.utils.AuthenticationUtils;
 import com.yas.order.config.ServiceUrlConfig;
 import com.yas.order.viewmodel.order.OrderItemVm;
 import com.yas.order.viewmodel.order.OrderVm;
-import com.yas.order.viewmodel.product.ProductCheckoutListVm;
-import com.yas.order.viewmodel.product.ProductGetCheckoutListVm;
+import com.yas.order.viewmodel.product.ProductPricingVm;
 import com.yas.order.viewmodel.product.ProductQuantityItem;
 import com.yas.order.viewmodel.product.ProductVariationVm;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -69,34 +68,29 @@ public class ProductService extends AbstractCircuitBreakFallbackHandler {
     }
 
     @Retry(name = "restApi")
-    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleProductInfomationFallback")
-    public Map<Long, ProductCheckoutListVm> getProductInfomation(Set<Long> ids, int pageNo, int pageSize) {
+    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleProductPricingFallback")
+    public Map<Long, ProductPricingVm> getProductPricing(Set<Long> ids) {
         final String jwt = AuthenticationUtils.extractJwt();
 
         final URI url = UriComponentsBuilder
                 .fromHttpUrl(serviceUrlConfig.product())
-                .path("/products")
+                .path("/products/pricing")
                 .queryParam("ids", ids)
-                .queryParam("pageNo", pageNo)
-                .queryParam("pageSize", pageSize)
                 .buildAndExpand()
                 .toUri();
 
-        ProductGetCheckoutListVm response = restClient.get()
+        List<ProductPricingVm> response = restClient.get()
                 .uri(url)
                 .headers(h -> h.setBearerAuth(jwt))
                 .retrieve()
-                .toEntity(new ParameterizedTypeReference<ProductGetCheckoutListVm>() {
+                .toEntity(new ParameterizedTypeReference<List<ProductPricingVm>>() {
                 })
                 .getBody();
 
-        if (response == null || response.productCheckoutListVms() == null) {
+        if (response == null) {
             throw new NotFoundException("PRODUCT_NOT_FOUND");
-        } else {
-            return response.productCheckoutListVms()
-                    .stream()
-                    .collect(Collectors.toMap(ProductCheckoutListVm::getId, Function.identity()));
         }
+        return response.stream().collect(Collectors.toMap(ProductPricingVm::id, Function.identity()));
     }
 
     private List<ProductQuantityItem> buildProductQuantityItems(Set<OrderItemVm> orderItems) {
@@ -114,7 +108,7 @@ public class ProductService extends AbstractCircuitBreakFallbackHandler {
         return handleTypedFallback(throwable);
     }
 
-    protected Map<Long, ProductCheckoutListVm> handleProductInfomationFallback(Throwable throwable) throws Throwable {
+    protected Map<Long, ProductPricingVm> handleProductPricingFallback(Throwable throwable) throws Throwable {
         return handleTypedFallback(throwable);
     }
 }
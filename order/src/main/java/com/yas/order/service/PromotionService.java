@@ -20,14 +20,31 @@ public class PromotionService extends AbstractCircuitBreakFallbackHandler {
     private final RestClient restClient;
     private final ServiceUrlConfig serviceUrlConfig;
 
+    /**
+     * Records the usages of an order's coupon. The call is made with the customer's token, so it goes through the
+     * storefront endpoint: the backoffice one is restricted to administrators.
+     */
     @Retry(name = "restApi")
     @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleBodilessFallback")
     public void updateUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
+        postUsages("/storefront/promotions/updateUsage", promotionUsageVms);
+    }
+
+    /**
+     * Gives back the usages recorded by {@link #updateUsagePromotion} when the order fails afterwards.
+     */
+    @Retry(name = "restApi")
+    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleBodilessFallback")
+    public void releaseUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
+        postUsages("/storefront/promotions/releaseUsage", promotionUsageVms);
+    }
+
+    private void postUsages(String path, List<PromotionUsageVm> promotionUsageVms) {
         final String jwt = ((Jwt) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
                 .getTokenValue();
         final URI url = UriComponentsBuilder
                 .fromHttpUrl(serviceUrlConfig.promotion())
-                .path("/backoffice/promotions/updateUsage")
+                .path(path)
                 .buildAndExpand()
                 .toUri();
 
@@ -35,6 +52,7 @@ public class PromotionService extends AbstractCircuitBreakFallbackHandler {
                 .uri(url)
                 .headers(h -> h.setBearerAuth(jwt))
                 .body(promotionUsageVms)
-                .retrieve();
+                .retrieve()
+                .toBodilessEntity();
     }
 }
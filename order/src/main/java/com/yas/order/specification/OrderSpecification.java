@@ -4,7 +4,10 @@ import com.yas.order.model.Order;
 import com.yas.order.model.OrderItem;
 import com.yas.order.model.enumeration.OrderStatus;
 import com.yas.order.utils.Constants;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
@@ -17,6 +20,8 @@ import org.springframework.data.jpa.domain.Specification;
 
 public class OrderSpecification {
 
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+
     private OrderSpecification() {}
 
     public static Specification<Order> existsByCreatedByAndInProductIdAndOrderStatusCompleted(
@@ -126,6 +131,11 @@ public class OrderSpecification {
         };
     }
 
+    /**
+     * Matches the orders having an item whose name contains the given text, or any item when the text is empty.
+     * The correlated {@code EXISTS} lets the planner start from the trigram index on {@code order_item.name} for
+     * selective names and from the {@code order_item.order_id} index otherwise.
+     */
     public static Specification<Order> hasProductNameInOrderItems(String productName) {
         return (root, query, criteriaBuilder) -> {
 
@@ -136,28 +146,26 @@ public class OrderSpecification {
             Subquery<Long> subquery = query.subquery(Long.class);
             Root<OrderItem> orderItemRoot = subquery.from(OrderItem.class);
 
-            Predicate productNamePredicate = criteriaBuilder.conjunction();
-            if (StringUtils.isNotEmpty(productName)) {
-                productNamePredicate = criteriaBuilder.like(
-                    criteriaBuilder.lower(orderItemRoot.get(Constants.Column.ORDER_ITEM_PRODUCT_NAME_COLUMN)),
-                    "%" + productName.toLowerCase() + "%"
-                );
+            Predicate itemOfOrder = criteriaBuilder.equal(
+                orderItemRoot.get(Constants.Column.ORDER_ORDER_ID_COLUMN),
+                root.get(Constants.Column.ID_COLUMN)
+            );
+            if (StringUtils.isNotBlank(productName)) {
+                itemOfOrder = criteriaBuilder.and(itemOfOrder, containsIgnoreCase(criteriaBuilder,
+                    orderItemRoot.get(Constants.Column.ORDER_ITEM_PRODUCT_NAME_COLUMN), productName));
             }
 
             subquery.select(orderItemRoot.get(Constants.Column.ORDER_ORDER_ID_COLUMN))
-                .where(productNamePredicate);
+                .where(itemOfOrder);
 
-            return criteriaBuilder.in(root.get(Constants.Column.ID_COLUMN)).value(subquery);
+            return criteriaBuilder.exists(subquery);
         };
     }
 
     public static Specification<Order> withEmail(String email) {
         return (root, query, criteriaBuilder) -> {
-            if (StringUtils.isNotEmpty(email)) {
-                return criteriaBuilder.like(
-                    criteriaBuilder.lower(root.get(Constants.Column.ORDER_EMAIL_COLUMN)),
-                    "%" + email.toLowerCase() + "%"
-                );
+            if (StringUtils.isNotBlank(email)) {
+                return containsIgnoreCase(criteriaBuilder, root.get(Constants.Column.ORDER_EMAIL_COLUMN), email);
             }
             return criteriaBuilder.conjunction();
         };
@@ -175,39 +183,19 @@ public class OrderSpecification {
     public static Specification<Order> withProductName(String productName) {
         return (root, query, criteriaBuilder) -> {
 
-            if (query == null || StringUtils.isEmpty(productName)) {
+            if (query == null || StringUtils.isBlank(productName)) {
                 return criteriaBuilder.conjunction();
             }
-
-            Subquery<Long> subquery = query.subquery(Long.class);
-            Root<OrderItem> orderItemRoot = subquery.from(OrderItem.class);
-            subquery.select(orderItemRoot.get(Constants.Column.ORDER_ORDER_ID_COLUMN));
-            subquery.where(
-                criteriaBuilder.and(
-                    criteriaBuilder.equal(
-                        orderItemRoot.get(Constants.Column.ORDER_ORDER_ID_COLUMN),
-                        root.get(Constants.Column.ID_COLUMN)),
-                    criteriaBuilder.like(
-                        criteriaBuilder.lower(orderItemRoot.get(Constants.Column.ORDER_ITEM_PRODUCT_NAME_COLUMN)),
-                        "%" + productName.toLowerCase() + "%"
-                    )
-                )
-            );
-            return criteriaBuilder.exists(subquery);
-
+            return hasProductNameInOrderItems(productName).toPredicate(root, query, criteriaBuilder);
         };
     }
 
     public static Specification<Order> withBillingPhoneNumber(String billingPhoneNumber) {
         return (root, query, criteriaBuilder) -> {
-            if (billingPhoneNumber != null && !billingPhoneNumber.isEmpty()) {
-                return criteriaBuilder.like(
-                    criteriaBuilder.lower(
-                        root.get(Constants.Column.ORDER_BILLING_ADDRESS_ID_COLUMN)
-                            .get(Constants.Column.ORDER_PHONE_COLUMN)
-                    ),
-                    "%" + billingPhoneNumber.toLowerCase() + "%"
-                );
+            if (StringUtils.isNotBlank(billingPhoneNumber)) {
+                return containsIgnoreCase(criteriaBuilder,
+                    root.get(Constants.Column.ORDER_BILLING_ADDRESS_ID_COLUMN).get(Constants.Column.ORDER_PHONE_COLUMN),
+                    billingPhoneNumber);
             }
             return criteriaBuilder.conjunction();
         };
@@ -215,19 +203,38 @@ public class OrderSpecification {
 
     public static Specification<Order> withCountryName(String countryName) {
         return (root, query, criteriaBuilder) -> {
-            if (countryName != null && !countryName.isEmpty()) {
-                return criteriaBuilder.like(
-                    criteriaBuilder.lower(
-                        root.get(Constants.Column.ORDER_BILLING_ADDRESS_ID_COLUMN)
-                            .get(Constants.Column.ORDER_COUNTRY_NAME_COLUMN)
-                    ),
-                    "%" + countryName.toLowerCase() + "%"
-                );
+            if (StringUtils.isNotBlank(countryName)) {
+                return containsIgnoreCase(criteriaBuilder,
+                    root.get(Constants.Column.ORDER_BILLING_ADDRESS_ID_COLUMN)
+                        .get(Constants.Column.ORDER_COUNTRY_NAME_COLUMN),
+                    countryName);
             }
             return criteriaBuilder.conjunction();
         };
     }
 
+    /**
+     * Matches the orders that come after the given key in {@code (created_on DESC, id DESC)} order, which lets keyset
+     * pagination use the {@code (created_on, id)} index instead of an offset.
+     *
+     * @param createdOn the creation time of the last order of the previous page
+     * @param id        the ID of the last order of the previous page
+     * @return the keyset predicate
+     */
+    public static Specification<Order> createdBefore(ZonedDateTime createdOn, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            Path<ZonedDateTime> createdOnPath = root.get(Constants.Column.CREATE_ON_COLUMN);
+            Path<Long> idPath = root.get(Constants.Column.ID_COLUMN);
+            return criteriaBuilder.or(
+                criteriaBuilder.lessThan(createdOnPath, createdOn),
+                criteriaBuilder.and(
+                    criteriaBuilder.equal(createdOnPath, createdOn),
+                    criteriaBuilder.lessThan(idPath, id)
+                )
+            );
+        };
+    }
+
     public static Specification<Order> withDateRange(ZonedDateTime createdFrom, ZonedDateTime createdTo) {
         return (root, query, criteriaBuilder) -> {
             if (createdFrom != null && createdTo != null) {
@@ -241,4 +248,20 @@ public class OrderSpecification {
         };
     }
 
+    /**
+     * Builds {@code lower(expression) LIKE '%value%'} with the wildcards of the value escaped. The left-hand side is
+     * kept exactly as {@code lower(column)} so PostgreSQL can use the {@code gin (lower(column) gin_trgm_ops)}
+     * indexes; the trigram index only narrows the search once the value has three characters or more.
+     */
+    static Predicate containsIgnoreCase(CriteriaBuilder criteriaBuilder, Expression<String> expression,
+                                        String value) {
+        String pattern = "%" + escapeLike(value.trim().toLowerCase()) + "%";
+        return criteriaBuilder.like(criteriaBuilder.lower(expression), pattern, LIKE_ESCAPE_CHARACTER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
 }
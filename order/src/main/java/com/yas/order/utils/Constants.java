@@ -11,6 +11,11 @@ public final class Constants {
         public static final String CHECKOUT_NOT_FOUND = "CHECKOUT_NOT_FOUND";
         public static final String CHECKOUT_ITEM_NOT_EMPTY = "CHECKOUT_ITEM_NOT_EMPTY";
         public static final String SIGN_IN_REQUIRED = "SIGN_IN_REQUIRED";
+        public static final String INVALID_PAGE_TOKEN = "INVALID_PAGE_TOKEN";
+        public static final String INVALID_ORDER_STATUS_TRANSITION = "INVALID_ORDER_STATUS_TRANSITION";
+        public static final String ORDER_UPDATE_CONFLICT = "ORDER_UPDATE_CONFLICT";
+        public static final String CHECKOUT_UPDATE_CONFLICT = "CHECKOUT_UPDATE_CONFLICT";
+        public static final String INVALID_DASHBOARD_RANGE = "INVALID_DASHBOARD_RANGE";
     }
 
     public final class MessageCode {
@@ -41,10 +46,17 @@ public final class Constants {
         public static final String ORDER_COUNTRY_NAME_COLUMN = "countryName";
         public static final String ORDER_SHIPPING_ADDRESS_ID_COLUMN = "shippingAddressId";
         public static final String ORDER_BILLING_ADDRESS_ID_COLUMN = "billingAddressId";
+        public static final String ORDER_TOTAL_PRICE_COLUMN = "totalPrice";
+        public static final String ORDER_DELIVERY_STATUS_COLUMN = "deliveryStatus";
+        public static final String ORDER_DELIVERY_METHOD_COLUMN = "deliveryMethod";
 
         // OrderItem entity
         public static final String ORDER_ITEM_PRODUCT_ID_COLUMN = "productId";
         public static final String ORDER_ITEM_PRODUCT_NAME_COLUMN = "productName";
+        public static final String ORDER_ITEM_QUANTITY_COLUMN = "quantity";
+        public static final String ORDER_ITEM_PRODUCT_PRICE_COLUMN = "productPrice";
+        public static final String ORDER_ITEM_DISCOUNT_AMOUNT_COLUMN = "discountAmount";
+        public static final String ORDER_ITEM_TAX_AMOUNT_COLUMN = "taxAmount";
 
     }
 }
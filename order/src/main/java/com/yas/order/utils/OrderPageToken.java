@@ -0,0 +1,47 @@
+package com.yas.order.utils;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.order.model.Order;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+/**
+ * Continuation token of the keyset order listing: the {@code (created_on, id)} of the last order of a page, encoded
+ * as URL-safe Base64 so clients treat it as opaque.
+ */
+public record OrderPageToken(ZonedDateTime createdOn, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderPageToken of(Order order) {
+        return new OrderPageToken(order.getCreatedOn(), order.getId());
+    }
+
+    public String encode() {
+        String value = createdOn.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token sent by the client
+     * @return the decoded token
+     * @throws BadRequestException if the token is malformed
+     */
+    public static OrderPageToken decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = value.lastIndexOf(SEPARATOR);
+            Instant createdOn = Instant.parse(value.substring(0, separatorIndex));
+            Long id = Long.valueOf(value.substring(separatorIndex + 1));
+            return new OrderPageToken(createdOn.atZone(ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+            throw new BadRequestException(Constants.ErrorCode.INVALID_PAGE_TOKEN, token);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.yas.order.viewmodel.order;
+
+import com.yas.order.model.enumeration.RollupGranularity;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderDashboardVm(
+        RollupGranularity granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        List<OrderRollupVm> buckets,
+        List<OrderRollupProductVm> topProducts
+) {
+}
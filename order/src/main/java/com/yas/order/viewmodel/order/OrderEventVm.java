@@ -0,0 +1,35 @@
+package com.yas.order.viewmodel.order;
+
+import com.yas.order.model.OrderEvent;
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.PaymentStatus;
+import java.time.ZonedDateTime;
+import lombok.Builder;
+
+@Builder
+public record OrderEventVm(
+        long version,
+        OrderEventType eventType,
+        OrderStatus fromStatus,
+        OrderStatus toStatus,
+        Long paymentId,
+        PaymentStatus paymentStatus,
+        String rejectReason,
+        String createdBy,
+        ZonedDateTime createdOn
+) {
+    public static OrderEventVm fromModel(OrderEvent event) {
+        return OrderEventVm.builder()
+                .version(event.getVersion())
+                .eventType(event.getEventType())
+                .fromStatus(event.getFromStatus())
+                .toStatus(event.getToStatus())
+                .paymentId(event.getPaymentId())
+                .paymentStatus(event.getPaymentStatus())
+                .rejectReason(event.getRejectReason())
+                .createdBy(event.getCreatedBy())
+                .createdOn(event.getCreatedOn())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.yas.order.viewmodel.order;
+
+import java.util.List;
+
+/**
+ * One keyset page of a customer's orders.
+ *
+ * @param orderList     the orders of the page with their items, newest first
+ * @param nextPageToken the token to pass to get the next page, {@code null} on the last page
+ */
+public record OrderGetScrollVm(
+    List<OrderGetVm> orderList,
+    String nextPageToken
+) {
+}
@@ -0,0 +1,6 @@
+package com.yas.order.viewmodel.order;
+
+import java.math.BigDecimal;
+
+public record OrderRollupProductVm(Long productId, String productName, Long quantity, BigDecimal revenue) {
+}
@@ -0,0 +1,17 @@
+package com.yas.order.viewmodel.order;
+
+import com.yas.order.model.enumeration.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Builder;
+
+@Builder
+public record OrderRollupVm(
+        LocalDateTime bucketStart,
+        long orderCount,
+        BigDecimal revenue,
+        long itemCount,
+        Map<OrderStatus, Long> statusMix
+) {
+}
@@ -0,0 +1,18 @@
+package com.yas.order.viewmodel.order;
+
+import java.util.List;
+
+/**
+ * One keyset page of orders.
+ *
+ * @param orderList        the orders of the page, newest first
+ * @param nextPageToken    the token to pass to get the next page, {@code null} on the last page
+ * @param approximateTotal the planner's estimate of the number of orders, before filters; only set on the first page
+ *                         when requested
+ */
+public record OrderScrollVm(
+    List<OrderBriefVm> orderList,
+    String nextPageToken,
+    Long approximateTotal
+) {
+}
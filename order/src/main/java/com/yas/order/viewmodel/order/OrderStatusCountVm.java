@@ -0,0 +1,11 @@
+package com.yas.order.viewmodel.order;
+
+import com.yas.order.model.OrderCustomerSummary;
+import com.yas.order.model.enumeration.OrderStatus;
+
+public record OrderStatusCountVm(OrderStatus orderStatus, long orderCount) {
+
+    public static OrderStatusCountVm fromModel(OrderCustomerSummary summary) {
+        return new OrderStatusCountVm(summary.getStatus(), summary.getOrderCount());
+    }
+}
@@ -0,0 +1,4 @@
+package com.yas.order.viewmodel.product;
+
+public record ProductPricingVm(Long id, String name, Double price, boolean isPublished) {
+}
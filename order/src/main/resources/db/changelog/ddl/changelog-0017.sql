@@ -0,0 +1,20 @@
+--liquibase formatted sql
+
+--changeset yas:order-checkout-id-unique
+-- Checkouts ordered more than once before checkout_id became unique keep their first order. The later orders are not
+-- deleted: they are recorded in order_checkout_duplicate for review and released from the checkout ID.
+CREATE TABLE IF NOT EXISTS order_checkout_duplicate (
+    order_id bigint NOT NULL,
+    checkout_id varchar(255) NOT NULL,
+    kept_order_id bigint NOT NULL,
+    detected_on timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (order_id)
+);
+INSERT INTO order_checkout_duplicate (order_id, checkout_id, kept_order_id)
+SELECT o.id, o.checkout_id, kept.id
+FROM "order" o
+JOIN (SELECT checkout_id, min(id) AS id FROM "order" WHERE checkout_id IS NOT NULL GROUP BY checkout_id) kept
+    ON kept.checkout_id = o.checkout_id AND kept.id <> o.id
+ON CONFLICT (order_id) DO NOTHING;
+UPDATE "order" SET checkout_id = NULL WHERE id IN (SELECT order_id FROM order_checkout_duplicate);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_order_checkout_id ON "order" (checkout_id);
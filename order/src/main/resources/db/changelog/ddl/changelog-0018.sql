@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_order_created_on_id ON "order" (created_on DESC, id DESC);
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset yas:order-search-indexes runInTransaction:false
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_email_trgm ON "order" USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_address_phone_trgm ON order_address USING gin (lower(phone) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_address_country_name_trgm ON order_address USING gin (lower(country_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_name_trgm ON order_item USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_item_order_id ON order_item (order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_billing_address_id ON "order" (billing_address_id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_order_created_by_created_on ON "order" (created_by, created_on DESC, id DESC);
@@ -0,0 +1,159 @@
+--liquibase formatted sql
+
+--changeset yas:order-partition-functions splitStatements:false
+-- Creates the monthly partitions of "order" and order_item between two months. A month whose rows already landed in
+-- the default partition is built aside, filled from the default partition and then attached.
+CREATE OR REPLACE FUNCTION order_ensure_partitions(from_month date, to_month date) RETURNS void AS $$
+DECLARE
+    partition_month date := date_trunc('month', from_month);
+    parent text;
+    partition_name text;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('order_partition_maintenance'));
+    WHILE partition_month <= to_month LOOP
+        FOREACH parent IN ARRAY ARRAY['order', 'order_item'] LOOP
+            partition_name := parent || '_p' || to_char(partition_month, 'YYYYMM');
+            CONTINUE WHEN to_regclass(quote_ident(partition_name)) IS NOT NULL;
+
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING STORAGE)', partition_name, parent);
+            EXECUTE format('WITH moved AS (DELETE FROM %I WHERE created_on >= %L AND created_on < %L RETURNING *) '
+                || 'INSERT INTO %I SELECT * FROM moved',
+                parent || '_pdefault', partition_month, partition_month + interval '1 month', partition_name);
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                parent, partition_name, partition_month, partition_month + interval '1 month');
+            IF parent = 'order' THEN
+                EXECUTE format('ALTER TABLE %I REPLICA IDENTITY FULL', partition_name);
+            END IF;
+        END LOOP;
+        partition_month := partition_month + interval '1 month';
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+-- Moves the orders of one month, with their items, into order_archive and drops the month's partitions. Months must
+-- be archived oldest first: items created just after midnight of the next month are read from the next item
+-- partition, which is dropped with that month.
+CREATE OR REPLACE FUNCTION order_archive_month(archived_month date) RETURNS integer AS $$
+DECLARE
+    order_partition text := 'order_p' || to_char(archived_month, 'YYYYMM');
+    item_partition text := 'order_item_p' || to_char(archived_month, 'YYYYMM');
+    archived integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('order_partition_maintenance'));
+    IF to_regclass(quote_ident(order_partition)) IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE "order" DETACH PARTITION %I', order_partition);
+        EXECUTE format('INSERT INTO order_archive (id, created_on, created_by, checkout_id, document) '
+            || 'SELECT o.id, o.created_on, o.created_by, o.checkout_id, '
+            || 'to_jsonb(o) || jsonb_build_object(''items'', COALESCE((SELECT jsonb_agg(to_jsonb(i) ORDER BY i.id) '
+            || 'FROM order_item i WHERE i.order_id = o.id AND i.created_on >= %L AND i.created_on < %L), ''[]''::jsonb)) '
+            || 'FROM %I o ON CONFLICT (id) DO NOTHING',
+            archived_month, archived_month + interval '2 months', order_partition);
+        GET DIAGNOSTICS archived = ROW_COUNT;
+        EXECUTE format('DROP TABLE %I', order_partition);
+    END IF;
+    IF to_regclass(quote_ident(item_partition)) IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE order_item DETACH PARTITION %I', item_partition);
+        EXECUTE format('DROP TABLE %I', item_partition);
+    END IF;
+    RETURN archived;
+END
+$$ LANGUAGE plpgsql;
+
+-- Partitioned tables cannot enforce a unique checkout_id, so every order claims its checkout in order_checkout.
+CREATE OR REPLACE FUNCTION order_claim_checkout_id() RETURNS trigger AS $$
+BEGIN
+    IF NEW.checkout_id IS NOT NULL THEN
+        INSERT INTO order_checkout (checkout_id, order_id) VALUES (NEW.checkout_id, NEW.id);
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+--changeset yas:order-partitioning splitStatements:false
+ALTER TABLE order_item DROP CONSTRAINT IF EXISTS fk_orderorderitem;
+ALTER TABLE "order" RENAME TO order_legacy;
+ALTER TABLE order_item RENAME TO order_item_legacy;
+
+UPDATE order_legacy SET created_on = COALESCE(last_modified_on, now()) WHERE created_on IS NULL;
+UPDATE order_item_legacy i SET created_on = o.created_on
+FROM order_legacy o
+WHERE i.order_id = o.id AND i.created_on IS NULL;
+UPDATE order_item_legacy SET created_on = now() WHERE created_on IS NULL;
+
+CREATE TABLE "order" (LIKE order_legacy INCLUDING DEFAULTS INCLUDING STORAGE) PARTITION BY RANGE (created_on);
+CREATE TABLE order_item (LIKE order_item_legacy INCLUDING DEFAULTS INCLUDING STORAGE) PARTITION BY RANGE (created_on);
+ALTER TABLE "order" ALTER COLUMN created_on SET NOT NULL;
+ALTER TABLE order_item ALTER COLUMN created_on SET NOT NULL;
+
+CREATE TABLE order_pdefault PARTITION OF "order" DEFAULT;
+CREATE TABLE order_item_pdefault PARTITION OF order_item DEFAULT;
+ALTER TABLE order_pdefault REPLICA IDENTITY FULL;
+
+SELECT order_ensure_partitions(
+    LEAST(COALESCE((SELECT min(created_on) FROM order_legacy), now()),
+          COALESCE((SELECT min(created_on) FROM order_item_legacy), now()))::date,
+    (now() + interval '3 months')::date);
+
+INSERT INTO "order" SELECT * FROM order_legacy;
+INSERT INTO order_item SELECT * FROM order_item_legacy;
+
+-- The serial sequences still belong to the legacy tables, hand them over before dropping those.
+DO $$
+DECLARE
+    owned record;
+BEGIN
+    FOR owned IN
+        SELECT sequence_class.relname AS sequence_name, table_class.relname AS table_name, attribute.attname AS column_name
+        FROM pg_depend dependency
+        JOIN pg_class sequence_class ON sequence_class.oid = dependency.objid AND sequence_class.relkind = 'S'
+        JOIN pg_class table_class ON table_class.oid = dependency.refobjid
+        JOIN pg_attribute attribute ON attribute.attrelid = table_class.oid AND attribute.attnum = dependency.refobjsubid
+        WHERE dependency.deptype = 'a' AND table_class.relname IN ('order_legacy', 'order_item_legacy')
+    LOOP
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.%I', owned.sequence_name,
+            CASE owned.table_name WHEN 'order_legacy' THEN 'order' ELSE 'order_item' END, owned.column_name);
+    END LOOP;
+END
+$$;
+
+DROP TABLE order_item_legacy;
+DROP TABLE order_legacy;
+
+ALTER TABLE "order" ADD CONSTRAINT order_pkey PRIMARY KEY (id, created_on);
+ALTER TABLE order_item ADD CONSTRAINT order_item_pkey PRIMARY KEY (id, created_on);
+ALTER TABLE "order"
+ADD CONSTRAINT FK_BillingAddress FOREIGN KEY (billing_address_id) REFERENCES order_address (id),
+ADD CONSTRAINT FKk_ShippingAddress FOREIGN KEY (shipping_address_id) REFERENCES order_address (id);
+
+CREATE INDEX idx_order_checkout_id ON "order" (checkout_id);
+CREATE INDEX idx_order_created_on_id ON "order" (created_on DESC, id DESC);
+CREATE INDEX idx_order_created_by_created_on ON "order" (created_by, created_on DESC, id DESC);
+CREATE INDEX idx_order_billing_address_id ON "order" (billing_address_id);
+CREATE INDEX idx_order_email_trgm ON "order" USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_order_item_order_id ON order_item (order_id);
+CREATE INDEX idx_order_item_name_trgm ON order_item USING gin (lower(name) gin_trgm_ops);
+
+CREATE TABLE order_checkout (
+    checkout_id varchar(255) NOT NULL,
+    order_id bigint NOT NULL,
+    PRIMARY KEY (checkout_id)
+);
+INSERT INTO order_checkout (checkout_id, order_id)
+SELECT checkout_id, min(id) FROM "order" WHERE checkout_id IS NOT NULL GROUP BY checkout_id;
+CREATE TRIGGER trg_order_claim_checkout_id AFTER INSERT ON "order"
+FOR EACH ROW EXECUTE FUNCTION order_claim_checkout_id();
+
+-- Archived orders are kept as one JSON document each. The low toast_tuple_target makes Postgres compress the
+-- documents instead of storing them inline.
+CREATE TABLE order_archive (
+    id bigint NOT NULL,
+    created_on timestamp(6) NOT NULL,
+    created_by varchar(255),
+    checkout_id varchar(255),
+    document jsonb COMPRESSION lz4 NOT NULL,
+    PRIMARY KEY (id)
+) WITH (toast_tuple_target = 128);
+CREATE INDEX idx_order_archive_created_by_created_on ON order_archive (created_by, created_on DESC);
+
+-- Debezium reads "order" through this publication so changes of every partition keep the dborder.public.order topic.
+CREATE PUBLICATION dbz_order_publication FOR TABLE "order" WITH (publish_via_partition_root = true);
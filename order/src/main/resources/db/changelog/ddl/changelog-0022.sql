@@ -0,0 +1,43 @@
+--liquibase formatted sql
+
+--changeset yas:order-events
+-- Order status transitions are appended here; (order_id, version) makes concurrent writers of the same order
+-- version lose instead of overwriting each other. "order" is partitioned, so no foreign key to it.
+CREATE TABLE order_event (
+    id bigserial NOT NULL,
+    order_id bigint NOT NULL,
+    version bigint NOT NULL,
+    event_type varchar(64) NOT NULL,
+    from_status varchar(255),
+    to_status varchar(255) NOT NULL,
+    payment_id bigint,
+    payment_status varchar(255),
+    reject_reason varchar(255),
+    created_by varchar(255),
+    created_on timestamp(6) NOT NULL,
+    projected_on timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_event_order_id_version UNIQUE (order_id, version)
+);
+CREATE INDEX idx_order_event_unprojected ON order_event (id) WHERE projected_on IS NULL;
+
+-- Version of the last event projected onto the order row.
+ALTER TABLE "order" ADD COLUMN event_version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE order_customer_summary (
+    id bigserial NOT NULL,
+    customer_id varchar(255) NOT NULL,
+    status varchar(255) NOT NULL,
+    order_count bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_customer_summary_customer_id_status UNIQUE (customer_id, status)
+);
+INSERT INTO order_customer_summary (customer_id, status, order_count)
+SELECT created_by, status, count(*) FROM "order"
+WHERE created_by IS NOT NULL AND status IS NOT NULL
+GROUP BY created_by, status;
+
+ALTER TABLE checkout ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+-- Every transition reaches Debezium as a row of its own, next to the projected order status.
+ALTER PUBLICATION dbz_order_publication ADD TABLE order_event;
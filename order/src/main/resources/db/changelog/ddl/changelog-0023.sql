@@ -0,0 +1,73 @@
+--liquibase formatted sql
+
+--changeset yas:order-rollups
+-- Hourly and daily order aggregates for the backoffice dashboard, maintained from the order_event CDC topic.
+CREATE TABLE order_rollup (
+    id bigserial NOT NULL,
+    granularity varchar(8) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    order_count bigint NOT NULL DEFAULT 0,
+    revenue numeric(19, 2) NOT NULL DEFAULT 0,
+    item_count bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_rollup_granularity_bucket_start UNIQUE (granularity, bucket_start)
+);
+
+-- Number of orders that entered each status during the bucket.
+CREATE TABLE order_rollup_status (
+    id bigserial NOT NULL,
+    granularity varchar(8) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    status varchar(255) NOT NULL,
+    order_count bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_rollup_status_granularity_bucket_start_status UNIQUE (granularity, bucket_start, status)
+);
+
+CREATE TABLE order_rollup_product (
+    id bigserial NOT NULL,
+    granularity varchar(8) NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    product_id bigint NOT NULL,
+    product_name varchar(255),
+    quantity bigint NOT NULL DEFAULT 0,
+    revenue numeric(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_order_rollup_product_granularity_bucket_start_product_id
+        UNIQUE (granularity, bucket_start, product_id)
+);
+
+-- Events already counted, so redelivered CDC messages are not counted twice. Pruned past the topic retention.
+CREATE TABLE order_rollup_applied_event (
+    event_id bigint NOT NULL,
+    applied_on timestamp(6) NOT NULL,
+    PRIMARY KEY (event_id)
+);
+
+-- One-off backfill from the existing orders: they count in the bucket they were created in, with their current
+-- status. Their events are marked as applied so the first replay of the topic does not count them again.
+INSERT INTO order_rollup (granularity, bucket_start, order_count, revenue, item_count)
+SELECT granularity.name, date_trunc(granularity.unit, o.created_on), count(*), COALESCE(sum(o.total_amount), 0),
+    COALESCE(sum((SELECT sum(i.quantity) FROM order_item i WHERE i.order_id = o.id)), 0)
+FROM "order" o
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS granularity (name, unit)
+GROUP BY granularity.name, date_trunc(granularity.unit, o.created_on);
+
+INSERT INTO order_rollup_status (granularity, bucket_start, status, order_count)
+SELECT granularity.name, date_trunc(granularity.unit, o.created_on), o.status, count(*)
+FROM "order" o
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS granularity (name, unit)
+WHERE o.status IS NOT NULL
+GROUP BY granularity.name, date_trunc(granularity.unit, o.created_on), o.status;
+
+INSERT INTO order_rollup_product (granularity, bucket_start, product_id, product_name, quantity, revenue)
+SELECT granularity.name, date_trunc(granularity.unit, o.created_on), i.product_id, max(i.name), sum(i.quantity),
+    COALESCE(sum(i.price * i.quantity), 0)
+FROM "order" o
+JOIN order_item i ON i.order_id = o.id
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS granularity (name, unit)
+WHERE i.product_id IS NOT NULL
+GROUP BY granularity.name, date_trunc(granularity.unit, o.created_on), i.product_id;
+
+INSERT INTO order_rollup_applied_event (event_id, applied_on)
+SELECT id, now() FROM order_event;
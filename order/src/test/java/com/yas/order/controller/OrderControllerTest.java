@@ -3,40 +3,58 @@ package com.yas.order.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.yas.order.OrderApplication;
 import com.yas.order.model.enumeration.DeliveryMethod;
 import com.yas.order.model.enumeration.DeliveryStatus;
+import com.yas.order.model.enumeration.OrderEventType;
 import com.yas.order.model.enumeration.OrderStatus;
 import com.yas.order.model.enumeration.PaymentMethod;
 import com.yas.order.model.enumeration.PaymentStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
 import com.yas.order.model.request.OrderRequest;
+import com.yas.order.service.OrderIdempotencyService;
+import com.yas.order.service.OrderRollupService;
 import com.yas.order.service.OrderService;
 import com.yas.order.viewmodel.order.OrderBriefVm;
+import com.yas.order.viewmodel.order.OrderDashboardVm;
+import com.yas.order.viewmodel.order.OrderEventVm;
 import com.yas.order.viewmodel.order.OrderExistsByProductAndUserGetVm;
+import com.yas.order.viewmodel.order.OrderGetScrollVm;
 import com.yas.order.viewmodel.order.OrderGetVm;
 import com.yas.order.viewmodel.order.OrderItemPostVm;
 import com.yas.order.viewmodel.order.OrderItemVm;
 import com.yas.order.viewmodel.order.OrderListVm;
 import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderRollupProductVm;
+import com.yas.order.viewmodel.order.OrderRollupVm;
+import com.yas.order.viewmodel.order.OrderScrollVm;
 import com.yas.order.viewmodel.order.OrderVm;
 import com.yas.order.viewmodel.order.PaymentOrderStatusVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressPostVm;
 import com.yas.order.viewmodel.orderaddress.OrderAddressVm;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,6 +69,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 @ExtendWith(SpringExtension.class)
@@ -62,6 +81,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @MockBean
+    private OrderRollupService orderRollupService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -77,7 +102,7 @@ class OrderControllerTest {
 
         OrderPostVm request = getOrderPostVm();
         OrderVm response = getOrderVm();
-        when(orderService.createOrder(request)).thenReturn(response);
+        when(orderIdempotencyService.createOrder(request)).thenReturn(response);
 
         mockMvc.perform(post("/storefront/orders")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -166,6 +191,74 @@ class OrderControllerTest {
                 .json(objectWriter.writeValueAsString(List.of(order1, order2))));
     }
 
+    @Test
+    void testScrollMyOrders_whenRequestIsValid_thenReturnOrderGetScrollVm() throws Exception {
+
+        OrderGetVm order = new OrderGetVm(
+            1L,
+            OrderStatus.COMPLETED,
+            new BigDecimal("100.00"),
+            DeliveryStatus.DELIVERED,
+            DeliveryMethod.GRAB_EXPRESS,
+            List.of(),
+            null
+        );
+        OrderGetScrollVm response = new OrderGetScrollVm(List.of(order), "next-token");
+
+        when(orderService.scrollMyOrders("test-name", OrderStatus.COMPLETED, "page-token", 5))
+            .thenReturn(response);
+
+        mockMvc.perform(get("/storefront/orders/my-orders/scroll")
+                .param("productName", "test-name")
+                .param("orderStatus", OrderStatus.COMPLETED.toString())
+                .param("pageToken", "page-token")
+                .param("pageSize", "5")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().json(objectWriter.writeValueAsString(response)));
+    }
+
+    @Test
+    void testGetDashboard_whenRequestIsValid_thenReturnRollups() throws Exception {
+
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 8, 0, 0);
+        OrderDashboardVm dashboard = new OrderDashboardVm(RollupGranularity.DAY, from, to,
+            List.of(OrderRollupVm.builder().bucketStart(from).orderCount(3).revenue(new BigDecimal("30.00"))
+                .itemCount(4).statusMix(Map.of(OrderStatus.PAID, 2L)).build()),
+            List.of(new OrderRollupProductVm(1L, "Product 1", 4L, new BigDecimal("30.00"))));
+        when(orderRollupService.getDashboard(RollupGranularity.DAY, from, to, 3)).thenReturn(dashboard);
+        ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        mockMvc.perform(get("/backoffice/orders/dashboard")
+                .param("granularity", "DAY")
+                .param("from", "2024-05-01T00:00:00")
+                .param("to", "2024-05-08T00:00:00")
+                .param("topProducts", "3")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().json(mapper.writeValueAsString(dashboard)));
+    }
+
+    @Test
+    void testGetOrderEvents_whenRequestIsValid_thenReturnEventsInVersionOrder() throws Exception {
+
+        List<OrderEventVm> events = List.of(
+            OrderEventVm.builder().version(1).eventType(OrderEventType.PLACED)
+                .toStatus(OrderStatus.PENDING).build(),
+            OrderEventVm.builder().version(2).eventType(OrderEventType.ACCEPTED)
+                .fromStatus(OrderStatus.PENDING).toStatus(OrderStatus.ACCEPTED).build()
+        );
+        when(orderService.getOrderEvents(1L)).thenReturn(events);
+
+        mockMvc.perform(get("/backoffice/orders/{id}/events", 1L)
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().json(objectWriter.writeValueAsString(events)));
+    }
+
     @Test
     void testGetOrderWithItemsById_whenRequestIsValid_thenReturnOrderVm() throws Exception {
 
@@ -220,6 +313,21 @@ class OrderControllerTest {
                 .json(objectWriter.writeValueAsString(list)));
     }
 
+    @Test
+    void testScrollOrders_whenRequestIsValid_thenReturnOrderScrollVm() throws Exception {
+
+        OrderScrollVm response = new OrderScrollVm(List.of(), "next-token", 1000L);
+        when(orderService.scrollOrders(any(OrderRequest.class), eq("page-token"), eq(true))).thenReturn(response);
+
+        mockMvc.perform(get("/backoffice/orders/scroll")
+                .param("pageToken", "page-token")
+                .param("pageSize", "50")
+                .param("includeTotal", "true")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().json(objectWriter.writeValueAsString(response)));
+    }
+
     @Test
     void testExportCsv_whenRequestIsValid_thenReturnCsvFile() throws Exception {
         ObjectMapper mapper = new ObjectMapper();
@@ -239,6 +347,30 @@ class OrderControllerTest {
             .andExpect(MockMvcResultMatchers.content().bytes(csvBytes));
     }
 
+    @Test
+    void testExportCsvStream_whenRequestIsValid_thenStreamCsvFile() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        OrderRequest orderRequest = new OrderRequest();
+        byte[] csvBytes = "Id,Email\n1,alice@example.com\n".getBytes();
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write(csvBytes);
+            return null;
+        }).when(orderService).exportCsv(any(OrderRequest.class), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(post("/backoffice/orders/csv/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(orderRequest)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().bytes(csvBytes));
+    }
+
     private OrderVm getOrderVm() {
 
         OrderAddressVm shippingAddress = new OrderAddressVm(
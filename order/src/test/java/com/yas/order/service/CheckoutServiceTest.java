@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -20,12 +21,10 @@ import com.yas.order.repository.CheckoutItemRepository;
 import com.yas.order.repository.CheckoutRepository;
 import com.yas.order.viewmodel.checkout.CheckoutPaymentMethodPutVm;
 import com.yas.order.viewmodel.checkout.CheckoutPostVm;
-import com.yas.order.viewmodel.product.ProductCheckoutListVm;
-import com.yas.order.viewmodel.product.ProductGetCheckoutListVm;
+import com.yas.order.viewmodel.product.ProductPricingVm;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -35,7 +34,6 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -58,7 +56,7 @@ class CheckoutServiceTest {
     OrderService orderService;
 
     @MockBean
-    ProductService productService;
+    ProductPricingService productPricingService;
 
     @Autowired
     CheckoutService checkoutService;
@@ -67,9 +65,7 @@ class CheckoutServiceTest {
     List<CheckoutItem> checkoutItems;
     Checkout checkoutCreated;
     String checkoutId = UUID.randomUUID().toString();
-    List<ProductCheckoutListVm> productCheckoutListVms;
-    ProductGetCheckoutListVm productGetCheckoutListVm;
-    Map<Long, ProductCheckoutListVm> productCheckoutListVmMap;
+    Map<Long, ProductPricingVm> productPricingVmMap;
 
     @BeforeEach
     void setUp() {
@@ -98,20 +94,10 @@ class CheckoutServiceTest {
                 .build()
                 ).toList();
 
-        productCheckoutListVms = checkoutItems.stream().map(t -> {
-            return Instancio.of(ProductCheckoutListVm.class)
-                    .set(field(ProductCheckoutListVm.class, "id"), t.getProductId())
-                    .create();
-        }).toList();
-        productGetCheckoutListVm = new ProductGetCheckoutListVm(
-                productCheckoutListVms,
-                0,
-                productCheckoutListVms.size(),
-                productCheckoutListVms.size(),
-                1,
-                true);
-        productCheckoutListVmMap = productCheckoutListVms.stream()
-                .collect(Collectors.toMap(ProductCheckoutListVm::getId, Function.identity()));
+        productPricingVmMap = checkoutItems.stream()
+                .map(item -> new ProductPricingVm(item.getProductId(), Instancio.create(String.class),
+                        Instancio.create(Double.class), true))
+                .collect(Collectors.toMap(ProductPricingVm::id, Function.identity(), (first, second) -> first));
     }
 
     @Test
@@ -119,7 +105,7 @@ class CheckoutServiceTest {
         checkoutCreated.setCheckoutItems(checkoutItems);
         when(checkoutRepository.save(any())).thenReturn(checkoutCreated);
         when(checkoutItemRepository.saveAll(anyCollection())).thenReturn(checkoutItems);
-        when(productService.getProductInfomation(any(Set.class), anyInt(), anyInt())).thenReturn(productCheckoutListVmMap);
+        when(productPricingService.getPricing(anyString(), anySet())).thenReturn(productPricingVmMap);
         var res = checkoutService.createCheckout(checkoutPostVm);
 
         assertThat(res)
@@ -0,0 +1,141 @@
+package com.yas.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.commonlibrary.exception.ForbiddenException;
+import com.yas.order.viewmodel.order.OrderPostVm;
+import com.yas.order.viewmodel.order.OrderVm;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+class OrderIdempotencyServiceTest {
+
+    private static final String CHECKOUT_ID = "checkout-1";
+    private static final String USER_ID = "user-1";
+
+    private OrderService orderService;
+    private OrderIdempotencyService orderIdempotencyService;
+    private OrderPostVm orderPostVm;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        orderIdempotencyService = new OrderIdempotencyService(orderService, 60_000);
+        orderPostVm = OrderPostVm.builder().checkoutId(CHECKOUT_ID).build();
+        authenticateAs(USER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCreateOrder_when100IdenticalRequestsAreConcurrent_shouldCreateOrderOnce() throws Exception {
+        OrderVm createdOrder = OrderVm.builder().id(1L).checkoutId(CHECKOUT_ID).build();
+        when(orderService.createOrder(orderPostVm)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return createdOrder;
+        });
+
+        int requestCount = 100;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderVm>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requestCount)) {
+            for (int i = 0; i < requestCount; i++) {
+                results.add(executor.submit(() -> {
+                    authenticateAs(USER_ID);
+                    start.await();
+                    return orderIdempotencyService.createOrder(orderPostVm);
+                }));
+            }
+            start.countDown();
+            for (Future<OrderVm> result : results) {
+                assertSame(createdOrder, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void testCreateOrder_whenRetriedAfterCompletion_shouldReturnCachedOrder() {
+        OrderVm createdOrder = OrderVm.builder().id(1L).checkoutId(CHECKOUT_ID).build();
+        when(orderService.createOrder(orderPostVm)).thenReturn(createdOrder);
+
+        orderIdempotencyService.createOrder(orderPostVm);
+        OrderVm retried = orderIdempotencyService.createOrder(orderPostVm);
+
+        assertSame(createdOrder, retried);
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void testCreateOrder_whenCreationFails_shouldNotCacheFailure() {
+        OrderVm createdOrder = OrderVm.builder().id(1L).checkoutId(CHECKOUT_ID).build();
+        when(orderService.createOrder(orderPostVm))
+            .thenThrow(new IllegalStateException("product service down"))
+            .thenReturn(createdOrder);
+
+        assertThrows(IllegalStateException.class, () -> orderIdempotencyService.createOrder(orderPostVm));
+        assertSame(createdOrder, orderIdempotencyService.createOrder(orderPostVm));
+    }
+
+    @Test
+    void testCreateOrder_whenUniqueConstraintViolated_shouldReturnExistingOrder() {
+        OrderVm existingOrder = OrderVm.builder().id(2L).checkoutId(CHECKOUT_ID).build();
+        when(orderService.createOrder(orderPostVm)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(orderService.getOrderWithItemsByCheckoutId(CHECKOUT_ID)).thenReturn(existingOrder);
+
+        assertSame(existingOrder, orderIdempotencyService.createOrder(orderPostVm));
+    }
+
+    @Test
+    void testCreateOrder_whenAnotherUserSendsSameCheckoutId_shouldNotReturnCachedOrder() {
+        OrderVm createdOrder = OrderVm.builder().id(1L).checkoutId(CHECKOUT_ID).build();
+        when(orderService.createOrder(orderPostVm))
+            .thenReturn(createdOrder)
+            .thenThrow(new ForbiddenException("You can not view this order"));
+
+        orderIdempotencyService.createOrder(orderPostVm);
+        authenticateAs("another-user");
+
+        assertThrows(ForbiddenException.class, () -> orderIdempotencyService.createOrder(orderPostVm));
+        verify(orderService, times(2)).createOrder(any());
+    }
+
+    @Test
+    void testEvictExpired_whenTtlElapsed_shouldRemoveCompletedEntries() {
+        orderIdempotencyService = new OrderIdempotencyService(orderService, 0);
+        when(orderService.createOrder(orderPostVm)).thenReturn(OrderVm.builder().id(1L).build());
+
+        orderIdempotencyService.createOrder(orderPostVm);
+        orderIdempotencyService.evictExpired();
+
+        assertEquals(0, orderIdempotencyService.size());
+    }
+
+    private static void authenticateAs(String userId) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(userId).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+}
@@ -0,0 +1,52 @@
+package com.yas.order.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class OrderPartitionServiceTest {
+
+    private static final String ARCHIVE_MONTH = "SELECT order_archive_month(?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderPartitionService orderPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        orderPartitionService = new OrderPartitionService(jdbcTemplate, 3, 24);
+    }
+
+    @Test
+    void testArchiveBefore_whenPartitionsAreOlderThanCutoff_thenArchiveThemOldestFirst() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+            .thenReturn(List.of("order_p202301", "order_p202302", "order_p202303"));
+
+        orderPartitionService.archiveBefore(YearMonth.of(2023, 3));
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject(ARCHIVE_MONTH, Integer.class, LocalDate.of(2023, 1, 1));
+        inOrder.verify(jdbcTemplate).queryForObject(ARCHIVE_MONTH, Integer.class, LocalDate.of(2023, 2, 1));
+        verify(jdbcTemplate, never()).queryForObject(ARCHIVE_MONTH, Integer.class, LocalDate.of(2023, 3, 1));
+    }
+
+    @Test
+    void testCreatePartitions_whenCalled_thenEnsurePartitionsFromFirstToLastMonth() {
+        orderPartitionService.createPartitions(YearMonth.of(2024, 11), YearMonth.of(2025, 2));
+
+        verify(jdbcTemplate).queryForList("SELECT order_ensure_partitions(?, ?)",
+            LocalDate.of(2024, 11, 1), LocalDate.of(2025, 2, 1));
+    }
+}
@@ -0,0 +1,130 @@
+package com.yas.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.order.kafka.message.OrderEventCdc;
+import com.yas.order.model.OrderRollup;
+import com.yas.order.model.OrderRollupStatus;
+import com.yas.order.model.enumeration.OrderEventType;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.RollupGranularity;
+import com.yas.order.repository.OrderRollupProductRepository;
+import com.yas.order.repository.OrderRollupRepository;
+import com.yas.order.repository.OrderRollupStatusRepository;
+import com.yas.order.viewmodel.order.OrderDashboardVm;
+import com.yas.order.viewmodel.order.OrderRollupVm;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class OrderRollupServiceTest {
+
+    private static final LocalDateTime OCCURRED_ON = LocalDateTime.of(2024, 5, 1, 10, 42, 7);
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderRollupRepository orderRollupRepository;
+    private OrderRollupStatusRepository orderRollupStatusRepository;
+    private OrderRollupProductRepository orderRollupProductRepository;
+    private OrderRollupService orderRollupService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        orderRollupRepository = mock(OrderRollupRepository.class);
+        orderRollupStatusRepository = mock(OrderRollupStatusRepository.class);
+        orderRollupProductRepository = mock(OrderRollupProductRepository.class);
+        orderRollupService = new OrderRollupService(jdbcTemplate, orderRollupRepository, orderRollupStatusRepository,
+            orderRollupProductRepository, 14);
+    }
+
+    @Test
+    void testApply_whenOrderIsPlaced_thenAddOrderProductsAndStatusToHourAndDayBuckets() {
+        when(jdbcTemplate.update(contains("order_rollup_applied_event"), eq(1L))).thenReturn(1);
+
+        orderRollupService.apply(event(OrderEventType.PLACED, null, OrderStatus.PENDING));
+
+        Timestamp hour = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 10, 0));
+        Timestamp day = Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 0, 0));
+        verify(jdbcTemplate).update(contains("INSERT INTO order_rollup ("), eq("HOUR"), eq(hour), eq(7L));
+        verify(jdbcTemplate).update(contains("INSERT INTO order_rollup ("), eq("DAY"), eq(day), eq(7L));
+        verify(jdbcTemplate).update(contains("INSERT INTO order_rollup_product"), eq("HOUR"), eq(hour), eq(7L));
+        verify(jdbcTemplate).update(contains("INSERT INTO order_rollup_status"), eq("DAY"), eq(day), eq("PENDING"));
+    }
+
+    @Test
+    void testApply_whenPaymentKeepsStatus_thenOnlyMarkEventApplied() {
+        when(jdbcTemplate.update(contains("order_rollup_applied_event"), eq(1L))).thenReturn(1);
+
+        orderRollupService.apply(event(OrderEventType.PAYMENT_UPDATED, OrderStatus.ACCEPTED, OrderStatus.ACCEPTED));
+
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void testApply_whenEventWasAlreadyApplied_thenSkipIt() {
+        when(jdbcTemplate.update(contains("order_rollup_applied_event"), eq(1L))).thenReturn(0);
+
+        orderRollupService.apply(event(OrderEventType.PLACED, null, OrderStatus.PENDING));
+
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO order_rollup ("), any(), any(), any());
+    }
+
+    @Test
+    void testGetDashboard_whenBucketHasOnlyStatusChanges_thenReturnItWithZeroOrders() {
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(orderRollupRepository.findBuckets(RollupGranularity.HOUR, from, to)).thenReturn(List.of(
+            OrderRollup.builder().bucketStart(from).orderCount(2).revenue(BigDecimal.TEN).itemCount(3).build()));
+        when(orderRollupStatusRepository.findBuckets(RollupGranularity.HOUR, from, to)).thenReturn(List.of(
+            OrderRollupStatus.builder().bucketStart(from).status(OrderStatus.PENDING).orderCount(2).build(),
+            OrderRollupStatus.builder().bucketStart(from.plusHours(1)).status(OrderStatus.PAID).orderCount(1).build()));
+
+        OrderDashboardVm dashboard = orderRollupService.getDashboard(RollupGranularity.HOUR, from, to, 0);
+
+        assertEquals(List.of(
+            new OrderRollupVm(from, 2, BigDecimal.TEN, 3, Map.of(OrderStatus.PENDING, 2L)),
+            new OrderRollupVm(from.plusHours(1), 0, BigDecimal.ZERO, 0, Map.of(OrderStatus.PAID, 1L))
+        ), dashboard.buckets());
+        assertEquals(List.of(), dashboard.topProducts());
+    }
+
+    @Test
+    void testGetDashboard_whenRangeIsTooLong_thenThrowBadRequest() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        assertThrows(BadRequestException.class,
+            () -> orderRollupService.getDashboard(RollupGranularity.HOUR, from, to, 5));
+    }
+
+    private static OrderEventCdc event(OrderEventType eventType, OrderStatus fromStatus, OrderStatus toStatus) {
+        long createdOnMicros = ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC),
+            OCCURRED_ON);
+        return OrderEventCdc.builder()
+            .id(1L)
+            .orderId(7L)
+            .eventType(eventType)
+            .fromStatus(fromStatus)
+            .toStatus(toStatus)
+            .createdOn(createdOnMicros)
+            .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.yas.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.commonlibrary.exception.NotFoundException;
+import com.yas.order.model.Order;
+import com.yas.order.model.OrderEvent;
+import com.yas.order.model.enumeration.OrderStatus;
+import com.yas.order.model.enumeration.PaymentStatus;
+import com.yas.order.repository.OrderEventRepository;
+import com.yas.order.repository.OrderRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderStateMachineTest {
+
+    private static final Long ORDER_ID = 1L;
+
+    private OrderRepository orderRepository;
+    private OrderEventRepository orderEventRepository;
+    private OrderStateMachine orderStateMachine;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderEventRepository = mock(OrderEventRepository.class);
+        orderStateMachine = new OrderStateMachine(orderRepository, orderEventRepository);
+        when(orderEventRepository.appendIfVersionFree(any(), anyLong(), anyString(), any(), anyString(), any(),
+            any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void testAccept_whenOrderHasNoEvents_thenAppendFirstVersionFromOrderRow() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.findById(ORDER_ID))
+            .thenReturn(Optional.of(Order.builder().id(ORDER_ID).orderStatus(OrderStatus.PENDING).build()));
+
+        OrderEvent event = orderStateMachine.accept(ORDER_ID);
+
+        assertEquals(1, event.getVersion());
+        assertEquals(OrderStatus.PENDING, event.getFromStatus());
+        assertEquals(OrderStatus.ACCEPTED, event.getToStatus());
+    }
+
+    @Test
+    void testReject_whenVersionIsTakenConcurrently_thenRetryOnTopOfNewState() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID))
+            .thenReturn(Optional.of(event(1, OrderStatus.PENDING)))
+            .thenReturn(Optional.of(event(2, OrderStatus.PENDING_PAYMENT)));
+        when(orderEventRepository.appendIfVersionFree(eq(ORDER_ID), eq(2L), anyString(), any(), anyString(), any(),
+            any(), any(), any())).thenReturn(0);
+
+        OrderEvent event = orderStateMachine.reject(ORDER_ID, "out of stock");
+
+        assertEquals(3, event.getVersion());
+        assertEquals(OrderStatus.PENDING_PAYMENT, event.getFromStatus());
+        assertEquals(OrderStatus.REJECT, event.getToStatus());
+        assertEquals("out of stock", event.getRejectReason());
+    }
+
+    @Test
+    void testAccept_whenOrderIsRejected_thenThrowBadRequestAndAppendNothing() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID))
+            .thenReturn(Optional.of(event(2, OrderStatus.REJECT)));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+            () -> orderStateMachine.accept(ORDER_ID));
+
+        assertEquals("Order 1 cannot move from REJECT to ACCEPTED", exception.getMessage());
+        verify(orderEventRepository, never()).appendIfVersionFree(any(), anyLong(), anyString(), any(), anyString(),
+            any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdatePayment_whenPaymentIsNotCompleted_thenKeepOrderStatus() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID))
+            .thenReturn(Optional.of(event(2, OrderStatus.ACCEPTED)));
+
+        OrderEvent pending = orderStateMachine.updatePayment(ORDER_ID, 5L, PaymentStatus.PENDING);
+
+        assertEquals(OrderStatus.ACCEPTED, pending.getToStatus());
+        verify(orderEventRepository).appendIfVersionFree(ORDER_ID, 3L, "PAYMENT_UPDATED", "ACCEPTED", "ACCEPTED",
+            5L, "PENDING", null, null);
+    }
+
+    @Test
+    void testUpdatePayment_whenPaymentIsCompleted_thenMoveToPaid() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID))
+            .thenReturn(Optional.of(event(2, OrderStatus.ACCEPTED)));
+
+        OrderEvent paid = orderStateMachine.updatePayment(ORDER_ID, 5L, PaymentStatus.COMPLETED);
+
+        assertEquals(OrderStatus.PAID, paid.getToStatus());
+    }
+
+    @Test
+    void testReject_whenOrderDoesNotExist_thenThrowNotFound() {
+        when(orderEventRepository.findFirstByOrderIdOrderByVersionDesc(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> orderStateMachine.reject(ORDER_ID, "reason"));
+        verify(orderEventRepository, never()).appendIfVersionFree(any(), anyLong(), anyString(), any(), anyString(),
+            any(), any(), any(), any());
+    }
+
+    @Test
+    void testCanTransition_whenStatusIsTerminal_thenOnlyAllowStayingInIt() {
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.CANCELLED, OrderStatus.CANCELLED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.CANCELLED, OrderStatus.PAID));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PAID, OrderStatus.SHIPPING));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.SHIPPING, OrderStatus.PENDING));
+    }
+
+    private static OrderEvent event(long version, OrderStatus status) {
+        return OrderEvent.builder().orderId(ORDER_ID).version(version).toStatus(status).build();
+    }
+}
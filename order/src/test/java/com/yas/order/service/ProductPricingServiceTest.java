@@ -0,0 +1,88 @@
+package com.yas.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.yas.order.viewmodel.product.ProductPricingVm;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductPricingServiceTest {
+
+    private static final String CUSTOMER_ID = "customer-1";
+    private static final ProductPricingVm PRODUCT_ONE = new ProductPricingVm(1L, "Product 1", 10.0, true);
+    private static final ProductPricingVm PRODUCT_TWO = new ProductPricingVm(2L, "Product 2", 20.0, true);
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+    }
+
+    @Test
+    void testGetPricing_whenPricedInSession_thenServeFromSnapshot() {
+        ProductPricingService productPricingService = new ProductPricingService(productService, 60_000);
+        when(productService.getProductPricing(Set.of(1L))).thenReturn(Map.of(1L, PRODUCT_ONE));
+
+        productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+        Map<Long, ProductPricingVm> pricing = productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+
+        assertEquals(Map.of(1L, PRODUCT_ONE), pricing);
+        verify(productService, times(1)).getProductPricing(Set.of(1L));
+    }
+
+    @Test
+    void testGetPricing_whenSomeProductsAreNew_thenFetchOnlyThoseInOneCall() {
+        ProductPricingService productPricingService = new ProductPricingService(productService, 60_000);
+        when(productService.getProductPricing(Set.of(1L))).thenReturn(Map.of(1L, PRODUCT_ONE));
+        when(productService.getProductPricing(Set.of(2L))).thenReturn(Map.of(2L, PRODUCT_TWO));
+
+        productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+        Map<Long, ProductPricingVm> pricing = productPricingService.getPricing(CUSTOMER_ID, Set.of(1L, 2L));
+
+        assertEquals(Map.of(1L, PRODUCT_ONE, 2L, PRODUCT_TWO), pricing);
+        verify(productService).getProductPricing(Set.of(1L));
+        verify(productService).getProductPricing(Set.of(2L));
+        verifyNoMoreInteractions(productService);
+    }
+
+    @Test
+    void testGetPricing_whenAnotherCheckoutPricesMeanwhile_thenKeepBothInSnapshot() {
+        ProductPricingService productPricingService = new ProductPricingService(productService, 60_000);
+        // A second checkout of the same customer prices product 2 while product 1 is being fetched
+        when(productService.getProductPricing(Set.of(2L))).thenReturn(Map.of(2L, PRODUCT_TWO));
+        doAnswer(invocation -> {
+            productPricingService.getPricing(CUSTOMER_ID, Set.of(2L));
+            return Map.of(1L, PRODUCT_ONE);
+        }).when(productService).getProductPricing(Set.of(1L));
+
+        productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+        Map<Long, ProductPricingVm> pricing = productPricingService.getPricing(CUSTOMER_ID, Set.of(1L, 2L));
+
+        assertEquals(Map.of(1L, PRODUCT_ONE, 2L, PRODUCT_TWO), pricing);
+        verify(productService).getProductPricing(Set.of(1L));
+        verify(productService).getProductPricing(Set.of(2L));
+        verifyNoMoreInteractions(productService);
+    }
+
+    @Test
+    void testGetPricing_whenSnapshotExpired_thenFetchAgainAndEvict() {
+        ProductPricingService productPricingService = new ProductPricingService(productService, 0);
+        when(productService.getProductPricing(Set.of(1L))).thenReturn(Map.of(1L, PRODUCT_ONE));
+
+        productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+        productPricingService.getPricing(CUSTOMER_ID, Set.of(1L));
+        productPricingService.evictExpired();
+
+        verify(productService, times(2)).getProductPricing(Set.of(1L));
+        assertEquals(0, productPricingService.size());
+    }
+}
@@ -5,6 +5,7 @@ import com.yas.order.viewmodel.promotion.PromotionUsageVm;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.web.client.RestClient;
 
@@ -13,8 +14,10 @@ import java.util.List;
 
 import static com.yas.order.utils.SecurityContextUtils.setUpSecurityContext;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class PromotionServiceTest {
@@ -43,6 +46,37 @@ class PromotionServiceTest {
     void testUpdateUsagePromotion_ifNormalCase_shouldNoException() {
 
         List<PromotionUsageVm> promotionUsageVms = getPromotionUsageVms();
+        mockPostRequest();
+
+        assertDoesNotThrow(() -> promotionService.updateUsagePromotion(promotionUsageVms));
+    }
+
+    @Test
+    void testUpdateUsagePromotion_shouldPostToStorefrontEndpoint() {
+        RestClient.RequestBodyUriSpec requestBodyUriSpec = mockPostRequest();
+
+        promotionService.updateUsagePromotion(getPromotionUsageVms());
+
+        // The customer's token is not allowed on the backoffice endpoints
+        ArgumentCaptor<URI> uriCaptor = ArgumentCaptor.forClass(URI.class);
+        verify(requestBodyUriSpec).uri(uriCaptor.capture());
+        assertEquals("/promotion/storefront/promotions/updateUsage", uriCaptor.getValue().getPath());
+    }
+
+    @Test
+    void testReleaseUsagePromotion_shouldPostToStorefrontEndpoint() {
+        RestClient.RequestBodyUriSpec requestBodyUriSpec = mockPostRequest();
+        List<PromotionUsageVm> promotionUsageVms = getPromotionUsageVms();
+
+        promotionService.releaseUsagePromotion(promotionUsageVms);
+
+        ArgumentCaptor<URI> uriCaptor = ArgumentCaptor.forClass(URI.class);
+        verify(requestBodyUriSpec).uri(uriCaptor.capture());
+        verify(requestBodyUriSpec).body(promotionUsageVms);
+        assertEquals("/promotion/storefront/promotions/releaseUsage", uriCaptor.getValue().getPath());
+    }
+
+    private RestClient.RequestBodyUriSpec mockPostRequest() {
         RestClient.RequestBodyUriSpec requestBodyUriSpec = mock(RestClient.RequestBodyUriSpec.class);
 
         when(restClient.post()).thenReturn(requestBodyUriSpec);
@@ -50,8 +84,7 @@ class PromotionServiceTest {
         when(requestBodyUriSpec.headers(any())).thenReturn(requestBodyUriSpec);
         when(requestBodyUriSpec.body(any(Object.class))).thenReturn(requestBodyUriSpec);
         when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
-
-        assertDoesNotThrow(() -> promotionService.updateUsagePromotion(promotionUsageVms));
+        return requestBodyUriSpec;
     }
 
     private static @NotNull List<PromotionUsageVm> getPromotionUsageVms() {
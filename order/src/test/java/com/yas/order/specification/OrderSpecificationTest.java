@@ -3,8 +3,11 @@ package com.yas.order.specification;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyChar;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.yas.order.model.Order;
@@ -64,30 +67,34 @@ class OrderSpecificationTest {
 
         Subquery<Long> subqueryMock = mock(Subquery.class);
         when(query.subquery(Long.class)).thenReturn(subqueryMock);
-
         when(subqueryMock.from(OrderItem.class)).thenReturn(orderItemRoot);
-        when(criteriaBuilder.like(any(), anyString())).thenReturn(mock(Predicate.class));
-
-        Subquery subquery1 = mock(Subquery.class);
-        when(subqueryMock.select(any())).thenReturn(subquery1);
-
-        Subquery subquery2 = mock(Subquery.class);
-        when(subquery1.where(any(Predicate.class))).thenReturn(subquery2);
+        when(subqueryMock.select(any())).thenReturn(subqueryMock);
+        when(criteriaBuilder.like(any(), anyString(), anyChar())).thenReturn(mock(Predicate.class));
 
-        CriteriaBuilder.In inMock = mock(CriteriaBuilder.In.class);
-        when(criteriaBuilder.in(any())).thenReturn(inMock);
-        when(inMock.value(any())).thenReturn(mock(CriteriaBuilder.In.class));
+        Predicate expectedPredicate = mock(Predicate.class);
+        when(criteriaBuilder.exists(subqueryMock)).thenReturn(expectedPredicate);
 
         Specification<Order> spec = OrderSpecification.hasProductNameInOrderItems("SampleProduct");
         Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
 
-        assertNotNull(predicate);
+        assertEquals(expectedPredicate, predicate);
+        verify(criteriaBuilder).like(any(), eq("%sampleproduct%"), eq('\\'));
+    }
+
+    @Test
+    void testWithEmail_whenValueHasWildcards_thenEscapeThem() {
+        when(root.get("email")).thenReturn(mock(Path.class));
+        when(criteriaBuilder.like(any(), anyString(), anyChar())).thenReturn(mock(Predicate.class));
+
+        OrderSpecification.withEmail(" 50%_off ").toPredicate(root, query, criteriaBuilder);
+
+        verify(criteriaBuilder).like(any(), eq("%50\\%\\_off%"), eq('\\'));
     }
 
     @Test
     void testWithEmail_whenNormalCase_thenSuccess() {
         when(root.get("email")).thenReturn(mock(Path.class));
-        when(criteriaBuilder.like(any(), anyString())).thenReturn(mock(Predicate.class));
+        when(criteriaBuilder.like(any(), anyString(), anyChar())).thenReturn(mock(Predicate.class));
 
         Specification<Order> spec = OrderSpecification.withEmail("test@example.com");
         Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
@@ -113,7 +120,7 @@ class OrderSpecificationTest {
         Path pathMock = mock(Path.class);
         when(root.get("billingAddressId")).thenReturn(pathMock);
         when(pathMock.get("phone")).thenReturn(mock(Path.class));
-        when(criteriaBuilder.like(any(), anyString())).thenReturn(mock(Predicate.class));
+        when(criteriaBuilder.like(any(), anyString(), anyChar())).thenReturn(mock(Predicate.class));
 
         Specification<Order> spec = OrderSpecification.withBillingPhoneNumber("1234567890");
         Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
@@ -127,7 +134,7 @@ class OrderSpecificationTest {
         Path path = mock(Path.class);
         when(root.get("billingAddressId")).thenReturn(path);
         when(path.get("countryName")).thenReturn(mock(Path.class));
-        when(criteriaBuilder.like(any(), anyString())).thenReturn(mock(Predicate.class));
+        when(criteriaBuilder.like(any(), anyString(), anyChar())).thenReturn(mock(Predicate.class));
 
         Specification<Order> spec = OrderSpecification.withCountryName("USA");
         Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
@@ -0,0 +1,28 @@
+package com.yas.order.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.yas.commonlibrary.exception.BadRequestException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.Test;
+
+class OrderPageTokenTest {
+
+    @Test
+    void testDecode_whenTokenWasEncoded_returnSameKey() {
+        ZonedDateTime createdOn = ZonedDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000, ZoneOffset.UTC);
+        OrderPageToken token = new OrderPageToken(createdOn, 42L);
+
+        OrderPageToken decoded = OrderPageToken.decode(token.encode());
+
+        assertEquals(createdOn.toInstant(), decoded.createdOn().toInstant());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void testDecode_whenTokenIsMalformed_throwBadRequestException() {
+        assertThrows(BadRequestException.class, () -> OrderPageToken.decode("not-a-token"));
+    }
+}
@@ -544,6 +544,19 @@ class ProductControllerIT extends AbstractControllerIT {
             .log().ifValidationFails();
     }
 
+    @Test
+    void test_getProductPricing_shouldReturnPricingWithoutMedia() {
+        getGivenSpecificationWithAdmin()
+            .param("ids", List.of(productOne.getId(), productTwo.getId()))
+            .when()
+            .get("/v1/products/pricing")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body(".", hasSize(2))
+            .body("find { it.id == %s }.name".formatted(productOne.getId()), equalTo("Product-1"))
+            .log().ifValidationFails();
+    }
+
     private RequestSpecification getGivenSpecificationWithAdmin() {
         return given(getRequestSpecification())
             .auth().oauth2(getAccessToken("admin", "admin"));
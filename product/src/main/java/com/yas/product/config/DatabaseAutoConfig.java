@@ -1,9 +1,11 @@
 package com.yas.product.config;
 
+import com.yas.commonlibrary.datasource.config.ReplicaDataSourceConfig;
 import java.util.Optional;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -14,6 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @EnableJpaRepositories("com.yas.product.repository")
 @EntityScan({"com.yas.product.model", "com.yas.product.model.attribute"})
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
+@Import(ReplicaDataSourceConfig.class)
 public class DatabaseAutoConfig {
 
     @Bean
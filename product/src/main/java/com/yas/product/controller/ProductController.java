@@ -4,6 +4,7 @@ import com.yas.product.model.enumeration.FilterExistInWhSelection;
 import com.yas.product.service.ProductDetailService;
 import com.yas.product.service.ProductService;
 import com.yas.product.viewmodel.error.ErrorVm;
+import com.yas.product.viewmodel.product.ProductClassificationVm;
 import com.yas.product.viewmodel.product.ProductDetailGetVm;
 import com.yas.product.viewmodel.product.ProductDetailInfoVm;
 import com.yas.product.viewmodel.product.ProductDetailVm;
@@ -17,6 +18,7 @@ import com.yas.product.viewmodel.product.ProductListGetFromCategoryVm;
 import com.yas.product.viewmodel.product.ProductListGetVm;
 import com.yas.product.viewmodel.product.ProductListVm;
 import com.yas.product.viewmodel.product.ProductPostVm;
+import com.yas.product.viewmodel.product.ProductPricingVm;
 import com.yas.product.viewmodel.product.ProductPutVm;
 import com.yas.product.viewmodel.product.ProductQuantityPostVm;
 import com.yas.product.viewmodel.product.ProductQuantityPutVm;
@@ -288,4 +290,15 @@ public class ProductController {
         @RequestParam(value = "ids", required = false) List<Long> productIds) {
         return ResponseEntity.ok(productService.getProductCheckoutList(pageNo, pageSize, productIds));
     }
+
+    @GetMapping("/products/pricing")
+    public ResponseEntity<List<ProductPricingVm>> getProductPricing(@RequestParam("ids") List<Long> productIds) {
+        return ResponseEntity.ok(productService.getProductPricing(productIds));
+    }
+
+    @GetMapping("/products/classifications")
+    public ResponseEntity<List<ProductClassificationVm>> getProductClassifications(
+            @RequestParam("ids") List<Long> productIds) {
+        return ResponseEntity.ok(productService.getProductClassifications(productIds));
+    }
 }
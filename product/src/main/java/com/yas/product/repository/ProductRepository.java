@@ -2,6 +2,9 @@ package com.yas.product.repository;
 
 import com.yas.product.model.Brand;
 import com.yas.product.model.Product;
+import com.yas.product.viewmodel.product.ProductClassificationRow;
+import com.yas.product.viewmodel.product.ProductPricingVm;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -80,4 +83,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("SELECT p FROM Product p WHERE p.id IN :productIds AND p.isPublished = TRUE")
     Page<Product> findAllPublishedProductsByIds(@Param("productIds") List<Long> productIds, Pageable pageable);
+
+    @Query("""
+        SELECT new com.yas.product.viewmodel.product.ProductPricingVm(p.id, p.name, p.price, p.isPublished)
+        FROM Product p WHERE p.id IN :productIds
+        """)
+    List<ProductPricingVm> findPricingByIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("""
+        SELECT new com.yas.product.viewmodel.product.ProductClassificationRow(p.id, p.price, b.id, pc.category.id)
+        FROM Product p
+        JOIN Product owner ON owner.id = COALESCE(p.parent.id, p.id)
+        LEFT JOIN owner.brand b
+        LEFT JOIN owner.productCategories pc
+        WHERE p.id IN :productIds
+        """)
+    List<ProductClassificationRow> findClassificationRowsByIds(@Param("productIds") Collection<Long> productIds);
 }
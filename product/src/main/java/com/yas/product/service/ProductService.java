@@ -30,6 +30,8 @@ import com.yas.product.repository.ProductRepository;
 import com.yas.product.utils.Constants;
 import com.yas.product.viewmodel.ImageVm;
 import com.yas.product.viewmodel.product.ProductCheckoutListVm;
+import com.yas.product.viewmodel.product.ProductClassificationRow;
+import com.yas.product.viewmodel.product.ProductClassificationVm;
 import com.yas.product.viewmodel.product.ProductDetailGetVm;
 import com.yas.product.viewmodel.product.ProductDetailVm;
 import com.yas.product.viewmodel.product.ProductEsDetailVm;
@@ -42,6 +44,7 @@ import com.yas.product.viewmodel.product.ProductListGetFromCategoryVm;
 import com.yas.product.viewmodel.product.ProductListGetVm;
 import com.yas.product.viewmodel.product.ProductListVm;
 import com.yas.product.viewmodel.product.ProductPostVm;
+import com.yas.product.viewmodel.product.ProductPricingVm;
 import com.yas.product.viewmodel.product.ProductProperties;
 import com.yas.product.viewmodel.product.ProductPutVm;
 import com.yas.product.viewmodel.product.ProductQuantityPostVm;
@@ -60,6 +63,7 @@ import io.micrometer.common.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -610,6 +614,7 @@ public class ProductService {
         return productCategoryList;
     }
 
+    @Transactional(readOnly = true)
     public ProductListGetVm getProductsWithFilter(int pageNo, int pageSize, String productName, String brandName) {
         Pageable pageable = PageRequest.of(pageNo, pageSize);
         Page<Product> productPage;
@@ -1188,4 +1193,46 @@ public class ProductService {
             productPage.isLast()
         );
     }
+
+    /**
+     * Gets the name, price and publication state of products, for pricing a checkout. Unlike
+     * {@link #getProductCheckoutList} nothing is fetched from the media service.
+     *
+     * @param productIds the IDs of the products
+     * @return the pricing of the products that exist, published or not
+     */
+    @Transactional(readOnly = true)
+    public List<ProductPricingVm> getProductPricing(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findPricingByIds(productIds);
+    }
+
+    /**
+     * Gets the brand and category IDs of products, for matching them against promotions. Variations are classified
+     * by their parent product, which holds the brand and categories.
+     *
+     * @param productIds the IDs of the products
+     * @return the classification of the products that exist
+     */
+    @Transactional(readOnly = true)
+    public List<ProductClassificationVm> getProductClassifications(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ProductClassificationRow>> rowsByProduct = productRepository
+            .findClassificationRowsByIds(productIds).stream()
+            .collect(Collectors.groupingBy(ProductClassificationRow::productId, LinkedHashMap::new,
+                Collectors.toList()));
+        return rowsByProduct.values().stream().map(rows -> {
+            ProductClassificationRow first = rows.getFirst();
+            List<Long> categoryIds = rows.stream()
+                .map(ProductClassificationRow::categoryId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+            return new ProductClassificationVm(first.productId(), first.price(), first.brandId(), categoryIds);
+        }).toList();
+    }
 }
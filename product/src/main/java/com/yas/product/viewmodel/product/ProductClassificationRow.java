@@ -0,0 +1,7 @@
+package com.yas.product.viewmodel.product;
+
+/**
+ * One product-category pair of {@link ProductClassificationVm}, as selected by the repository.
+ */
+public record ProductClassificationRow(Long productId, Double price, Long brandId, Long categoryId) {
+}
@@ -0,0 +1,9 @@
+package com.yas.product.viewmodel.product;
+
+import java.util.List;
+
+/**
+ * The brand and categories a product is sold under, with its price. Variations are classified as their parent.
+ */
+public record ProductClassificationVm(Long id, Double price, Long brandId, List<Long> categoryIds) {
+}
@@ -0,0 +1,7 @@
+package com.yas.product.viewmodel.product;
+
+/**
+ * The product fields checkout prices with, selected without loading the product or its media.
+ */
+public record ProductPricingVm(Long id, String name, Double price, boolean isPublished) {
+}
@@ -5,8 +5,10 @@ import com.yas.product.model.Product;
 import com.yas.product.model.enumeration.DimensionUnit;
 import com.yas.product.service.ProductDetailService;
 import com.yas.product.service.ProductService;
+import com.yas.product.viewmodel.product.ProductClassificationVm;
 import com.yas.product.viewmodel.product.ProductListVm;
 import com.yas.product.viewmodel.product.ProductPostVm;
+import com.yas.product.viewmodel.product.ProductPricingVm;
 import com.yas.product.viewmodel.product.ProductPutVm;
 import com.yas.product.viewmodel.product.ProductQuantityPutVm;
 import java.time.ZonedDateTime;
@@ -305,4 +307,39 @@ class ProductControllerTest {
             .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk());
     }
+
+    @Test
+    void testGetProductPricing_returnPricingOfRequestedProducts() throws Exception {
+        when(productService.getProductPricing(List.of(1L, 2L))).thenReturn(List.of(
+            new ProductPricingVm(1L, "Product 1", 10.5, true),
+            new ProductPricingVm(2L, "Product 2", 20.0, false)
+        ));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/pricing")
+                .param("ids", "1", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].price").value(10.5))
+            .andExpect(jsonPath("$[1].isPublished").value(false));
+
+        verify(productService, times(1)).getProductPricing(List.of(1L, 2L));
+    }
+
+    @Test
+    void testGetProductClassifications_returnBrandAndCategoriesOfRequestedProducts() throws Exception {
+        when(productService.getProductClassifications(List.of(1L, 2L))).thenReturn(List.of(
+            new ProductClassificationVm(1L, 10.5, 3L, List.of(4L, 5L)),
+            new ProductClassificationVm(2L, 20.0, null, List.of())
+        ));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/products/classifications")
+                .param("ids", "1", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].brandId").value(3))
+            .andExpect(jsonPath("$[0].categoryIds[1]").value(5))
+            .andExpect(jsonPath("$[1].categoryIds").isEmpty());
+
+        verify(productService, times(1)).getProductClassifications(List.of(1L, 2L));
+    }
 }
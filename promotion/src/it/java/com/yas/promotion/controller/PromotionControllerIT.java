@@ -0,0 +1,150 @@
+package com.yas.promotion.controller;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.yas.commonlibrary.AbstractControllerIT;
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.repository.PromotionRepository;
+import com.yas.promotion.repository.PromotionUsageRepository;
+import com.yas.promotion.service.ProductService;
+import com.yas.promotion.viewmodel.PromotionUsageVm;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Calls the usage endpoints the way the order service does: with the token of a customer, who has no ADMIN role.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PromotionControllerIT extends AbstractControllerIT {
+
+    private static final String STOREFRONT_UPDATE_USAGE_URL = "/promotion/storefront/promotions/updateUsage";
+    private static final String STOREFRONT_RELEASE_USAGE_URL = "/promotion/storefront/promotions/releaseUsage";
+    private static final String BACKOFFICE_UPDATE_USAGE_URL = "/promotion/backoffice/promotions/updateUsage";
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+    @Autowired
+    private PromotionUsageRepository promotionUsageRepository;
+    @MockBean
+    private ProductService productService;
+
+    private Promotion promotion;
+
+    @BeforeEach
+    void setUp() {
+        promotion = promotionRepository.save(Promotion.builder()
+            .name("welcome")
+            .slug("welcome")
+            .couponCode("welcome")
+            .discountType(DiscountType.PERCENTAGE)
+            .discountPercentage(10L)
+            .discountAmount(0L)
+            .applyTo(ApplyTo.PRODUCT)
+            .usageType(UsageType.LIMITED)
+            .usageLimit(10)
+            .isActive(true)
+            .startDate(Instant.now())
+            .endDate(Instant.now().plusSeconds(86400))
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        promotionUsageRepository.deleteAll();
+        promotionRepository.deleteAll();
+    }
+
+    @Test
+    void test_updateUsage_shouldRecordUsages_whenCustomerCallsStorefrontEndpoint() {
+        given(getRequestSpecification())
+            .auth().oauth2(getCustomerAccessToken())
+            .body(usages())
+            .when()
+            .post(STOREFRONT_UPDATE_USAGE_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .log().ifValidationFails();
+
+        assertEquals(2, promotionRepository.findById(promotion.getId()).orElseThrow().getUsageCount());
+        assertEquals(2, promotionUsageRepository.count());
+    }
+
+    @Test
+    void test_updateUsage_shouldReturn403_whenCustomerCallsBackofficeEndpoint() {
+        given(getRequestSpecification())
+            .auth().oauth2(getCustomerAccessToken())
+            .body(usages())
+            .when()
+            .post(BACKOFFICE_UPDATE_USAGE_URL)
+            .then()
+            .statusCode(HttpStatus.FORBIDDEN.value())
+            .log().ifValidationFails();
+
+        assertEquals(0, promotionRepository.findById(promotion.getId()).orElseThrow().getUsageCount());
+    }
+
+    @Test
+    void test_releaseUsage_shouldGiveBackUsages_whenOrderFailedAfterRecordingThem() {
+        String accessToken = getCustomerAccessToken();
+        given(getRequestSpecification())
+            .auth().oauth2(accessToken)
+            .body(usages())
+            .post(STOREFRONT_UPDATE_USAGE_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value());
+
+        // Releasing twice gives the usages back only once
+        for (int i = 0; i < 2; i++) {
+            given(getRequestSpecification())
+                .auth().oauth2(accessToken)
+                .body(usages())
+                .when()
+                .post(STOREFRONT_RELEASE_USAGE_URL)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .log().ifValidationFails();
+        }
+
+        assertEquals(0, promotionRepository.findById(promotion.getId()).orElseThrow().getUsageCount());
+        assertEquals(0, promotionUsageRepository.count());
+    }
+
+    /**
+     * Gets a token of the service account of the test realm, which like a customer has no ADMIN role.
+     */
+    private String getCustomerAccessToken() {
+        return given()
+            .contentType("application/x-www-form-urlencoded")
+            .formParams(Map.of(
+                "grant_type", "client_credentials",
+                "client_id", "quarkus-service",
+                "client_secret", "secret"
+            ))
+            .post(authServerUrl + "/protocol/openid-connect/token")
+            .then().assertThat().statusCode(200)
+            .extract().path("access_token");
+    }
+
+    private static List<PromotionUsageVm> usages() {
+        return List.of(
+            new PromotionUsageVm("welcome", 1L, null, 1001L),
+            new PromotionUsageVm("welcome", 2L, null, 1001L));
+    }
+}
@@ -0,0 +1,136 @@
+package com.yas.promotion.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.yas.commonlibrary.IntegrationTestConfiguration;
+import com.yas.commonlibrary.exception.BadRequestException;
+import com.yas.promotion.PromotionApplication;
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.repository.PromotionRepository;
+import com.yas.promotion.repository.PromotionUsageRepository;
+import com.yas.promotion.viewmodel.PromotionUsageVm;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+@SpringBootTest(classes = PromotionApplication.class)
+@Import(IntegrationTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PromotionUsageConcurrencyIT {
+
+    private static final int ORDER_COUNT = 100;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+    @Autowired
+    private PromotionUsageRepository promotionUsageRepository;
+    @Autowired
+    private PromotionService promotionService;
+    @MockBean
+    private ProductService productService;
+
+    @AfterEach
+    void tearDown() {
+        promotionUsageRepository.deleteAll();
+        promotionRepository.deleteAll();
+    }
+
+    @Test
+    void testUpdateUsagePromotion_whenOrdersRedeemLimitedCouponConcurrently_thenNeverExceedUsageLimit()
+            throws Exception {
+        Promotion promotion = promotionRepository.save(promotion("viral", UsageType.LIMITED, 20));
+
+        // Two items per order, so exactly 10 of the orders fit in the limit of 20 usages
+        AtomicInteger rejectedOrders = redeemConcurrently("viral", 2);
+
+        assertEquals(ORDER_COUNT - 10, rejectedOrders.get());
+        assertEquals(20, promotionRepository.findById(promotion.getId()).orElseThrow().getUsageCount());
+        assertEquals(20, promotionUsageRepository.count());
+    }
+
+    @Test
+    void testUpdateUsagePromotion_whenOrdersRedeemUnlimitedCouponConcurrently_thenCountEveryUsage()
+            throws Exception {
+        Promotion promotion = promotionRepository.save(promotion("storewide", UsageType.UNLIMITED, 0));
+
+        AtomicInteger rejectedOrders = redeemConcurrently("storewide", 1);
+
+        assertEquals(0, rejectedOrders.get());
+        assertEquals(ORDER_COUNT, promotionRepository.findById(promotion.getId()).orElseThrow().getUsageCount());
+        assertEquals(ORDER_COUNT, promotionUsageRepository.count());
+    }
+
+    private AtomicInteger redeemConcurrently(String couponCode, int itemsPerOrder) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejectedOrders = new AtomicInteger();
+        List<Future<?>> orders = new ArrayList<>();
+        for (long orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            List<PromotionUsageVm> usages = new ArrayList<>();
+            for (long productId = 1; productId <= itemsPerOrder; productId++) {
+                usages.add(new PromotionUsageVm(couponCode, productId, null, orderId));
+            }
+            orders.add(executor.submit(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(customer());
+                try {
+                    promotionService.updateUsagePromotion(usages);
+                } catch (BadRequestException exception) {
+                    rejectedOrders.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> order : orders) {
+            order.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return rejectedOrders;
+    }
+
+    private static JwtAuthenticationToken customer() {
+        return new JwtAuthenticationToken(Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject("customer")
+            .build());
+    }
+
+    private static Promotion promotion(String couponCode, UsageType usageType, int usageLimit) {
+        return Promotion.builder()
+            .name(couponCode)
+            .slug(couponCode)
+            .couponCode(couponCode)
+            .discountType(DiscountType.PERCENTAGE)
+            .discountPercentage(10L)
+            .discountAmount(0L)
+            .applyTo(ApplyTo.PRODUCT)
+            .usageType(usageType)
+            .usageLimit(usageLimit)
+            .isActive(true)
+            .startDate(Instant.now())
+            .endDate(Instant.now().plusSeconds(86400))
+            .build();
+    }
+}
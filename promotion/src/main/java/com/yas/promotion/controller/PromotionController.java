@@ -1,5 +1,6 @@
 package com.yas.promotion.controller;
 
+import com.yas.promotion.service.PromotionEvaluationService;
 import com.yas.promotion.service.PromotionService;
 import com.yas.promotion.viewmodel.*;
 import com.yas.promotion.viewmodel.error.ErrorVm;
@@ -27,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class PromotionController {
     private final PromotionService promotionService;
+    private final PromotionEvaluationService promotionEvaluationService;
 
     @GetMapping("/backoffice/promotions")
     public ResponseEntity<PromotionListVm> listPromotions(
@@ -109,10 +111,23 @@ public class PromotionController {
         return ResponseEntity.ok(promotionService.verifyPromotion(promotionVerifyInfo));
     }
 
+    @PostMapping({"/storefront/promotions/evaluate", "/backoffice/promotions/evaluate"})
+    public ResponseEntity<PromotionEvaluationResultVm> evaluatePromotions(
+            @RequestBody PromotionEvaluationVm promotionEvaluationVm) {
+        return ResponseEntity.ok(promotionEvaluationService.evaluatePromotions(promotionEvaluationVm));
+    }
+
     @PostMapping({"/storefront/promotions/updateUsage", "/backoffice/promotions/updateUsage"})
     public ResponseEntity<Void> updateUsagePromotion(
             @RequestBody List<PromotionUsageVm> promotionUsageVms) {
         promotionService.updateUsagePromotion(promotionUsageVms);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping({"/storefront/promotions/releaseUsage", "/backoffice/promotions/releaseUsage"})
+    public ResponseEntity<Void> releaseUsagePromotion(
+            @RequestBody List<PromotionUsageVm> promotionUsageVms) {
+        promotionService.releaseUsagePromotion(promotionUsageVms);
+        return ResponseEntity.ok().build();
+    }
 }
@@ -66,6 +66,8 @@ public class Promotion extends AbstractAuditEntity {
 
     private Boolean isActive;
 
+    private boolean isAutomatic;
+
     private Instant startDate;
 
     private Instant endDate;
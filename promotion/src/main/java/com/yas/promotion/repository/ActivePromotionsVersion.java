@@ -0,0 +1,13 @@
+package com.yas.promotion.repository;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Changes whenever an active promotion is added, edited, used, deactivated or deleted.
+ *
+ * @param count          the number of active promotions
+ * @param usageCount     the sum of their usage counts
+ * @param lastModifiedOn the latest modification time among them
+ */
+public record ActivePromotionsVersion(Long count, Long usageCount, ZonedDateTime lastModifiedOn) {
+}
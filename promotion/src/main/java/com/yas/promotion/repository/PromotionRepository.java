@@ -2,10 +2,13 @@ package com.yas.promotion.repository;
 
 import com.yas.promotion.model.Promotion;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +19,17 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
 
     Optional<Promotion> findByCouponCodeAndIsActiveTrue(String couponCode);
 
+    @EntityGraph(attributePaths = "promotionApplies")
+    Optional<Promotion> findWithPromotionAppliesByCouponCodeAndIsActiveTrue(String couponCode);
+
+    @EntityGraph(attributePaths = "promotionApplies")
+    List<Promotion> findWithPromotionAppliesByIsActiveTrue();
+
+    @Query("SELECT new com.yas.promotion.repository.ActivePromotionsVersion("
+            + "COUNT(p), COALESCE(SUM(p.usageCount), 0L), MAX(p.lastModifiedOn)) "
+            + "FROM Promotion p WHERE p.isActive = TRUE")
+    ActivePromotionsVersion findActivePromotionsVersion();
+
     @Query("SELECT p FROM Promotion p "
             + "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%',:name,'%')) "
             + "AND LOWER(p.couponCode) LIKE LOWER(CONCAT('%',:couponCode,'%')) "
@@ -27,4 +41,25 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
                                    @Param("endDate") Instant endDate,
                                    Pageable pageable);
 
+    /**
+     * Adds usages to a promotion unless that would exceed its usage limit. The row lock serializes concurrent
+     * redemptions and the limit is checked again against the count each one sees after the lock.
+     *
+     * @return 1 if the usages were added, 0 if the promotion is not active or has not enough usages left
+     */
+    @Modifying
+    @Query("UPDATE Promotion p SET p.usageCount = p.usageCount + :quantity "
+            + "WHERE p.id = :id AND p.isActive = TRUE "
+            + "AND (p.usageType IS NULL OR p.usageType <> com.yas.promotion.model.enumeration.UsageType.LIMITED "
+            + "OR p.usageCount + :quantity <= p.usageLimit)")
+    int incrementUsageCount(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Gives back usages of a promotion, never going below zero.
+     */
+    @Modifying
+    @Query("UPDATE Promotion p SET p.usageCount = "
+            + "CASE WHEN p.usageCount > :quantity THEN p.usageCount - :quantity ELSE 0 END "
+            + "WHERE p.id = :id")
+    int decrementUsageCount(@Param("id") Long id, @Param("quantity") int quantity);
 }
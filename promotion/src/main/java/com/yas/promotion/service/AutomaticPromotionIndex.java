@@ -0,0 +1,126 @@
+package com.yas.promotion.service;
+
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The automatic promotions, indexed so a cart is matched against them without scanning them all: inverted indexes
+ * from product, category and brand IDs to the promotions that apply to them, and a {@link PromotionSchedule} of their
+ * date windows. The promotions are numbered by their position in the index.
+ */
+final class AutomaticPromotionIndex {
+
+    static final AutomaticPromotionIndex EMPTY = new AutomaticPromotionIndex(List.of());
+
+    private final List<PromotionRule> rules;
+    private final Set<Long> promotionIds;
+    private final Map<Long, int[]> byProduct;
+    private final Map<Long, int[]> byCategory;
+    private final Map<Long, int[]> byBrand;
+    private final PromotionSchedule schedule;
+
+    /**
+     * The promotions running between two changes of the schedule, kept until the next change.
+     */
+    private volatile RunningWindow runningWindow;
+
+    AutomaticPromotionIndex(List<PromotionRule> rules) {
+        this.rules = List.copyOf(rules);
+        this.promotionIds = rules.stream().map(PromotionRule::id).collect(Collectors.toUnmodifiableSet());
+        this.byProduct = invert(rules, ApplyTo.PRODUCT);
+        this.byCategory = invert(rules, ApplyTo.CATEGORY);
+        this.byBrand = invert(rules, ApplyTo.BRAND);
+        this.schedule = new PromotionSchedule(rules);
+    }
+
+    PromotionRule get(int ordinal) {
+        return rules.get(ordinal);
+    }
+
+    int size() {
+        return rules.size();
+    }
+
+    boolean contains(Long promotionId) {
+        return promotionIds.contains(promotionId);
+    }
+
+    /**
+     * Finds the promotions running at a time that apply to some lines of a cart.
+     *
+     * @param lines the products of the cart
+     * @param at    the time of the evaluation
+     * @return for the ordinal of each matching promotion, the indexes of the lines it applies to
+     */
+    Map<Integer, BitSet> match(List<ProductClassificationVm> lines, Instant at) {
+        Map<Integer, BitSet> matches = new HashMap<>();
+        if (rules.isEmpty()) {
+            return matches;
+        }
+        BitSet running = runningAt(at.toEpochMilli());
+        for (int line = 0; line < lines.size(); line++) {
+            ProductClassificationVm product = lines.get(line);
+            collect(byProduct, product.id(), line, running, matches);
+            collect(byBrand, product.brandId(), line, running, matches);
+            if (product.categoryIds() != null) {
+                for (Long categoryId : product.categoryIds()) {
+                    collect(byCategory, categoryId, line, running, matches);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private BitSet runningAt(long time) {
+        RunningWindow window = runningWindow;
+        if (window == null || time < window.from() || time >= window.until()) {
+            window = new RunningWindow(schedule.lastChangeAtOrBefore(time), schedule.nextChangeAfter(time),
+                schedule.runningAt(time));
+            runningWindow = window;
+        }
+        return window.running();
+    }
+
+    private static void collect(Map<Long, int[]> index, Long id, int line, BitSet running,
+                                Map<Integer, BitSet> matches) {
+        if (id == null) {
+            return;
+        }
+        int[] ordinals = index.get(id);
+        if (ordinals == null) {
+            return;
+        }
+        for (int ordinal : ordinals) {
+            if (running.get(ordinal)) {
+                matches.computeIfAbsent(ordinal, key -> new BitSet()).set(line);
+            }
+        }
+    }
+
+    private static Map<Long, int[]> invert(List<PromotionRule> rules, ApplyTo applyTo) {
+        Map<Long, List<Integer>> ordinalsById = new HashMap<>();
+        for (int ordinal = 0; ordinal < rules.size(); ordinal++) {
+            PromotionRule rule = rules.get(ordinal);
+            if (applyTo.equals(rule.applyTo())) {
+                int value = ordinal;
+                rule.targetIds().stream()
+                    .forEach(id -> ordinalsById.computeIfAbsent(id, key -> new ArrayList<>()).add(value));
+            }
+        }
+        Map<Long, int[]> index = new HashMap<>(ordinalsById.size() * 2);
+        ordinalsById.forEach((id, ordinals) -> index.put(id,
+            ordinals.stream().mapToInt(Integer::intValue).toArray()));
+        return index;
+    }
+
+    private record RunningWindow(long from, long until, BitSet running) {
+    }
+}
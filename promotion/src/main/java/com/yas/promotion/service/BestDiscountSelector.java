@@ -0,0 +1,112 @@
+package com.yas.promotion.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the combination of promotions that gives a cart the largest discount, where no two promotions discount the
+ * same line. The options are searched by branch and bound from the largest discount down, starting from the greedy
+ * combination, and the search stops after a fixed number of nodes so a cart matching many promotions still gets an
+ * answer in bounded time: the best combination found so far, which is at least the greedy one.
+ */
+final class BestDiscountSelector {
+
+    static final int NODE_BUDGET = 200_000;
+
+    private final List<Option> options;
+    private final long[] remainingDiscounts;
+    private final int nodeBudget;
+
+    private List<Option> best;
+    private long bestDiscount;
+    private int nodes;
+
+    private BestDiscountSelector(List<Option> options, int nodeBudget) {
+        this.options = options;
+        this.nodeBudget = nodeBudget;
+        this.remainingDiscounts = new long[options.size() + 1];
+        for (int i = options.size() - 1; i >= 0; i--) {
+            remainingDiscounts[i] = remainingDiscounts[i + 1] + options.get(i).discount();
+        }
+    }
+
+    static List<Option> select(List<Option> options) {
+        return select(options, NODE_BUDGET);
+    }
+
+    /**
+     * Selects the promotions to apply.
+     *
+     * @param options    the promotions that match the cart, with the lines they apply to and their discount in cents
+     * @param nodeBudget the number of search nodes after which the best combination found so far is returned
+     * @return the promotions to apply, by decreasing discount
+     */
+    static List<Option> select(List<Option> options, int nodeBudget) {
+        // Of the promotions applying to the same lines, only the best one can be part of the answer
+        Map<BitSet, Option> bestByLines = new HashMap<>();
+        for (Option option : options) {
+            if (option.discount() > 0 && !option.lines().isEmpty()) {
+                bestByLines.merge(option.lines(), option,
+                    (current, candidate) -> candidate.discount() > current.discount() ? candidate : current);
+            }
+        }
+        List<Option> candidates = new ArrayList<>(bestByLines.values());
+        candidates.sort(Comparator.comparingLong(Option::discount).reversed().thenComparingInt(Option::ordinal));
+
+        BestDiscountSelector selector = new BestDiscountSelector(candidates, nodeBudget);
+        selector.selectGreedily();
+        selector.search(0, new BitSet(), 0, new ArrayList<>());
+        return selector.best;
+    }
+
+    private void selectGreedily() {
+        BitSet usedLines = new BitSet();
+        best = new ArrayList<>();
+        for (Option option : options) {
+            if (!option.lines().intersects(usedLines)) {
+                usedLines.or(option.lines());
+                best.add(option);
+                bestDiscount += option.discount();
+            }
+        }
+    }
+
+    /**
+     * Extends a combination with each option after {@code from} in turn. Every option covers at least one line, so
+     * the depth of the search is bounded by the number of lines of the cart.
+     */
+    private void search(int from, BitSet usedLines, long discount, List<Option> chosen) {
+        if (discount > bestDiscount) {
+            bestDiscount = discount;
+            best = new ArrayList<>(chosen);
+        }
+        for (int i = from; i < options.size(); i++) {
+            if (discount + remainingDiscounts[i] <= bestDiscount || ++nodes > nodeBudget) {
+                return;
+            }
+            Option option = options.get(i);
+            if (option.lines().intersects(usedLines)) {
+                continue;
+            }
+            usedLines.or(option.lines());
+            chosen.add(option);
+            search(i + 1, usedLines, discount + option.discount(), chosen);
+            chosen.remove(chosen.size() - 1);
+            usedLines.andNot(option.lines());
+        }
+    }
+
+    /**
+     * A promotion that matches a cart.
+     *
+     * @param ordinal  the ordinal of the promotion in the {@link AutomaticPromotionIndex}
+     * @param lines    the indexes of the lines it applies to
+     * @param discount its discount on these lines, in cents
+     */
+    record Option(int ordinal, BitSet lines, long discount) {
+    }
+}
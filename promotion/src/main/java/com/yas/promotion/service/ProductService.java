@@ -4,6 +4,7 @@ import com.yas.promotion.config.ServiceUrlConfig;
 import com.yas.promotion.utils.AuthenticationUtils;
 import com.yas.promotion.viewmodel.BrandVm;
 import com.yas.promotion.viewmodel.CategoryGetVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
 import com.yas.promotion.viewmodel.ProductVm;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -86,38 +87,19 @@ public class ProductService extends AbstractCircuitBreakFallbackHandler {
 
     @Retry(name = "restApi")
     @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleFallback")
-    public List<ProductVm> getProductByCategoryIds(List<Long> categoryIds) {
+    public List<ProductClassificationVm> getProductClassifications(List<Long> ids) {
         String jwt = AuthenticationUtils.extractJwt();
         final URI url = UriComponentsBuilder
             .fromHttpUrl(serviceUrlConfig.product())
-            .path("/backoffice/products/by-categories")
-            .queryParams(createIdParams(categoryIds))
-            .build()
-            .toUri();
-        return restClient.get()
-            .uri(url)
-            .headers(h -> h.setBearerAuth(jwt))
-            .retrieve()
-            .toEntity(new ParameterizedTypeReference<List<ProductVm>>() {
-            })
-            .getBody();
-    }
-
-    @Retry(name = "restApi")
-    @CircuitBreaker(name = "restCircuitBreaker", fallbackMethod = "handleFallback")
-    public List<ProductVm> getProductByBrandIds(List<Long> brandIds) {
-        String jwt = AuthenticationUtils.extractJwt();
-        final URI url = UriComponentsBuilder
-            .fromHttpUrl(serviceUrlConfig.product())
-            .path("/backoffice/products/by-brands")
-            .queryParams(createIdParams(brandIds))
+            .path("/products/classifications")
+            .queryParams(createIdParams(ids))
             .build()
             .toUri();
         return restClient.get()
             .uri(url)
             .headers(h -> h.setBearerAuth(jwt))
             .retrieve()
-            .toEntity(new ParameterizedTypeReference<List<ProductVm>>() {
+            .toEntity(new ParameterizedTypeReference<List<ProductClassificationVm>>() {
             })
             .getBody();
     }
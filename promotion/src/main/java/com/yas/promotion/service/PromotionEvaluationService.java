@@ -0,0 +1,92 @@
+package com.yas.promotion.service;
+
+import com.yas.promotion.viewmodel.AppliedPromotionVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationItemVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationResultVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationVm;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies the automatic promotions, which need no coupon code, to a cart: it finds the running promotions that
+ * match the cart through the {@link AutomaticPromotionIndex}, then picks the combination that gives the largest
+ * discount without discounting a line twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class PromotionEvaluationService {
+
+    private final ProductService productService;
+    private final PromotionRuleEngine promotionRuleEngine;
+
+    public PromotionEvaluationResultVm evaluatePromotions(PromotionEvaluationVm promotionEvaluationVm) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        if (promotionEvaluationVm.items() != null) {
+            for (PromotionEvaluationItemVm item : promotionEvaluationVm.items()) {
+                if (item.productId() != null && item.quantity() > 0) {
+                    quantities.merge(item.productId(), item.quantity(), Integer::sum);
+                }
+            }
+        }
+        if (quantities.isEmpty()) {
+            return new PromotionEvaluationResultVm(List.of(), BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+
+        List<ProductClassificationVm> lines = productService.getProductClassifications(
+            new ArrayList<>(quantities.keySet()));
+        BigDecimal[] lineSubtotals = new BigDecimal[lines.size()];
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int line = 0; line < lines.size(); line++) {
+            ProductClassificationVm product = lines.get(line);
+            BigDecimal price = product.price() != null ? BigDecimal.valueOf(product.price()) : BigDecimal.ZERO;
+            lineSubtotals[line] = price.multiply(BigDecimal.valueOf(quantities.getOrDefault(product.id(), 0)));
+            subtotal = subtotal.add(lineSubtotals[line]);
+        }
+        return evaluate(promotionRuleEngine.getAutomaticIndex(), lines, lineSubtotals, subtotal, Instant.now());
+    }
+
+    static PromotionEvaluationResultVm evaluate(AutomaticPromotionIndex index, List<ProductClassificationVm> lines,
+                                                BigDecimal[] lineSubtotals, BigDecimal subtotal, Instant at) {
+        List<BestDiscountSelector.Option> options = new ArrayList<>();
+        index.match(lines, at).forEach((ordinal, matchedLines) -> {
+            PromotionRule rule = index.get(ordinal);
+            if (rule.isExhausted() || !rule.acceptsOrderPrice(subtotal)) {
+                return;
+            }
+            BigDecimal matchedSubtotal = matchedLines.stream()
+                .mapToObj(line -> lineSubtotals[line])
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            long discount = rule.discountOn(matchedSubtotal).movePointRight(2).longValueExact();
+            options.add(new BestDiscountSelector.Option(ordinal, matchedLines, discount));
+        });
+
+        List<AppliedPromotionVm> appliedPromotions = new ArrayList<>();
+        BigDecimal totalDiscount = BigDecimal.ZERO;
+        for (BestDiscountSelector.Option option : BestDiscountSelector.select(options)) {
+            PromotionRule rule = index.get(option.ordinal());
+            BigDecimal discountAmount = BigDecimal.valueOf(option.discount(), 2);
+            appliedPromotions.add(new AppliedPromotionVm(
+                rule.id(),
+                rule.name(),
+                rule.discountType(),
+                rule.discountValue(),
+                productIdsOf(lines, option.lines()),
+                discountAmount
+            ));
+            totalDiscount = totalDiscount.add(discountAmount);
+        }
+        return new PromotionEvaluationResultVm(appliedPromotions, subtotal, totalDiscount);
+    }
+
+    private static List<Long> productIdsOf(List<ProductClassificationVm> lines, BitSet matchedLines) {
+        return matchedLines.stream().mapToObj(line -> lines.get(line).id()).toList();
+    }
+}
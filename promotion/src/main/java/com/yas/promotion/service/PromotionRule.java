@@ -0,0 +1,171 @@
+package com.yas.promotion.service;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * An active promotion compiled for verification: its conditions as plain values and the products, categories or
+ * brands it applies to as a set of IDs, so matching a cart needs no query.
+ */
+record PromotionRule(
+    Long id,
+    String name,
+    String couponCode,
+    boolean automatic,
+    Instant startDate,
+    Instant endDate,
+    ApplyTo applyTo,
+    DiscountType discountType,
+    Long discountValue,
+    long minimumOrderPurchaseAmount,
+    UsageType usageType,
+    int usageLimit,
+    int usageCount,
+    IdSet targetIds
+) {
+
+    static PromotionRule compile(Promotion promotion) {
+        List<Long> targetIds = promotion.getApplyTo() == null || promotion.getPromotionApplies() == null
+            ? List.of()
+            : promotion.getPromotionApplies().stream()
+                .map(targetIdOf(promotion.getApplyTo()))
+                .filter(Objects::nonNull)
+                .toList();
+        return new PromotionRule(
+            promotion.getId(),
+            promotion.getName(),
+            promotion.getCouponCode(),
+            promotion.isAutomatic(),
+            promotion.getStartDate(),
+            promotion.getEndDate(),
+            promotion.getApplyTo(),
+            promotion.getDiscountType(),
+            DiscountType.FIXED.equals(promotion.getDiscountType())
+                ? promotion.getDiscountAmount() : promotion.getDiscountPercentage(),
+            Objects.requireNonNullElse(promotion.getMinimumOrderPurchaseAmount(), 0L),
+            promotion.getUsageType(),
+            promotion.getUsageLimit(),
+            promotion.getUsageCount(),
+            IdSet.of(targetIds)
+        );
+    }
+
+    private static Function<PromotionApply, Long> targetIdOf(ApplyTo applyTo) {
+        return switch (applyTo) {
+            case PRODUCT -> PromotionApply::getProductId;
+            case CATEGORY -> PromotionApply::getCategoryId;
+            case BRAND -> PromotionApply::getBrandId;
+        };
+    }
+
+    PromotionRule withUsageCount(int newUsageCount) {
+        return new PromotionRule(id, name, couponCode, automatic, startDate, endDate, applyTo, discountType,
+            discountValue, minimumOrderPurchaseAmount, usageType, usageLimit, newUsageCount, targetIds);
+    }
+
+    boolean isExhausted() {
+        return UsageType.LIMITED.equals(usageType) && usageLimit <= usageCount;
+    }
+
+    boolean acceptsOrderPrice(Long orderPrice) {
+        return orderPrice != null && orderPrice > 0 && orderPrice >= minimumOrderPurchaseAmount;
+    }
+
+    boolean acceptsOrderPrice(BigDecimal orderPrice) {
+        return orderPrice.signum() > 0 && orderPrice.compareTo(BigDecimal.valueOf(minimumOrderPurchaseAmount)) >= 0;
+    }
+
+    /**
+     * Computes the discount on the part of an order the promotion applies to: a percentage of it, or a fixed amount
+     * that is capped by it.
+     *
+     * @param subtotal the price of the items the promotion applies to
+     * @return the discount, rounded to cents
+     */
+    BigDecimal discountOn(BigDecimal subtotal) {
+        long value = Objects.requireNonNullElse(discountValue, 0L);
+        BigDecimal discount = DiscountType.FIXED.equals(discountType)
+            ? BigDecimal.valueOf(value).min(subtotal)
+            : subtotal.multiply(BigDecimal.valueOf(value)).movePointLeft(2);
+        return discount.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Checks a product ID alone, which only decides for promotions applied to products.
+     */
+    boolean appliesToProduct(Long productId) {
+        return ApplyTo.PRODUCT.equals(applyTo) && targetIds.contains(productId);
+    }
+
+    boolean appliesTo(ProductClassificationVm product) {
+        if (applyTo == null) {
+            return false;
+        }
+        return switch (applyTo) {
+            case PRODUCT -> targetIds.contains(product.id());
+            case BRAND -> targetIds.contains(product.brandId());
+            case CATEGORY -> product.categoryIds() != null
+                && product.categoryIds().stream().anyMatch(targetIds::contains);
+        };
+    }
+
+    /**
+     * A set of entity IDs backed by a bit set. IDs beyond the range of a bit set index, which sequences do not reach
+     * in practice, are kept apart in a hash set.
+     */
+    static final class IdSet {
+
+        private final BitSet bits;
+        private final Set<Long> largeIds;
+
+        private IdSet(BitSet bits, Set<Long> largeIds) {
+            this.bits = bits;
+            this.largeIds = largeIds;
+        }
+
+        static IdSet of(List<Long> ids) {
+            BitSet bits = new BitSet();
+            Set<Long> largeIds = new HashSet<>();
+            for (Long id : ids) {
+                if (id >= 0 && id <= Integer.MAX_VALUE) {
+                    bits.set(id.intValue());
+                } else {
+                    largeIds.add(id);
+                }
+            }
+            return new IdSet(bits, largeIds.isEmpty() ? Set.of() : largeIds);
+        }
+
+        boolean contains(Long id) {
+            if (id == null) {
+                return false;
+            }
+            if (id >= 0 && id <= Integer.MAX_VALUE) {
+                return bits.get(id.intValue());
+            }
+            return largeIds.contains(id);
+        }
+
+        boolean isEmpty() {
+            return bits.isEmpty() && largeIds.isEmpty();
+        }
+
+        LongStream stream() {
+            return LongStream.concat(bits.stream().asLongStream(), largeIds.stream().mapToLong(Long::longValue));
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.yas.promotion.service;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.repository.ActivePromotionsVersion;
+import com.yas.promotion.repository.PromotionRepository;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the active promotions compiled in memory by coupon code. Promotions written through this instance are
+ * recompiled right away. Those written by other instances, including their usage counts, are picked up within the
+ * change check interval: a cheap version query tells whether the active promotions changed, and only then are they
+ * reloaded. A full reload also runs periodically, and a coupon code that is not compiled yet is loaded on its first
+ * lookup. The automatic promotions among them are also kept in an {@link AutomaticPromotionIndex}, rebuilt whenever
+ * one of them changes.
+ *
+ * <p>The compiled promotions and their index are never modified in place: every change builds a new
+ * {@link CompiledRules} and swaps it in through a volatile reference, so readers always see a complete set.
+ *
+ * <p>Writes made in a transaction reach the compiled promotions once it commits, so a rolled back write leaves no
+ * trace in them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionRuleEngine {
+
+    private final PromotionRepository promotionRepository;
+
+    private volatile CompiledRules compiledRules = CompiledRules.EMPTY;
+
+    /**
+     * Counts the changes made through this instance, so a reload that overlapped one does not overwrite it.
+     */
+    private long localChanges;
+
+    private ActivePromotionsVersion loadedVersion;
+
+    @Scheduled(fixedDelayString = "${yas.promotion.rule-engine.change-check-interval-ms:5000}")
+    public void reloadIfChanged() {
+        ActivePromotionsVersion version = promotionRepository.findActivePromotionsVersion();
+        synchronized (this) {
+            if (loadedVersion != null && loadedVersion.equals(version)) {
+                return;
+            }
+        }
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${yas.promotion.rule-engine.reload-interval-ms:60000}")
+    public void reload() {
+        long localChangesBefore;
+        synchronized (this) {
+            localChangesBefore = localChanges;
+        }
+        ActivePromotionsVersion version = promotionRepository.findActivePromotionsVersion();
+        Map<String, PromotionRule> rules = new HashMap<>();
+        for (Promotion promotion : promotionRepository.findWithPromotionAppliesByIsActiveTrue()) {
+            rules.put(promotion.getCouponCode(), PromotionRule.compile(promotion));
+        }
+        synchronized (this) {
+            if (localChanges != localChangesBefore) {
+                // The next change check loads again, after the overlapping change
+                loadedVersion = null;
+                return;
+            }
+            compiledRules = CompiledRules.of(rules);
+            loadedVersion = version;
+        }
+        log.debug("Compiled {} active promotions", rules.size());
+    }
+
+    /**
+     * Finds the active promotion of a coupon code, loading it if it was created since the last reload.
+     *
+     * @param couponCode the coupon code
+     * @return the compiled promotion, or empty if no active promotion has this coupon code
+     */
+    Optional<PromotionRule> findByCouponCode(String couponCode) {
+        if (couponCode == null) {
+            return Optional.empty();
+        }
+        PromotionRule rule = compiledRules.byCouponCode().get(couponCode);
+        if (rule != null) {
+            return Optional.of(rule);
+        }
+        return promotionRepository.findWithPromotionAppliesByCouponCodeAndIsActiveTrue(couponCode)
+            .map(promotion -> {
+                PromotionRule compiled = PromotionRule.compile(promotion);
+                update(compiled.automatic(), rules -> rules.put(couponCode, compiled));
+                return compiled;
+            });
+    }
+
+    /**
+     * Recompiles a promotion after it was written, dropping it if it is no longer active. The promotion is compiled
+     * right away, while its applies can still be loaded, and swapped in once the transaction commits.
+     *
+     * @param promotion the saved promotion, with its applies loaded
+     */
+    public void refresh(Promotion promotion) {
+        Long promotionId = promotion.getId();
+        String couponCode = promotion.getCouponCode();
+        PromotionRule compiled = Boolean.TRUE.equals(promotion.getIsActive()) ? PromotionRule.compile(promotion) : null;
+        afterCommit(() -> {
+            boolean automatic = compiled != null && compiled.automatic()
+                || compiledRules.automaticIndex().contains(promotionId);
+            update(automatic, rules -> {
+                rules.values().removeIf(rule -> rule.id().equals(promotionId));
+                if (compiled != null) {
+                    rules.put(couponCode, compiled);
+                }
+            });
+        });
+    }
+
+    /**
+     * Adds usages to a compiled coupon promotion once they are committed, so verification sees them before the next
+     * reload. Automatic promotions have no usages: their coupon code cannot be redeemed.
+     */
+    void recordUsage(PromotionRule rule, int quantity) {
+        afterCommit(() -> update(false, rules -> rules.computeIfPresent(rule.couponCode(),
+            (couponCode, compiled) -> compiled.id().equals(rule.id())
+                ? compiled.withUsageCount(compiled.usageCount() + quantity) : compiled)));
+    }
+
+    /**
+     * Drops a compiled promotion, right away so it is no longer served, and again once the transaction commits in
+     * case a lookup compiled the old version meanwhile.
+     */
+    public void evict(Long promotionId) {
+        Runnable evict = () -> update(compiledRules.automaticIndex().contains(promotionId),
+            rules -> rules.values().removeIf(rule -> rule.id().equals(promotionId)));
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(evict);
+        }
+    }
+
+    /**
+     * Runs a change once the current transaction commits, or right away outside a transaction.
+     */
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    AutomaticPromotionIndex getAutomaticIndex() {
+        return compiledRules.automaticIndex();
+    }
+
+    private synchronized void update(boolean rebuildAutomaticIndex, Consumer<Map<String, PromotionRule>> change) {
+        CompiledRules current = compiledRules;
+        Map<String, PromotionRule> rules = new HashMap<>(current.byCouponCode());
+        change.accept(rules);
+        compiledRules = rebuildAutomaticIndex
+            ? CompiledRules.of(rules)
+            : new CompiledRules(rules, current.automaticIndex());
+        localChanges++;
+    }
+
+    /**
+     * One consistent set of compiled promotions. The map is not modified once the set is published.
+     */
+    private record CompiledRules(Map<String, PromotionRule> byCouponCode, AutomaticPromotionIndex automaticIndex) {
+
+        static final CompiledRules EMPTY = new CompiledRules(Map.of(), AutomaticPromotionIndex.EMPTY);
+
+        static CompiledRules of(Map<String, PromotionRule> rules) {
+            return new CompiledRules(rules, new AutomaticPromotionIndex(rules.values().stream()
+                .filter(PromotionRule::automatic)
+                .sorted(Comparator.comparing(PromotionRule::id))
+                .toList()));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.yas.promotion.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * An interval tree over the date windows of promotions. The windows are sorted by start and laid out as an implicit
+ * balanced tree, each node keeping the latest end of its subtree, so the promotions running at a given time are
+ * found without visiting the subtrees that ended before it. A missing start or end leaves the window open.
+ */
+final class PromotionSchedule {
+
+    private final int[] ordinals;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final long[] boundaries;
+
+    /**
+     * Builds the schedule of promotions.
+     *
+     * @param rules the promotions, by ordinal
+     */
+    PromotionSchedule(List<PromotionRule> rules) {
+        int size = rules.size();
+        ordinals = IntStream.range(0, size).boxed()
+            .sorted(Comparator.comparingLong(ordinal -> startOf(rules.get(ordinal))))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        starts = new long[size];
+        ends = new long[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = startOf(rules.get(ordinals[i]));
+            ends[i] = endOf(rules.get(ordinals[i]));
+        }
+        maxEnds = new long[size];
+        computeMaxEnds(0, size);
+
+        // The times at which the running promotions change: the starts, and the instants right after the ends
+        long[] changes = new long[size * 2];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (starts[i] != Long.MIN_VALUE) {
+                changes[count++] = starts[i];
+            }
+            if (ends[i] != Long.MAX_VALUE) {
+                changes[count++] = ends[i] + 1;
+            }
+        }
+        boundaries = Arrays.stream(changes, 0, count).sorted().distinct().toArray();
+    }
+
+    /**
+     * Finds the promotions whose window contains a time, ends included.
+     *
+     * @param time the time, in epoch milliseconds
+     * @return the ordinals of the running promotions
+     */
+    BitSet runningAt(long time) {
+        BitSet running = new BitSet();
+        collectRunning(0, ordinals.length, time, running);
+        return running;
+    }
+
+    /**
+     * @return the last time up to {@code time} at which the running promotions changed, or {@link Long#MIN_VALUE}
+     */
+    long lastChangeAtOrBefore(long time) {
+        int index = Arrays.binarySearch(boundaries, time);
+        int last = index >= 0 ? index : -index - 2;
+        return last >= 0 ? boundaries[last] : Long.MIN_VALUE;
+    }
+
+    /**
+     * @return the first time after {@code time} at which the running promotions change, or {@link Long#MAX_VALUE}
+     */
+    long nextChangeAfter(long time) {
+        int index = Arrays.binarySearch(boundaries, time);
+        int next = index >= 0 ? index + 1 : -index - 1;
+        return next < boundaries.length ? boundaries[next] : Long.MAX_VALUE;
+    }
+
+    private long computeMaxEnds(int from, int to) {
+        if (from >= to) {
+            return Long.MIN_VALUE;
+        }
+        int middle = (from + to) >>> 1;
+        maxEnds[middle] = Math.max(ends[middle],
+            Math.max(computeMaxEnds(from, middle), computeMaxEnds(middle + 1, to)));
+        return maxEnds[middle];
+    }
+
+    private void collectRunning(int from, int to, long time, BitSet running) {
+        if (from >= to) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        if (maxEnds[middle] < time) {
+            return;
+        }
+        collectRunning(from, middle, time, running);
+        if (starts[middle] > time) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (ends[middle] >= time) {
+            running.set(ordinals[middle]);
+        }
+        collectRunning(middle + 1, to, time, running);
+    }
+
+    private static long startOf(PromotionRule rule) {
+        return rule.startDate() != null ? rule.startDate().toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private static long endOf(PromotionRule rule) {
+        return rule.endDate() != null ? rule.endDate().toEpochMilli() : Long.MAX_VALUE;
+    }
+}
@@ -5,15 +5,14 @@ import com.yas.commonlibrary.exception.DuplicatedException;
 import com.yas.commonlibrary.exception.NotFoundException;
 import com.yas.promotion.model.Promotion;
 import com.yas.promotion.model.PromotionApply;
-import com.yas.promotion.model.PromotionUsage;
-import com.yas.promotion.model.enumeration.DiscountType;
-import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.model.enumeration.ApplyTo;
 import com.yas.promotion.repository.PromotionRepository;
 import com.yas.promotion.repository.PromotionUsageRepository;
 import com.yas.promotion.utils.AuthenticationUtils;
 import com.yas.promotion.utils.Constants;
 import com.yas.promotion.viewmodel.BrandVm;
 import com.yas.promotion.viewmodel.CategoryGetVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
 import com.yas.promotion.viewmodel.ProductVm;
 import com.yas.promotion.viewmodel.PromotionDetailVm;
 import com.yas.promotion.viewmodel.PromotionListVm;
@@ -27,23 +26,33 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class PromotionService {
+
+    private static final String INSERT_PROMOTION_USAGE =
+            "INSERT INTO promotion_usage (promotion_id, user_id, order_id, product_id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_ORDER_USAGES =
+            "DELETE FROM promotion_usage WHERE order_id = ? AND user_id = ? RETURNING promotion_id";
+
     private final PromotionRepository promotionRepository;
     private final PromotionUsageRepository promotionUsageRepository;
     private final ProductService productService;
+    private final PromotionRuleEngine promotionRuleEngine;
+    private final JdbcTemplate jdbcTemplate;
 
     public PromotionDetailVm createPromotion(PromotionPostVm promotionPostVm) {
         validateNewPromotion(promotionPostVm);
@@ -60,6 +69,7 @@ public class PromotionService {
                 .discountPercentage(promotionPostVm.getDiscountPercentage())
                 .discountAmount(promotionPostVm.getDiscountAmount())
                 .isActive(promotionPostVm.isActive())
+                .isAutomatic(Boolean.TRUE.equals(promotionPostVm.getIsAutomatic()))
                 .startDate(promotionPostVm.getStartDate().toInstant())
                 .endDate(promotionPostVm.getEndDate().toInstant())
                 .minimumOrderPurchaseAmount(promotionPostVm.getMinimumOrderPurchaseAmount())
@@ -69,7 +79,9 @@ public class PromotionService {
                 PromotionPostVm.createPromotionApplies(promotionPostVm, promotion);
         promotion.setPromotionApplies(promotionApplies);
 
-        return PromotionDetailVm.fromModel(promotionRepository.save(promotion));
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        promotionRuleEngine.refresh(savedPromotion);
+        return PromotionDetailVm.fromModel(savedPromotion);
     }
 
     private void validateNewPromotion(PromotionPostVm promotionPostVm) {
@@ -100,6 +112,7 @@ public class PromotionService {
         promotion.setDiscountPercentage(promotionPutVm.getDiscountPercentage());
         promotion.setDiscountAmount(promotionPutVm.getDiscountAmount());
         promotion.setIsActive(promotionPutVm.getIsActive());
+        promotion.setAutomatic(Boolean.TRUE.equals(promotionPutVm.getIsAutomatic()));
         promotion.setStartDate(promotionPutVm.getStartDate().toInstant());
         promotion.setEndDate(promotionPutVm.getEndDate().toInstant());
         promotion.setMinimumOrderPurchaseAmount(promotionPutVm.getMinimumOrderPurchaseAmount());
@@ -107,6 +120,7 @@ public class PromotionService {
         promotion.setPromotionApplies(PromotionPutVm.createPromotionApplies(promotionPutVm, promotion));
 
         promotion = promotionRepository.save(promotion);
+        promotionRuleEngine.refresh(promotion);
         return PromotionDetailVm.fromModel(promotion);
     }
 
@@ -187,6 +201,7 @@ public class PromotionService {
             throw new BadRequestException(Constants.ErrorCode.PROMOTION_IN_USE_ERROR_MESSAGE, id);
         }
         promotionRepository.deleteById(id);
+        promotionRuleEngine.evict(id);
     }
 
     public PromotionDetailVm getPromotion(Long promotionId) {
@@ -198,105 +213,107 @@ public class PromotionService {
     }
 
     public PromotionVerifyResultDto verifyPromotion(PromotionVerifyVm promotionVerifyData) {
-        Optional<Promotion> promotionOp =
-                promotionRepository.findByCouponCodeAndIsActiveTrue(promotionVerifyData.couponCode());
-        if (promotionOp.isEmpty()) {
-            throw new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE,
-                    promotionVerifyData.couponCode());
-        }
+        PromotionRule promotionRule = findCouponRule(promotionVerifyData.couponCode());
 
-        Promotion promotion = promotionOp.get();
-
-        if (isExhaustedUsageQuantity(promotion)) {
+        if (promotionRule.isExhausted()) {
             throw new BadRequestException(Constants.ErrorCode.EXHAUSTED_USAGE_QUANTITY);
         }
 
-        if (isInvalidOrderPrice(promotionVerifyData, promotion)) {
+        if (!promotionRule.acceptsOrderPrice(promotionVerifyData.orderPrice())) {
             throw new BadRequestException(Constants.ErrorCode.INVALID_MINIMUM_ORDER_PURCHASE_AMOUNT);
         }
 
-        List<ProductVm> products = getProductsCanApplyPromotion(promotion);
-        if (CollectionUtils.isEmpty(products)) {
-            throw new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION);
-        }
-
-        List<Long> productInPromotionIds = products.stream().map(ProductVm::id).toList();
-        List<Long> commonProductIds = new ArrayList<>(promotionVerifyData.productIds());
-        commonProductIds.retainAll(productInPromotionIds);
-        if (CollectionUtils.isEmpty(commonProductIds)) {
+        // Product promotions are matched on the IDs alone, the others need the brand and categories of the cart
+        List<Long> candidateProductIds = CollectionUtils.emptyIfNull(promotionVerifyData.productIds()).stream()
+                .filter(productId -> !ApplyTo.PRODUCT.equals(promotionRule.applyTo())
+                        || promotionRule.appliesToProduct(productId))
+                .distinct()
+                .toList();
+        if (candidateProductIds.isEmpty()) {
             throw new NotFoundException(Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION);
         }
 
-        List<ProductVm> productsCanApply = products.stream()
-                .filter(product -> commonProductIds.contains(product.id()))
-                .sorted(Comparator.comparing(ProductVm::price)).toList();
-
-        return new PromotionVerifyResultDto(true, productsCanApply.getFirst().id(),
-                promotion.getCouponCode(),
-                promotion.getDiscountType(),
-                DiscountType.FIXED.equals(promotion.getDiscountType())
-                        ? promotion.getDiscountAmount() : promotion.getDiscountPercentage());
+        ProductClassificationVm cheapestProduct =
+                CollectionUtils.emptyIfNull(productService.getProductClassifications(candidateProductIds)).stream()
+                        .filter(promotionRule::appliesTo)
+                        .min(Comparator.comparing(ProductClassificationVm::price,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                        .orElseThrow(() -> new NotFoundException(
+                                Constants.ErrorCode.PRODUCT_NOT_FOUND_TO_APPLY_PROMOTION));
+
+        return new PromotionVerifyResultDto(true, cheapestProduct.id(),
+                promotionRule.couponCode(),
+                promotionRule.discountType(),
+                promotionRule.discountValue());
     }
 
-    private boolean isInvalidOrderPrice(PromotionVerifyVm promotionVerifyData, Promotion promotion) {
-        return promotionVerifyData.orderPrice() <= 0
-                || promotionVerifyData.orderPrice() < promotion.getMinimumOrderPurchaseAmount();
+    /**
+     * Records the usages of an order. The usages of each coupon are added to its count in one conditional update,
+     * so concurrent orders can neither lose usages nor go past the usage limit, and the usage rows are inserted in
+     * one batch.
+     *
+     * @param promotionUsageVms the usages, one per order item bought with a coupon
+     */
+    public void updateUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
+        String userId = AuthenticationUtils.extractUserId();
+        Map<String, List<PromotionUsageVm>> usagesByCouponCode = new LinkedHashMap<>();
+        promotionUsageVms.forEach(usage -> usagesByCouponCode
+                .computeIfAbsent(usage.promotionCode(), couponCode -> new ArrayList<>())
+                .add(usage));
+
+        List<Object[]> usageRows = new ArrayList<>(promotionUsageVms.size());
+        usagesByCouponCode.forEach((couponCode, usages) -> {
+            Long promotionId = reserveUsages(couponCode, usages.size());
+            usages.forEach(usage -> usageRows.add(
+                    new Object[]{promotionId, userId, usage.orderId(), usage.productId()}));
+        });
+        jdbcTemplate.batchUpdate(INSERT_PROMOTION_USAGE, usageRows);
     }
 
-    private boolean isExhaustedUsageQuantity(Promotion promotion) {
-        return UsageType.LIMITED.equals(promotion.getUsageType())
-                && promotion.getUsageLimit() <= promotion.getUsageCount();
+    /**
+     * Gives back the usages recorded for orders of the current user, when an order fails after its usages were
+     * recorded. Only the usages still recorded are released, so releasing an order again has no further effect.
+     *
+     * @param promotionUsageVms the usages of the failed orders, only their order IDs are used
+     */
+    public void releaseUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
+        String userId = AuthenticationUtils.extractUserId();
+        Map<Long, Integer> releasedByPromotionId = new LinkedHashMap<>();
+        promotionUsageVms.stream()
+                .map(PromotionUsageVm::orderId)
+                .distinct()
+                .forEach(orderId -> jdbcTemplate.queryForList(DELETE_ORDER_USAGES, Long.class, orderId, userId)
+                        .forEach(promotionId -> releasedByPromotionId.merge(promotionId, 1, Integer::sum)));
+        releasedByPromotionId.forEach((promotionId, quantity) -> {
+            promotionRepository.decrementUsageCount(promotionId, quantity);
+            promotionRuleEngine.evict(promotionId);
+        });
     }
 
-    private List<ProductVm> getProductsCanApplyPromotion(Promotion promotion) {
-        switch (promotion.getApplyTo()) {
-            case CATEGORY -> {
-                List<Long> categoryIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getCategoryId)
-                        .toList();
-                return productService.getProductByCategoryIds(categoryIds);
-            }
-            case BRAND -> {
-                List<Long> brandIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getBrandId)
-                        .toList();
-                return productService.getProductByBrandIds(brandIds);
-            }
-            case PRODUCT -> {
-                List<Long> productIds = promotion.getPromotionApplies().stream()
-                        .map(PromotionApply::getProductId)
-                        .toList();
-                return productService.getProductByIds(productIds);
-            }
-            default -> {
-                return Collections.emptyList();
+    private Long reserveUsages(String couponCode, int quantity) {
+        PromotionRule promotionRule = findCouponRule(couponCode);
+
+        if (promotionRepository.incrementUsageCount(promotionRule.id(), quantity) == 0) {
+            // The compiled promotion was stale: it was deactivated, deleted or used up elsewhere
+            promotionRuleEngine.evict(promotionRule.id());
+            if (promotionRepository.findByCouponCodeAndIsActiveTrue(couponCode).isEmpty()) {
+                throw new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE, couponCode);
             }
+            throw new BadRequestException(Constants.ErrorCode.EXHAUSTED_USAGE_QUANTITY);
         }
+        promotionRuleEngine.recordUsage(promotionRule, quantity);
+        return promotionRule.id();
     }
 
-    public void updateUsagePromotion(List<PromotionUsageVm> promotionUsageVms) {
-        for (PromotionUsageVm promotionUsageVm : promotionUsageVms) {
-            Optional<Promotion> promotion =
-                    promotionRepository.findByCouponCodeAndIsActiveTrue(promotionUsageVm.promotionCode());
-
-            if (!promotion.isPresent()) {
-                throw new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE,
-                        promotionUsageVm.promotionCode());
-            }
-
-            PromotionUsage promotionUsage = PromotionUsage.builder()
-                    .promotion(promotion.get())
-                    .userId(AuthenticationUtils.extractUserId())
-                    .productId(promotionUsageVm.productId())
-                    .orderId(promotionUsageVm.orderId())
-                    .build();
-
-            promotionUsageRepository.save(promotionUsage);
-
-            Promotion existingPromotion = promotion.get();
-            existingPromotion.setUsageCount(existingPromotion.getUsageCount() + 1);
-            promotionRepository.save(existingPromotion);
-        }
+    /**
+     * Finds the promotion a customer redeems with a coupon code. Automatic promotions are applied by evaluation
+     * only: their coupon code cannot be redeemed on top of them, so it is reported as not found.
+     */
+    private PromotionRule findCouponRule(String couponCode) {
+        return promotionRuleEngine.findByCouponCode(couponCode)
+                .filter(promotionRule -> !promotionRule.automatic())
+                .orElseThrow(() -> new NotFoundException(Constants.ErrorCode.PROMOTION_NOT_FOUND_ERROR_MESSAGE,
+                        couponCode));
     }
 
 }
\ No newline at end of file
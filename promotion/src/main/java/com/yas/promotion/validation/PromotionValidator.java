@@ -22,7 +22,8 @@ public class PromotionValidator implements ConstraintValidator<PromotionConstrai
     public boolean isValid(PromotionDto promotionDto, ConstraintValidatorContext constraintValidatorContext) {
         boolean isValid = true;
         if (UsageType.LIMITED.equals(promotionDto.getUsageType())) {
-            isValid = promotionDto.getUsageLimit() > 0;
+            // Automatic promotions are applied without a coupon, so no usage of them is recorded to limit
+            isValid = promotionDto.getUsageLimit() > 0 && !Boolean.TRUE.equals(promotionDto.getIsAutomatic());
         }
 
         isValid = isValid && isValidDiscountType(promotionDto);
@@ -0,0 +1,15 @@
+package com.yas.promotion.viewmodel;
+
+import com.yas.promotion.model.enumeration.DiscountType;
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AppliedPromotionVm(
+    Long promotionId,
+    String name,
+    DiscountType discountType,
+    Long discountValue,
+    List<Long> productIds,
+    BigDecimal discountAmount
+) {
+}
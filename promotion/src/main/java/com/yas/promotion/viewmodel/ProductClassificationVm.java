@@ -0,0 +1,6 @@
+package com.yas.promotion.viewmodel;
+
+import java.util.List;
+
+public record ProductClassificationVm(Long id, Double price, Long brandId, List<Long> categoryIds) {
+}
@@ -24,6 +24,7 @@ public record PromotionDetailVm(Long id,
                                 Long discountAmount,
                                 Long minimumOrderPurchaseAmount,
                                 Boolean isActive,
+                                boolean isAutomatic,
                                 Instant startDate,
                                 Instant endDate,
                                 List<BrandVm> brands,
@@ -46,6 +47,7 @@ public record PromotionDetailVm(Long id,
                 .minimumOrderPurchaseAmount(promotion.getMinimumOrderPurchaseAmount())
                 .discountAmount(promotion.getDiscountAmount())
                 .isActive(promotion.getIsActive())
+                .isAutomatic(promotion.isAutomatic())
                 .startDate(promotion.getStartDate())
                 .endDate(promotion.getEndDate())
                 .build();
@@ -68,6 +70,7 @@ public record PromotionDetailVm(Long id,
             .discountAmount(promotion.getDiscountAmount())
             .minimumOrderPurchaseAmount(promotion.getMinimumOrderPurchaseAmount())
             .isActive(promotion.getIsActive())
+            .isAutomatic(promotion.isAutomatic())
             .startDate(promotion.getStartDate())
             .endDate(promotion.getEndDate())
             .brands(brands)
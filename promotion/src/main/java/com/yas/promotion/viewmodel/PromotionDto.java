@@ -28,6 +28,7 @@ public class PromotionDto {
     private Long discountPercentage;
     private Long discountAmount;
     private int usageLimit;
+    private Boolean isAutomatic;
     private List<Long> productIds;
     private List<Long> brandIds;
     private List<Long> categoryIds;
@@ -0,0 +1,7 @@
+package com.yas.promotion.viewmodel;
+
+public record PromotionEvaluationItemVm(
+    Long productId,
+    int quantity
+) {
+}
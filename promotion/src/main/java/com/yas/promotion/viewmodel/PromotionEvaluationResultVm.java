@@ -0,0 +1,11 @@
+package com.yas.promotion.viewmodel;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PromotionEvaluationResultVm(
+    List<AppliedPromotionVm> appliedPromotions,
+    BigDecimal subtotal,
+    BigDecimal totalDiscount
+) {
+}
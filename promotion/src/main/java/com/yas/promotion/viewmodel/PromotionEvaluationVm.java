@@ -0,0 +1,8 @@
+package com.yas.promotion.viewmodel;
+
+import java.util.List;
+
+public record PromotionEvaluationVm(
+    List<PromotionEvaluationItemVm> items
+) {
+}
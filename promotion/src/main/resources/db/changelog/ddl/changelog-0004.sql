@@ -0,0 +1,5 @@
+--liquibase formatted sql
+
+--changeset yas:promotion-automatic
+-- Automatic promotions apply to every eligible cart without the customer entering their coupon code.
+ALTER TABLE promotion ADD COLUMN is_automatic boolean NOT NULL DEFAULT false;
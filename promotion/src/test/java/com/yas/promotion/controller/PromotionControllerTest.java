@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.yas.promotion.viewmodel.PromotionVerifyResultDto;
 import com.yas.promotion.viewmodel.PromotionVerifyVm;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -36,8 +37,13 @@ import com.yas.promotion.PromotionApplication;
 import com.yas.promotion.model.enumeration.ApplyTo;
 import com.yas.promotion.model.enumeration.DiscountType;
 import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.service.PromotionEvaluationService;
 import com.yas.promotion.service.PromotionService;
+import com.yas.promotion.viewmodel.AppliedPromotionVm;
 import com.yas.promotion.viewmodel.PromotionDetailVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationItemVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationResultVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationVm;
 import com.yas.promotion.viewmodel.PromotionListVm;
 import com.yas.promotion.viewmodel.PromotionPostVm;
 import com.yas.promotion.viewmodel.PromotionPutVm;
@@ -51,6 +57,9 @@ class PromotionControllerTest {
     @MockBean
     private PromotionService promotionService;
 
+    @MockBean
+    private PromotionEvaluationService promotionEvaluationService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -353,12 +362,31 @@ class PromotionControllerTest {
 
         when(promotionService.verifyPromotion(promotionVerifyInfo)).thenReturn(expectedResult);
 
-        PromotionController promotionController = new PromotionController(promotionService);
+        PromotionController promotionController = new PromotionController(promotionService, promotionEvaluationService);
         ResponseEntity<PromotionVerifyResultDto> response = promotionController.verifyPromotion(promotionVerifyInfo);
 
         assertEquals(expectedResult, response.getBody());
     }
 
+    @Test
+    void testEvaluatePromotions_whenCartMatchesAutomaticPromotion_thenReturnAppliedPromotions() throws Exception {
+        PromotionEvaluationVm promotionEvaluationVm = new PromotionEvaluationVm(
+            List.of(new PromotionEvaluationItemVm(1L, 2), new PromotionEvaluationItemVm(2L, 1)));
+        PromotionEvaluationResultVm result = new PromotionEvaluationResultVm(
+            List.of(new AppliedPromotionVm(5L, "Summer sale", DiscountType.PERCENTAGE, 10L, List.of(1L),
+                new BigDecimal("2.00"))),
+            new BigDecimal("30.00"),
+            new BigDecimal("2.00"));
+
+        when(promotionEvaluationService.evaluatePromotions(promotionEvaluationVm)).thenReturn(result);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/storefront/promotions/evaluate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectWriter.writeValueAsString(promotionEvaluationVm)))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().json(objectWriter.writeValueAsString(result)));
+    }
+
     private static @NotNull PromotionPutVm getPromotionPutVm() {
         PromotionPutVm promotionPutVm = new PromotionPutVm();
         promotionPutVm.setId(1L);
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 import com.yas.promotion.config.ServiceUrlConfig;
 import com.yas.promotion.viewmodel.BrandVm;
 import com.yas.promotion.viewmodel.CategoryGetVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
 import com.yas.promotion.viewmodel.ProductVm;
 import java.net.URI;
 import java.time.ZonedDateTime;
@@ -143,13 +144,13 @@ class ProductServiceTest {
     }
 
     @Test
-    void testGetProductByCategoryIds_ifNormalCase_returnProductVms() {
+    void testGetProductClassifications_ifNormalCase_returnProductClassificationVms() {
 
-        List<Long> ids = List.of(1L);
+        List<Long> ids = List.of(1L, 2L);
 
         URI url = UriComponentsBuilder
             .fromHttpUrl(serviceUrlConfig.product())
-            .path("/backoffice/products/by-categories")
+            .path("/products/classifications")
             .queryParams(createIdParams(ids))
             .build()
             .toUri();
@@ -160,40 +161,16 @@ class ProductServiceTest {
         when(requestHeadersUriSpec.headers(any())).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
 
-        when(responseSpec.toEntity(new ParameterizedTypeReference<List<ProductVm>>() {}))
-            .thenReturn(ResponseEntity.ok(createProductVms()));
-
-        List<ProductVm> result = productService.getProductByCategoryIds(ids);
+        when(responseSpec.toEntity(new ParameterizedTypeReference<List<ProductClassificationVm>>() {}))
+            .thenReturn(ResponseEntity.ok(List.of(
+                new ProductClassificationVm(1L, 100.0, 5L, List.of(7L)),
+                new ProductClassificationVm(2L, 50.0, null, List.of()))));
 
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().id()).isEqualTo(1);
-    }
+        List<ProductClassificationVm> result = productService.getProductClassifications(ids);
 
-    @Test
-    void testGetProductByBrandIds_ifNormalCase_returnProductVms() {
-
-        List<Long> ids = List.of(1L);
-
-        URI url = UriComponentsBuilder
-            .fromHttpUrl(serviceUrlConfig.product())
-            .path("/backoffice/products/by-brands")
-            .queryParams(createIdParams(ids))
-            .build()
-            .toUri();
-
-        RestClient.RequestHeadersUriSpec requestHeadersUriSpec = Mockito.mock(RestClient.RequestHeadersUriSpec.class);
-        when(restClient.get()).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.uri(url)).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.headers(any())).thenReturn(requestHeadersUriSpec);
-        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
-
-        when(responseSpec.toEntity(new ParameterizedTypeReference<List<ProductVm>>() {}))
-            .thenReturn(ResponseEntity.ok(createProductVms()));
-
-        List<ProductVm> result = productService.getProductByBrandIds(ids);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().id()).isEqualTo(1);
+        assertThat(result).hasSize(2);
+        assertThat(result.getFirst().brandId()).isEqualTo(5L);
+        assertThat(result.getFirst().categoryIds()).containsExactly(7L);
     }
 
     private MultiValueMap<String, String> createIdParams(List<Long> ids) {
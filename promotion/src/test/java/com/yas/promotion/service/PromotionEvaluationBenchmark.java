@@ -0,0 +1,132 @@
+package com.yas.promotion.service;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationResultVm;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the evaluation of automatic promotions against carts, with promotions spread over products, categories
+ * and brands and over overlapping date windows. Run from the IDE or with
+ * {@code java -cp <test classpath> com.yas.promotion.service.PromotionEvaluationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class PromotionEvaluationBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int CATEGORIES = 500;
+    private static final int BRANDS = 200;
+    private static final int CARTS = 64;
+
+    @Param({"10000"})
+    private int promotions;
+
+    @Param({"50"})
+    private int cartLines;
+
+    private AutomaticPromotionIndex index;
+    private List<List<ProductClassificationVm>> carts;
+    private List<BigDecimal[]> lineSubtotals;
+    private List<BigDecimal> subtotals;
+    private Instant now;
+    private int nextCart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        now = Instant.now();
+        List<PromotionRule> rules = new ArrayList<>(promotions);
+        for (int i = 0; i < promotions; i++) {
+            ApplyTo applyTo = ApplyTo.values()[i % ApplyTo.values().length];
+            Promotion promotion = Promotion.builder()
+                .id((long) i)
+                .name("promotion-" + i)
+                .couponCode("AUTO" + i)
+                .applyTo(applyTo)
+                .discountType(i % 2 == 0 ? DiscountType.PERCENTAGE : DiscountType.FIXED)
+                .discountPercentage(5L + random.nextInt(30))
+                .discountAmount(1L + random.nextInt(20))
+                .usageType(UsageType.UNLIMITED)
+                .isActive(true)
+                .isAutomatic(true)
+                .startDate(now.minus(random.nextInt(60), ChronoUnit.DAYS))
+                .endDate(now.plus(random.nextInt(60) - 10L, ChronoUnit.DAYS))
+                .build();
+            List<PromotionApply> applies = new ArrayList<>();
+            for (int target = 0; target < 5; target++) {
+                PromotionApply.PromotionApplyBuilder apply = PromotionApply.builder().promotion(promotion);
+                applies.add(switch (applyTo) {
+                    case PRODUCT -> apply.productId((long) random.nextInt(PRODUCTS)).build();
+                    case CATEGORY -> apply.categoryId((long) random.nextInt(CATEGORIES)).build();
+                    case BRAND -> apply.brandId((long) random.nextInt(BRANDS)).build();
+                });
+            }
+            promotion.setPromotionApplies(applies);
+            rules.add(PromotionRule.compile(promotion));
+        }
+        index = new AutomaticPromotionIndex(rules);
+
+        carts = new ArrayList<>(CARTS);
+        lineSubtotals = new ArrayList<>(CARTS);
+        subtotals = new ArrayList<>(CARTS);
+        for (int c = 0; c < CARTS; c++) {
+            List<ProductClassificationVm> lines = new ArrayList<>(cartLines);
+            BigDecimal[] lineSubtotal = new BigDecimal[cartLines];
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int line = 0; line < cartLines; line++) {
+                double price = 1 + random.nextInt(50_000) / 100.0;
+                lines.add(new ProductClassificationVm((long) random.nextInt(PRODUCTS), price,
+                    (long) random.nextInt(BRANDS),
+                    List.of((long) random.nextInt(CATEGORIES), (long) random.nextInt(CATEGORIES))));
+                lineSubtotal[line] = BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(1 + random.nextInt(3)));
+                subtotal = subtotal.add(lineSubtotal[line]);
+            }
+            carts.add(lines);
+            lineSubtotals.add(lineSubtotal);
+            subtotals.add(subtotal);
+        }
+    }
+
+    @Benchmark
+    public PromotionEvaluationResultVm evaluateCart() {
+        int cart = nextCart++ & (CARTS - 1);
+        return PromotionEvaluationService.evaluate(index, carts.get(cart), lineSubtotals.get(cart),
+            subtotals.get(cart), now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PromotionEvaluationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,183 @@
+package com.yas.promotion.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.repository.PromotionRepository;
+import com.yas.promotion.viewmodel.AppliedPromotionVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationItemVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationResultVm;
+import com.yas.promotion.viewmodel.PromotionEvaluationVm;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PromotionEvaluationServiceTest {
+
+    private PromotionRepository promotionRepository;
+    private ProductService productService;
+    private PromotionRuleEngine promotionRuleEngine;
+    private PromotionEvaluationService promotionEvaluationService;
+
+    @BeforeEach
+    void setUp() {
+        promotionRepository = mock(PromotionRepository.class);
+        productService = mock(ProductService.class);
+        promotionRuleEngine = new PromotionRuleEngine(promotionRepository);
+        promotionEvaluationService = new PromotionEvaluationService(productService, promotionRuleEngine);
+    }
+
+    @Test
+    void testEvaluatePromotions_whenPromotionsOverlap_thenApplyBestDisjointCombination() {
+        // The brand promotion alone beats each product promotion, but not both of them together
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue()).thenReturn(List.of(
+            promotion(1L, ApplyTo.BRAND, DiscountType.PERCENTAGE, 10L, 7L),
+            promotion(2L, ApplyTo.PRODUCT, DiscountType.FIXED, 8L, 1L),
+            promotion(3L, ApplyTo.PRODUCT, DiscountType.FIXED, 8L, 2L),
+            promotion(4L, ApplyTo.CATEGORY, DiscountType.PERCENTAGE, 50L, 9L)));
+        promotionRuleEngine.reload();
+        when(productService.getProductClassifications(List.of(1L, 2L, 3L))).thenReturn(List.of(
+            new ProductClassificationVm(1L, 50.0, 7L, List.of()),
+            new ProductClassificationVm(2L, 50.0, 7L, List.of()),
+            new ProductClassificationVm(3L, 20.0, null, List.of(9L))));
+
+        PromotionEvaluationResultVm result = promotionEvaluationService.evaluatePromotions(new PromotionEvaluationVm(
+            List.of(item(1L, 2), item(2L, 1), item(3L, 1), item(1L, -1))));
+
+        assertThat(result.subtotal()).isEqualByComparingTo("170");
+        assertThat(result.appliedPromotions()).extracting(AppliedPromotionVm::promotionId)
+            .containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(result.totalDiscount()).isEqualByComparingTo("26.00");
+    }
+
+    @Test
+    void testEvaluatePromotions_whenPromotionIsOutOfWindowOrCartIsTooSmall_thenSkipIt() {
+        Promotion ended = promotion(1L, ApplyTo.PRODUCT, DiscountType.FIXED, 5L, 1L);
+        ended.setEndDate(Instant.now().minus(1, ChronoUnit.DAYS));
+        Promotion minimum = promotion(2L, ApplyTo.PRODUCT, DiscountType.FIXED, 5L, 1L);
+        minimum.setMinimumOrderPurchaseAmount(100L);
+        Promotion exhausted = promotion(3L, ApplyTo.PRODUCT, DiscountType.FIXED, 5L, 1L);
+        exhausted.setUsageType(UsageType.LIMITED);
+        exhausted.setUsageLimit(1);
+        exhausted.setUsageCount(1);
+        Promotion couponOnly = promotion(4L, ApplyTo.PRODUCT, DiscountType.FIXED, 5L, 1L);
+        couponOnly.setAutomatic(false);
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue())
+            .thenReturn(List.of(ended, minimum, exhausted, couponOnly));
+        promotionRuleEngine.reload();
+        when(productService.getProductClassifications(List.of(1L)))
+            .thenReturn(List.of(new ProductClassificationVm(1L, 30.0, null, List.of())));
+
+        PromotionEvaluationResultVm result = promotionEvaluationService.evaluatePromotions(
+            new PromotionEvaluationVm(List.of(item(1L, 1))));
+
+        assertThat(result.appliedPromotions()).isEmpty();
+        assertThat(result.totalDiscount()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void testEvaluatePromotions_whenCartIsEmpty_thenSkipProductLookup() {
+        PromotionEvaluationResultVm result = promotionEvaluationService.evaluatePromotions(
+            new PromotionEvaluationVm(List.of(item(1L, 0))));
+
+        assertThat(result.appliedPromotions()).isEmpty();
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testRefresh_whenAutomaticPromotionIsDeactivated_thenRemoveItFromIndex() {
+        Promotion promotion = promotion(5L, ApplyTo.PRODUCT, DiscountType.FIXED, 5L, 1L);
+        promotionRuleEngine.refresh(promotion);
+        assertThat(promotionRuleEngine.getAutomaticIndex().contains(5L)).isTrue();
+
+        promotion.setIsActive(false);
+        promotionRuleEngine.refresh(promotion);
+
+        assertThat(promotionRuleEngine.getAutomaticIndex().size()).isZero();
+    }
+
+    @Test
+    void testSelect_whenNodeBudgetIsExhausted_thenKeepGreedyCombination() {
+        List<BestDiscountSelector.Option> options = List.of(
+            new BestDiscountSelector.Option(0, lines(0, 1), 10),
+            new BestDiscountSelector.Option(1, lines(0), 6),
+            new BestDiscountSelector.Option(2, lines(1), 6));
+
+        assertThat(BestDiscountSelector.select(options, 0))
+            .extracting(BestDiscountSelector.Option::ordinal).containsExactly(0);
+        assertThat(BestDiscountSelector.select(options))
+            .extracting(BestDiscountSelector.Option::ordinal).containsExactly(1, 2);
+    }
+
+    @Test
+    void testSchedule_whenWindowsOverlap_thenFindRunningPromotionsAndNextChange() {
+        Instant now = Instant.parse("2026-01-10T00:00:00Z");
+        PromotionSchedule schedule = new PromotionSchedule(List.of(
+            rule(now.minus(5, ChronoUnit.DAYS), now.minus(1, ChronoUnit.DAYS)),
+            rule(now.minus(2, ChronoUnit.DAYS), now.plus(2, ChronoUnit.DAYS)),
+            rule(null, now),
+            rule(now.plus(1, ChronoUnit.DAYS), null)));
+
+        assertThat(schedule.runningAt(now.toEpochMilli()).stream()).containsExactly(1, 2);
+        assertThat(schedule.runningAt(now.plus(3, ChronoUnit.DAYS).toEpochMilli()).stream()).containsExactly(3);
+        assertThat(schedule.nextChangeAfter(now.toEpochMilli())).isEqualTo(now.toEpochMilli() + 1);
+        assertThat(schedule.lastChangeAtOrBefore(now.toEpochMilli()))
+            .isEqualTo(now.minus(1, ChronoUnit.DAYS).toEpochMilli() + 1);
+    }
+
+    private static PromotionEvaluationItemVm item(Long productId, int quantity) {
+        return new PromotionEvaluationItemVm(productId, quantity);
+    }
+
+    private static BitSet lines(int... indexes) {
+        BitSet lines = new BitSet();
+        for (int index : indexes) {
+            lines.set(index);
+        }
+        return lines;
+    }
+
+    private static PromotionRule rule(Instant startDate, Instant endDate) {
+        Promotion promotion = promotion(1L, ApplyTo.PRODUCT, DiscountType.FIXED, 1L, 1L);
+        promotion.setStartDate(startDate);
+        promotion.setEndDate(endDate);
+        return PromotionRule.compile(promotion);
+    }
+
+    private static Promotion promotion(Long id, ApplyTo applyTo, DiscountType discountType, Long discountValue,
+                                       Long targetId) {
+        Promotion promotion = Promotion.builder()
+            .id(id)
+            .name("promotion-" + id)
+            .couponCode("AUTO" + id)
+            .applyTo(applyTo)
+            .discountType(discountType)
+            .discountAmount(DiscountType.FIXED.equals(discountType) ? discountValue : 0L)
+            .discountPercentage(DiscountType.PERCENTAGE.equals(discountType) ? discountValue : 0L)
+            .usageType(UsageType.UNLIMITED)
+            .isActive(true)
+            .isAutomatic(true)
+            .startDate(Instant.now().minus(1, ChronoUnit.DAYS))
+            .endDate(Instant.now().plus(1, ChronoUnit.DAYS))
+            .build();
+        PromotionApply.PromotionApplyBuilder apply = PromotionApply.builder().promotion(promotion);
+        promotion.setPromotionApplies(List.of(switch (applyTo) {
+            case PRODUCT -> apply.productId(targetId).build();
+            case CATEGORY -> apply.categoryId(targetId).build();
+            case BRAND -> apply.brandId(targetId).build();
+        }));
+        return promotion;
+    }
+}
@@ -0,0 +1,217 @@
+package com.yas.promotion.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.promotion.model.Promotion;
+import com.yas.promotion.model.PromotionApply;
+import com.yas.promotion.model.enumeration.ApplyTo;
+import com.yas.promotion.model.enumeration.DiscountType;
+import com.yas.promotion.model.enumeration.UsageType;
+import com.yas.promotion.repository.ActivePromotionsVersion;
+import com.yas.promotion.repository.PromotionRepository;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PromotionRuleEngineTest {
+
+    private PromotionRepository promotionRepository;
+    private PromotionRuleEngine promotionRuleEngine;
+
+    @BeforeEach
+    void setUp() {
+        promotionRepository = mock(PromotionRepository.class);
+        promotionRuleEngine = new PromotionRuleEngine(promotionRepository);
+    }
+
+    @Test
+    void testFindByCouponCode_whenPromotionIsReloaded_thenMatchCartByBrandWithoutQuery() {
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue())
+            .thenReturn(List.of(promotion(1L, "BRAND10", ApplyTo.BRAND, 7L, 3_000_000_000L)));
+
+        promotionRuleEngine.reload();
+        PromotionRule rule = promotionRuleEngine.findByCouponCode("BRAND10").orElseThrow();
+
+        assertThat(rule.appliesTo(new ProductClassificationVm(1L, 10.0, 7L, List.of()))).isTrue();
+        assertThat(rule.appliesTo(new ProductClassificationVm(2L, 10.0, 3_000_000_000L, List.of()))).isTrue();
+        assertThat(rule.appliesTo(new ProductClassificationVm(3L, 10.0, 8L, List.of(7L)))).isFalse();
+        assertThat(rule.appliesTo(new ProductClassificationVm(4L, 10.0, null, List.of()))).isFalse();
+        assertThat(rule.discountValue()).isEqualTo(15L);
+        verify(promotionRepository, never()).findWithPromotionAppliesByCouponCodeAndIsActiveTrue("BRAND10");
+    }
+
+    @Test
+    void testFindByCouponCode_whenCouponIsNotCompiledYet_thenLoadItOnce() {
+        when(promotionRepository.findWithPromotionAppliesByCouponCodeAndIsActiveTrue("CAT"))
+            .thenReturn(Optional.of(promotion(2L, "CAT", ApplyTo.CATEGORY, 5L)));
+
+        PromotionRule rule = promotionRuleEngine.findByCouponCode("CAT").orElseThrow();
+        promotionRuleEngine.findByCouponCode("CAT");
+
+        assertThat(rule.appliesTo(new ProductClassificationVm(1L, 10.0, null, List.of(4L, 5L)))).isTrue();
+        assertThat(rule.appliesTo(new ProductClassificationVm(2L, 10.0, 5L, List.of(4L)))).isFalse();
+        verify(promotionRepository, times(1)).findWithPromotionAppliesByCouponCodeAndIsActiveTrue("CAT");
+    }
+
+    @Test
+    void testRefresh_whenCouponCodeChangesOrPromotionIsDeactivated_thenDropOldRule() {
+        Promotion promotion = promotion(3L, "OLD", ApplyTo.PRODUCT, 9L);
+        promotionRuleEngine.refresh(promotion);
+
+        promotion.setCouponCode("NEW");
+        promotionRuleEngine.refresh(promotion);
+        assertThat(promotionRuleEngine.findByCouponCode("NEW")).isPresent();
+        assertThat(promotionRuleEngine.findByCouponCode("OLD")).isEmpty();
+
+        promotion.setIsActive(false);
+        promotionRuleEngine.refresh(promotion);
+        assertThat(promotionRuleEngine.findByCouponCode("NEW")).isEmpty();
+    }
+
+    @Test
+    void testReload_whenPromotionIsNoLongerActive_thenDropIt() {
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue())
+            .thenReturn(List.of(promotion(4L, "A", ApplyTo.PRODUCT, 1L), promotion(5L, "B", ApplyTo.PRODUCT, 1L)))
+            .thenReturn(List.of(promotion(5L, "B", ApplyTo.PRODUCT, 1L)));
+
+        promotionRuleEngine.reload();
+        promotionRuleEngine.reload();
+
+        assertThat(promotionRuleEngine.findByCouponCode("A")).isEmpty();
+        assertThat(promotionRuleEngine.findByCouponCode("B")).isPresent();
+    }
+
+    @Test
+    void testReloadIfChanged_whenVersionIsUnchanged_thenSkipReload() {
+        ActivePromotionsVersion version = new ActivePromotionsVersion(1L, 0L, ZonedDateTime.now());
+        when(promotionRepository.findActivePromotionsVersion())
+            .thenReturn(version, version, new ActivePromotionsVersion(1L, 1L, version.lastModifiedOn()));
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue())
+            .thenReturn(List.of(promotion(4L, "A", ApplyTo.PRODUCT, 1L)));
+
+        promotionRuleEngine.reload();
+        promotionRuleEngine.reloadIfChanged();
+        verify(promotionRepository, times(1)).findWithPromotionAppliesByIsActiveTrue();
+
+        promotionRuleEngine.reloadIfChanged();
+        verify(promotionRepository, times(2)).findWithPromotionAppliesByIsActiveTrue();
+    }
+
+    @Test
+    void testReload_whenLocalChangeOverlapsIt_thenKeepLocalChange() {
+        Promotion promotion = promotion(8L, "NEW", ApplyTo.PRODUCT, 1L);
+        when(promotionRepository.findWithPromotionAppliesByIsActiveTrue()).thenAnswer(invocation -> {
+            promotionRuleEngine.refresh(promotion);
+            return List.of();
+        });
+
+        promotionRuleEngine.reload();
+
+        assertThat(promotionRuleEngine.findByCouponCode("NEW")).isPresent();
+    }
+
+    @Test
+    void testRecordUsage_whenLimitIsReached_thenRuleIsExhausted() {
+        Promotion promotion = promotion(7L, "FIRST100", ApplyTo.PRODUCT, 1L);
+        promotion.setUsageType(UsageType.LIMITED);
+        promotion.setUsageLimit(3);
+        promotion.setUsageCount(1);
+        promotionRuleEngine.refresh(promotion);
+
+        promotionRuleEngine.recordUsage(promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow(), 2);
+
+        PromotionRule rule = promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow();
+        assertThat(rule.usageCount()).isEqualTo(3);
+        assertThat(rule.isExhausted()).isTrue();
+    }
+
+    @Test
+    void testRecordUsage_whenTransactionCommits_thenApplyUsageAfterCommit() {
+        promotionRuleEngine.refresh(limitedPromotion());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            promotionRuleEngine.recordUsage(promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow(), 2);
+            assertThat(promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow().usageCount()).isEqualTo(1);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow().usageCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testRecordUsage_whenTransactionRollsBack_thenKeepCommittedUsage() {
+        promotionRuleEngine.refresh(limitedPromotion());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            promotionRuleEngine.recordUsage(promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow(), 2);
+        } finally {
+            // Rolled back: the synchronizations are dropped without afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        PromotionRule rule = promotionRuleEngine.findByCouponCode("FIRST100").orElseThrow();
+        assertThat(rule.usageCount()).isEqualTo(1);
+        assertThat(rule.isExhausted()).isFalse();
+    }
+
+    @Test
+    void testCompile_whenLimitIsReachedOrOrderIsTooSmall_thenRejectIt() {
+        Promotion promotion = promotion(6L, "LIMITED", ApplyTo.PRODUCT, 1L);
+        promotion.setUsageType(UsageType.LIMITED);
+        promotion.setUsageLimit(2);
+        promotion.setUsageCount(2);
+        promotion.setMinimumOrderPurchaseAmount(100L);
+
+        PromotionRule rule = PromotionRule.compile(promotion);
+
+        assertThat(rule.isExhausted()).isTrue();
+        assertThat(rule.acceptsOrderPrice(99L)).isFalse();
+        assertThat(rule.acceptsOrderPrice(100L)).isTrue();
+        assertThat(rule.appliesToProduct(1L)).isTrue();
+        assertThat(rule.appliesToProduct(2L)).isFalse();
+    }
+
+    private static Promotion limitedPromotion() {
+        Promotion promotion = promotion(7L, "FIRST100", ApplyTo.PRODUCT, 1L);
+        promotion.setUsageType(UsageType.LIMITED);
+        promotion.setUsageLimit(3);
+        promotion.setUsageCount(1);
+        return promotion;
+    }
+
+    private static Promotion promotion(Long id, String couponCode, ApplyTo applyTo, Long... targetIds) {
+        Promotion promotion = Promotion.builder()
+            .id(id)
+            .couponCode(couponCode)
+            .applyTo(applyTo)
+            .discountType(DiscountType.PERCENTAGE)
+            .discountPercentage(15L)
+            .usageType(UsageType.UNLIMITED)
+            .isActive(true)
+            .build();
+        promotion.setPromotionApplies(List.of(targetIds).stream().map(targetId -> {
+            PromotionApply.PromotionApplyBuilder apply = PromotionApply.builder().promotion(promotion);
+            return switch (applyTo) {
+                case PRODUCT -> apply.productId(targetId).build();
+                case CATEGORY -> apply.categoryId(targetId).build();
+                case BRAND -> apply.brandId(targetId).build();
+            };
+        }).toList());
+        return promotion;
+    }
+}
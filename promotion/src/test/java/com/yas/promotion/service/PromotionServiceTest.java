@@ -14,13 +14,12 @@ import com.yas.promotion.model.enumeration.DiscountType;
 import com.yas.promotion.model.enumeration.UsageType;
 import com.yas.promotion.repository.PromotionRepository;
 import com.yas.promotion.utils.Constants;
-import com.yas.promotion.viewmodel.ProductVm;
+import com.yas.promotion.viewmodel.ProductClassificationVm;
 import com.yas.promotion.viewmodel.PromotionDetailVm;
 import com.yas.promotion.viewmodel.PromotionListVm;
 import com.yas.promotion.viewmodel.PromotionPostVm;
 import com.yas.promotion.viewmodel.PromotionVerifyVm;
 import java.time.Instant;
-import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
@@ -108,8 +107,8 @@ class PromotionServiceTest {
             .build();
 
         var promotionApply3 = PromotionApply.builder()
-            .promotion(promotion2)
-            .productId(1L).build();
+            .promotion(promotion3)
+            .categoryId(1L).build();
         promotion3.setPromotionApplies(List.of(promotionApply3));
 
         promotionRepository.save(promotion3);
@@ -245,6 +244,32 @@ class PromotionServiceTest {
         assertEquals("Promotion COUPON123 is not found", exception.getMessage());
     }
 
+    @Test
+    void testVerifyPromotion_whenPromotionIsAutomatic_thenNotFound() {
+        promotionRepository.save(Promotion.builder()
+            .name("Automatic")
+            .slug("automatic")
+            .couponCode("auto1")
+            .discountType(DiscountType.PERCENTAGE)
+            .discountAmount(0L)
+            .discountPercentage(10L)
+            .isActive(true)
+            .isAutomatic(true)
+            .startDate(Instant.now())
+            .endDate(Instant.now().plus(30, ChronoUnit.DAYS))
+            .applyTo(ApplyTo.BRAND)
+            .minimumOrderPurchaseAmount(0L)
+            .build());
+        var promotionVerifyVm = new PromotionVerifyVm("auto1", 1000L, List.of(1L));
+
+        // Automatic promotions are applied without a coupon, their code cannot add them a second time
+        NotFoundException exception = assertThrows(NotFoundException.class,
+            () -> promotionService.verifyPromotion(promotionVerifyVm));
+
+        assertEquals("Promotion auto1 is not found", exception.getMessage());
+        Mockito.verifyNoInteractions(productService);
+    }
+
     @Test
     void testVerifyPromotion_ExhaustedUsageQuantity() {
         // Mock the repository to return the promotion
@@ -272,7 +297,7 @@ class PromotionServiceTest {
     @Test
     void testVerifyPromotion_ProductNotFound() {
         var promotionVerifyVm = new PromotionVerifyVm("code2", 1000L, List.of(1L,2L,3L));
-        Mockito.when(productService.getProductByCategoryIds(ArgumentMatchers.anyList())).thenReturn(List.of());
+        Mockito.when(productService.getProductClassifications(ArgumentMatchers.anyList())).thenReturn(List.of());
 
         // Expect a NotFoundException due to no products found for promotion
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
@@ -289,8 +314,8 @@ class PromotionServiceTest {
             1000000L,
             List.of(1L, 2L, 3L)
         );
-        Mockito.when(productService.getProductByBrandIds(ArgumentMatchers.anyList()))
-            .thenReturn(createProductVms());
+        Mockito.when(productService.getProductClassifications(ArgumentMatchers.anyList()))
+            .thenReturn(createProductClassificationVms());
         var result = promotionService.verifyPromotion(promotionVerifyData);
 
         assertEquals(true, result.isValid());
@@ -306,8 +331,8 @@ class PromotionServiceTest {
             1000000L,
             List.of(1L, 2L, 3L)
         );
-        Mockito.when(productService.getProductByIds(ArgumentMatchers.anyList()))
-            .thenReturn(createProductVms());
+        Mockito.when(productService.getProductClassifications(ArgumentMatchers.anyList()))
+            .thenReturn(createProductClassificationVms());
         var result = promotionService.verifyPromotion(promotionVerifyData);
 
         assertEquals(true, result.isValid());
@@ -323,8 +348,8 @@ class PromotionServiceTest {
             1000000L,
             List.of(1L, 2L, 3L)
         );
-        Mockito.when(productService.getProductByCategoryIds(ArgumentMatchers.anyList()))
-            .thenReturn(createProductVms());
+        Mockito.when(productService.getProductClassifications(ArgumentMatchers.anyList()))
+            .thenReturn(createProductClassificationVms());
         var result = promotionService.verifyPromotion(promotionVerifyData);
 
         assertEquals(true, result.isValid());
@@ -333,20 +358,10 @@ class PromotionServiceTest {
         assertEquals(200L, result.discountValue().longValue());
     }
 
-    private List<ProductVm> createProductVms() {
+    private List<ProductClassificationVm> createProductClassificationVms() {
         return List.of(
-            new ProductVm(
-                1L,
-                "Product 01",
-                "product-01",
-                true,
-                true,
-                false,
-                true,
-                10000000.0,
-                ZonedDateTime.now(),
-                2L
-            )
+            new ProductClassificationVm(2L, 20000000.0, 1L, List.of(1L)),
+            new ProductClassificationVm(1L, 10000000.0, 1L, List.of(1L))
         );
     }
 }
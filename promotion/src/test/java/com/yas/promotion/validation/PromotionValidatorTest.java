@@ -67,6 +67,41 @@ class PromotionValidatorTest {
         assertTrue(isValid);
     }
 
+    @Test
+    void testIsValid_whenAutomaticPromotionHasUsageLimit_isValidFalse() {
+
+        PromotionDto dto = new PromotionDto();
+        dto.setUsageType(UsageType.LIMITED);
+        dto.setUsageLimit(10);
+        dto.setIsAutomatic(true);
+        dto.setDiscountType(DiscountType.FIXED);
+        dto.setDiscountAmount(5L);
+        dto.setApplyTo(ApplyTo.PRODUCT);
+        dto.setProductIds(Collections.singletonList(1L));
+
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class);
+        boolean isValid = validator.isValid(dto, context);
+
+        assertFalse(isValid);
+    }
+
+    @Test
+    void testIsValid_whenAutomaticPromotionIsUnlimited_isValidTrue() {
+
+        PromotionDto dto = new PromotionDto();
+        dto.setUsageType(UsageType.UNLIMITED);
+        dto.setIsAutomatic(true);
+        dto.setDiscountType(DiscountType.FIXED);
+        dto.setDiscountAmount(5L);
+        dto.setApplyTo(ApplyTo.PRODUCT);
+        dto.setProductIds(Collections.singletonList(1L));
+
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class);
+        boolean isValid = validator.isValid(dto, context);
+
+        assertTrue(isValid);
+    }
+
     @Test
     void testIsValid_whenUsageLimitIs0_isValidFalse() {
 
@@ -56,6 +56,7 @@ public class RatingService {
         return new RatingListVm(ratingVmList, ratings.getTotalElements(), ratings.getTotalPages());
     }
 
+    @Transactional(readOnly = true)
     public RatingListVm getRatingListWithFilter(String proName, String cusName,
             String message, ZonedDateTime createdFrom,
             ZonedDateTime createdTo, int pageNo, int pageSize) {
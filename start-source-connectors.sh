@@ -3,6 +3,20 @@ curl -i -X PUT -H  "Content-Type:application/json" \
     http://localhost:8083/connectors/product-connector/config \
     -d @kafka/connects/debezium-product.json
 
+# The order connector moved to the partitioned "order" table with a new slot. Remove the connector of the old slot
+# and drop that slot, otherwise Postgres keeps its WAL forever. Both steps do nothing on a fresh setup.
+curl -i -X DELETE http://localhost:8083/connectors/order-connector
+DROP_OLD_ORDER_SLOT="SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots
+    WHERE slot_name = 'order_slot' AND NOT active"
+COUNT_OLD_ORDER_SLOT="SELECT count(*) FROM pg_replication_slots WHERE slot_name = 'order_slot'"
+for attempt in 1 2 3 4 5; do
+  docker compose exec -T postgres psql -U admin -d order -qtA -c "$DROP_OLD_ORDER_SLOT" > /dev/null
+  [ "$(docker compose exec -T postgres psql -U admin -d order -tA -c "$COUNT_OLD_ORDER_SLOT")" = "0" ] && break
+  sleep 2
+done
+
+# A new connector name starts without offsets, so it takes an initial snapshot of order and order_event before
+# streaming. Changes made while no connector was streaming are not lost.
 curl -i -X PUT -H  "Content-Type:application/json" \
-    http://localhost:8083/connectors/order-connector/config \
+    http://localhost:8083/connectors/order-partitioned-connector/config \
     -d @kafka/connects/debezium-order.json
\ No newline at end of file
@@ -61,6 +61,7 @@ const CartItem: FC<CartItemProps> = ({
             className="form-check-input item-checkbox"
             type="checkbox"
             checked={isSelected}
+            disabled={!item.available}
             onChange={() => handleSelectCartItemChange(item.productId)}
           />
         </label>
@@ -89,6 +90,9 @@ const CartItem: FC<CartItemProps> = ({
           >
             <h6 className="product-link">{item.productName}</h6>
           </Link>
+          {!item.available && (
+            <p className="text-danger mb-0">This product is currently unavailable.</p>
+          )}
         </div>
       </td>
       <td className="cart__price">
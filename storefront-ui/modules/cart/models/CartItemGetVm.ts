@@ -12,4 +12,5 @@ export type CartItemGetDetailsVm = {
   slug: string;
   thumbnailUrl: string;
   price: number;
+  available: boolean;
 };
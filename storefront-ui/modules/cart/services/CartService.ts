@@ -1,13 +1,12 @@
 import { CartItemGetVm, CartItemGetDetailsVm } from '../models/CartItemGetVm';
-import { ProductThumbnail } from '../../catalog/models/ProductThumbnail';
 import apiClientService from '@/common/services/ApiClientService';
 import { CartItemPostVm } from '../models/CartItemPostVm';
 import { YasError } from '@/common/services/errors/YasError';
-import { getProductsByIds } from '@/modules/catalog/services/ProductService';
 import { CartItemPutVm } from '../models/CartItemPutVm';
 import { CartItemDeleteVm } from '../models/CartItemDeleteVm';
 
 const CART_BASE_URL = `/api/cart/storefront/cart/items`;
+const UNAVAILABLE_PRODUCT_NAME = 'Product unavailable';
 
 export async function addCartItem(payload: CartItemPostVm): Promise<CartItemGetVm> {
   const response = await apiClientService.post(CART_BASE_URL, JSON.stringify(payload));
@@ -18,42 +17,17 @@ export async function addCartItem(payload: CartItemPostVm): Promise<CartItemGetV
 }
 
 export async function getDetailedCartItems(): Promise<CartItemGetDetailsVm[]> {
-  const cartItems = await getCartItems();
-  const cartItemProductIds = cartItems.map((item) => item.productId);
-  const products = await getProductsByIds(cartItemProductIds);
-  return mapCartItemsToDetailedItems(cartItems, products);
-}
-
-async function getCartItems(): Promise<CartItemGetVm[]> {
-  const response = await apiClientService.get(CART_BASE_URL);
+  const response = await apiClientService.get(`${CART_BASE_URL}/detail`);
   if (!response.ok) {
     await throwDetailedError(response);
   }
-  return await response.json();
-}
-
-function mapCartItemsToDetailedItems(
-  cartItemGetVms: CartItemGetVm[],
-  products: ProductThumbnail[]
-): CartItemGetDetailsVm[] {
-  const detailedCartItems: CartItemGetDetailsVm[] = [];
-
-  const productMap = new Map(products.map((product) => [product.id, product]));
-
-  for (const cartItem of cartItemGetVms) {
-    const product = productMap.get(cartItem.productId);
-    if (!product) {
-      continue;
-    }
-    detailedCartItems.push({
-      ...cartItem,
-      productName: product.name,
-      slug: product.slug,
-      thumbnailUrl: product.thumbnailUrl,
-      price: product.price,
-    });
-  }
-  return detailedCartItems;
+  const detailedCartItems: CartItemGetDetailsVm[] = await response.json();
+  // Lines whose product lookup failed are kept, so they stay visible and removable
+  return detailedCartItems.map((item) => ({
+    ...item,
+    productName: item.productName ?? UNAVAILABLE_PRODUCT_NAME,
+    price: item.price ?? 0,
+  }));
 }
 
 export async function getNumberCartItems(): Promise<number> {
@@ -1,10 +1,12 @@
 import { useEffect, useState } from 'react';
 import { EOrderStatus } from '../models/EOrderStatus';
 import { OrderGetVm } from '../models/OrderGetVm';
-import { getMyOrders } from '../services/OrderService';
+import { scrollMyOrders } from '../services/OrderService';
 import OrderCard from './OrderCard';
 import { getProductsByIds } from '@/modules/catalog/services/ProductService';
 
+const PAGE_SIZE = 10;
+
 type Props = {
   orderStatus: EOrderStatus | null;
 };
@@ -12,31 +14,37 @@ type Props = {
 const OrderStatusTab = ({ orderStatus }: Props) => {
   const [orders, setOrders] = useState<OrderGetVm[]>([]);
   const [productName, setProductName] = useState('');
+  const [nextPageToken, setNextPageToken] = useState<string | null>(null);
 
   const getProductThumbnails = (ids: number[]) => {
     return getProductsByIds(ids);
   };
 
+  const withThumbnails = async (results: OrderGetVm[]) => {
+    const productIds = results.flatMap((order) => order.orderItems.map((item) => item.productId));
+    if (productIds.length) {
+      const productThumbnails = await getProductThumbnails(productIds);
+      results.forEach((result) => {
+        result.orderItems.forEach(
+          (item) =>
+            (item.mediaUrl = productThumbnails.find((p) => p.id === item.productId)?.thumbnailUrl!)
+        );
+      });
+    }
+    return results;
+  };
+
+  const loadOrders = (pageToken: string | null) => {
+    scrollMyOrders(productName, orderStatus, pageToken, PAGE_SIZE).then((page) =>
+      withThumbnails([...page.orderList]).then((results) => {
+        setOrders((previous) => (pageToken ? [...previous, ...results] : results));
+        setNextPageToken(page.nextPageToken);
+      })
+    );
+  };
+
   useEffect(() => {
-    getMyOrders(productName, orderStatus).then((results) => {
-      const productIds = results.flatMap((order) => order.orderItems.map((item) => item.productId));
-      const orderResults = [...results];
-      if (orderResults.length) {
-        getProductThumbnails(productIds).then((productThumbnails) => {
-          orderResults.forEach((result) => {
-            result.orderItems.forEach(
-              (item) =>
-                (item.mediaUrl = productThumbnails.find(
-                  (p) => p.id === item.productId
-                )?.thumbnailUrl!)
-            );
-          });
-          setOrders(orderResults);
-        });
-      } else {
-        setOrders(orderResults);
-      }
-    });
+    loadOrders(null);
   }, [orderStatus, productName]);
 
   return (
@@ -62,6 +70,13 @@ const OrderStatusTab = ({ orderStatus }: Props) => {
           <h3 style={{ textAlign: 'center' }}>No Orders</h3>
         </div>
       )}
+      {nextPageToken && (
+        <div className="text-center my-4">
+          <button className="btn btn-outline-primary" onClick={() => loadOrders(nextPageToken)}>
+            Load more orders
+          </button>
+        </div>
+      )}
     </>
   );
 };
@@ -0,0 +1,6 @@
+import { OrderGetVm } from './OrderGetVm';
+
+export type OrderGetScrollVm = {
+  orderList: OrderGetVm[];
+  nextPageToken: string | null;
+};
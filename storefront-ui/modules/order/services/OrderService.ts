@@ -1,6 +1,7 @@
 import { Checkout } from '../models/Checkout';
 import { EOrderStatus } from '../models/EOrderStatus';
 import { Order } from '../models/Order';
+import { OrderGetScrollVm } from '../models/OrderGetScrollVm';
 import { OrderGetVm } from '../models/OrderGetVm';
 import apiClientService from '@/common/services/ApiClientService';
 
@@ -25,6 +26,23 @@ export async function getMyOrders(
   throw res;
 }
 
+export async function scrollMyOrders(
+  productName: string,
+  orderStatus: EOrderStatus | null,
+  pageToken: string | null,
+  pageSize: number
+): Promise<OrderGetScrollVm> {
+  const params = new URLSearchParams({
+    productName,
+    orderStatus: orderStatus ?? '',
+    pageToken: pageToken ?? '',
+    pageSize: pageSize.toString(),
+  });
+  const res = await apiClientService.get(`${baseUrl}/orders/my-orders/scroll?${params}`);
+  if (res.status >= 200 && res.status < 300) return res.json();
+  throw res;
+}
+
 export async function createCheckout(checkout: Checkout): Promise<Checkout | null> {
   const response = await apiClientService.post(`${baseUrl}/checkouts`, JSON.stringify(checkout));
   if (response.status >= 200 && response.status < 300) {
@@ -49,6 +49,8 @@ const Cart = () => {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, []);
 
+  const availableCartItems = cartItems.filter((cartItem) => cartItem.available);
+
   const getSelectedCartItems = useCallback(() => {
     return cartItems.filter((cartItem) => selectedProductIds.has(cartItem.productId));
   }, [cartItems, selectedProductIds]);
@@ -82,6 +84,13 @@ const Cart = () => {
     try {
       const newCartItems = await CartService.getDetailedCartItems();
       setCartItems(newCartItems);
+      const availableProductIds = new Set(
+        newCartItems.filter((item) => item.available).map((item) => item.productId)
+      );
+      setSelectedProductIds(
+        (prevSelectedProductIds) =>
+          new Set(Array.from(prevSelectedProductIds).filter((id) => availableProductIds.has(id)))
+      );
       fetchNumberCartItems();
     } catch (error) {
       return [];
@@ -90,7 +99,7 @@ const Cart = () => {
 
   const handleSelectAllCartItemsChange = (e: React.ChangeEvent<HTMLInputElement>) => {
     if (e.target.checked) {
-      const allProductIds = cartItems.map((cartItem) => cartItem.productId);
+      const allProductIds = availableCartItems.map((cartItem) => cartItem.productId);
       setSelectedProductIds(new Set(allProductIds));
     } else {
       setSelectedProductIds(new Set());
@@ -273,7 +282,10 @@ const Cart = () => {
                             type="checkbox"
                             className="form-check-input item-checkbox"
                             onChange={handleSelectAllCartItemsChange}
-                            checked={selectedProductIds.size === cartItems.length}
+                            checked={
+                              availableCartItems.length > 0 &&
+                              selectedProductIds.size === availableCartItems.length
+                            }
                           />
                         </label>
                       </th>
@@ -14,10 +14,15 @@ import com.yas.tax.model.TaxRate;
 import com.yas.tax.repository.TaxClassRepository;
 import com.yas.tax.repository.TaxRateRepository;
 import com.yas.tax.service.LocationService;
+import com.yas.tax.service.TaxRateIndex;
 import com.yas.tax.viewmodel.location.StateOrProvinceAndCountryGetNameVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationPostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxLinePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import io.restassured.RestAssured;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +45,9 @@ class TaxRateControllerIT extends AbstractControllerIT {
     @Autowired
     TaxClassRepository taxClassRepository;
 
+    @Autowired
+    TaxRateIndex taxRateIndex;
+
     @MockBean
     LocationService locationService;
 
@@ -52,6 +60,7 @@ class TaxRateControllerIT extends AbstractControllerIT {
     final String TAX_RATE_PERCENT_URL = "/v1/backoffice/tax-rates/tax-percent";
     final String TAX_RATE_LOCATION_URL = "/v1/backoffice/tax-rates/location-based-batch";
     final String TAX_RATE_PAGING_URL = "/v1/backoffice/tax-rates/paging";
+    final String TAX_CALCULATION_URL = "/v1/backoffice/tax-rates/calculate";
 
     @BeforeEach
     void setUp() {
@@ -73,6 +82,8 @@ class TaxRateControllerIT extends AbstractControllerIT {
         taxRateRepository.save(Instancio.of(TaxRate.class)
             .set(field("taxClass"), taxClass)
             .create());
+        // The rates are saved behind the service, so the index does not know them yet
+        taxRateIndex.reload();
     }
 
     @AfterEach
@@ -493,4 +504,38 @@ class TaxRateControllerIT extends AbstractControllerIT {
             .body(".", hasSize(0))
             .log().ifValidationFails();
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_calculateTax_shouldReturnTaxOfEveryLine_whenGivenAccessTokenAndLargeCart() {
+        TaxCalculationPostVm body = new TaxCalculationPostVm(
+            taxRate.getCountryId(),
+            taxRate.getStateOrProvinceId(),
+            taxRate.getZipCode(),
+            IntStream.range(0, 100)
+                .mapToObj(i -> new TaxLinePostVm(i % 2 == 0 ? taxClass.getId() : taxClass2.getId(),
+                    BigDecimal.TEN, 1))
+                .toList());
+
+        RestAssured.given(getRequestSpecification())
+            .auth().oauth2(getAccessToken("admin", "admin"))
+            .body(body)
+            .post(TAX_CALCULATION_URL)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("lines", hasSize(100))
+            .log().ifValidationFails();
+    }
+
+    @Test
+    void test_calculateTax_shouldReturn400_whenGivenAccessTokenAndNoLines() {
+        TaxCalculationPostVm body = new TaxCalculationPostVm(taxRate.getCountryId(), null, null, List.of());
+
+        RestAssured.given(getRequestSpecification())
+            .auth().oauth2(getAccessToken("admin", "admin"))
+            .body(body)
+            .post(TAX_CALCULATION_URL)
+            .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value())
+            .log().ifValidationFails();
+    }
+}
@@ -3,8 +3,11 @@ package com.yas.tax.controller;
 import com.yas.tax.constants.ApiConstant;
 import com.yas.tax.constants.PageableConstant;
 import com.yas.tax.model.TaxRate;
+import com.yas.tax.service.TaxCalculationService;
 import com.yas.tax.service.TaxRateService;
 import com.yas.tax.viewmodel.error.ErrorVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationPostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
@@ -30,9 +33,11 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RequestMapping(ApiConstant.TAX_RATE_URL)
 public class TaxRateController {
     private final TaxRateService taxRateService;
+    private final TaxCalculationService taxCalculationService;
 
-    public TaxRateController(TaxRateService taxRateService) {
+    public TaxRateController(TaxRateService taxRateService, TaxCalculationService taxCalculationService) {
         this.taxRateService = taxRateService;
+        this.taxCalculationService = taxCalculationService;
     }
 
     @GetMapping("/paging")
@@ -114,4 +119,15 @@ public class TaxRateController {
         @RequestParam(value = "zipCode", required = false) final String zipCode) {
         return ResponseEntity.ok(taxRateService.getBulkTaxRate(taxClassIds, countryId, stateOrProvinceId, zipCode));
     }
+
+    @PostMapping("/calculate")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = ApiConstant.CODE_200, description = ApiConstant.OK,
+            content = @Content(schema = @Schema(implementation = TaxCalculationVm.class))),
+        @ApiResponse(responseCode = ApiConstant.CODE_400, description = ApiConstant.BAD_REQUEST,
+            content = @Content(schema = @Schema(implementation = ErrorVm.class)))})
+    public ResponseEntity<TaxCalculationVm> calculateTax(
+        @Valid @RequestBody final TaxCalculationPostVm taxCalculationPostVm) {
+        return ResponseEntity.ok(taxCalculationService.calculateTax(taxCalculationPostVm));
+    }
 }
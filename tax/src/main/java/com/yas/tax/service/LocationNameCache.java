@@ -0,0 +1,73 @@
+package com.yas.tax.service;
+
+import com.yas.tax.viewmodel.location.StateOrProvinceAndCountryGetNameVm;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the names of states or provinces and of their countries, which rarely change, so listing tax rates does not
+ * call the location service on every page. Names are fetched in one batch for all the IDs that are missing or older
+ * than the time to live.
+ */
+@Service
+public class LocationNameCache {
+
+    private final LocationService locationService;
+    private final long timeToLiveMillis;
+
+    private final Map<Long, CachedName> namesByStateOrProvinceId = new ConcurrentHashMap<>();
+
+    public LocationNameCache(LocationService locationService,
+                             @Value("${yas.tax.location-names.time-to-live:PT1H}") Duration timeToLive) {
+        this.locationService = locationService;
+        this.timeToLiveMillis = timeToLive.toMillis();
+    }
+
+    /**
+     * Gets the names of states or provinces and of their countries.
+     *
+     * @param stateOrProvinceIds the IDs of the states or provinces, null and repeated IDs are ignored
+     * @return the names by state or province ID, without the IDs the location service does not know
+     */
+    public Map<Long, StateOrProvinceAndCountryGetNameVm> getNames(Collection<Long> stateOrProvinceIds) {
+        final long now = System.currentTimeMillis();
+        final Map<Long, StateOrProvinceAndCountryGetNameVm> names = new HashMap<>();
+        final Set<Long> missingIds = new LinkedHashSet<>();
+        for (Long stateOrProvinceId : stateOrProvinceIds) {
+            if (stateOrProvinceId == null || names.containsKey(stateOrProvinceId)) {
+                continue;
+            }
+            CachedName cachedName = namesByStateOrProvinceId.get(stateOrProvinceId);
+            if (cachedName != null && cachedName.expiresAt() > now) {
+                names.put(stateOrProvinceId, cachedName.name());
+            } else {
+                missingIds.add(stateOrProvinceId);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            List<StateOrProvinceAndCountryGetNameVm> fetchedNames =
+                locationService.getStateOrProvinceAndCountryNames(new ArrayList<>(missingIds));
+            for (StateOrProvinceAndCountryGetNameVm name : Objects.requireNonNullElse(fetchedNames,
+                List.<StateOrProvinceAndCountryGetNameVm>of())) {
+                namesByStateOrProvinceId.put(name.stateOrProvinceId(), new CachedName(name, now + timeToLiveMillis));
+                if (missingIds.contains(name.stateOrProvinceId())) {
+                    names.put(name.stateOrProvinceId(), name);
+                }
+            }
+        }
+        return names;
+    }
+
+    private record CachedName(StateOrProvinceAndCountryGetNameVm name, long expiresAt) {
+    }
+}
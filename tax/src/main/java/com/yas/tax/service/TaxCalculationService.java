@@ -0,0 +1,55 @@
+package com.yas.tax.service;
+
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationPostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxLinePostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxLineVm;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+
+/**
+ * Computes the tax of a whole cart at one address. Each tax class is resolved once against the {@link TaxRateIndex},
+ * and the tax of each line is computed exactly then rounded half up to cents, so the total is the sum of the line
+ * taxes the customer sees.
+ */
+@Service
+public class TaxCalculationService {
+
+    private static final int TAX_SCALE = 2;
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final TaxRateIndex taxRateIndex;
+
+    public TaxCalculationService(TaxRateIndex taxRateIndex) {
+        this.taxRateIndex = taxRateIndex;
+    }
+
+    public TaxCalculationVm calculateTax(final TaxCalculationPostVm taxCalculationPostVm) {
+        final Map<Long, BigDecimal> ratesByTaxClassId = new HashMap<>();
+        final List<TaxLineVm> lines = new ArrayList<>(taxCalculationPostVm.lines().size());
+        BigDecimal totalTaxableAmount = BigDecimal.ZERO;
+        BigDecimal totalTax = BigDecimal.ZERO;
+        for (TaxLinePostVm line : taxCalculationPostVm.lines()) {
+            final BigDecimal rate = ratesByTaxClassId.computeIfAbsent(line.taxClassId(),
+                taxClassId -> taxRateIndex.find(taxClassId, taxCalculationPostVm.countryId(),
+                        taxCalculationPostVm.stateOrProvinceId(), taxCalculationPostVm.zipCode())
+                    .map(TaxRateVm::rate)
+                    .map(BigDecimal::valueOf)
+                    .orElse(BigDecimal.ZERO));
+            final BigDecimal taxableAmount = line.amount().multiply(BigDecimal.valueOf(line.quantity()));
+            final BigDecimal taxAmount = taxableAmount.multiply(rate)
+                .divide(ONE_HUNDRED)
+                .setScale(TAX_SCALE, RoundingMode.HALF_UP);
+            lines.add(new TaxLineVm(line.taxClassId(), taxableAmount, rate, taxAmount));
+            totalTaxableAmount = totalTaxableAmount.add(taxableAmount);
+            totalTax = totalTax.add(taxAmount);
+        }
+        return new TaxCalculationVm(lines, totalTaxableAmount, totalTax);
+    }
+}
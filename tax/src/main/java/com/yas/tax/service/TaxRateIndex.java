@@ -0,0 +1,177 @@
+package com.yas.tax.service;
+
+import com.yas.tax.repository.TaxRateRepository;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps all tax rates in memory, indexed by tax class and country, then by state or province, then by zip code, so
+ * resolving the rate of an address needs no query. The most specific rate wins: one for the state or province and
+ * the zip code, then one for the zip code alone, then one for the state or province alone, then the country-wide one.
+ * Rates written through this instance are picked up once the transaction commits; those written by other instances
+ * are picked up by the periodic reload. A reload that read the rates before another one did never replaces the index
+ * of the later one, so a slow periodic reload cannot bring back rates a commit has since changed.
+ */
+@Slf4j
+@Service
+public class TaxRateIndex {
+
+    private final TaxRateRepository taxRateRepository;
+    private final Map<Match, Counter> lookupCounters = new EnumMap<>(Match.class);
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Map<RegionKey, Region> regions;
+    private long regionsGeneration;
+
+    public TaxRateIndex(TaxRateRepository taxRateRepository, MeterRegistry meterRegistry) {
+        this.taxRateRepository = taxRateRepository;
+        for (Match match : Match.values()) {
+            lookupCounters.put(match, meterRegistry.counter("tax.rate.lookups",
+                "match", match.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${yas.tax.rate-index.reload-interval-ms:300000}")
+    public void reload() {
+        long readGeneration = generation.incrementAndGet();
+        List<TaxRateVm> taxRates = taxRateRepository.findAll().stream()
+            .map(TaxRateVm::fromModel)
+            .sorted(Comparator.comparing(TaxRateVm::id))
+            .toList();
+        Map<RegionKey, Region> index = new HashMap<>();
+        for (TaxRateVm taxRate : taxRates) {
+            // Of two rates for the same place, the oldest one wins
+            index.computeIfAbsent(new RegionKey(taxRate.taxClassId(), taxRate.countryId()), key -> new Region())
+                .add(taxRate);
+        }
+        synchronized (this) {
+            if (readGeneration < regionsGeneration) {
+                log.debug("Dropped {} tax rates read before a later reload", taxRates.size());
+                return;
+            }
+            regions = index;
+            regionsGeneration = readGeneration;
+        }
+        log.debug("Indexed {} tax rates", taxRates.size());
+    }
+
+    /**
+     * Reloads the tax rates once the current transaction commits, or right away outside a transaction.
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * Resolves the rate of a tax class at an address.
+     *
+     * @param taxClassId        the tax class
+     * @param countryId         the country of the address
+     * @param stateOrProvinceId the state or province of the address, if known
+     * @param zipCode           the zip code of the address, if known
+     * @return the most specific rate for the address, or empty if the country has none for the tax class
+     */
+    public Optional<TaxRateVm> find(Long taxClassId, Long countryId, Long stateOrProvinceId, String zipCode) {
+        Region region = getRegions().get(new RegionKey(taxClassId, countryId));
+        if (region == null) {
+            lookupCounters.get(Match.NONE).increment();
+            return Optional.empty();
+        }
+        String zip = normalizeZipCode(zipCode);
+        Map<String, TaxRateVm> stateZipRates = stateOrProvinceId != null && zip != null
+            ? region.stateZipRates.get(stateOrProvinceId) : null;
+        TaxRateVm taxRate;
+        Match match;
+        if (stateZipRates != null && (taxRate = stateZipRates.get(zip)) != null) {
+            match = Match.EXACT;
+        } else if (zip != null && (taxRate = region.zipRates.get(zip)) != null) {
+            match = Match.ZIP;
+        } else if (stateOrProvinceId != null && (taxRate = region.stateRates.get(stateOrProvinceId)) != null) {
+            match = Match.STATE;
+        } else if ((taxRate = region.countryRate) != null) {
+            match = Match.COUNTRY;
+        } else {
+            match = Match.NONE;
+        }
+        lookupCounters.get(match).increment();
+        return Optional.ofNullable(taxRate);
+    }
+
+    private Map<RegionKey, Region> getRegions() {
+        Map<RegionKey, Region> current = regions;
+        if (current == null) {
+            synchronized (this) {
+                if (regions == null) {
+                    reload();
+                }
+                current = regions;
+            }
+        }
+        return current;
+    }
+
+    private static String normalizeZipCode(String zipCode) {
+        if (zipCode == null || zipCode.isBlank()) {
+            return null;
+        }
+        return zipCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * How specific the rate that answered a lookup was.
+     */
+    private enum Match {
+        EXACT, ZIP, STATE, COUNTRY, NONE
+    }
+
+    private record RegionKey(Long taxClassId, Long countryId) {
+    }
+
+    /**
+     * The rates of a tax class in a country.
+     */
+    private static final class Region {
+
+        private TaxRateVm countryRate;
+        private final Map<Long, TaxRateVm> stateRates = new HashMap<>();
+        private final Map<String, TaxRateVm> zipRates = new HashMap<>();
+        private final Map<Long, Map<String, TaxRateVm>> stateZipRates = new HashMap<>();
+
+        void add(TaxRateVm taxRate) {
+            String zip = normalizeZipCode(taxRate.zipCode());
+            Long stateOrProvinceId = taxRate.stateOrProvinceId();
+            if (stateOrProvinceId != null && zip != null) {
+                stateZipRates.computeIfAbsent(stateOrProvinceId, key -> new HashMap<>()).putIfAbsent(zip, taxRate);
+            } else if (zip != null) {
+                zipRates.putIfAbsent(zip, taxRate);
+            } else if (stateOrProvinceId != null) {
+                stateRates.putIfAbsent(stateOrProvinceId, taxRate);
+            } else if (countryRate == null) {
+                countryRate = taxRate;
+            }
+        }
+    }
+}
@@ -10,10 +10,11 @@ import com.yas.tax.viewmodel.taxrate.TaxRateGetDetailVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateListGetVm;
 import com.yas.tax.viewmodel.taxrate.TaxRatePostVm;
 import com.yas.tax.viewmodel.taxrate.TaxRateVm;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,13 +27,15 @@ public class TaxRateService {
     private final TaxRateRepository taxRateRepository;
     private final TaxClassRepository taxClassRepository;
 
-    private final LocationService locationService;
+    private final LocationNameCache locationNameCache;
+    private final TaxRateIndex taxRateIndex;
 
-    public TaxRateService(LocationService locationService, TaxRateRepository taxRateRepository,
-                          TaxClassRepository taxClassRepository) {
-        this.locationService = locationService;
+    public TaxRateService(LocationNameCache locationNameCache, TaxRateRepository taxRateRepository,
+                          TaxClassRepository taxClassRepository, TaxRateIndex taxRateIndex) {
+        this.locationNameCache = locationNameCache;
         this.taxRateRepository = taxRateRepository;
         this.taxClassRepository = taxClassRepository;
+        this.taxRateIndex = taxRateIndex;
     }
 
     /**
@@ -58,7 +61,9 @@ public class TaxRateService {
             .countryId(taxRatePostVm.countryId())
             .build();
 
-        return taxRateRepository.save(taxRate);
+        TaxRate savedTaxRate = taxRateRepository.save(taxRate);
+        taxRateIndex.reloadAfterCommit();
+        return savedTaxRate;
     }
 
     /**
@@ -87,6 +92,7 @@ public class TaxRateService {
         taxRate.setCountryId(taxRatePostVm.countryId());
 
         taxRateRepository.save(taxRate);
+        taxRateIndex.reloadAfterCommit();
     }
 
     @Transactional
@@ -96,6 +102,7 @@ public class TaxRateService {
             throw new NotFoundException(MessageCode.TAX_RATE_NOT_FOUND, id);
         }
         taxRateRepository.deleteById(id);
+        taxRateIndex.reloadAfterCommit();
     }
 
     @Transactional(readOnly = true)
@@ -127,30 +134,22 @@ public class TaxRateService {
         final Pageable pageable = PageRequest.of(pageNo, pageSize);
         final Page<TaxRate> taxRatePage = taxRateRepository.findAll(pageable);
         final List<TaxRate> taxRates = taxRatePage.getContent();
-        final List<TaxRateGetDetailVm> taxRateGetDetailVms = new ArrayList<>();
-
-        //Filter list of state or province ids
-        final List<Long> stateOrProvinceIds =
-            taxRates.stream().distinct().map(el -> el.getStateOrProvinceId()).collect(Collectors.toList());
-
-        if (!stateOrProvinceIds.isEmpty()) {
-            //Call location service to get country names and state or province name by list of state or province ids
-            List<StateOrProvinceAndCountryGetNameVm> stateOrProvinceAndCountryGetNameVms =
-                locationService.getStateOrProvinceAndCountryNames(stateOrProvinceIds);
-            taxRates.forEach(taxRate -> {
-                stateOrProvinceAndCountryGetNameVms.stream()
-                    .filter(x -> x.stateOrProvinceId().equals(taxRate.getStateOrProvinceId()))
-                    .findAny()
-                    .ifPresent(stateOrProvinceAndCountryGetNameVm -> taxRateGetDetailVms.add(new TaxRateGetDetailVm(
-                        taxRate.getId(),
-                        taxRate.getRate(),
-                        taxRate.getZipCode(),
-                        taxRate.getTaxClass().getName(),
-                        stateOrProvinceAndCountryGetNameVm.stateOrProvinceName(),
-                        stateOrProvinceAndCountryGetNameVm.countryName())));
-
-            });
-        }
+
+        // Names of states or provinces and countries, by state or province id, for a hash join with the page
+        final Map<Long, StateOrProvinceAndCountryGetNameVm> names = locationNameCache.getNames(
+            taxRates.stream().map(TaxRate::getStateOrProvinceId).filter(Objects::nonNull).distinct().toList());
+        final List<TaxRateGetDetailVm> taxRateGetDetailVms = taxRates.stream()
+            .map(taxRate -> {
+                StateOrProvinceAndCountryGetNameVm name = names.get(taxRate.getStateOrProvinceId());
+                return new TaxRateGetDetailVm(
+                    taxRate.getId(),
+                    taxRate.getRate(),
+                    taxRate.getZipCode(),
+                    taxRate.getTaxClass().getName(),
+                    name != null ? name.stateOrProvinceName() : null,
+                    name != null ? name.countryName() : null);
+            })
+            .toList();
 
         return new TaxRateListGetVm(
             taxRateGetDetailVms,
@@ -163,22 +162,23 @@ public class TaxRateService {
     }
 
     public double getTaxPercent(Long taxClassId, Long countryId, Long stateOrProvinceId, String zipCode) {
-        Double taxPercent = taxRateRepository.getTaxPercent(countryId, stateOrProvinceId, zipCode, taxClassId);
-        if (taxPercent != null) {
-            return taxPercent;
-        }
-
-        return 0;
+        return taxRateIndex.find(taxClassId, countryId, stateOrProvinceId, zipCode)
+            .map(TaxRateVm::rate)
+            .orElse(0.0);
     }
 
+    /**
+     * Resolves the rates of several tax classes at an address.
+     *
+     * @return the most specific rate of each tax class that has one at the address
+     */
     public List<TaxRateVm> getBulkTaxRate(List<Long> taxClassIds,
                                           Long countryId,
                                           Long stateOrProvinceId,
                                           String zipCode) {
-        return taxRateRepository.getBatchTaxRates(countryId,
-            stateOrProvinceId,
-            zipCode,
-                new HashSet<>(taxClassIds))
-            .stream().map(TaxRateVm::fromModel).toList();
+        return new LinkedHashSet<>(taxClassIds).stream()
+            .map(taxClassId -> taxRateIndex.find(taxClassId, countryId, stateOrProvinceId, zipCode))
+            .flatMap(Optional::stream)
+            .toList();
     }
 }
@@ -0,0 +1,8 @@
+package com.yas.tax.viewmodel.taxcalculation;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record TaxCalculationVm(List<TaxLineVm> lines, BigDecimal totalTaxableAmount, BigDecimal totalTax) {
+
+}
@@ -0,0 +1,19 @@
+package com.yas.tax.viewmodel.taxcalculation;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+/**
+ * A line of a cart to tax.
+ *
+ * @param taxClassId the tax class of the product
+ * @param amount     the price of one unit, before tax
+ * @param quantity   the number of units
+ */
+public record TaxLinePostVm(@NotNull Long taxClassId,
+                            @NotNull @PositiveOrZero BigDecimal amount,
+                            @Positive int quantity) {
+
+}
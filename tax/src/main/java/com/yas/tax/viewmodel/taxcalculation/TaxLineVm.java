@@ -0,0 +1,15 @@
+package com.yas.tax.viewmodel.taxcalculation;
+
+import java.math.BigDecimal;
+
+/**
+ * The tax of a cart line, in the order of the request.
+ *
+ * @param taxClassId    the tax class of the product
+ * @param taxableAmount the price of the line before tax, unit price times quantity
+ * @param taxRate       the rate applied, in percent, or zero if the address has no rate for the tax class
+ * @param taxAmount     the tax of the line, rounded half up to cents
+ */
+public record TaxLineVm(Long taxClassId, BigDecimal taxableAmount, BigDecimal taxRate, BigDecimal taxAmount) {
+
+}
@@ -0,0 +1,58 @@
+package com.yas.tax.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.yas.tax.viewmodel.location.StateOrProvinceAndCountryGetNameVm;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LocationNameCacheTest {
+
+    private static final StateOrProvinceAndCountryGetNameVm TEXAS =
+        new StateOrProvinceAndCountryGetNameVm(1L, "Texas", "United States");
+    private static final StateOrProvinceAndCountryGetNameVm OHIO =
+        new StateOrProvinceAndCountryGetNameVm(2L, "Ohio", "United States");
+
+    private LocationService locationService;
+
+    @BeforeEach
+    void setUp() {
+        locationService = mock(LocationService.class);
+    }
+
+    @Test
+    void testGetNames_whenNamesAreCached_thenOnlyFetchMissingIdsOnce() {
+        LocationNameCache locationNameCache = new LocationNameCache(locationService, Duration.ofHours(1));
+        when(locationService.getStateOrProvinceAndCountryNames(List.of(1L))).thenReturn(List.of(TEXAS));
+        when(locationService.getStateOrProvinceAndCountryNames(List.of(2L))).thenReturn(List.of(OHIO));
+
+        locationNameCache.getNames(Arrays.asList(1L, 1L, null));
+        Map<Long, StateOrProvinceAndCountryGetNameVm> names = locationNameCache.getNames(List.of(1L, 2L));
+        locationNameCache.getNames(List.of(2L, 1L));
+
+        assertThat(names).containsEntry(1L, TEXAS).containsEntry(2L, OHIO);
+        verify(locationService, times(1)).getStateOrProvinceAndCountryNames(List.of(1L));
+        verify(locationService, times(1)).getStateOrProvinceAndCountryNames(List.of(2L));
+        verifyNoMoreInteractions(locationService);
+    }
+
+    @Test
+    void testGetNames_whenNamesExpired_thenFetchThemAgain() {
+        LocationNameCache locationNameCache = new LocationNameCache(locationService, Duration.ZERO);
+        when(locationService.getStateOrProvinceAndCountryNames(List.of(1L))).thenReturn(List.of(TEXAS));
+
+        locationNameCache.getNames(List.of(1L));
+        locationNameCache.getNames(List.of(1L));
+
+        verify(locationService, times(2)).getStateOrProvinceAndCountryNames(List.of(1L));
+    }
+}
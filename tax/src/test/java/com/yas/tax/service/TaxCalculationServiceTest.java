@@ -0,0 +1,49 @@
+package com.yas.tax.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationPostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxCalculationVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxLinePostVm;
+import com.yas.tax.viewmodel.taxcalculation.TaxLineVm;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaxCalculationServiceTest {
+
+    private TaxRateIndex taxRateIndex;
+    private TaxCalculationService taxCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        taxRateIndex = mock(TaxRateIndex.class);
+        taxCalculationService = new TaxCalculationService(taxRateIndex);
+        when(taxRateIndex.find(1L, 10L, 100L, "70000"))
+            .thenReturn(Optional.of(new TaxRateVm(1L, 8.25, null, 1L, 100L, 10L)));
+        when(taxRateIndex.find(2L, 10L, 100L, "70000")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testCalculateTax_whenCartHasSeveralLines_thenRoundEachLineHalfUpAndSumThem() {
+        TaxCalculationVm result = taxCalculationService.calculateTax(new TaxCalculationPostVm(10L, 100L, "70000",
+            List.of(
+                new TaxLinePostVm(1L, new BigDecimal("19.99"), 3),
+                new TaxLinePostVm(2L, new BigDecimal("5.00"), 1),
+                new TaxLinePostVm(1L, new BigDecimal("0.06"), 1))));
+
+        assertThat(result.lines()).extracting(TaxLineVm::taxAmount)
+            .containsExactly(new BigDecimal("4.95"), new BigDecimal("0.00"), new BigDecimal("0.00"));
+        assertThat(result.lines().get(0).taxableAmount()).isEqualByComparingTo("59.97");
+        assertThat(result.totalTaxableAmount()).isEqualByComparingTo("65.03");
+        assertThat(result.totalTax()).isEqualByComparingTo("4.95");
+        verify(taxRateIndex, times(1)).find(1L, 10L, 100L, "70000");
+    }
+}
@@ -0,0 +1,107 @@
+package com.yas.tax.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yas.tax.model.TaxClass;
+import com.yas.tax.model.TaxRate;
+import com.yas.tax.repository.TaxRateRepository;
+import com.yas.tax.viewmodel.taxrate.TaxRateVm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaxRateIndexTest {
+
+    private static final Long TAX_CLASS_ID = 1L;
+    private static final Long COUNTRY_ID = 10L;
+    private static final Long STATE_ID = 100L;
+
+    private TaxRateRepository taxRateRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaxRateIndex taxRateIndex;
+
+    @BeforeEach
+    void setUp() {
+        taxRateRepository = mock(TaxRateRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        taxRateIndex = new TaxRateIndex(taxRateRepository, meterRegistry);
+        when(taxRateRepository.findAll()).thenReturn(List.of(
+            taxRate(1L, 5.0, null, null),
+            taxRate(2L, 6.0, STATE_ID, ""),
+            taxRate(3L, 7.0, null, "70000"),
+            taxRate(4L, 8.0, STATE_ID, " 70000 "),
+            taxRate(5L, 9.0, STATE_ID, "70000")));
+    }
+
+    @Test
+    void testFind_whenSeveralRatesMatch_thenMostSpecificWins() {
+        assertThat(rateOf(STATE_ID, "70000")).isEqualTo(8.0);
+        assertThat(rateOf(200L, "70000")).isEqualTo(7.0);
+        assertThat(rateOf(STATE_ID, "80000")).isEqualTo(6.0);
+        assertThat(rateOf(STATE_ID, null)).isEqualTo(6.0);
+        assertThat(rateOf(200L, "80000")).isEqualTo(5.0);
+        assertThat(rateOf(null, null)).isEqualTo(5.0);
+        assertThat(taxRateIndex.find(2L, COUNTRY_ID, STATE_ID, "70000")).isEmpty();
+    }
+
+    @Test
+    void testFind_whenLookedUpRepeatedly_thenLoadOnceAndCountMatches() {
+        rateOf(STATE_ID, "70000");
+        rateOf(STATE_ID, "70000");
+        rateOf(null, null);
+        taxRateIndex.find(2L, COUNTRY_ID, null, null);
+
+        verify(taxRateRepository, times(1)).findAll();
+        assertThat(meterRegistry.counter("tax.rate.lookups", "match", "exact").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("tax.rate.lookups", "match", "country").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("tax.rate.lookups", "match", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReloadAfterCommit_whenOutsideTransaction_thenReloadRightAway() {
+        rateOf(null, null);
+        when(taxRateRepository.findAll()).thenReturn(List.of(taxRate(1L, 11.0, null, null)));
+
+        taxRateIndex.reloadAfterCommit();
+
+        assertThat(rateOf(STATE_ID, "70000")).isEqualTo(11.0);
+    }
+
+    @Test
+    void testReload_whenLaterReloadFinishesFirst_thenKeepItsRates() {
+        rateOf(null, null);
+        when(taxRateRepository.findAll())
+            .thenAnswer(invocation -> {
+                // A rate is committed and reloaded while this periodic reload still holds the rates it read
+                taxRateIndex.reloadAfterCommit();
+                return List.of(taxRate(1L, 5.0, null, null));
+            })
+            .thenReturn(List.of(taxRate(1L, 11.0, null, null)));
+
+        taxRateIndex.reload();
+
+        assertThat(rateOf(STATE_ID, "70000")).isEqualTo(11.0);
+    }
+
+    private Double rateOf(Long stateOrProvinceId, String zipCode) {
+        return taxRateIndex.find(TAX_CLASS_ID, COUNTRY_ID, stateOrProvinceId, zipCode)
+            .map(TaxRateVm::rate)
+            .orElse(null);
+    }
+
+    private static TaxRate taxRate(Long id, Double rate, Long stateOrProvinceId, String zipCode) {
+        return TaxRate.builder()
+            .id(id)
+            .rate(rate)
+            .taxClass(TaxClass.builder().id(TAX_CLASS_ID).name("Standard").build())
+            .countryId(COUNTRY_ID)
+            .stateOrProvinceId(stateOrProvinceId)
+            .zipCode(zipCode)
+            .build();
+    }
+}
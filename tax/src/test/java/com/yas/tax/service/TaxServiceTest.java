@@ -22,9 +22,11 @@ public class TaxServiceTest {
     @MockBean
     TaxRateRepository taxRateRepository;
     @MockBean
-    LocationService locationService;
+    LocationNameCache locationNameCache;
     @MockBean
     TaxClassRepository taxClassRepository;
+    @MockBean
+    TaxRateIndex taxRateIndex;
 
     @Autowired
     TaxRateService taxRateService;